@@ -17,6 +17,7 @@ import mod.chiselsandbits.api.inventory.management.IBitInventoryManager;
 import mod.chiselsandbits.api.item.bit.IBitItemManager;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemFactory;
 import mod.chiselsandbits.api.measuring.IMeasuringManager;
+import mod.chiselsandbits.api.metrics.IMetricsRegistry;
 import mod.chiselsandbits.api.modification.operation.IModificationOperation;
 import mod.chiselsandbits.api.multistate.StateEntrySize;
 import mod.chiselsandbits.api.multistate.accessor.IAccessorFactory;
@@ -181,6 +182,14 @@ public interface IChiselsAndBitsAPI
     @NotNull
     IProfilingManager getProfilingManager();
 
+    /**
+     * The metrics registry, gives access to the runtime metrics of Chisels and Bits, like cache hit rates and executor queue depths.
+     *
+     * @return The metrics registry.
+     */
+    @NotNull
+    IMetricsRegistry getMetricsRegistry();
+
     /**
      * This method gives access to the client side local chiseling context cache.
      * Although this method also exists on the server side, it should be considered a cross tick cache for the latest chiseling context in use by the current player,
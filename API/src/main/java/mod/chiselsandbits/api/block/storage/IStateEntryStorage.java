@@ -1,5 +1,6 @@
 package mod.chiselsandbits.api.block.storage;
 
+import mod.chiselsandbits.api.multistate.accessor.IOccupancyPyramid;
 import mod.chiselsandbits.api.multistate.mutator.IMirrorAndRotateble;
 import mod.chiselsandbits.api.util.INBTSerializable;
 import mod.chiselsandbits.api.util.IPacketBufferSerializable;
@@ -86,4 +87,12 @@ public interface IStateEntryStorage extends IPacketBufferSerializable, IMirrorAn
      * @param entries The entries to fill with.
      */
     void fillFromBottom(BlockState state, int entries);
+
+    /**
+     * The occupancy pyramid of the storage.
+     * The returned pyramid is updated when the storage changes.
+     *
+     * @return The occupancy pyramid.
+     */
+    IOccupancyPyramid getOccupancy();
 }
@@ -155,4 +155,53 @@ public interface IClientConfiguration
      * @return A configuration supplier which indicates the size of the stack model cache.
      */
     Supplier<Long> getStackModelCacheSize();
+
+    /**
+     * Indicates if the face layer cache should be filled for all chiselable blocks after the resources are reloaded.
+     *
+     * @return A configuration supplier which indicates if the face layer cache should be warmed up.
+     */
+    Supplier<Boolean> getFaceWarmUpEnabled();
+
+    /**
+     * Indicates how many seconds the face layer cache warm up may take, before it is stopped.
+     *
+     * @return A configuration supplier which indicates how many seconds the warm up may take.
+     */
+    Supplier<Integer> getFaceWarmUpTimeLimit();
+
+    /**
+     * Indicates if built chiseled block models should be stored on disk, so they can be reused in later sessions.
+     *
+     * @return A configuration supplier which indicates if the mesh cache on disk is used.
+     */
+    Supplier<Boolean> getMeshDiskCacheEnabled();
+
+    /**
+     * Indicates how many megabytes the mesh cache on disk may use, before its least recently used meshes are removed.
+     *
+     * @return A configuration supplier which indicates the size of the mesh cache on disk in megabytes.
+     */
+    Supplier<Integer> getMeshDiskCacheSize();
+
+    /**
+     * Indicates if distant chiseled blocks should be rendered with less detail.
+     *
+     * @return A configuration supplier which indicates if distant chiseled blocks are rendered with less detail.
+     */
+    Supplier<Boolean> getLodEnabled();
+
+    /**
+     * Indicates the distance in blocks from which on chiseled blocks are rendered with a reduced resolution.
+     *
+     * @return A configuration supplier which indicates the distance from which on chiseled blocks are downsampled.
+     */
+    Supplier<Integer> getLodDownsampleDistance();
+
+    /**
+     * Indicates the distance in blocks from which on chiseled blocks are rendered as a cube of their primary state.
+     *
+     * @return A configuration supplier which indicates the distance from which on chiseled blocks are rendered as cubes.
+     */
+    Supplier<Integer> getLodCubeDistance();
 }
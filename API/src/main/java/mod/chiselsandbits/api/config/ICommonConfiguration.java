@@ -29,6 +29,13 @@ public interface ICommonConfiguration
      */
     Supplier<Long> getCollisionBoxCacheSize();
 
+    /**
+     * Determines the size of the cache which holds the decoded chiseled data of item stacks.
+     *
+     * @return A supplier that determines the size of the decoded item stack cache.
+     */
+    Supplier<Long> getDecodedStackCacheSize();
+
     /**
      * Indicates how many threads can be used to calculate and compress off-thread NBT data for saving.
      * Loading always happens on thread.
@@ -36,4 +43,11 @@ public interface ICommonConfiguration
      * @return A supplier that determines the number of threads to use for block saving.
      */
     Supplier<Integer> getBlockSaveThreadCount();
+
+    /**
+     * Indicates if Chisels and Bits emits events for the Java Flight Recorder, about model builds, saves, packets, cache misses and changes.
+     *
+     * @return A supplier that indicates if flight recorder events should be emitted.
+     */
+    Supplier<Boolean> getFlightRecorderEventsEnabled();
 }
@@ -71,4 +71,25 @@ public interface IServerConfiguration
      * @return A supplier that determines the factor with which the bit light strength is multiplied.
      */
     Supplier<Double> getLightFactorMultiplier();
+
+    /**
+     * Indicates if chiseled blocks which consist of a single material are converted back to the normal block, once a batch of changes completes.
+     *
+     * @return A supplier that determines if uniform chiseled blocks should be converted back to the normal block.
+     */
+    Supplier<Boolean> getCollapseUniformBlocks();
+
+    /**
+     * Indicates if chiseled printers operate in high-throughput mode, in which they produce several outputs per operation.
+     *
+     * @return A supplier that determines if the high-throughput mode of the printers is enabled.
+     */
+    Supplier<Boolean> getPrinterHighThroughputEnabled();
+
+    /**
+     * The maximal amount of outputs a chiseled printer produces per operation in high-throughput mode.
+     *
+     * @return A supplier that determines the amount of outputs per printer operation.
+     */
+    Supplier<Integer> getPrinterHighThroughputBatchSize();
 }
@@ -62,6 +62,30 @@ public interface IBitInventory
      */
     void extract(final BlockState blockState, final int count) throws IllegalArgumentException;
 
+    /**
+     * Checks if it is possible to extract all the given amounts of bits from the current inventory.
+     *
+     * @param counts The amount of bits to extract, per blockstate.
+     * @return {@code true} when extraction of all bits is possible.
+     */
+    default boolean canExtractAll(final Map<BlockState, Integer> counts) {
+        return counts.entrySet().stream().allMatch(entry -> this.canExtract(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Extracts all the given amounts of bits from the current inventory.
+     * Either all bits are extracted, or none are.
+     *
+     * @param counts The amount of bits to extract, per blockstate.
+     * @throws IllegalArgumentException when extraction of all bits is not possible.
+     */
+    default void extractAll(final Map<BlockState, Integer> counts) throws IllegalArgumentException {
+        if (!this.canExtractAll(counts))
+            throw new IllegalArgumentException("Can not extract: " + counts);
+
+        counts.forEach(this::extract);
+    }
+
     /**
      * Checks if it is possible to insert exactly one bit with the given blockstate from the
      * the current inventory.
@@ -113,6 +137,20 @@ public interface IBitInventory
      */
     void insert(final BlockState blockState, final int count) throws IllegalArgumentException;
 
+    /**
+     * Inserts all the given amounts of bits into the current inventory.
+     * Either all bits are inserted, or none are.
+     *
+     * @param counts The amount of bits to insert, per blockstate.
+     * @throws IllegalArgumentException when insertion of all bits is not possible.
+     */
+    default void insertAll(final Map<BlockState, Integer> counts) throws IllegalArgumentException {
+        if (!counts.entrySet().stream().allMatch(entry -> this.canInsert(entry.getKey(), entry.getValue())))
+            throw new IllegalArgumentException("Can not insert: " + counts);
+
+        counts.forEach(this::insert);
+    }
+
     /**
      * Inserts a given amount of bits with the given blockstate from
      * the current inventory, discards bits that don't fit.
@@ -0,0 +1,29 @@
+package mod.chiselsandbits.api.metrics;
+
+/**
+ * A metric which counts occurrences, or amounts like bytes, over the lifetime of the game.
+ * Snapshots report the total and the rate per second since the previous snapshot.
+ */
+public interface ICounter
+{
+    /**
+     * Increments the counter by one.
+     */
+    default void increment() {
+        add(1);
+    }
+
+    /**
+     * Adds the given amount to the counter.
+     *
+     * @param amount The amount to add.
+     */
+    void add(long amount);
+
+    /**
+     * The current total of the counter.
+     *
+     * @return The total.
+     */
+    long get();
+}
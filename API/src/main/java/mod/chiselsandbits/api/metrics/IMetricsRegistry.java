@@ -0,0 +1,53 @@
+package mod.chiselsandbits.api.metrics;
+
+import mod.chiselsandbits.api.IChiselsAndBitsAPI;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A registry of runtime metrics, which allows for the inspection of the caches, executors and network traffic of Chisels and Bits while the game runs.
+ * Metrics are identified by their name, requesting a metric with the same name twice returns the same metric.
+ */
+public interface IMetricsRegistry
+{
+    /**
+     * Gives access to the current metrics registry.
+     *
+     * @return The current metrics registry.
+     */
+    static IMetricsRegistry getInstance() {
+        return IChiselsAndBitsAPI.getInstance().getMetricsRegistry();
+    }
+
+    /**
+     * Gets or creates the counter with the given name.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    ICounter counter(String name);
+
+    /**
+     * Gets or creates the timer with the given name.
+     *
+     * @param name The name of the timer.
+     * @return The timer.
+     */
+    ITimer timer(String name);
+
+    /**
+     * Registers a gauge, whose value is requested every time a snapshot is taken.
+     * Registering a gauge with the name of an existing gauge replaces the existing gauge.
+     *
+     * @param name The name of the gauge.
+     * @param valueSupplier The supplier of the current value of the gauge.
+     */
+    void gauge(String name, DoubleSupplier valueSupplier);
+
+    /**
+     * Takes a snapshot of the current values of all metrics.
+     *
+     * @return The snapshot.
+     */
+    IMetricsSnapshot snapshot();
+}
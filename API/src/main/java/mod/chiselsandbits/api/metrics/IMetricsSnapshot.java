@@ -0,0 +1,24 @@
+package mod.chiselsandbits.api.metrics;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * The values of all metrics at a single point in time.
+ */
+public interface IMetricsSnapshot
+{
+    /**
+     * Writes all metrics to the given file as JSON, creating it if necessary.
+     *
+     * @param file The file to write to.
+     */
+    void writeToFile(Path file);
+
+    /**
+     * Writes all metrics in a readable manor into the given consumer, allows for the outputting of the snapshot to a player in chat, or the server console.
+     *
+     * @param lineConsumer The line consumer.
+     */
+    void writeAsResponse(Consumer<String> lineConsumer);
+}
@@ -0,0 +1,24 @@
+package mod.chiselsandbits.api.metrics;
+
+/**
+ * A metric which records durations.
+ * Snapshots report the amount of recorded durations, as well as their mean, median, 99th percentile and maximum.
+ */
+public interface ITimer
+{
+    /**
+     * Records a single duration.
+     *
+     * @param durationNanos The duration in nanoseconds.
+     */
+    void record(long durationNanos);
+
+    /**
+     * Records the time which passed since the given start time.
+     *
+     * @param startNanos The start time, as returned by {@link System#nanoTime()}.
+     */
+    default void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+}
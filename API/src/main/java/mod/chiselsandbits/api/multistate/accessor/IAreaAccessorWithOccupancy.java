@@ -0,0 +1,16 @@
+package mod.chiselsandbits.api.multistate.accessor;
+
+/**
+ * A special {@link IAreaAccessor} that keeps track of which parts of its area are occupied.
+ * Allows coarse queries, like whether a region is empty or the area is uniform, without walking all its entries.
+ */
+public interface IAreaAccessorWithOccupancy extends IAreaAccessor
+{
+    /**
+     * The occupancy of the area.
+     * The returned object is live and reflects later changes to the area.
+     *
+     * @return The occupancy of the area.
+     */
+    IOccupancyPyramid getOccupancy();
+}
@@ -0,0 +1,59 @@
+package mod.chiselsandbits.api.multistate.accessor;
+
+import net.minecraft.core.Direction;
+
+/**
+ * An immutable description of the outer layer of a block, on a single side.
+ *
+ * Contains a mask with one bit per entry on the layer, which is set when the entry is not air,
+ * and a hash of the states of all entries on the layer.
+ * Two signatures of the same side are equal when the layers they describe can not be told apart by a neighboring block.
+ */
+public interface IFaceSignature
+{
+    /**
+     * The side of the block that is described.
+     *
+     * @return The side.
+     */
+    Direction getSide();
+
+    /**
+     * The amount of entries per block side.
+     *
+     * @return The amount of entries per block side.
+     */
+    int getSize();
+
+    /**
+     * Indicates if the entry on the outer layer, at the given position, is not air.
+     * The coordinate along the axis of the side is ignored, so any position in the block can be used to look up the entry on the layer in front of it.
+     *
+     * @param x The x position of the entry.
+     * @param y The y position of the entry.
+     * @param z The z position of the entry.
+     * @return True when the entry is occupied.
+     */
+    boolean isOccupied(int x, int y, int z);
+
+    /**
+     * Indicates if all entries on the outer layer are air.
+     *
+     * @return True when the layer is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Indicates if no entries on the outer layer are air.
+     *
+     * @return True when the layer is fully covered.
+     */
+    boolean isCovered();
+
+    /**
+     * A hash of the states of all entries on the outer layer.
+     *
+     * @return The hash.
+     */
+    long getContentHash();
+}
@@ -0,0 +1,132 @@
+package mod.chiselsandbits.api.multistate.accessor;
+
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Optional;
+
+/**
+ * Tracks the occupancy of a single block on multiple resolutions.
+ *
+ * The block is divided in cells on three levels, with 8, 4 and 2 cells per block side.
+ * If the block has less entries per side then a level has cells, then that level has one cell per entry.
+ * A cell is occupied when at least one of its entries is not air, and full when none of its entries are air.
+ */
+public interface IOccupancyPyramid
+{
+    /**
+     * The level with 8 cells per block side.
+     */
+    int LEVEL_EIGHT = 8;
+
+    /**
+     * The level with 4 cells per block side.
+     */
+    int LEVEL_FOUR = 4;
+
+    /**
+     * The level with 2 cells per block side.
+     */
+    int LEVEL_TWO = 2;
+
+    /**
+     * The amount of entries per block side.
+     *
+     * @return The amount of entries per block side.
+     */
+    int getSize();
+
+    /**
+     * The amount of cells per block side on the given level.
+     *
+     * @param level The level, one of {@link #LEVEL_EIGHT}, {@link #LEVEL_FOUR} or {@link #LEVEL_TWO}.
+     * @return The amount of cells per block side.
+     */
+    default int getCellsPerSide(final int level)
+    {
+        return Math.min(level, getSize());
+    }
+
+    /**
+     * Indicates if the given cell contains no entries which are not air.
+     *
+     * @param level The level of the cell.
+     * @param x The x position of the cell.
+     * @param y The y position of the cell.
+     * @param z The z position of the cell.
+     * @return True when the cell is empty.
+     */
+    boolean isCellEmpty(int level, int x, int y, int z);
+
+    /**
+     * Indicates if the given cell contains only entries which are not air.
+     *
+     * @param level The level of the cell.
+     * @param x The x position of the cell.
+     * @param y The y position of the cell.
+     * @param z The z position of the cell.
+     * @return True when the cell is full.
+     */
+    boolean isCellFull(int level, int x, int y, int z);
+
+    /**
+     * The amount of entries in the block which are not air.
+     *
+     * @return The amount of occupied entries.
+     */
+    int getOccupiedCount();
+
+    /**
+     * Indicates if the block contains only air.
+     *
+     * @return True when the block is empty.
+     */
+    default boolean isEmpty()
+    {
+        return getOccupiedCount() == 0;
+    }
+
+    /**
+     * Indicates if the block contains no air.
+     *
+     * @return True when the block is full.
+     */
+    default boolean isFull()
+    {
+        return getOccupiedCount() == getSize() * getSize() * getSize();
+    }
+
+    /**
+     * Indicates if all entries on the outer layer of the block, on the given side, are not air.
+     *
+     * @param side The side of the block.
+     * @return True when the side is fully covered.
+     */
+    boolean isFaceCovered(Direction side);
+
+    /**
+     * The signature of the outer layer of the block, on the given side.
+     * The returned signature is immutable, and does not reflect later changes to the block.
+     *
+     * @param side The side of the block.
+     * @return The signature of the side.
+     */
+    IFaceSignature getFaceSignature(Direction side);
+
+    /**
+     * The state of all entries in the block, if they all have the same state.
+     *
+     * @return An optional containing the state, if the block is uniform.
+     */
+    Optional<BlockState> getUniformState();
+
+    /**
+     * Indicates if all entries in the block have the same state.
+     *
+     * @return True when the block is uniform.
+     */
+    default boolean isUniform()
+    {
+        return getUniformState().isPresent();
+    }
+}
@@ -1,6 +1,7 @@
 package mod.chiselsandbits.api.neighborhood;
 
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
@@ -27,4 +28,26 @@ public interface IBlockNeighborhood
      */
     @Nullable
     IAreaAccessor getAreaAccessor(final Direction direction);
+
+    /**
+     * Returns the signature of the face of the neighbor in the given direction, which touches the block.
+     * If present, the area accessor of the neighbor only needs to be consulted for the entries the signature marks as occupied,
+     * and might be absent if the signature is empty.
+     *
+     * @param direction The direction.
+     * @return The signature of the touching face, or null if the neighbor does not provide one.
+     */
+    @Nullable
+    IFaceSignature getFaceSignature(final Direction direction);
+
+    /**
+     * Indicates if the neighbor in the given direction still looks the same, from the perspective of the block,
+     * as it did when this neighborhood was built.
+     *
+     * @param direction The direction.
+     * @param blockState The current blockstate of the neighbor.
+     * @param areaAccessor The current area accessor of the neighbor, if any.
+     * @return True when the neighbor is unchanged.
+     */
+    boolean isUnchanged(final Direction direction, final BlockState blockState, @Nullable final IAreaAccessor areaAccessor);
 }
@@ -0,0 +1,96 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.api.IChiselsAndBitsAPI;
+import mod.chiselsandbits.api.block.state.id.IBlockStateIdManager;
+import mod.chiselsandbits.api.config.IChiselsAndBitsConfiguration;
+import mod.chiselsandbits.api.config.ICommonConfiguration;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Prepares a headless environment in which the storage, shape and serialization code of Chisels and Bits can run.
+ *
+ * Minecraft is bootstrapped without a client or a server, which registers the vanilla blocks. The API is replaced by a stub,
+ * which only answers the calls the benchmarked code makes, and fails loudly on every other call, so that a benchmark never
+ * silently measures code which depends on a running game.
+ */
+public final class BenchmarkEnvironment
+{
+    private static final Map<String, Object> COMMON_CONFIGURATION = Map.of(
+      "getCollisionBoxCacheSize", 10000L,
+      "getFlightRecorderEventsEnabled", false
+    );
+
+    private static boolean initialized = false;
+
+    private BenchmarkEnvironment()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: BenchmarkEnvironment. This is a utility class");
+    }
+
+    /**
+     * Sets up the environment, calling this more than once has no effect.
+     */
+    public static synchronized void initialize()
+    {
+        if (initialized)
+            return;
+
+        initialized = true;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        final ICommonConfiguration common = stub(ICommonConfiguration.class, Map.of(), COMMON_CONFIGURATION);
+        final IChiselsAndBitsConfiguration configuration = stub(IChiselsAndBitsConfiguration.class, Map.of("getCommon", common), Map.of());
+        final IBlockStateIdManager blockStateIdManager = new IBlockStateIdManager() {};
+
+        IChiselsAndBitsAPI.Holder.setInstance(stub(IChiselsAndBitsAPI.class, Map.of(
+          "getStateEntrySize", StateEntrySize.ONE_SIXTEENTH,
+          "getConfiguration", configuration,
+          "getBlockStateIdManager", blockStateIdManager
+        ), Map.of()));
+    }
+
+    /**
+     * Creates a stub of the given interface.
+     *
+     * @param type The interface.
+     * @param values The values returned by methods, by method name.
+     * @param suppliedValues The values returned by methods which return a supplier, like the getters of the configuration, by method name.
+     * @return The stub.
+     */
+    private static <T> T stub(final Class<T> type, final Map<String, Object> values, final Map<String, Object> suppliedValues)
+    {
+        return type.cast(Proxy.newProxyInstance(
+          type.getClassLoader(),
+          new Class<?>[] {type},
+          (proxy, method, arguments) -> {
+              if (method.getDeclaringClass() == Object.class)
+              {
+                  return switch (method.getName())
+                  {
+                      case "hashCode" -> System.identityHashCode(proxy);
+                      case "equals" -> proxy == arguments[0];
+                      default -> type.getSimpleName() + " (benchmark stub)";
+                  };
+              }
+
+              if (values.containsKey(method.getName()))
+                  return values.get(method.getName());
+
+              if (suppliedValues.containsKey(method.getName()))
+              {
+                  final Object value = suppliedValues.get(method.getName());
+                  return (Supplier<Object>) () -> value;
+              }
+
+              throw new UnsupportedOperationException(String.format("%s#%s is not available in the benchmark environment.", type.getSimpleName(), method.getName()));
+          }
+        ));
+    }
+}
@@ -0,0 +1,122 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Random;
+
+/**
+ * The synthetic blocks the benchmarks run against, each stressing the storage, the compression of shapes and the meshing differently.
+ */
+public enum Fixture
+{
+    /**
+     * Random bits of four materials and air, the worst case for every form of merging.
+     */
+    NOISE {
+        @Override
+        BlockState getState(final Random random, final int x, final int y, final int z)
+        {
+            final int material = random.nextInt(States.MATERIALS.length + 1);
+            return material == States.MATERIALS.length ? States.AIR : States.MATERIALS[material];
+        }
+    },
+
+    /**
+     * A sphere of stone which touches all sides of the block.
+     */
+    SPHERE {
+        @Override
+        BlockState getState(final Random random, final int x, final int y, final int z)
+        {
+            final double center = (SIZE - 1) / 2d;
+            final double dx = x - center;
+            final double dy = y - center;
+            final double dz = z - center;
+            return dx * dx + dy * dy + dz * dz <= (SIZE / 2d) * (SIZE / 2d) ? States.MATERIALS[0] : States.AIR;
+        }
+    },
+
+    /**
+     * A staircase of planks, which rises by one bit per bit along the x axis.
+     */
+    STAIRS {
+        @Override
+        BlockState getState(final Random random, final int x, final int y, final int z)
+        {
+            return y <= x ? States.MATERIALS[1] : States.AIR;
+        }
+    },
+
+    /**
+     * Alternating bits of stone and air, which maximizes the amount of visible faces.
+     */
+    CHECKERBOARD {
+        @Override
+        BlockState getState(final Random random, final int x, final int y, final int z)
+        {
+            return ((x + y + z) & 1) == 0 ? States.MATERIALS[0] : States.AIR;
+        }
+    },
+
+    /**
+     * A block made entirely out of stone, which the storage keeps in its uniform mode.
+     */
+    SINGLE_MATERIAL {
+        @Override
+        BlockState getState(final Random random, final int x, final int y, final int z)
+        {
+            return States.MATERIALS[0];
+        }
+    };
+
+    /**
+     * The amount of bits per block side of all fixtures.
+     */
+    public static final int SIZE = 16;
+
+    private static final long SEED = 0x43616e4242L;
+
+    /**
+     * Creates a new storage, filled with the bits of this fixture.
+     * The same fixture always produces the same bits.
+     *
+     * @return The storage.
+     */
+    public SimpleStateEntryStorage create()
+    {
+        BenchmarkEnvironment.initialize();
+
+        final Random random = new Random(SEED);
+        final SimpleStateEntryStorage storage = new SimpleStateEntryStorage(SIZE);
+        for (int x = 0; x < SIZE; x++)
+        {
+            for (int y = 0; y < SIZE; y++)
+            {
+                for (int z = 0; z < SIZE; z++)
+                {
+                    storage.setBlockState(x, y, z, getState(random, x, y, z));
+                }
+            }
+        }
+
+        return storage;
+    }
+
+    abstract BlockState getState(final Random random, final int x, final int y, final int z);
+
+    /**
+     * The states of the fixtures, which can only be created once the environment is initialized.
+     */
+    private static final class States
+    {
+        private static final BlockState   AIR       = Blocks.AIR.defaultBlockState();
+        private static final BlockState[] MATERIALS = new BlockState[] {
+          Blocks.STONE.defaultBlockState(),
+          Blocks.OAK_PLANKS.defaultBlockState(),
+          Blocks.GLASS.defaultBlockState(),
+          Blocks.WATER.defaultBlockState()
+        };
+    }
+}
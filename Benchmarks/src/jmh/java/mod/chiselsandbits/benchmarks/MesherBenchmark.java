@@ -0,0 +1,63 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.LodMesher;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.MajorityDownsampler;
+import net.minecraft.world.level.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the greedy merging of the visible faces of a block into regions, at full resolution and at the reduced levels of detail.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MesherBenchmark
+{
+    private static final boolean[] UNCOVERED = new boolean[6];
+
+    @Param
+    public Fixture fixture;
+
+    @Param({"16", "8", "4"})
+    public int resolution;
+
+    private int[] fullGrid;
+    private int[] grid;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        final SimpleStateEntryStorage storage = fixture.create();
+        fullGrid = new int[Fixture.SIZE * Fixture.SIZE * Fixture.SIZE];
+        int index = 0;
+        for (int x = 0; x < Fixture.SIZE; x++)
+        {
+            for (int y = 0; y < Fixture.SIZE; y++)
+            {
+                for (int z = 0; z < Fixture.SIZE; z++)
+                {
+                    //Air has the id zero, which matches the air of the downsampler.
+                    fullGrid[index++] = Block.getId(storage.getBlockState(x, y, z));
+                }
+            }
+        }
+
+        grid = downsample();
+    }
+
+    @Benchmark
+    public int[] downsample()
+    {
+        return resolution == Fixture.SIZE ? fullGrid : MajorityDownsampler.downsample(fullGrid, Fixture.SIZE, resolution);
+    }
+
+    @Benchmark
+    public List<LodMesher.Face> mesh()
+    {
+        return LodMesher.mesh(grid, resolution, UNCOVERED);
+    }
+}
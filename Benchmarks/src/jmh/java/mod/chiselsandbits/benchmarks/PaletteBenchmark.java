@@ -0,0 +1,54 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filling an empty block with a growing amount of distinct states, which repeatedly widens the entries of the storage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaletteBenchmark
+{
+    @Param({"2", "16", "64", "256", "1024"})
+    public int paletteSize;
+
+    private BlockState[] states;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkEnvironment.initialize();
+        states = new BlockState[paletteSize];
+        for (int i = 0; i < paletteSize; i++)
+        {
+            //Skips air, so that every state is a new entry of the palette.
+            states[i] = Block.stateById(i + 1);
+        }
+    }
+
+    @Benchmark
+    public SimpleStateEntryStorage grow()
+    {
+        final SimpleStateEntryStorage storage = new SimpleStateEntryStorage(Fixture.SIZE);
+        int index = 0;
+        for (int x = 0; x < Fixture.SIZE; x++)
+        {
+            for (int y = 0; y < Fixture.SIZE; y++)
+            {
+                for (int z = 0; z < Fixture.SIZE; z++)
+                {
+                    storage.setBlockState(x, y, z, states[index]);
+                    index = (index + 1) % states.length;
+                }
+            }
+        }
+
+        return storage;
+    }
+}
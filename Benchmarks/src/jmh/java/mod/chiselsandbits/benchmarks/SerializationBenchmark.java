@@ -0,0 +1,53 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import mod.chiselsandbits.platforms.core.util.constants.NbtConstants;
+import mod.chiselsandbits.utils.LZ4DataCompressionUtils;
+import net.minecraft.nbt.CompoundTag;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading the bits of a block, the way a chiseled block entity stores them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark
+{
+    @Param
+    public Fixture fixture;
+
+    private SimpleStateEntryStorage storage;
+    private SimpleStateEntryStorage target;
+    private CompoundTag             compressed;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        storage = fixture.create();
+        target = new SimpleStateEntryStorage(Fixture.SIZE);
+        compressed = compress();
+    }
+
+    @Benchmark
+    public CompoundTag compress()
+    {
+        return LZ4DataCompressionUtils.compress(tag -> tag.put(NbtConstants.CHISELED_DATA, storage.serializeNBT()));
+    }
+
+    @Benchmark
+    public SimpleStateEntryStorage decompress()
+    {
+        LZ4DataCompressionUtils.decompress(compressed, tag -> target.deserializeNBT(tag.getCompound(NbtConstants.CHISELED_DATA)));
+        return target;
+    }
+
+    @Benchmark
+    public SimpleStateEntryStorage roundTrip()
+    {
+        LZ4DataCompressionUtils.decompress(compress(), tag -> target.deserializeNBT(tag.getCompound(NbtConstants.CHISELED_DATA)));
+        return target;
+    }
+}
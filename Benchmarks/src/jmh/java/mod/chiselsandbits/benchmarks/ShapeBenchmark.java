@@ -0,0 +1,51 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.aabb.AABBCompressor;
+import mod.chiselsandbits.aabb.AABBManager;
+import mod.chiselsandbits.api.util.StateEntryPredicates;
+import mod.chiselsandbits.multistate.snapshot.RenderSnapshot;
+import mod.chiselsandbits.voxelshape.VoxelShapeCalculator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calculation of the collision boxes and the voxel shape of a single block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShapeBenchmark
+{
+    @Param
+    public Fixture fixture;
+
+    private RenderSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        snapshot = new RenderSnapshot(fixture.create(), Blocks.STONE.defaultBlockState());
+    }
+
+    @Benchmark
+    public Collection<AABB> compressBoxes()
+    {
+        return AABBCompressor.compressStates(snapshot, StateEntryPredicates.COLLIDEABLE_ONLY);
+    }
+
+    /**
+     * Calculates the optimized shape, the cached boxes are dropped first so that the boxes are compressed every time.
+     */
+    @Benchmark
+    public VoxelShape calculateShape()
+    {
+        AABBManager.getInstance().clearCache();
+        return VoxelShapeCalculator.calculate(snapshot, BlockPos.ZERO, accessor -> StateEntryPredicates.COLLIDEABLE_ONLY, true);
+    }
+}
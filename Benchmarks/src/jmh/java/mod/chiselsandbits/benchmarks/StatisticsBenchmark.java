@@ -0,0 +1,42 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import net.minecraft.nbt.CompoundTag;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the recalculation of the statistics of a block when it is loaded: deserializing the block, which also rebuilds its occupancy,
+ * followed by counting its states.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatisticsBenchmark
+{
+    @Param
+    public Fixture fixture;
+
+    private CompoundTag             saved;
+    private SimpleStateEntryStorage storage;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        saved = fixture.create().serializeNBT();
+        storage = new SimpleStateEntryStorage(Fixture.SIZE);
+    }
+
+    @Benchmark
+    public void recalculate(final Blackhole blackhole)
+    {
+        storage.deserializeNBT(saved);
+        storage.count((state, count) -> {
+            blackhole.consume(state);
+            blackhole.consume(count);
+        });
+        blackhole.consume(storage.getOccupancy().getOccupiedCount());
+    }
+}
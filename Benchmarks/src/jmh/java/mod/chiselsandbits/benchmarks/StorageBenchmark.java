@@ -0,0 +1,105 @@
+package mod.chiselsandbits.benchmarks;
+
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing the bits of a single block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageBenchmark
+{
+    private static final int ENTRY_COUNT = Fixture.SIZE * Fixture.SIZE * Fixture.SIZE;
+
+    @Param
+    public Fixture fixture;
+
+    private SimpleStateEntryStorage storage;
+    private BlockState[]            states;
+    private int                     shift = 0;
+
+    @Setup(Level.Iteration)
+    public void setup()
+    {
+        storage = fixture.create();
+        states = new BlockState[ENTRY_COUNT];
+        int index = 0;
+        for (int x = 0; x < Fixture.SIZE; x++)
+        {
+            for (int y = 0; y < Fixture.SIZE; y++)
+            {
+                for (int z = 0; z < Fixture.SIZE; z++)
+                {
+                    states[index++] = storage.getBlockState(x, y, z);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void get(final Blackhole blackhole)
+    {
+        for (int x = 0; x < Fixture.SIZE; x++)
+        {
+            for (int y = 0; y < Fixture.SIZE; y++)
+            {
+                for (int z = 0; z < Fixture.SIZE; z++)
+                {
+                    blackhole.consume(storage.getBlockState(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all bits, shifted by one entry per invocation, so that every invocation actually changes the bits.
+     */
+    @Benchmark
+    public SimpleStateEntryStorage set()
+    {
+        shift = (shift + 1) % ENTRY_COUNT;
+        int index = shift;
+        for (int x = 0; x < Fixture.SIZE; x++)
+        {
+            for (int y = 0; y < Fixture.SIZE; y++)
+            {
+                for (int z = 0; z < Fixture.SIZE; z++)
+                {
+                    storage.setBlockState(x, y, z, states[index]);
+                    index = (index + 1) % ENTRY_COUNT;
+                }
+            }
+        }
+
+        return storage;
+    }
+
+    @Benchmark
+    public SimpleStateEntryStorage fill()
+    {
+        storage.fillFromBottom(Blocks.STONE.defaultBlockState(), ENTRY_COUNT / 2);
+        return storage;
+    }
+
+    @Benchmark
+    public SimpleStateEntryStorage rotate()
+    {
+        storage.rotate(Direction.Axis.Y, 1);
+        return storage;
+    }
+
+    @Benchmark
+    public SimpleStateEntryStorage mirror()
+    {
+        storage.mirror(Direction.Axis.X);
+        return storage;
+    }
+}
@@ -22,6 +22,7 @@ public class AABBManager
     }
 
     private final SimpleMaxSizedCache<Key, Collection<AABB>> cache = new SimpleMaxSizedCache<>(
+      "collision-boxes",
       IChiselsAndBitsConfiguration.getInstance().getCommon().getCollisionBoxCacheSize()::get
     );
 
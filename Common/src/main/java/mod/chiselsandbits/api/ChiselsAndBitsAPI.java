@@ -17,6 +17,7 @@ import mod.chiselsandbits.api.inventory.management.IBitInventoryManager;
 import mod.chiselsandbits.api.item.bit.IBitItemManager;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemFactory;
 import mod.chiselsandbits.api.measuring.IMeasuringManager;
+import mod.chiselsandbits.api.metrics.IMetricsRegistry;
 import mod.chiselsandbits.api.modification.operation.IModificationOperation;
 import mod.chiselsandbits.api.multistate.accessor.IAccessorFactory;
 import mod.chiselsandbits.api.multistate.mutator.IMutatorFactory;
@@ -38,6 +39,7 @@ import mod.chiselsandbits.inventory.management.BitInventoryManager;
 import mod.chiselsandbits.item.bit.BitItemManager;
 import mod.chiselsandbits.item.multistate.MultiStateItemFactory;
 import mod.chiselsandbits.measures.MeasuringManager;
+import mod.chiselsandbits.metrics.MetricsRegistry;
 import mod.chiselsandbits.multistate.mutator.MutatorFactory;
 import mod.chiselsandbits.neighborhood.BlockNeighborhoodBuilder;
 import mod.chiselsandbits.permissions.PermissionHandler;
@@ -221,6 +223,12 @@ public class ChiselsAndBitsAPI implements IChiselsAndBitsAPI
         return ProfilingManager.getInstance();
     }
 
+    @Override
+    public @NotNull IMetricsRegistry getMetricsRegistry()
+    {
+        return MetricsRegistry.getInstance();
+    }
+
     @Override
     public @NotNull ILocalChiselingContextCache getLocalChiselingContextCache()
     {
@@ -9,8 +9,11 @@ import mod.chiselsandbits.api.block.storage.IStateEntryStorage;
 import mod.chiselsandbits.api.change.IChangeTracker;
 import mod.chiselsandbits.api.chiseling.conversion.IConversionManager;
 import mod.chiselsandbits.api.chiseling.eligibility.IEligibilityManager;
+import mod.chiselsandbits.api.config.IServerConfiguration;
 import mod.chiselsandbits.api.exceptions.SpaceOccupiedException;
 import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
+import mod.chiselsandbits.api.multistate.accessor.IOccupancyPyramid;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
 import mod.chiselsandbits.api.multistate.accessor.identifier.IAreaShapeIdentifier;
 import mod.chiselsandbits.api.multistate.accessor.identifier.IByteArrayBackedAreaShapeIdentifier;
@@ -21,16 +24,23 @@ import mod.chiselsandbits.api.multistate.mutator.callback.StateClearer;
 import mod.chiselsandbits.api.multistate.mutator.callback.StateSetter;
 import mod.chiselsandbits.api.multistate.mutator.world.IInWorldMutableStateEntryInfo;
 import mod.chiselsandbits.api.multistate.snapshot.IMultiStateSnapshot;
+import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
 import mod.chiselsandbits.api.multistate.statistics.IMultiStateObjectStatistics;
 import mod.chiselsandbits.api.util.*;
 import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.ModelLod;
 import mod.chiselsandbits.client.model.data.ChiseledBlockModelDataManager;
+import mod.chiselsandbits.metrics.BlockEntityMetrics;
+import mod.chiselsandbits.multistate.snapshot.RenderSnapshot;
 import mod.chiselsandbits.network.packets.TileEntityUpdatedPacket;
 import mod.chiselsandbits.platforms.core.blockstate.ILevelBasedPropertyAccessor;
 import mod.chiselsandbits.platforms.core.client.models.data.IBlockModelData;
 import mod.chiselsandbits.platforms.core.client.models.data.IModelDataBuilder;
 import mod.chiselsandbits.platforms.core.entity.block.IBlockEntityWithModelData;
 import mod.chiselsandbits.platforms.core.util.constants.NbtConstants;
+import mod.chiselsandbits.profiling.jfr.BlockEntitySaveEvent;
+import mod.chiselsandbits.profiling.jfr.BulkMutationEvent;
+import mod.chiselsandbits.profiling.jfr.FlightRecorderEvents;
 import mod.chiselsandbits.registrars.ModBlockEntityTypes;
 import mod.chiselsandbits.storage.ILegacyStorageHandler;
 import mod.chiselsandbits.storage.IMultiThreadedStorageEngine;
@@ -67,25 +77,32 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @SuppressWarnings("deprecation")
-public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlockEntity, INetworkUpdateableEntity, IBlockEntityWithModelData
+public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlockEntity, IAreaAccessorWithOccupancy, INetworkUpdateableEntity, IBlockEntityWithModelData
 {
     public static final float ONE_THOUSANDS       = 1 / 1000f;
 
+    private static final AtomicLong CONTENT_REVISIONS = new AtomicLong();
+
     private final MutableStatistics mutableStatistics;
     private final Map<UUID, IBatchMutation> batchMutations = Maps.newConcurrentMap();
     private final IStateEntryStorage        compressedSection;
     private final IMultiThreadedStorageEngine storageEngine;
 
     private       IBlockModelData             modelData = IModelDataBuilder.create().build();
+    private       IBlockNeighborhood          modelNeighborhood = null;
+    private       ModelLod                    modelLod = ModelLod.FULL;
 
     private final Object tagSyncHandle = new Object();
     private CompoundTag lastTag = null;
     private CompletableFuture<Void> storageFuture = null;
+    private int mutatedBits = 0;
+    private volatile long contentRevision = CONTENT_REVISIONS.incrementAndGet();
 
     public ChiseledBlockEntity(BlockPos position, BlockState state)
     {
@@ -98,6 +115,8 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
                           .withLegacy(new LegacyGZIPStorageBasedStorageHandler())
                           .with(new LZ4StorageBasedStorageHandler())
                           .buildMultiThreaded();
+
+        BlockEntityMetrics.getInstance().track(this);
     }
 
     @Override
@@ -211,6 +230,38 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
         return MultiStateSnapshotUtils.createFromStorage(this.compressedSection);
     }
 
+    /**
+     * Creates an immutable copy of the contents of this block, which can be read by the model builders off thread.
+     * Needs to be called on the thread that owns this block.
+     *
+     * @return The render snapshot.
+     */
+    public RenderSnapshot createRenderSnapshot()
+    {
+        return new RenderSnapshot(this.compressedSection, getStatistics().getPrimaryState());
+    }
+
+    /**
+     * Identifies the current contents of this block. Changes whenever the contents change, and is never shared with another block,
+     * so that derived data can be validated without comparing the contents themselves.
+     *
+     * @return The revision of the contents.
+     */
+    public long getContentRevision()
+    {
+        return contentRevision;
+    }
+
+    /**
+     * Estimates the heap memory retained by the bits of this block.
+     *
+     * @return The estimated amount of bytes.
+     */
+    public long getEstimatedMemoryUsage()
+    {
+        return this.compressedSection instanceof final SimpleStateEntryStorage storage ? storage.getEstimatedMemoryUsage() : 0;
+    }
+
     @Override
     public void load( @NotNull final CompoundTag nbt)
     {
@@ -221,6 +272,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
     public void deserializeNBT(final CompoundTag nbt)
     {
         this.storageEngine.deserializeNBT(nbt);
+        this.contentRevision = CONTENT_REVISIONS.incrementAndGet();
         ChiseledBlockModelDataManager.getInstance().updateModelData(this);
     }
 
@@ -261,6 +313,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
     @Override
     public void setChanged()
     {
+        this.contentRevision = CONTENT_REVISIONS.incrementAndGet();
         if (getLevel() != null && this.batchMutations.isEmpty())
         {
             this.mutableStatistics.updatePrimaryState(true);
@@ -330,6 +383,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
     {
         compressedSection.deserializeFrom(packetBuffer);
         mutableStatistics.deserializeFrom(packetBuffer);
+        this.contentRevision = CONTENT_REVISIONS.incrementAndGet();
         ChiseledBlockModelDataManager.getInstance().updateModelData(this);
     }
 
@@ -390,6 +444,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
           inAreaPos.getZ(),
           blockState
         );
+        this.mutatedBits++;
 
         if (blockState.isAir() && !currentState.isAir())
         {
@@ -486,6 +541,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
           inAreaPos.getZ(),
           blockState
         );
+        this.mutatedBits++;
 
         if (blockState.isAir() && !currentState.isAir())
         {
@@ -525,6 +581,25 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
         );
     }
 
+    /**
+     * Returns the state of the bit on the given position, without creating a state entry for it.
+     *
+     * @param x The x position of the bit.
+     * @param y The y position of the bit.
+     * @param z The z position of the bit.
+     * @return The state of the bit.
+     */
+    public BlockState getBitState(final int x, final int y, final int z)
+    {
+        return compressedSection.getBlockState(x, y, z);
+    }
+
+    @Override
+    public IOccupancyPyramid getOccupancy()
+    {
+        return compressedSection.getOccupancy();
+    }
+
     @Override
     public IMultiStateObjectStatistics getStatistics()
     {
@@ -534,7 +609,8 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
     @Override
     public void rotate(final Direction.Axis axis, final int rotationCount)
     {
-        if (getLevel() == null)
+        //Uniform blocks are not changed by this, so they are neither marked dirty nor synced again.
+        if (getLevel() == null || this.compressedSection.getOccupancy().isUniform())
         {
             return;
         }
@@ -549,7 +625,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
     @Override
     public void mirror(final Direction.Axis axis)
     {
-        if (getLevel() == null)
+        if (getLevel() == null || this.compressedSection.getOccupancy().isUniform())
         {
             return;
         }
@@ -621,6 +697,8 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
     public IBatchMutation batch()
     {
         final UUID id = UUID.randomUUID();
+        final BulkMutationEvent event = FlightRecorderEvents.begin(BulkMutationEvent::new);
+        final int initialMutatedBits = this.mutatedBits;
 
         this.batchMutations.put(id, new BatchMutationLock(() -> {
             this.batchMutations.remove(id);
@@ -629,6 +707,16 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
             {
                 setChanged();
             }
+
+            if (event != null)
+            {
+                event.end();
+                event.x = getBlockPos().getX();
+                event.y = getBlockPos().getY();
+                event.z = getBlockPos().getZ();
+                event.bitsChanged = this.mutatedBits - initialMutatedBits;
+                event.commit();
+            }
         }));
         return this.batchMutations.get(id);
     }
@@ -656,6 +744,38 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
         return this.modelData;
     }
 
+    /**
+     * The neighborhood the current model data was built for.
+     *
+     * @return The neighborhood, or null if no model data was built yet.
+     */
+    @Nullable
+    public IBlockNeighborhood getModelNeighborhood()
+    {
+        return modelNeighborhood;
+    }
+
+    public void setModelNeighborhood(@Nullable final IBlockNeighborhood modelNeighborhood)
+    {
+        this.modelNeighborhood = modelNeighborhood;
+    }
+
+    /**
+     * The level of detail the current model data was built with.
+     *
+     * @return The level of detail.
+     */
+    @NotNull
+    public ModelLod getModelLod()
+    {
+        return modelLod;
+    }
+
+    public void setModelLod(@NotNull final ModelLod modelLod)
+    {
+        this.modelLod = modelLod;
+    }
+
     private static final class StateEntry implements IInWorldMutableStateEntryInfo
     {
 
@@ -921,8 +1041,10 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
                              .orElseGet(Blocks.AIR::defaultBlockState);
 
             final boolean primaryIsAir = this.primaryState.isAir();
+            final boolean isUniform = this.countMap.getOrDefault(primaryState, 0) == StateEntrySize.current().getBitsPerBlock();
+            final boolean collapseUniform = isUniform && IServerConfiguration.getInstance().getCollapseUniformBlocks().get();
 
-            if ((this.countMap.getOrDefault(primaryState, 0) == StateEntrySize.current().getBitsPerBlock() || primaryIsAir || currentPrimary != primaryState) && updateWorld) {
+            if ((collapseUniform || primaryIsAir || currentPrimary != primaryState) && updateWorld) {
                 if (primaryIsAir) {
                     this.worldReaderSupplier.get().setBlock(
                       this.positionSupplier.get(),
@@ -930,7 +1052,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
                       Block.UPDATE_ALL
                     );
                 }
-                else if (this.countMap.getOrDefault(primaryState, 0) == StateEntrySize.current().getBitsPerBlock())
+                else if (collapseUniform)
                 {
                     this.worldReaderSupplier.get().setBlock(
                       this.positionSupplier.get(),
@@ -1748,6 +1870,7 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
         @Override
         public CompoundTag serializeNBT()
         {
+            final BlockEntitySaveEvent event = FlightRecorderEvents.begin(BlockEntitySaveEvent::new);
             return LZ4DataCompressionUtils.compress(compoundTag -> {
                 compoundTag.put(NbtConstants.CHISELED_DATA, compressedSection.serializeNBT());
                 compoundTag.put(NbtConstants.STATISTICS, mutableStatistics.serializeNBT());
@@ -1756,6 +1879,14 @@ public class ChiseledBlockEntity extends BlockEntity implements IMultiStateBlock
                 {
                     mutableStatistics.recalculate(compressedSection);
                 }
+            }, event == null ? null : (uncompressedBytes, compressedBytes) -> {
+                event.end();
+                event.x = getBlockPos().getX();
+                event.y = getBlockPos().getY();
+                event.z = getBlockPos().getZ();
+                event.uncompressedBytes = uncompressedBytes;
+                event.compressedBytes = compressedBytes;
+                event.commit();
             });
         }
 
@@ -1,12 +1,9 @@
 package mod.chiselsandbits.block.entities;
 
-import mod.chiselsandbits.api.chiseling.eligibility.IEligibilityManager;
+import mod.chiselsandbits.api.config.IServerConfiguration;
 import mod.chiselsandbits.api.item.chisel.IChiselItem;
-import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
 import mod.chiselsandbits.api.item.pattern.IMultiUsePatternItem;
 import mod.chiselsandbits.api.item.pattern.IPatternItem;
-import mod.chiselsandbits.api.multistate.mutator.IMutableStateEntryInfo;
-import mod.chiselsandbits.api.multistate.snapshot.IMultiStateSnapshot;
 import mod.chiselsandbits.api.util.LocalStrings;
 import mod.chiselsandbits.block.ChiseledPrinterBlock;
 import mod.chiselsandbits.container.ChiseledPrinterContainer;
@@ -29,7 +26,6 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
-import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,7 +35,6 @@ import java.util.Optional;
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
 public class ChiseledPrinterBlockEntity extends BlockEntity implements MenuProvider, WorldlyContainer
 {
-    private final   MutableObject<ItemStack>  currentRealisedWorkingStack = new MutableObject<>(ItemStack.EMPTY);
     private final   Optional<SimpleContainer> tool_handler                = Optional.of(new SimpleContainer(1));
     private final   Optional<SimpleContainer> pattern_handler             = Optional.of(new SimpleContainer(1));
     private final   Optional<SimpleContainer> result_handler              = Optional.of(new SimpleContainer(1));
@@ -116,15 +111,15 @@ public class ChiseledPrinterBlockEntity extends BlockEntity implements MenuProvi
         {
             if (canWork())
             {
+                //The progress is synced to open screens through the container data, so the block is only marked dirty once an output is produced.
                 progress++;
                 if (progress >= 100)
                 {
-                    result_handler.ifPresent(h -> h.setItem(0, realisePattern(true)));
-                    currentRealisedWorkingStack.setValue(ItemStack.EMPTY);
+                    final int printedCount = print();
                     progress = 0;
-                    damageChisel();
+                    damageChisel(printedCount);
+                    setChanged();
                 }
-                setChanged();
             }
         }
         else if (progress != 0)
@@ -146,7 +141,7 @@ public class ChiseledPrinterBlockEntity extends BlockEntity implements MenuProvi
 
     public boolean hasRealisedStack()
     {
-        return !getRealisedStack().isEmpty();
+        return !getPrintableStack().isEmpty();
     }
 
     public boolean hasOutputStack()
@@ -161,17 +156,18 @@ public class ChiseledPrinterBlockEntity extends BlockEntity implements MenuProvi
             return true;
         }
 
-        if (!hasRealisedStack())
+        final ItemStack printableStack = getPrintableStack();
+        if (printableStack.isEmpty())
         {
             return false;
         }
 
-        return IItemComparisonHelper.getInstance().canItemStacksStack(getOutputStack(), getRealisedStack());
+        return IItemComparisonHelper.getInstance().canItemStacksStack(getOutputStack(), printableStack);
     }
 
     public boolean canWork()
     {
-        return hasPatternStack() && hasToolStack() && canMergeOutputs() && !getRealisedStack().isEmpty();
+        return hasPatternStack() && hasToolStack() && canMergeOutputs() && hasRealisedStack();
     }
 
     public boolean couldWork()
@@ -181,90 +177,90 @@ public class ChiseledPrinterBlockEntity extends BlockEntity implements MenuProvi
 
     public ItemStack getRealisedStack()
     {
-        ItemStack realisedStack = currentRealisedWorkingStack.getValue();
-        if (realisedStack.isEmpty())
+        return getPrintableStack().copy();
+    }
+
+    /**
+     * The stack which the printer currently produces, if the storages contain enough bits for it.
+     * The stack is shared with the pattern cache and may not be modified.
+     *
+     * @return The stack, or {@link ItemStack#EMPTY} when nothing can be printed.
+     */
+    private ItemStack getPrintableStack()
+    {
+        final PrinterPatternCache.Realisation realisation = getRealisation();
+        if (getPrintableCount(realisation) == 0)
         {
-            realisedStack = realisePattern(false);
-            currentRealisedWorkingStack.setValue(realisedStack);
+            return ItemStack.EMPTY;
         }
 
-        return realisedStack;
+        return realisation.result();
     }
 
-    private ItemStack realisePattern(final boolean consumeResources)
+    private PrinterPatternCache.Realisation getRealisation()
     {
         if (!hasPatternStack())
         {
-            return ItemStack.EMPTY;
+            return PrinterPatternCache.Realisation.EMPTY;
         }
 
         final ItemStack stack = getPatternStack();
         if (!(stack.getItem() instanceof final IPatternItem patternItem))
         {
-            return ItemStack.EMPTY;
-        }
-
-        final IMultiStateItemStack realisedPattern = patternItem.createItemStack(stack);
-        if (realisedPattern.getStatistics().isEmpty())
-        {
-            return ItemStack.EMPTY;
+            return PrinterPatternCache.Realisation.EMPTY;
         }
 
         final BlockState firstState = getPrimaryBlockState() == null ? Blocks.AIR.defaultBlockState() : getPrimaryBlockState();
         final BlockState secondState = getSecondaryBlockState() == null ? Blocks.AIR.defaultBlockState() : getSecondaryBlockState();
         final BlockState thirdState = getTertiaryBlockState() == null ? Blocks.AIR.defaultBlockState() : getTertiaryBlockState();
 
-        if (firstState.isAir() && secondState.isAir() && thirdState.isAir())
-        {
-            return ItemStack.EMPTY;
-        }
+        return PrinterPatternCache.getInstance().realise(stack, patternItem, firstState, secondState, thirdState);
+    }
 
-        if ((!IEligibilityManager.getInstance().canBeChiseled(firstState) && !firstState.isAir())
-              || (!IEligibilityManager.getInstance().canBeChiseled(secondState) && !secondState.isAir())
-              || (!IEligibilityManager.getInstance().canBeChiseled(thirdState) && !thirdState.isAir())
-        )
+    private int getPrintableCount(final PrinterPatternCache.Realisation realisation)
+    {
+        if (realisation.isEmpty())
         {
-            return ItemStack.EMPTY;
+            return 0;
         }
 
-        final IMultiStateSnapshot modifiableSnapshot = realisedPattern.createSnapshot();
-        modifiableSnapshot.mutableStream()
-          .filter(e -> (e.getState() != firstState || firstState == Blocks.AIR.defaultBlockState()) && (e.getState() != secondState
-                                                                                                          || secondState == Blocks.AIR.defaultBlockState()) && (
-            e.getState() != thirdState || thirdState == Blocks.AIR.defaultBlockState()) && e.getState() != Blocks.AIR.defaultBlockState())
-          .forEach(IMutableStateEntryInfo::clear);
-
-        if (modifiableSnapshot.getStatics().getStateCounts().getOrDefault(firstState, 0) == 0 &&
-              modifiableSnapshot.getStatics().getStateCounts().getOrDefault(secondState, 0) == 0 &&
-              modifiableSnapshot.getStatics().getStateCounts().getOrDefault(thirdState, 0) == 0
-        )
-        {
-            return ItemStack.EMPTY;
-        }
+        return realisation.getPrintableCount(getAvailablePrimaryBlockState(), getAvailableSecondaryBlockState(), getAvailableTertiaryBlockState());
+    }
 
-        if ((modifiableSnapshot.getStatics().getStateCounts().getOrDefault(firstState, 0) > getAvailablePrimaryBlockState() && firstState != Blocks.AIR.defaultBlockState()) ||
-              (modifiableSnapshot.getStatics().getStateCounts().getOrDefault(secondState, 0) > getAvailableSecondaryBlockState() && secondState != Blocks.AIR.defaultBlockState())
-              ||
-              (modifiableSnapshot.getStatics().getStateCounts().getOrDefault(thirdState, 0) > getAvailableTertiaryBlockState() && thirdState != Blocks.AIR.defaultBlockState()))
+    /**
+     * Prints the pattern into the output slot, replacing its previous contents, and drains the storages.
+     * In high-throughput mode several copies are printed at once, limited by the available bits and the size of a stack.
+     *
+     * @return The amount of printed stacks.
+     */
+    private int print()
+    {
+        final PrinterPatternCache.Realisation realisation = getRealisation();
+        final int batchSize = IServerConfiguration.getInstance().getPrinterHighThroughputEnabled().get()
+                                ? IServerConfiguration.getInstance().getPrinterHighThroughputBatchSize().get()
+                                : 1;
+        final int printedCount = Math.min(Math.min(batchSize, realisation.result().getMaxStackSize()), getPrintableCount(realisation));
+        if (printedCount <= 0)
         {
-            return ItemStack.EMPTY;
+            return 0;
         }
 
-        if (consumeResources)
-        {
-            drainPrimaryStorage(modifiableSnapshot.getStatics().getStateCounts().getOrDefault(firstState, 0));
-            drainSecondaryStorage(modifiableSnapshot.getStatics().getStateCounts().getOrDefault(secondState, 0));
-            drainTertiaryStorage(modifiableSnapshot.getStatics().getStateCounts().getOrDefault(thirdState, 0));
-        }
+        drainPrimaryStorage(realisation.primaryBits() * printedCount);
+        drainSecondaryStorage(realisation.secondaryBits() * printedCount);
+        drainTertiaryStorage(realisation.tertiaryBits() * printedCount);
+
+        final ItemStack printedStack = realisation.result().copy();
+        printedStack.setCount(printedCount);
+        getResultHandler().setItem(0, printedStack);
 
-        return modifiableSnapshot.toItemStack().toBlockStack();
+        return printedCount;
     }
 
-    private void damageChisel()
+    private void damageChisel(final int amount)
     {
-        if (getLevel() != null && !getLevel().isClientSide())
+        if (amount > 0 && getLevel() != null && !getLevel().isClientSide())
         {
-            getToolStack().hurt(1, getLevel().getRandom(), null);
+            getToolStack().hurt(amount, getLevel().getRandom(), null);
         }
     }
 
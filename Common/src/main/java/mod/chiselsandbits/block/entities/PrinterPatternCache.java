@@ -0,0 +1,204 @@
+package mod.chiselsandbits.block.entities;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import mod.chiselsandbits.api.chiseling.eligibility.IEligibilityManager;
+import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
+import mod.chiselsandbits.api.item.pattern.IPatternItem;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
+import mod.chiselsandbits.platforms.core.util.constants.NbtConstants;
+import mod.chiselsandbits.utils.MultiStateSnapshotUtils;
+import mod.chiselsandbits.utils.NbtFingerprint;
+import mod.chiselsandbits.utils.SimpleMaxSizedCache;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the patterns which are printed by chiseled printers.
+ *
+ * Every pattern is decoded once into a mask of the positions of each of its states, keyed by the fingerprint of its chiseled data.
+ * Printing a pattern with the states of the attached bit storages is then a masked copy of those positions, whose result is cached
+ * as well, so that a printer which keeps printing the same pattern from the same storages does not decode or encode anything.
+ */
+final class PrinterPatternCache
+{
+    private static final int PATTERN_CACHE_SIZE     = 256;
+    private static final int REALISATION_CACHE_SIZE = 1024;
+
+    private static final PrinterPatternCache INSTANCE = new PrinterPatternCache();
+
+    static PrinterPatternCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ConcurrentMap<CompoundTag, NbtFingerprint>          fingerprints = new MapMaker().weakKeys().makeMap();
+    private final SimpleMaxSizedCache<NbtFingerprint, PatternMasks> patterns     = new SimpleMaxSizedCache<>("printer-patterns", PATTERN_CACHE_SIZE);
+    private final SimpleMaxSizedCache<Key, Realisation>             realisations = new SimpleMaxSizedCache<>("printer-realisations", REALISATION_CACHE_SIZE);
+
+    private PrinterPatternCache()
+    {
+    }
+
+    /**
+     * Determines what printing the given pattern with the given states produces.
+     * A state of air indicates that the matching storage is missing or empty.
+     *
+     * @param patternStack The pattern stack.
+     * @param patternItem The item of the pattern stack.
+     * @param primaryState The state of the primary storage.
+     * @param secondaryState The state of the secondary storage.
+     * @param tertiaryState The state of the tertiary storage.
+     * @return The realisation, which is {@link Realisation#EMPTY} when nothing can be printed.
+     */
+    Realisation realise(
+      final ItemStack patternStack,
+      final IPatternItem patternItem,
+      final BlockState primaryState,
+      final BlockState secondaryState,
+      final BlockState tertiaryState)
+    {
+        final CompoundTag stackTag = patternStack.getTag();
+        if (stackTag == null || !stackTag.contains(NbtConstants.CHISELED_DATA, Tag.TAG_COMPOUND))
+            return Realisation.EMPTY;
+
+        final NbtFingerprint fingerprint = fingerprints.computeIfAbsent(stackTag.getCompound(NbtConstants.CHISELED_DATA), NbtFingerprint::of);
+        final Key key = new Key(fingerprint, primaryState, secondaryState, tertiaryState);
+
+        return realisations.get(key, () -> {
+            final PatternMasks masks = patterns.get(fingerprint, () -> decode(patternItem.createItemStack(patternStack)));
+            return masks.realise(primaryState, secondaryState, tertiaryState);
+        });
+    }
+
+    private static PatternMasks decode(final IMultiStateItemStack pattern)
+    {
+        final int size = StateEntrySize.current().getBitsPerBlockSide();
+        final Map<BlockState, BitSet> masks = Maps.newHashMap();
+        if (pattern.getStatistics().isEmpty())
+            return new PatternMasks(size, masks);
+
+        pattern.stream()
+          .filter(entry -> !entry.getState().isAir())
+          .forEach(entry -> masks.computeIfAbsent(entry.getState(), state -> new BitSet(size * size * size)).set(
+            indexOf(
+              (int) (entry.getStartPoint().x() * size),
+              (int) (entry.getStartPoint().y() * size),
+              (int) (entry.getStartPoint().z() * size),
+              size
+            )
+          ));
+
+        return new PatternMasks(size, masks);
+    }
+
+    private static int indexOf(final int x, final int y, final int z, final int size)
+    {
+        return (x * size + y) * size + z;
+    }
+
+    private record Key(NbtFingerprint fingerprint, BlockState primaryState, BlockState secondaryState, BlockState tertiaryState) {}
+
+    /**
+     * The positions of every state of a pattern.
+     *
+     * @param size The amount of bits per block side the pattern was decoded with.
+     * @param masks The positions per state, air is not included.
+     */
+    private record PatternMasks(int size, Map<BlockState, BitSet> masks)
+    {
+        private Realisation realise(final BlockState primaryState, final BlockState secondaryState, final BlockState tertiaryState)
+        {
+            if (primaryState.isAir() && secondaryState.isAir() && tertiaryState.isAir())
+                return Realisation.EMPTY;
+
+            if (!canBePrinted(primaryState) || !canBePrinted(secondaryState) || !canBePrinted(tertiaryState))
+                return Realisation.EMPTY;
+
+            final SimpleStateEntryStorage storage = new SimpleStateEntryStorage(size);
+            final int primaryBits = copyMasked(storage, primaryState);
+            //A state which is stored in several storages is only taken from the first of them.
+            final int secondaryBits = secondaryState == primaryState ? 0 : copyMasked(storage, secondaryState);
+            final int tertiaryBits = tertiaryState == primaryState || tertiaryState == secondaryState ? 0 : copyMasked(storage, tertiaryState);
+
+            if (primaryBits == 0 && secondaryBits == 0 && tertiaryBits == 0)
+                return Realisation.EMPTY;
+
+            //The snapshot picks the chiseled block item for the material of the printed block, like any other snapshot which is turned into an item.
+            return new Realisation(
+              MultiStateSnapshotUtils.createFromStorage(storage).toItemStack().toBlockStack(),
+              primaryBits,
+              secondaryBits,
+              tertiaryBits
+            );
+        }
+
+        private static boolean canBePrinted(final BlockState state)
+        {
+            return state.isAir() || IEligibilityManager.getInstance().canBeChiseled(state);
+        }
+
+        private int copyMasked(final SimpleStateEntryStorage storage, final BlockState state)
+        {
+            final BitSet mask = state.isAir() ? null : masks.get(state);
+            if (mask == null)
+                return 0;
+
+            for (int index = mask.nextSetBit(0); index >= 0; index = mask.nextSetBit(index + 1))
+            {
+                storage.setBlockState(index / (size * size), (index / size) % size, index % size, state);
+            }
+
+            return mask.cardinality();
+        }
+    }
+
+    /**
+     * The result of printing a pattern with a set of storage states.
+     *
+     * @param result The printed stack, which is shared and may not be modified.
+     * @param primaryBits The amount of bits taken from the primary storage.
+     * @param secondaryBits The amount of bits taken from the secondary storage.
+     * @param tertiaryBits The amount of bits taken from the tertiary storage.
+     */
+    record Realisation(ItemStack result, int primaryBits, int secondaryBits, int tertiaryBits)
+    {
+        static final Realisation EMPTY = new Realisation(ItemStack.EMPTY, 0, 0, 0);
+
+        boolean isEmpty()
+        {
+            return result.isEmpty();
+        }
+
+        /**
+         * Determines how many times this realisation can be printed from the given amounts of bits.
+         *
+         * @param primaryAvailable The bits in the primary storage.
+         * @param secondaryAvailable The bits in the secondary storage.
+         * @param tertiaryAvailable The bits in the tertiary storage.
+         * @return The amount of prints the bits suffice for.
+         */
+        int getPrintableCount(final int primaryAvailable, final int secondaryAvailable, final int tertiaryAvailable)
+        {
+            if (isEmpty())
+                return 0;
+
+            int count = Integer.MAX_VALUE;
+            if (primaryBits > 0)
+                count = Math.min(count, primaryAvailable / primaryBits);
+            if (secondaryBits > 0)
+                count = Math.min(count, secondaryAvailable / secondaryBits);
+            if (tertiaryBits > 0)
+                count = Math.min(count, tertiaryAvailable / tertiaryBits);
+
+            return count;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package mod.chiselsandbits.block.entities.storage;
+
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
+import net.minecraft.core.Direction;
+
+import java.util.Arrays;
+
+/**
+ * The signature of a single side of a {@link SimpleStateEntryStorage}, as produced by its {@link OccupancyPyramid}.
+ *
+ * The mask stores one bit per entry on the layer, the entries are indexed by the two coordinates perpendicular to the side,
+ * in x, y, z order.
+ */
+public final class FaceSignature implements IFaceSignature
+{
+    private final Direction side;
+    private final int       size;
+    private final long[]    mask;
+    private final long      contentHash;
+    private final int       occupiedCount;
+
+    FaceSignature(final Direction side, final int size, final long[] mask, final long contentHash)
+    {
+        this.side = side;
+        this.size = size;
+        this.mask = mask;
+        this.contentHash = contentHash;
+
+        int count = 0;
+        for (final long word : mask)
+        {
+            count += Long.bitCount(word);
+        }
+        this.occupiedCount = count;
+    }
+
+    /**
+     * The index of the entry on the given position, in the mask of a side on the given axis.
+     *
+     * @param axis The axis of the side.
+     * @param size The amount of entries per block side.
+     * @param x The x position of the entry.
+     * @param y The y position of the entry.
+     * @param z The z position of the entry.
+     * @return The index of the entry in the mask.
+     */
+    static int indexOf(final Direction.Axis axis, final int size, final int x, final int y, final int z)
+    {
+        return switch (axis)
+                 {
+                     case X -> y * size + z;
+                     case Y -> x * size + z;
+                     case Z -> x * size + y;
+                 };
+    }
+
+    @Override
+    public Direction getSide()
+    {
+        return side;
+    }
+
+    @Override
+    public int getSize()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean isOccupied(final int x, final int y, final int z)
+    {
+        final int index = indexOf(side.getAxis(), size, x, y, z);
+        return (mask[index >> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return occupiedCount == 0;
+    }
+
+    @Override
+    public boolean isCovered()
+    {
+        return occupiedCount == size * size;
+    }
+
+    @Override
+    public long getContentHash()
+    {
+        return contentHash;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof final FaceSignature that))
+        {
+            return false;
+        }
+
+        return side == that.side && size == that.size && contentHash == that.contentHash && Arrays.equals(mask, that.mask);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * side.hashCode() + Long.hashCode(contentHash);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FaceSignature{" +
+                 "side=" + side +
+                 ", occupied=" + occupiedCount +
+                 ", contentHash=" + Long.toHexString(contentHash) +
+                 '}';
+    }
+}
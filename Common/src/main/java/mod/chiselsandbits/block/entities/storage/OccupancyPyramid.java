@@ -0,0 +1,433 @@
+package mod.chiselsandbits.block.entities.storage;
+
+import mod.chiselsandbits.api.block.state.id.IBlockStateIdManager;
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
+import mod.chiselsandbits.api.multistate.accessor.IOccupancyPyramid;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * The occupancy pyramid of a {@link SimpleStateEntryStorage}.
+ *
+ * Keeps the amount of none air entries per cell on all levels, the amount of none air entries on each outer layer,
+ * and the amount of entries per palette id, so that single changes can be applied without walking the storage.
+ * Additionally keeps the {@link FaceSignature} of every side up to date, by tracking the occupied entries of each outer layer as a bit mask,
+ * and the states of each outer layer as a sum of per entry hashes.
+ */
+public class OccupancyPyramid implements IOccupancyPyramid
+{
+    private final int                     size;
+    private final IntFunction<BlockState> paletteLookup;
+
+    private final byte[]  eightCounts;
+    private final byte[]  fourCounts;
+    private final short[] twoCounts;
+    private final int[]   faceCounts = new int[Direction.values().length];
+    private       int[]   stateCounts = new int[0];
+    private       int     occupiedCount;
+
+    private final long[][] faceMasks;
+    private final long[]   faceHashes = new long[Direction.values().length];
+
+    public OccupancyPyramid(final int size, final IntFunction<BlockState> paletteLookup)
+    {
+        this.size = size;
+        this.paletteLookup = paletteLookup;
+        this.eightCounts = new byte[cellCount(LEVEL_EIGHT)];
+        this.fourCounts = new byte[cellCount(LEVEL_FOUR)];
+        this.twoCounts = new short[cellCount(LEVEL_TWO)];
+        this.faceMasks = new long[Direction.values().length][(size * size + 63) / 64];
+    }
+
+    /**
+     * Creates a copy of the given pyramid, for a storage with an identical palette.
+     *
+     * @param source The pyramid to copy.
+     * @param paletteLookup The palette lookup of the storage of the copy.
+     */
+    OccupancyPyramid(final OccupancyPyramid source, final IntFunction<BlockState> paletteLookup)
+    {
+        this.size = source.size;
+        this.paletteLookup = paletteLookup;
+        this.eightCounts = source.eightCounts.clone();
+        this.fourCounts = source.fourCounts.clone();
+        this.twoCounts = source.twoCounts.clone();
+        System.arraycopy(source.faceCounts, 0, this.faceCounts, 0, this.faceCounts.length);
+        this.stateCounts = source.stateCounts.clone();
+        this.occupiedCount = source.occupiedCount;
+        this.faceMasks = new long[source.faceMasks.length][];
+        for (int i = 0; i < source.faceMasks.length; i++)
+        {
+            this.faceMasks[i] = source.faceMasks[i].clone();
+        }
+        System.arraycopy(source.faceHashes, 0, this.faceHashes, 0, this.faceHashes.length);
+    }
+
+    /**
+     * Recalculates the pyramid from scratch.
+     *
+     * @param idReader The reader for the palette id of each position in the storage.
+     */
+    void rebuild(final IIdReader idReader)
+    {
+        Arrays.fill(eightCounts, (byte) 0);
+        Arrays.fill(fourCounts, (byte) 0);
+        Arrays.fill(twoCounts, (short) 0);
+        Arrays.fill(faceCounts, 0);
+        Arrays.fill(stateCounts, 0);
+        occupiedCount = 0;
+        for (final long[] mask : faceMasks)
+        {
+            Arrays.fill(mask, 0L);
+        }
+        Arrays.fill(faceHashes, 0L);
+
+        for (int x = 0; x < size; x++)
+        {
+            for (int y = 0; y < size; y++)
+            {
+                for (int z = 0; z < size; z++)
+                {
+                    final int id = idReader.read(x, y, z);
+                    incrementStateCount(id, 1);
+                    if (!isAir(id))
+                    {
+                        updateOccupancy(x, y, z, 1);
+                    }
+                    updateFaces(x, y, z, id, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recalculates the pyramid for a storage in which every entry has the same palette id.
+     *
+     * @param id The palette id of all entries.
+     */
+    void fill(final int id)
+    {
+        Arrays.fill(stateCounts, 0);
+        incrementStateCount(id, size * size * size);
+        fillFaces(id);
+
+        if (isAir(id))
+        {
+            Arrays.fill(eightCounts, (byte) 0);
+            Arrays.fill(fourCounts, (byte) 0);
+            Arrays.fill(twoCounts, (short) 0);
+            Arrays.fill(faceCounts, 0);
+            occupiedCount = 0;
+            return;
+        }
+
+        fillCells(LEVEL_EIGHT);
+        fillCells(LEVEL_FOUR);
+        fillCells(LEVEL_TWO);
+        Arrays.fill(faceCounts, size * size);
+        occupiedCount = size * size * size;
+    }
+
+    /**
+     * Applies a change of a single entry.
+     *
+     * @param x The x position of the entry.
+     * @param y The y position of the entry.
+     * @param z The z position of the entry.
+     * @param oldId The palette id of the entry before the change.
+     * @param newId The palette id of the entry after the change.
+     */
+    void onChange(final int x, final int y, final int z, final int oldId, final int newId)
+    {
+        if (oldId == newId)
+            return;
+
+        incrementStateCount(oldId, -1);
+        incrementStateCount(newId, 1);
+
+        final boolean wasAir = isAir(oldId);
+        final boolean isAir = isAir(newId);
+        if (wasAir != isAir)
+        {
+            updateOccupancy(x, y, z, isAir ? -1 : 1);
+        }
+
+        updateFaces(x, y, z, oldId, false);
+        updateFaces(x, y, z, newId, true);
+    }
+
+    /**
+     * Estimates the heap memory retained by the counts and the face masks of this pyramid.
+     *
+     * @return The estimated amount of bytes.
+     */
+    public long getEstimatedMemoryUsage()
+    {
+        long faceMaskBytes = 0;
+        for (final long[] faceMask : faceMasks)
+        {
+            faceMaskBytes += 16L + faceMask.length * (long) Long.BYTES;
+        }
+
+        return 128L
+          + eightCounts.length
+          + fourCounts.length
+          + twoCounts.length * (long) Short.BYTES
+          + stateCounts.length * (long) Integer.BYTES
+          + faceMaskBytes;
+    }
+
+    @Override
+    public int getSize()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean isCellEmpty(final int level, final int x, final int y, final int z)
+    {
+        return getCellCount(level, x, y, z) == 0;
+    }
+
+    @Override
+    public boolean isCellFull(final int level, final int x, final int y, final int z)
+    {
+        final int cellSize = size / getCellsPerSide(level);
+        return getCellCount(level, x, y, z) == cellSize * cellSize * cellSize;
+    }
+
+    @Override
+    public int getOccupiedCount()
+    {
+        return occupiedCount;
+    }
+
+    @Override
+    public boolean isFaceCovered(final Direction side)
+    {
+        return faceCounts[side.ordinal()] == size * size;
+    }
+
+    /**
+     * Creates the signature of the given side.
+     * A new signature is created on every call, so that reading a signature never writes to the pyramid.
+     *
+     * @param side The side.
+     * @return The signature.
+     */
+    @Override
+    public IFaceSignature getFaceSignature(final Direction side)
+    {
+        return new FaceSignature(side, size, faceMasks[side.ordinal()].clone(), faceHashes[side.ordinal()]);
+    }
+
+    @Override
+    public Optional<BlockState> getUniformState()
+    {
+        final int id = getUniformStateId();
+        return id < 0 ? Optional.empty() : Optional.of(paletteLookup.apply(id));
+    }
+
+    /**
+     * The palette id shared by all entries.
+     *
+     * @return The palette id, or -1 if the entries do not all have the same id.
+     */
+    int getUniformStateId()
+    {
+        final int totalCount = size * size * size;
+        final int[] counts = stateCounts;
+        for (int id = 0; id < counts.length; id++)
+        {
+            if (counts[id] == totalCount)
+                return id;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Indicates if all entries have the given palette id.
+     *
+     * @param id The palette id.
+     * @return True when all entries have the given id.
+     */
+    boolean isUniformWith(final int id)
+    {
+        return id < stateCounts.length && stateCounts[id] == size * size * size;
+    }
+
+    private int getCellCount(final int level, final int x, final int y, final int z)
+    {
+        final int cellsPerSide = getCellsPerSide(level);
+        final int index = (x * cellsPerSide + y) * cellsPerSide + z;
+        return switch (level)
+                 {
+                     case LEVEL_EIGHT -> eightCounts[index] & 0xFF;
+                     case LEVEL_FOUR -> fourCounts[index] & 0xFF;
+                     case LEVEL_TWO -> twoCounts[index];
+                     default -> throw new IllegalArgumentException("Unknown occupancy level: " + level);
+                 };
+    }
+
+    private void updateOccupancy(final int x, final int y, final int z, final int delta)
+    {
+        occupiedCount += delta;
+        eightCounts[cellIndex(LEVEL_EIGHT, x, y, z)] += delta;
+        fourCounts[cellIndex(LEVEL_FOUR, x, y, z)] += delta;
+        twoCounts[cellIndex(LEVEL_TWO, x, y, z)] += delta;
+
+        if (x == 0)
+            faceCounts[Direction.WEST.ordinal()] += delta;
+        if (x == size - 1)
+            faceCounts[Direction.EAST.ordinal()] += delta;
+        if (y == 0)
+            faceCounts[Direction.DOWN.ordinal()] += delta;
+        if (y == size - 1)
+            faceCounts[Direction.UP.ordinal()] += delta;
+        if (z == 0)
+            faceCounts[Direction.NORTH.ordinal()] += delta;
+        if (z == size - 1)
+            faceCounts[Direction.SOUTH.ordinal()] += delta;
+    }
+
+    private void updateFaces(final int x, final int y, final int z, final int id, final boolean add)
+    {
+        final boolean onOuterLayer = x == 0 || y == 0 || z == 0 || x == size - 1 || y == size - 1 || z == size - 1;
+        if (!onOuterLayer)
+            return;
+
+        final boolean occupied = !isAir(id);
+        final int stateId = getStateId(id);
+
+        if (x == 0)
+            updateFace(Direction.WEST, x, y, z, stateId, occupied, add);
+        if (x == size - 1)
+            updateFace(Direction.EAST, x, y, z, stateId, occupied, add);
+        if (y == 0)
+            updateFace(Direction.DOWN, x, y, z, stateId, occupied, add);
+        if (y == size - 1)
+            updateFace(Direction.UP, x, y, z, stateId, occupied, add);
+        if (z == 0)
+            updateFace(Direction.NORTH, x, y, z, stateId, occupied, add);
+        if (z == size - 1)
+            updateFace(Direction.SOUTH, x, y, z, stateId, occupied, add);
+    }
+
+    private void updateFace(final Direction side, final int x, final int y, final int z, final int stateId, final boolean occupied, final boolean add)
+    {
+        final int index = FaceSignature.indexOf(side.getAxis(), size, x, y, z);
+        final long entryHash = hashEntry(index, stateId);
+        faceHashes[side.ordinal()] += add ? entryHash : -entryHash;
+
+        if (occupied)
+        {
+            if (add)
+            {
+                faceMasks[side.ordinal()][index >> 6] |= 1L << index;
+            }
+            else
+            {
+                faceMasks[side.ordinal()][index >> 6] &= ~(1L << index);
+            }
+        }
+    }
+
+    private void fillFaces(final int id)
+    {
+        final int layerSize = size * size;
+        final int stateId = getStateId(id);
+        long hash = 0;
+        for (int index = 0; index < layerSize; index++)
+        {
+            hash += hashEntry(index, stateId);
+        }
+
+        final boolean occupied = !isAir(id);
+        for (final Direction side : Direction.values())
+        {
+            final long[] mask = faceMasks[side.ordinal()];
+            Arrays.fill(mask, 0L);
+            if (occupied)
+            {
+                for (int index = 0; index < layerSize; index++)
+                {
+                    mask[index >> 6] |= 1L << index;
+                }
+            }
+
+            faceHashes[side.ordinal()] = hash;
+        }
+    }
+
+    private int getStateId(final int id)
+    {
+        return IBlockStateIdManager.getInstance().getIdFrom(paletteLookup.apply(id));
+    }
+
+    /**
+     * Hashes a single entry of an outer layer, the hash of a layer is the sum of the hashes of its entries,
+     * so that a change of a single entry can be applied by subtracting its old hash and adding its new hash.
+     */
+    private static long hashEntry(final int index, final int stateId)
+    {
+        long value = (((long) index) << 32 | (stateId & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private void fillCells(final int level)
+    {
+        final int cellSize = size / getCellsPerSide(level);
+        final int cellVolume = cellSize * cellSize * cellSize;
+        switch (level)
+        {
+            case LEVEL_EIGHT -> Arrays.fill(eightCounts, (byte) cellVolume);
+            case LEVEL_FOUR -> Arrays.fill(fourCounts, (byte) cellVolume);
+            case LEVEL_TWO -> Arrays.fill(twoCounts, (short) cellVolume);
+            default -> throw new IllegalArgumentException("Unknown occupancy level: " + level);
+        }
+    }
+
+    private void incrementStateCount(final int id, final int delta)
+    {
+        if (id >= stateCounts.length)
+        {
+            stateCounts = Arrays.copyOf(stateCounts, id + 1);
+        }
+
+        stateCounts[id] += delta;
+    }
+
+    private boolean isAir(final int id)
+    {
+        return paletteLookup.apply(id).isAir();
+    }
+
+    private int cellIndex(final int level, final int x, final int y, final int z)
+    {
+        final int cellsPerSide = getCellsPerSide(level);
+        final int cellSize = size / cellsPerSide;
+        return ((x / cellSize) * cellsPerSide + (y / cellSize)) * cellsPerSide + (z / cellSize);
+    }
+
+    private int cellCount(final int level)
+    {
+        final int cellsPerSide = getCellsPerSide(level);
+        return cellsPerSide * cellsPerSide * cellsPerSide;
+    }
+
+    /**
+     * Reads the palette id of a single position in a storage.
+     */
+    @FunctionalInterface
+    interface IIdReader
+    {
+        int read(int x, int y, int z);
+    }
+}
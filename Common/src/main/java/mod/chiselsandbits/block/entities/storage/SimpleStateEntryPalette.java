@@ -131,6 +131,16 @@ public class SimpleStateEntryPalette implements IPacketBufferSerializable, INBTS
         this.onNewSizeAddedConsumer.accept(this.paletteEntries.size());
     }
 
+    /**
+     * Estimates the heap memory retained by this palette.
+     * Every entry is referenced from the list and from both directions of the map, the block states themselves are shared.
+     *
+     * @return The estimated amount of bytes.
+     */
+    public long getEstimatedMemoryUsage() {
+        return 96L + this.paletteEntries.size() * 112L;
+    }
+
     public void clear() {
         this.paletteEntries.clear();
         this.paletteMap.clear();
@@ -23,9 +23,16 @@ import org.jetbrains.annotations.NotNull;
 
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
+/**
+ * A palette based storage of state entries.
+ *
+ * While all entries share the same state, the storage is kept in its uniform mode, in which no data array is held
+ * and all entries resolve to the palette entry with the uniform state id.
+ */
 public class SimpleStateEntryStorage implements IStateEntryStorage
 {
 
@@ -34,8 +41,11 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
 
     private byte[] data = new byte[0];
     private int entryWidth = 0;
+    private int uniformStateId = 0;
     private boolean isDeserializing = false;
 
+    private final OccupancyPyramid occupancy;
+
     public SimpleStateEntryStorage()
     {
         this(IServerConfiguration.getInstance().getBitSize().get().getBitsPerBlockSide());
@@ -44,13 +54,17 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
     private SimpleStateEntryStorage(final SimpleStateEntryStorage stateEntryStorage) {
         this.size = stateEntryStorage.size;
         this.palette = new SimpleStateEntryPalette(this::onPaletteResize, stateEntryStorage.palette);
-        this.data = stateEntryStorage.getRawData(); // Automatically copies the data.
+        this.data = Arrays.copyOf(stateEntryStorage.data, stateEntryStorage.data.length);
         this.entryWidth = stateEntryStorage.entryWidth;
+        this.uniformStateId = stateEntryStorage.uniformStateId;
+        this.occupancy = new OccupancyPyramid(stateEntryStorage.occupancy, this.palette::getBlockState);
     }
 
     public SimpleStateEntryStorage(final int size) {
         this.size = size;
         this.palette = new SimpleStateEntryPalette(this::onPaletteResize);
+        this.occupancy = new OccupancyPyramid(this.size, this.palette::getBlockState);
+        this.occupancy.fill(0);
     }
 
     @Override
@@ -63,16 +77,33 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
         return size * size * size;
     }
 
+    /**
+     * Indicates if the storage is in its uniform mode, in which it holds no data array.
+     *
+     * @return True when all entries have the uniform state id.
+     */
+    public boolean isUniform() {
+        return data.length == 0;
+    }
+
+    private void makeUniform(final int blockStateId) {
+        this.uniformStateId = blockStateId;
+        this.data = new byte[0];
+    }
+
     @Override
     public void clear()
     {
         this.data = new byte[0];
         this.entryWidth = 0;
+        this.uniformStateId = 0;
         this.palette.clear();
+        this.occupancy.fill(0);
     }
 
     private void resetDataArray() {
         this.data = new byte[data.length];
+        this.occupancy.fill(0);
     }
 
     @Override
@@ -84,8 +115,8 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
             return;
         }
 
-        final int blockStateId = palette.getIndex(currentState);
-        this.data = ByteArrayUtils.fill(blockStateId, entryWidth, getTotalEntryCount());
+        makeUniform(palette.getIndex(currentState));
+        this.occupancy.fill(uniformStateId);
     }
 
     @Override
@@ -108,6 +139,9 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
     @Override
     public BlockState getBlockState(final int x, final int y, final int z)
     {
+        if (isUniform())
+            return palette.getBlockState(uniformStateId);
+
         final int offSetIndex = doCalculatePositionIndex(x, y, z);
         final int blockStateId = ByteArrayUtils.getValueAt(data, entryWidth, offSetIndex);
 
@@ -120,9 +154,26 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
         final int offSetIndex = doCalculatePositionIndex(x, y, z);
         final int blockStateId = palette.getIndex(blockState);
 
+        if (isUniform())
+        {
+            if (blockStateId == uniformStateId)
+                return;
+
+            //Leave the uniform mode, the data array is needed from now on.
+            this.data = createUniformData();
+        }
+
         ensureCapacity();
 
+        final int previousBlockStateId = ByteArrayUtils.getValueAt(data, entryWidth, offSetIndex);
         ByteArrayUtils.setValueAt(data, blockStateId, entryWidth, offSetIndex);
+
+        //The occupancy is kept up to date by every write, so that reading it never changes the storage.
+        occupancy.onChange(x, y, z, previousBlockStateId, blockStateId);
+        if (occupancy.isUniformWith(blockStateId))
+        {
+            makeUniform(blockStateId);
+        }
     }
 
     private void ensureCapacity() {
@@ -135,6 +186,10 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
         }
     }
 
+    private byte[] createUniformData() {
+        return ByteArrayUtils.fill(uniformStateId, entryWidth, getTotalEntryCount());
+    }
+
     private int doCalculatePositionIndex(final int x, final int y, final int z)
     {
         return x * size * size + y * size + z;
@@ -143,6 +198,12 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
     @Override
     public void count(final BiConsumer<BlockState, Integer> storageConsumer)
     {
+        if (isUniform())
+        {
+            storageConsumer.accept(palette.getBlockState(uniformStateId), getTotalEntryCount());
+            return;
+        }
+
         final Map<BlockState, Integer> countMap = Maps.newHashMap();
 
         BlockPosStreamProvider.getForRange(this.getSize())
@@ -155,6 +216,10 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
     @Override
     public byte[] getRawData()
     {
+        //Uniform storages expose the same data as before they became uniform, so that identifiers and snapshots remain unchanged.
+        if (isUniform())
+            return createUniformData();
+
         return Arrays.copyOf(this.data, data.length);
     }
 
@@ -192,10 +257,57 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
         }
     }
 
+    /**
+     * Estimates the heap memory retained by this storage, including its palette and its occupancy.
+     *
+     * @return The estimated amount of bytes.
+     */
+    public long getEstimatedMemoryUsage()
+    {
+        return 64L + data.length + palette.getEstimatedMemoryUsage() + occupancy.getEstimatedMemoryUsage();
+    }
+
+    /**
+     * The occupancy of this storage.
+     * The occupancy is updated by the writes to this storage, which happen on the thread that owns it. Other threads need to read the occupancy of a snapshot.
+     *
+     * @return The occupancy pyramid.
+     */
+    @Override
+    public OccupancyPyramid getOccupancy()
+    {
+        return occupancy;
+    }
+
+    /**
+     * Recalculates the occupancy after the data array was replaced as a whole, and switches to the uniform mode if the new data allows it.
+     * Only called by mutators, on the thread that owns the storage, since the data array might be replaced.
+     */
+    private void rebuildOccupancy()
+    {
+        if (isUniform())
+        {
+            occupancy.fill(uniformStateId);
+            return;
+        }
+
+        final BitSet bits = BitSet.valueOf(data);
+        final int width = entryWidth;
+        occupancy.rebuild((x, y, z) -> ByteArrayUtils.getValueAt(bits, width, doCalculatePositionIndex(x, y, z)));
+
+        //Data written before the uniform mode existed can still describe a single state.
+        final int uniformId = occupancy.getUniformStateId();
+        if (uniformId >= 0)
+        {
+            makeUniform(uniformId);
+        }
+    }
+
     @Override
     public void rotate(final Direction.Axis axis, final int rotationCount)
     {
-        if (rotationCount == 0)
+        //A uniform block looks the same in every orientation, even if it is not stored in the uniform mode.
+        if (rotationCount == 0 || isUniform() || occupancy.isUniform())
             return;
 
         final IStateEntryStorage clone = this.createSnapshot();
@@ -238,6 +350,9 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
     @Override
     public void mirror(final Direction.Axis axis)
     {
+        if (isUniform() || occupancy.isUniform())
+            return;
+
         final IStateEntryStorage clone = this.createSnapshot();
         resetDataArray();
 
@@ -268,7 +383,9 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
         final CompoundTag result = new CompoundTag();
 
         result.put(NbtConstants.PALETTE, this.palette.serializeNBT());
-        result.putByteArray(NbtConstants.DATA, this.getRawData());
+        result.putByteArray(NbtConstants.DATA, Arrays.copyOf(this.data, data.length));
+        if (isUniform() && uniformStateId != 0)
+            result.putInt(NbtConstants.UNIFORM_STATE, uniformStateId);
 
         return result;
     }
@@ -282,6 +399,8 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
 
         this.palette.deserializeNBT(nbt.getList(NbtConstants.PALETTE, Tag.TAG_STRING));
         this.data = nbt.getByteArray(NbtConstants.DATA);
+        this.uniformStateId = nbt.getInt(NbtConstants.UNIFORM_STATE);
+        rebuildOccupancy();
 
         this.isDeserializing = false;
     }
@@ -291,6 +410,7 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
     {
         this.palette.serializeInto(packetBuffer);
         packetBuffer.writeByteArray(this.data);
+        packetBuffer.writeVarInt(this.uniformStateId);
     }
 
     @Override
@@ -302,6 +422,8 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
 
         this.palette.deserializeFrom(packetBuffer);
         this.data = packetBuffer.readByteArray();
+        this.uniformStateId = packetBuffer.readVarInt();
+        rebuildOccupancy();
 
         this.isDeserializing = false;
     }
@@ -310,7 +432,7 @@ public class SimpleStateEntryStorage implements IStateEntryStorage
         final int currentEntryWidth = this.entryWidth;
         this.entryWidth = LongMath.log2(newSize, RoundingMode.CEILING);
 
-        if (!this.isDeserializing && this.entryWidth != currentEntryWidth) {
+        if (!this.isDeserializing && !isUniform() && this.entryWidth != currentEntryWidth) {
             //We need to update the data array to match the new palette size
             final byte[] rawData = getRawData();
 
@@ -10,12 +10,15 @@ import mod.chiselsandbits.api.util.INBTSerializable;
 import mod.chiselsandbits.change.changes.BitChange;
 import mod.chiselsandbits.change.changes.CombinedChange;
 import mod.chiselsandbits.network.packets.ChangeTrackerUpdatedPacket;
+import mod.chiselsandbits.profiling.jfr.ChangeTrackerOperationEvent;
+import mod.chiselsandbits.profiling.jfr.FlightRecorderEvents;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Deque;
 import java.util.LinkedList;
@@ -48,6 +51,7 @@ public class ChangeTracker implements IChangeTracker
         if (!beforeStates.keySet().containsAll(afterState.keySet()) || !afterState.keySet().containsAll(beforeStates.keySet()))
             throw new IllegalArgumentException("Initial States and Target States reference difference block positions");
 
+        final ChangeTrackerOperationEvent event = FlightRecorderEvents.begin(ChangeTrackerOperationEvent::new);
         changes.addFirst(
           new CombinedChange(
             beforeStates.entrySet().stream()
@@ -69,6 +73,7 @@ public class ChangeTracker implements IChangeTracker
             }
         }
         sendUpdate();
+        commitOperation(event, "record", beforeStates.size());
     }
 
     @Override
@@ -80,8 +85,11 @@ public class ChangeTracker implements IChangeTracker
     @Override
     public void clear()
     {
+        final ChangeTrackerOperationEvent event = FlightRecorderEvents.begin(ChangeTrackerOperationEvent::new);
+        final int clearedBlocks = event == null ? 0 : changes.stream().mapToInt(CombinedChange::getChangeCount).sum();
         changes.clear();
         sendUpdate();
+        commitOperation(event, "clear", clearedBlocks);
     }
 
     public Optional<IChange> getCurrentUndo()
@@ -121,10 +129,12 @@ public class ChangeTracker implements IChangeTracker
             throw new IllegalChangeAttempt();
 
         if (getCurrentUndo().isPresent()) {
+            final ChangeTrackerOperationEvent event = FlightRecorderEvents.begin(ChangeTrackerOperationEvent::new);
             final IChange change = getCurrentUndo().get();
             change.undo(player);
             currentIndex = Math.min(changes.size(), currentIndex + 1);
             sendUpdate();
+            commitOperation(event, "undo", getBlockCount(change));
         }
     }
 
@@ -135,10 +145,12 @@ public class ChangeTracker implements IChangeTracker
             throw new IllegalChangeAttempt();
 
         if (getCurrentRedo().isPresent()) {
+            final ChangeTrackerOperationEvent event = FlightRecorderEvents.begin(ChangeTrackerOperationEvent::new);
             final IChange change = getCurrentRedo().get();
             change.redo(player);
             currentIndex = Math.max(0, currentIndex - 1);
             sendUpdate();
+            commitOperation(event, "redo", getBlockCount(change));
         }
     }
 
@@ -159,6 +171,21 @@ public class ChangeTracker implements IChangeTracker
         this.currentIndex = nbt.getInt("index");
     }
 
+    private void commitOperation(@Nullable final ChangeTrackerOperationEvent event, final String operation, final int blocks) {
+        if (event == null)
+            return;
+
+        event.end();
+        event.operation = operation;
+        event.blocks = blocks;
+        event.historySize = changes.size();
+        event.commit();
+    }
+
+    private static int getBlockCount(final IChange change) {
+        return change instanceof final CombinedChange combinedChange ? combinedChange.getChangeCount() : 1;
+    }
+
     private void sendUpdate() {
         if (player != null && player instanceof ServerPlayer)
         {
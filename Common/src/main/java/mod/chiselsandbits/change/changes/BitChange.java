@@ -122,13 +122,9 @@ public class BitChange implements IChange
 
         if (!player.isCreative()) {
             final IBitInventory bitInventory = IBitInventoryManager.getInstance().create(player);
+            bitInventory.extractAll(getRequiredBits(difference));
             difference.forEach((state, diff) -> {
-                if (state.isAir())
-                    return;
-
-                if (diff < 0)
-                    bitInventory.extract(state, -diff);
-                else
+                if (!state.isAir() && diff > 0)
                     BitInventoryUtils.insertIntoOrSpawn(player, state, diff);
             });
         }
@@ -188,10 +184,9 @@ public class BitChange implements IChange
         if (!player.isCreative())
         {
             final IBitInventory bitInventory = IBitInventoryManager.getInstance().create(player);
+            bitInventory.extractAll(getRequiredBits(difference));
             difference.forEach((state, diff) -> {
-                if (diff < 0)
-                    bitInventory.extract(state, -diff);
-                else
+                if (diff > 0)
                     BitInventoryUtils.insertIntoOrSpawn(player, state, diff);
             });
         }
@@ -212,9 +207,7 @@ public class BitChange implements IChange
         });
 
         final IBitInventory bitInventory = IBitInventoryManager.getInstance().create(player);
-        return difference.entrySet().stream()
-                 .filter(e -> e.getValue() < 0)
-                 .allMatch(e -> bitInventory.canExtract(e.getKey(), -e.getValue()));
+        return bitInventory.canExtractAll(getRequiredBits(difference));
     }
 
     private boolean hasRequiredRedoBits(final Player player) {
@@ -232,9 +225,16 @@ public class BitChange implements IChange
         });
 
         final IBitInventory bitInventory = IBitInventoryManager.getInstance().create(player);
-        return difference.entrySet().stream()
-          .filter(e -> e.getValue() < 0)
-          .allMatch(e -> bitInventory.canExtract(e.getKey(), -e.getValue()));
+        return bitInventory.canExtractAll(getRequiredBits(difference));
+    }
+
+    private static Map<BlockState, Integer> getRequiredBits(final Map<BlockState, Integer> difference) {
+        final Map<BlockState, Integer> required = Maps.newHashMap();
+        difference.forEach((state, diff) -> {
+            if (diff < 0)
+                required.put(state, -diff);
+        });
+        return required;
     }
 
     @Override
@@ -26,6 +26,16 @@ public class CombinedChange implements IChange
         this.deserializeNBT((CompoundTag) tag);
     }
 
+    /**
+     * The amount of block changes this change combines.
+     *
+     * @return The amount of changed blocks.
+     */
+    public int getChangeCount()
+    {
+        return changes.size();
+    }
+
     @Override
     public boolean canUndo(final Player player)
     {
@@ -34,7 +34,7 @@ public class EligibilityManager implements IEligibilityManager
     private static final EligibilityManager INSTANCE = new EligibilityManager();
 
     private static final SimpleMaxSizedCache<BlockState, IEligibilityAnalysisResult> cache =
-        new SimpleMaxSizedCache<>(() -> IPlatformRegistryManager.getInstance().getBlockStateIdMap().size() == 0 ? 1000 : IPlatformRegistryManager.getInstance().getBlockStateIdMap().size());
+        new SimpleMaxSizedCache<>("eligibility", () -> IPlatformRegistryManager.getInstance().getBlockStateIdMap().size() == 0 ? 1000 : IPlatformRegistryManager.getInstance().getBlockStateIdMap().size());
 
     private EligibilityManager()
     {
@@ -0,0 +1,167 @@
+package mod.chiselsandbits.chiseling.modes.connected;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import mod.chiselsandbits.api.chiseling.ChiselingOperation;
+import net.minecraft.core.Direction;
+
+import java.util.BitSet;
+
+/**
+ * Flood fill over the bits of a single block, used by the connected chisel modes.
+ *
+ * The fill walks the bits of the targeted block, starting at the selected bit, and samples the state of each walked
+ * bit from a {@link ConnectedBitGrid}. When chiseling the walked bit itself is sampled, when placing the sample is mirrored
+ * along the axis of the targeted face through the selected bit, and taken one bit behind the face.
+ *
+ * The result is a bit mask over the targeted block, indexed using {@link #indexOf(int, int, int, int)}.
+ */
+public final class ConnectedBitFloodFill
+{
+    private ConnectedBitFloodFill()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: ConnectedBitFloodFill. This is a utility class");
+    }
+
+    /**
+     * Calculates the index of the given bit position in a result mask.
+     *
+     * @param x The x position of the bit.
+     * @param y The y position of the bit.
+     * @param z The z position of the bit.
+     * @param size The amount of bits per block side.
+     * @return The index in the mask.
+     */
+    public static int indexOf(final int x, final int y, final int z, final int size)
+    {
+        return (x * size + y) * size + z;
+    }
+
+    /**
+     * Runs the flood fill.
+     *
+     * @param grid The grid to sample the states from.
+     * @param startX The x position of the selected bit.
+     * @param startY The y position of the selected bit.
+     * @param startZ The z position of the selected bit.
+     * @param face The targeted face.
+     * @param operation The operation which is performed.
+     * @param depth The maximal amount of layers, along the axis of the face, which can be selected.
+     * @param traverseAir {@code true} to walk through air bits without selecting them.
+     * @return The mask of the selected bits, empty if the selected bit can not be read.
+     */
+    public static BitSet fill(
+      final ConnectedBitGrid grid,
+      final int startX,
+      final int startY,
+      final int startZ,
+      final Direction face,
+      final ChiselingOperation operation,
+      final int depth,
+      final boolean traverseAir)
+    {
+        final int size = grid.getSize();
+        final BitSet selected = new BitSet(size * size * size);
+
+        final boolean placing = operation == ChiselingOperation.PLACING;
+        final Direction.Axis faceAxis = face.getAxis();
+        final int faceAxisIndex = faceAxis.ordinal();
+        final int[] start = new int[] {startX, startY, startZ};
+        final int[] sampleOffset = placing ?
+                                     new int[] {-face.getStepX(), -face.getStepY(), -face.getStepZ()} :
+                                     new int[] {0, 0, 0};
+
+        final int targetId = sample(grid, start, start, faceAxisIndex, placing, sampleOffset);
+        if (targetId == ConnectedBitGrid.UNAVAILABLE)
+        {
+            return selected;
+        }
+
+        final Direction searchDirection = placing ? face : face.getOpposite();
+        final int[][] offsets = new int[5][];
+        int offsetCount = 0;
+        for (final Direction direction : Direction.values())
+        {
+            if (direction.getAxis() != faceAxis || direction == searchDirection)
+            {
+                offsets[offsetCount++] = new int[] {direction.getStepX(), direction.getStepY(), direction.getStepZ()};
+            }
+        }
+
+        final BitSet visited = new BitSet(size * size * size);
+        final IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+        final int startIndex = indexOf(startX, startY, startZ, size);
+        visited.set(startIndex);
+        queue.enqueue(startIndex);
+
+        final int[] current = new int[3];
+        while (!queue.isEmpty())
+        {
+            final int index = queue.dequeueInt();
+            current[0] = index / (size * size);
+            current[1] = (index / size) % size;
+            current[2] = index % size;
+
+            final int id = sample(grid, start, current, faceAxisIndex, placing, sampleOffset);
+            if (id == targetId)
+            {
+                selected.set(index);
+            }
+            else if (!traverseAir || id != ConnectedBitGrid.AIR)
+            {
+                continue;
+            }
+
+            for (int i = 0; i < offsetCount; i++)
+            {
+                final int[] offset = offsets[i];
+                final int x = current[0] + offset[0];
+                final int y = current[1] + offset[1];
+                final int z = current[2] + offset[2];
+                if (x < 0 || y < 0 || z < 0 || x >= size || y >= size || z >= size)
+                {
+                    continue;
+                }
+
+                final int axisValue = faceAxisIndex == 0 ? x : faceAxisIndex == 1 ? y : z;
+                if (Math.abs(axisValue - start[faceAxisIndex]) > depth - 1)
+                {
+                    continue;
+                }
+
+                final int neighborIndex = indexOf(x, y, z, size);
+                if (!visited.get(neighborIndex))
+                {
+                    visited.set(neighborIndex);
+                    queue.enqueue(neighborIndex);
+                }
+            }
+        }
+
+        return selected;
+    }
+
+    private static int sample(
+      final ConnectedBitGrid grid,
+      final int[] start,
+      final int[] position,
+      final int faceAxisIndex,
+      final boolean mirror,
+      final int[] sampleOffset)
+    {
+        int x = position[0];
+        int y = position[1];
+        int z = position[2];
+
+        if (mirror)
+        {
+            switch (faceAxisIndex)
+            {
+                case 0 -> x = 2 * start[0] - x;
+                case 1 -> y = 2 * start[1] - y;
+                default -> z = 2 * start[2] - z;
+            }
+        }
+
+        return grid.get(x + sampleOffset[0], y + sampleOffset[1], z + sampleOffset[2]);
+    }
+}
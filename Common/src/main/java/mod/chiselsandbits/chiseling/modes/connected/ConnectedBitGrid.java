@@ -0,0 +1,188 @@
+package mod.chiselsandbits.chiseling.modes.connected;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mod.chiselsandbits.api.block.entity.IMultiStateBlockEntity;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Arrays;
+
+/**
+ * A palette id grid covering a 3x3x3 block area around a center block, with the bits per block side as resolution.
+ * The blocks are loaded lazily, the first time a bit inside of them is requested.
+ *
+ * Positions are given in bits relative to the lower corner of the center block, so the valid range is
+ * {@code -size} (inclusive) to {@code 2 * size} (exclusive) on every axis.
+ */
+public final class ConnectedBitGrid
+{
+    /**
+     * The palette id of all air states.
+     */
+    public static final int AIR = 0;
+
+    /**
+     * The palette id of positions which can not be read, for example because they are outside the build height.
+     */
+    public static final int UNAVAILABLE = -1;
+
+    private static final int BLOCKS_PER_SIDE = 3;
+
+    private final int         size;
+    private final int         gridSize;
+    private final int[]       ids;
+    private final IBlockLoader loader;
+    private       int         loadedBlocks = 0;
+
+    public ConnectedBitGrid(final int size, final IBlockLoader loader)
+    {
+        this.size = size;
+        this.gridSize = size * BLOCKS_PER_SIDE;
+        this.ids = new int[gridSize * gridSize * gridSize];
+        this.loader = loader;
+    }
+
+    /**
+     * Creates a new grid which reads its blocks from the given world, around the given center position.
+     *
+     * @param world The world to read from.
+     * @param center The center block of the grid.
+     * @return The grid.
+     */
+    public static ConnectedBitGrid forWorld(final LevelAccessor world, final BlockPos center)
+    {
+        final Reference2IntMap<BlockState> palette = new Reference2IntOpenHashMap<>();
+        palette.defaultReturnValue(UNAVAILABLE);
+
+        return new ConnectedBitGrid(
+          StateEntrySize.current().getBitsPerBlockSide(),
+          (blockX, blockY, blockZ, target) -> loadFromWorld(world, center.offset(blockX, blockY, blockZ), palette, target)
+        );
+    }
+
+    /**
+     * The amount of bits per block side.
+     *
+     * @return The amount of bits per block side.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the palette id of the bit on the given position, loading the block it is in if needed.
+     *
+     * @param x The x position in bits, relative to the center block.
+     * @param y The y position in bits, relative to the center block.
+     * @param z The z position in bits, relative to the center block.
+     * @return The palette id, {@link #AIR} for air, or {@link #UNAVAILABLE} if the position can not be read.
+     */
+    public int get(final int x, final int y, final int z)
+    {
+        final int gx = x + size;
+        final int gy = y + size;
+        final int gz = z + size;
+        if (gx < 0 || gy < 0 || gz < 0 || gx >= gridSize || gy >= gridSize || gz >= gridSize)
+        {
+            return UNAVAILABLE;
+        }
+
+        final int blockX = gx / size;
+        final int blockY = gy / size;
+        final int blockZ = gz / size;
+        final int blockIndex = (blockX * BLOCKS_PER_SIDE + blockY) * BLOCKS_PER_SIDE + blockZ;
+        if ((loadedBlocks & (1 << blockIndex)) == 0)
+        {
+            load(blockX, blockY, blockZ);
+            loadedBlocks |= 1 << blockIndex;
+        }
+
+        return ids[(gx * gridSize + gy) * gridSize + gz];
+    }
+
+    private void load(final int blockX, final int blockY, final int blockZ)
+    {
+        final int[] blockIds = new int[size * size * size];
+        Arrays.fill(blockIds, UNAVAILABLE);
+
+        loader.load(blockX - 1, blockY - 1, blockZ - 1, blockIds);
+
+        for (int x = 0; x < size; x++)
+        {
+            for (int y = 0; y < size; y++)
+            {
+                System.arraycopy(
+                  blockIds, (x * size + y) * size,
+                  ids, ((blockX * size + x) * gridSize + (blockY * size + y)) * gridSize + blockZ * size,
+                  size
+                );
+            }
+        }
+    }
+
+    private static void loadFromWorld(final LevelAccessor world, final BlockPos pos, final Reference2IntMap<BlockState> palette, final int[] target)
+    {
+        if (world.isOutsideBuildHeight(pos))
+        {
+            return;
+        }
+
+        final int size = StateEntrySize.current().getBitsPerBlockSide();
+        final BlockEntity blockEntity = world.getBlockEntity(pos);
+        if (blockEntity instanceof final IMultiStateBlockEntity multiStateBlockEntity)
+        {
+            multiStateBlockEntity.stream().forEach(entry -> {
+                final Vec3 bitPosition = entry.getStartPoint().multiply(StateEntrySize.current().getBitsPerBlockSideScalingVector());
+                final int x = (int) Math.round(bitPosition.x());
+                final int y = (int) Math.round(bitPosition.y());
+                final int z = (int) Math.round(bitPosition.z());
+                target[(x * size + y) * size + z] = getId(palette, entry.getState());
+            });
+            return;
+        }
+
+        Arrays.fill(target, getId(palette, world.getBlockState(pos)));
+    }
+
+    private static int getId(final Reference2IntMap<BlockState> palette, final BlockState state)
+    {
+        if (state.isAir())
+        {
+            return AIR;
+        }
+
+        final int id = palette.getInt(state);
+        if (id != UNAVAILABLE)
+        {
+            return id;
+        }
+
+        final int newId = palette.size() + 1;
+        palette.put(state, newId);
+        return newId;
+    }
+
+    /**
+     * Loads the palette ids of a single block of the grid.
+     */
+    @FunctionalInterface
+    public interface IBlockLoader
+    {
+        /**
+         * Loads the palette ids of the block with the given offset from the center block.
+         * Positions which are not written keep the {@link #UNAVAILABLE} id.
+         *
+         * @param blockX The block offset on the x axis, from -1 to 1.
+         * @param blockY The block offset on the y axis, from -1 to 1.
+         * @param blockZ The block offset on the z axis, from -1 to 1.
+         * @param target The target array, indexed as {@code (x * size + y) * size + z}.
+         */
+        void load(int blockX, int blockY, int blockZ, int[] target);
+    }
+}
@@ -0,0 +1,117 @@
+package mod.chiselsandbits.chiseling.modes.connected;
+
+import mod.chiselsandbits.api.chiseling.ChiselingOperation;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
+import mod.chiselsandbits.utils.SimpleMaxSizedCache;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+
+/**
+ * Caches the results of the {@link ConnectedBitFloodFill} per world, targeted block, face and bit.
+ * The states of the sampled blocks, and the content revisions of the chiseled ones, are part of the key, so changes to the world invalidate the entries.
+ */
+public final class ConnectedBitSelectionCache
+{
+    /**
+     * The revision used for blocks which are not chiseled, their state describes their contents.
+     */
+    private static final long NO_REVISION = -1;
+
+    private static final ConnectedBitSelectionCache INSTANCE = new ConnectedBitSelectionCache();
+
+    private final SimpleMaxSizedCache<Key, BitSet> cache = new SimpleMaxSizedCache<>("connected-bit-selections", 64);
+
+    private ConnectedBitSelectionCache()
+    {
+    }
+
+    public static ConnectedBitSelectionCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the selected bits for the given target, running the flood fill if the target has not been seen yet.
+     * The returned mask is shared and should not be modified.
+     *
+     * @param world The world to read from.
+     * @param hitPos The targeted block.
+     * @param face The targeted face.
+     * @param startX The x position of the selected bit.
+     * @param startY The y position of the selected bit.
+     * @param startZ The z position of the selected bit.
+     * @param operation The operation which is performed.
+     * @param depth The maximal amount of layers, along the axis of the face, which can be selected.
+     * @param traverseAir {@code true} to walk through air bits without selecting them.
+     * @return The mask of the selected bits.
+     */
+    public BitSet get(
+      final LevelAccessor world,
+      final BlockPos hitPos,
+      final Direction face,
+      final int startX,
+      final int startY,
+      final int startZ,
+      final ChiselingOperation operation,
+      final int depth,
+      final boolean traverseAir)
+    {
+        final BlockPos behindPos = operation == ChiselingOperation.PLACING ? hitPos.relative(face.getOpposite()) : null;
+        final Key key = new Key(
+          world instanceof final Level level ? level.dimension() : null,
+          world.isClientSide(),
+          hitPos,
+          world.getBlockState(hitPos),
+          contentRevision(world, hitPos),
+          behindPos == null ? null : world.getBlockState(behindPos),
+          behindPos == null ? NO_REVISION : contentRevision(world, behindPos),
+          face,
+          ConnectedBitFloodFill.indexOf(startX, startY, startZ, StateEntrySize.current().getBitsPerBlockSide()),
+          operation,
+          depth,
+          traverseAir
+        );
+
+        return cache.get(key, () -> ConnectedBitFloodFill.fill(
+          ConnectedBitGrid.forWorld(world, hitPos),
+          startX, startY, startZ,
+          face,
+          operation,
+          depth,
+          traverseAir
+        ));
+    }
+
+    public void clear()
+    {
+        cache.clear();
+    }
+
+    private static long contentRevision(final LevelAccessor world, final BlockPos position)
+    {
+        return world.getBlockEntity(position) instanceof final ChiseledBlockEntity blockEntity ? blockEntity.getContentRevision() : NO_REVISION;
+    }
+
+    private record Key(@Nullable ResourceKey<Level> dimension,
+                       boolean clientSide,
+                       BlockPos hitPos,
+                       BlockState hitState,
+                       long hitRevision,
+                       @Nullable BlockState behindState,
+                       long behindRevision,
+                       Direction face,
+                       int startIndex,
+                       ChiselingOperation operation,
+                       int depth,
+                       boolean traverseAir)
+    {
+    }
+}
@@ -12,11 +12,11 @@ import mod.chiselsandbits.api.item.withmode.group.IToolModeGroup;
 import mod.chiselsandbits.api.multistate.StateEntrySize;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
-import mod.chiselsandbits.api.multistate.mutator.IMutatorFactory;
 import mod.chiselsandbits.api.multistate.mutator.batched.IBatchMutation;
-import mod.chiselsandbits.api.util.IQuadFunction;
-import mod.chiselsandbits.api.util.RayTracingUtils;
+import mod.chiselsandbits.chiseling.modes.connected.ConnectedBitFloodFill;
+import mod.chiselsandbits.chiseling.modes.connected.ConnectedBitSelectionCache;
 import mod.chiselsandbits.platforms.core.registries.AbstractCustomRegistryEntry;
+import mod.chiselsandbits.raytracing.BitRayTracer;
 import mod.chiselsandbits.registrars.ModChiselModeGroups;
 import mod.chiselsandbits.registrars.ModMetadataKeys;
 import mod.chiselsandbits.utils.BitInventoryUtils;
@@ -40,7 +40,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
 
 public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry implements IChiselMode
 {
@@ -68,13 +67,7 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
         final Optional<ClickProcessingState> rayTraceHandle = this.processRayTraceIntoContext(
           Player,
           context,
-          Direction::getOpposite,
-          face -> Vec3.atLowerCornerOf(face.getOpposite().getNormal()),
-          IQuadFunction.fourthIdentity(),
-          position -> IMutatorFactory.getInstance().in(
-            context.getWorld(),
-            new BlockPos(position)
-          ),
+          ChiselingOperation.CHISELING,
           direction -> Vec3i.ZERO
         );
 
@@ -133,52 +126,7 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
         final Optional<ClickProcessingState> rayTraceHandle = this.processRayTraceIntoContext(
           player,
           context,
-          UnaryOperator.identity(),
-          face -> Vec3.atLowerCornerOf(face.getNormal()),
-          (hitPos, inBlockTargetedPosition, hitFace, candidatePosition) -> {
-              if (inBlockTargetedPosition.equals(candidatePosition))
-              {
-                  return Vec3.atLowerCornerOf(hitPos)
-                    .add(inBlockTargetedPosition)
-                    .add(Vec3.atLowerCornerOf(
-                          hitFace.getOpposite().getNormal()
-                        )
-                        .multiply(StateEntrySize.current().getSizePerBitScalingVector())
-                    );
-              }
-
-              final Vec3 relevantAxisCandidate = candidatePosition.multiply(
-                Math.abs(hitFace.getNormal().getX()),
-                Math.abs(hitFace.getNormal().getY()),
-                Math.abs(hitFace.getNormal().getZ())
-              );
-              final Vec3 noneRelevantAxisCandidates = candidatePosition.subtract(relevantAxisCandidate);
-              final Vec3 relevantAxisTarget = inBlockTargetedPosition.multiply(
-                Math.abs(hitFace.getNormal().getX()),
-                Math.abs(hitFace.getNormal().getY()),
-                Math.abs(hitFace.getNormal().getZ())
-              );
-
-              final Vec3 offset = candidatePosition.subtract(inBlockTargetedPosition);
-              final Vec3 relevantAxisOffset = offset.multiply(
-                Math.abs(hitFace.getNormal().getX()),
-                Math.abs(hitFace.getNormal().getY()),
-                Math.abs(hitFace.getNormal().getZ())
-              );
-
-              return noneRelevantAxisCandidates.add(relevantAxisTarget).subtract(relevantAxisOffset)
-                .add(hitPos.getX(), hitPos.getY(), hitPos.getZ())
-                .add(Vec3.atLowerCornerOf(
-                      hitFace.getOpposite().getNormal()
-                    )
-                    .multiply(StateEntrySize.current().getSizePerBitScalingVector())
-                );
-          },
-          position -> IMutatorFactory.getInstance().covering(
-            context.getWorld(),
-            new BlockPos(position.subtract(1, 1, 1)),
-            new BlockPos(position.add(1, 1, 1))
-          ),
+          ChiselingOperation.PLACING,
           direction -> new Vec3i(
             direction.getNormal().getX() * depth,
             direction.getNormal().getY() * depth,
@@ -255,16 +203,16 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
     @Override
     public boolean isStillValid(final Player Player, final IChiselingContext context, final ChiselingOperation modeOfOperation)
     {
-        final Optional<Set<Vec3i>> validPositions = context.getMetadata(ModMetadataKeys.VALID_POSITIONS.get());
+        final Optional<BitSet> validBits = context.getMetadata(ModMetadataKeys.VALID_BITS.get());
         final Optional<Direction> targetedSide = context.getMetadata(ModMetadataKeys.TARGETED_SIDE.get());
         final Optional<BlockPos> targetedBlockPos = context.getMetadata(ModMetadataKeys.TARGETED_BLOCK.get());
 
-        if (!validPositions.isPresent() || !targetedSide.isPresent() || !targetedBlockPos.isPresent())
+        if (!validBits.isPresent() || !targetedSide.isPresent() || !targetedBlockPos.isPresent())
         {
             return false;
         }
 
-        final HitResult hitResult = RayTracingUtils.rayTracePlayer(Player);
+        final HitResult hitResult = BitRayTracer.rayTracePlayer(Player);
         if (hitResult.getType() != HitResult.Type.BLOCK || !(hitResult instanceof BlockHitResult))
         {
             return false;
@@ -276,14 +224,7 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
             return false;
         }
 
-        final Function<Direction, Vec3> placementFacingAdapter = modeOfOperation == ChiselingOperation.CHISELING ?
-                                                                   face -> Vec3.atLowerCornerOf(face.getOpposite().getNormal()) :
-                                                                                                                                  face -> Vec3.atLowerCornerOf(face.getNormal());
-
-        final Vec3 hitVector = blockHitResult.getLocation().add(
-          placementFacingAdapter.apply(blockHitResult.getDirection())
-            .multiply(StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit())
-        );
+        final Vec3 hitVector = BitRayTracer.getTargetedBitVector(blockHitResult, getPlacementFacing(modeOfOperation, blockHitResult.getDirection()));
 
         final BlockPos hitPos = new BlockPos(hitVector);
         final Vec3 hitBlockPosVector = Vec3.atLowerCornerOf(hitPos);
@@ -294,157 +235,75 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
           inBlockHitVector.z() * StateEntrySize.current().getBitsPerBlockSide()
         );
 
-        return validPositions.get().contains(selectedPosition) && hitPos.equals(targetedBlockPos.get());
+        return hitPos.equals(targetedBlockPos.get()) && validBits.get().get(ConnectedBitFloodFill.indexOf(
+          selectedPosition.getX(),
+          selectedPosition.getY(),
+          selectedPosition.getZ(),
+          StateEntrySize.current().getBitsPerBlockSide()
+        ));
     }
 
     private Optional<ClickProcessingState> processRayTraceIntoContext(
       final Player Player,
       final IChiselingContext context,
-      final UnaryOperator<Direction> searchDirectionAdapter,
-      final Function<Direction, Vec3> placementFacingAdapter,
-      final IQuadFunction<BlockPos, Vec3, Direction, Vec3, Vec3> stateExtractionAdapter,
-      final Function<Vec3, IAreaAccessor> areaAccessorBuilder,
+      final ChiselingOperation operation,
       final Function<Direction, Vec3i> filterOffsetProducer
     )
     {
-        final HitResult hitResult = RayTracingUtils.rayTracePlayer(Player);
+        final HitResult hitResult = BitRayTracer.rayTracePlayer(Player);
         if (hitResult.getType() != HitResult.Type.BLOCK || !(hitResult instanceof BlockHitResult))
         {
             return Optional.of(ClickProcessingState.DEFAULT);
         }
 
         final BlockHitResult blockHitResult = (BlockHitResult) hitResult;
-        final Vec3 hitVector = blockHitResult.getLocation().add(
-          placementFacingAdapter.apply(blockHitResult.getDirection())
-            .multiply(StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit())
-        );
+        final Vec3 hitVector = BitRayTracer.getTargetedBitVector(blockHitResult, getPlacementFacing(operation, blockHitResult.getDirection()));
 
         final BlockPos hitPos = new BlockPos(hitVector);
         final Vec3 hitBlockPosVector = Vec3.atLowerCornerOf(hitPos);
         final Vec3 inBlockHitVector = hitVector.subtract(hitBlockPosVector);
 
-        final Deque<Vec3i> toProcess = new LinkedList<>();
-        final IAreaAccessor worldAccessor = areaAccessorBuilder.apply(hitVector);
-
-        final Set<Vec3i> processed = new HashSet<>();
-        final Set<Vec3i> validPositions = new HashSet<>();
-
-        final Set<Vec3i> offsets = new HashSet<>();
-        offsets.add(searchDirectionAdapter.apply(blockHitResult.getDirection()).getNormal());
-        Arrays.stream(Direction.values())
-          .filter(direction -> direction.getAxis() != blockHitResult.getDirection().getAxis())
-          .map(Direction::getNormal)
-          .forEach(offsets::add);
-
         final Vec3i selectedPosition = new Vec3i(
           inBlockHitVector.x() * StateEntrySize.current().getBitsPerBlockSide(),
           inBlockHitVector.y() * StateEntrySize.current().getBitsPerBlockSide(),
           inBlockHitVector.z() * StateEntrySize.current().getBitsPerBlockSide()
         );
-        toProcess.addLast(selectedPosition);
-
-        final Vec3i relevantSelectedAxisVector =
-          new Vec3i(
-            selectedPosition.getX() * Math.abs(blockHitResult.getDirection().getNormal().getX()),
-            selectedPosition.getY() * Math.abs(blockHitResult.getDirection().getNormal().getY()),
-            selectedPosition.getZ() * Math.abs(blockHitResult.getDirection().getNormal().getZ())
-          );
-
-        final Vec3 selectedInBlockPosition = Vec3.atLowerCornerOf(
-          selectedPosition
-        ).multiply(
-          StateEntrySize.current().getSizePerBitScalingVector()
-        );
 
-        final Optional<IStateEntryInfo> targetedInfo = worldAccessor.getInAreaTarget(
-          stateExtractionAdapter.apply(hitPos, selectedInBlockPosition, blockHitResult.getDirection(), selectedInBlockPosition)
+        final BitSet validBits = ConnectedBitSelectionCache.getInstance().get(
+          context.getWorld(),
+          hitPos,
+          blockHitResult.getDirection(),
+          selectedPosition.getX(),
+          selectedPosition.getY(),
+          selectedPosition.getZ(),
+          operation,
+          depth,
+          true
         );
 
-        if (!targetedInfo.isPresent())
+        if (validBits.isEmpty())
         {
             return Optional.of(ClickProcessingState.DEFAULT);
         }
 
-        while (!toProcess.isEmpty())
-        {
-            final Vec3i targetedPosition = toProcess.removeFirst();
-            final Vec3 targetedInBlockPosition = Vec3.atLowerCornerOf(
-              targetedPosition
-            ).multiply(
-              StateEntrySize.current().getSizePerBitScalingVector()
-            );
-            final Optional<IStateEntryInfo> targetCandidate = worldAccessor.getInAreaTarget(
-              stateExtractionAdapter.apply(hitPos, selectedInBlockPosition, blockHitResult.getDirection(), targetedInBlockPosition)
-            );
-
-            processed.add(targetedPosition);
-
-            if (!targetCandidate.isPresent())
-            {
-                continue;
-            }
-
-            IStateEntryInfo target = targetCandidate.get();
-
-            if (target.getState().equals(targetedInfo.get().getState()) || target.getState().isAir())
-            {
-                if (target.getState().equals(targetedInfo.get().getState()))
-                {
-                    //We are somehow connected to the targeted bit and of the same state.
-                    validPositions.add(targetedPosition);
-                }
-
-                offsets.forEach(offset -> {
-                    final Vec3i newTarget = new Vec3i(
-                      targetedPosition.getX() + offset.getX(),
-                      targetedPosition.getY() + offset.getY(),
-                      targetedPosition.getZ() + offset.getZ()
-                    );
-                    if (newTarget.getX() >= 0 && newTarget.getX() < StateEntrySize.current().getBitsPerBlockSide() &&
-                          newTarget.getY() >= 0 && newTarget.getY() < StateEntrySize.current().getBitsPerBlockSide() &&
-                          newTarget.getZ() >= 0 && newTarget.getZ() < StateEntrySize.current().getBitsPerBlockSide())
-                    {
-
-                        final Vec3i relevantNewTargetAxisVector =
-                          new Vec3i(
-                            newTarget.getX() * Math.abs(blockHitResult.getDirection().getNormal().getX()),
-                            newTarget.getY() * Math.abs(blockHitResult.getDirection().getNormal().getY()),
-                            newTarget.getZ() * Math.abs(blockHitResult.getDirection().getNormal().getZ())
-                          );
-
-                        final int targetedDepth = Math.abs(
-                          relevantSelectedAxisVector.get(blockHitResult.getDirection().getAxis()) -
-                            relevantNewTargetAxisVector.get(blockHitResult.getDirection().getAxis())
-                        );
-
-                        if (targetedDepth <= depth - 1)
-                        {
-                            //Valid offset found
-                            if (!processed.contains(newTarget) && !toProcess.contains(newTarget))
-                            {
-                                toProcess.addLast(newTarget);
-                            }
-                        }
-                    }
-                    else
-                    {
-                        processed.add(newTarget);
-                    }
-                });
-            }
-        }
-
         context.include(hitPos, Vec3.ZERO);
         context.include(hitPos, new Vec3(0.9999, 0.9999, 0.9999));
-        context.setStateFilter(accessor -> new SelectedBitStateFilter(filterOffsetProducer.apply(blockHitResult.getDirection()), validPositions));
+        context.setStateFilter(accessor -> new SelectedBitStateFilter(filterOffsetProducer.apply(blockHitResult.getDirection()), validBits));
 
-        context.setMetadata(ModMetadataKeys.VALID_POSITIONS.get(), validPositions);
+        context.setMetadata(ModMetadataKeys.VALID_BITS.get(), validBits);
         context.setMetadata(ModMetadataKeys.TARGETED_SIDE.get(), blockHitResult.getDirection());
         context.setMetadata(ModMetadataKeys.TARGETED_BLOCK.get(), hitPos);
 
         return Optional.empty();
     }
 
+    private static Vec3 getPlacementFacing(final ChiselingOperation operation, final Direction face)
+    {
+        return operation == ChiselingOperation.CHISELING ?
+                 Vec3.atLowerCornerOf(face.getOpposite().getNormal()) :
+                 Vec3.atLowerCornerOf(face.getNormal());
+    }
+
     @Override
     public @NotNull ResourceLocation getIcon()
     {
@@ -472,13 +331,13 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
     private static final class SelectedBitStateFilter implements Predicate<IStateEntryInfo>
     {
 
-        private final Vec3i      offset;
-        private final Set<Vec3i> validPositions;
+        private final Vec3i  offset;
+        private final BitSet validBits;
 
-        public SelectedBitStateFilter(final Vec3i offset, final Set<Vec3i> validPositions)
+        public SelectedBitStateFilter(final Vec3i offset, final BitSet validBits)
         {
             this.offset = offset;
-            this.validPositions = validPositions;
+            this.validBits = validBits;
         }
 
         @Override
@@ -490,16 +349,19 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
               iStateEntryInfo.getStartPoint().z() * StateEntrySize.current().getBitsPerBlockSide()
             );
 
-            return validPositions.contains(
-              position
-            );
+            return validBits.get(ConnectedBitFloodFill.indexOf(
+              position.getX(),
+              position.getY(),
+              position.getZ(),
+              StateEntrySize.current().getBitsPerBlockSide()
+            ));
         }
 
         @Override
         public int hashCode()
         {
             int result = offset.hashCode();
-            result = 31 * result + validPositions.hashCode();
+            result = 31 * result + validBits.hashCode();
             return result;
         }
 
@@ -521,7 +383,7 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
             {
                 return false;
             }
-            return validPositions.equals(that.validPositions);
+            return validBits.equals(that.validBits);
         }
 
         @Override
@@ -529,7 +391,7 @@ public class ConnectedMaterialChiselingMode extends AbstractCustomRegistryEntry
         {
             return "SelectedBitStateFilter{" +
                      "offset=" + offset +
-                     ", validPositions=" + validPositions +
+                     ", validBits=" + validBits +
                      '}';
         }
     }
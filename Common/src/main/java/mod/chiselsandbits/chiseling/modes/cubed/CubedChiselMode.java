@@ -14,6 +14,7 @@ import mod.chiselsandbits.api.multistate.mutator.batched.IBatchMutation;
 import mod.chiselsandbits.api.util.BlockPosStreamProvider;
 import mod.chiselsandbits.api.util.RayTracingUtils;
 import mod.chiselsandbits.platforms.core.registries.AbstractCustomRegistryEntry;
+import mod.chiselsandbits.raytracing.BitRayTracer;
 import mod.chiselsandbits.registrars.ModChiselModeGroups;
 import mod.chiselsandbits.utils.BitInventoryUtils;
 import mod.chiselsandbits.utils.ItemStackUtils;
@@ -191,16 +192,13 @@ public class CubedChiselMode extends AbstractCustomRegistryEntry implements IChi
       final Function<Vec3, Vec3> fullFacingVectorAdapter
     )
     {
-        final HitResult rayTraceResult = RayTracingUtils.rayTracePlayer(playerEntity);
+        final HitResult rayTraceResult = BitRayTracer.rayTracePlayer(playerEntity);
         if (rayTraceResult.getType() != HitResult.Type.BLOCK || !(rayTraceResult instanceof final BlockHitResult blockRayTraceResult))
         {
             return Optional.of(ClickProcessingState.DEFAULT);
         }
 
-        final Vec3 hitVector = blockRayTraceResult.getLocation().add(
-          placementFacingAdapter.apply(blockRayTraceResult.getDirection())
-            .multiply(StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit())
-        );
+        final Vec3 hitVector = BitRayTracer.getTargetedBitVector(blockRayTraceResult, placementFacingAdapter.apply(blockRayTraceResult.getDirection()));
 
         Vec3 alignmentOffset = Vec3.ZERO;
         final Vec3 fullFacingVector = fullFacingVectorAdapter.apply(aligned ? new Vec3(1, 1, 1) : Vec3.atLowerCornerOf(
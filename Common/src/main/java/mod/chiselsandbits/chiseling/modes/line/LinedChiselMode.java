@@ -11,8 +11,8 @@ import mod.chiselsandbits.api.item.withmode.group.IToolModeGroup;
 import mod.chiselsandbits.api.multistate.StateEntrySize;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
 import mod.chiselsandbits.api.multistate.mutator.batched.IBatchMutation;
-import mod.chiselsandbits.api.util.RayTracingUtils;
 import mod.chiselsandbits.platforms.core.registries.AbstractCustomRegistryEntry;
+import mod.chiselsandbits.raytracing.BitRayTracer;
 import mod.chiselsandbits.registrars.ModChiselModeGroups;
 import mod.chiselsandbits.utils.BitInventoryUtils;
 import mod.chiselsandbits.utils.ItemStackUtils;
@@ -195,16 +195,13 @@ public class LinedChiselMode extends AbstractCustomRegistryEntry implements IChi
       final boolean airOnly
     )
     {
-        final HitResult rayTraceResult = RayTracingUtils.rayTracePlayer(playerEntity);
+        final HitResult rayTraceResult = BitRayTracer.rayTracePlayer(playerEntity);
         if (rayTraceResult.getType() != HitResult.Type.BLOCK || !(rayTraceResult instanceof final BlockHitResult blockRayTraceResult))
         {
             return Optional.of(ClickProcessingState.DEFAULT);
         }
 
-        final Vec3 hitVector = blockRayTraceResult.getLocation().add(
-          placementFacingAdapter.apply(blockRayTraceResult.getDirection())
-            .multiply(StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit())
-        );
+        final Vec3 hitVector = BitRayTracer.getTargetedBitVector(blockRayTraceResult, placementFacingAdapter.apply(blockRayTraceResult.getDirection()));
 
         final Vec3 hitBlockPosVector = Vec3.atLowerCornerOf(new BlockPos(hitVector));
         final Vec3 inBlockHitVector = hitVector.subtract(hitBlockPosVector);
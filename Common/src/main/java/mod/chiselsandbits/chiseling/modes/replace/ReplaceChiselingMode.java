@@ -14,10 +14,10 @@ import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
 import mod.chiselsandbits.api.multistate.mutator.IMutatorFactory;
 import mod.chiselsandbits.api.multistate.mutator.batched.IBatchMutation;
-import mod.chiselsandbits.api.util.RayTracingUtils;
 import mod.chiselsandbits.platforms.core.registries.AbstractCustomRegistryEntry;
 import mod.chiselsandbits.platforms.core.registries.SimpleChiselsAndBitsRegistryEntry;
 import mod.chiselsandbits.platforms.core.util.LambdaExceptionUtils;
+import mod.chiselsandbits.raytracing.BitRayTracer;
 import mod.chiselsandbits.registrars.ModMetadataKeys;
 import mod.chiselsandbits.utils.BitInventoryUtils;
 import mod.chiselsandbits.utils.ItemStackUtils;
@@ -151,7 +151,7 @@ public class ReplaceChiselingMode extends AbstractCustomRegistryEntry implements
         if (!validPositions.isPresent() || !targetedSide.isPresent() || !targetedBlockPos.isPresent())
             return false;
 
-        final HitResult hitResult = RayTracingUtils.rayTracePlayer(Player);
+        final HitResult hitResult = BitRayTracer.rayTracePlayer(Player);
         if (hitResult.getType() != HitResult.Type.BLOCK || !(hitResult instanceof BlockHitResult))
         {
             return false;
@@ -165,10 +165,7 @@ public class ReplaceChiselingMode extends AbstractCustomRegistryEntry implements
                                                                        face -> Vec3.atLowerCornerOf(face.getOpposite().getNormal()) :
                                                                        face -> Vec3.atLowerCornerOf(face.getNormal());
 
-        final Vec3 hitVector = blockHitResult.getLocation().add(
-          placementFacingAdapter.apply(blockHitResult.getDirection())
-            .multiply(StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit())
-        );
+        final Vec3 hitVector = BitRayTracer.getTargetedBitVector(blockHitResult, placementFacingAdapter.apply(blockHitResult.getDirection()));
 
         final BlockPos hitPos = new BlockPos(hitVector);
         final Vec3 hitBlockPosVector = Vec3.atLowerCornerOf(hitPos);
@@ -193,7 +190,7 @@ public class ReplaceChiselingMode extends AbstractCustomRegistryEntry implements
       final IChiselingContext context
     )
     {
-        final HitResult hitResult = RayTracingUtils.rayTracePlayer(Player);
+        final HitResult hitResult = BitRayTracer.rayTracePlayer(Player);
         if (hitResult.getType() != HitResult.Type.BLOCK || !(hitResult instanceof BlockHitResult))
         {
             return Optional.of(ClickProcessingState.DEFAULT);
@@ -201,10 +198,7 @@ public class ReplaceChiselingMode extends AbstractCustomRegistryEntry implements
 
         final Function<Direction, Vec3> placementFacingAdapter = face -> Vec3.atLowerCornerOf(face.getOpposite().getNormal());
         final BlockHitResult blockHitResult = (BlockHitResult) hitResult;
-        final Vec3 hitVector = blockHitResult.getLocation().add(
-          placementFacingAdapter.apply(blockHitResult.getDirection())
-            .multiply(StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit(), StateEntrySize.current().getSizePerHalfBit())
-        );
+        final Vec3 hitVector = BitRayTracer.getTargetedBitVector(blockHitResult, placementFacingAdapter.apply(blockHitResult.getDirection()));
 
         final BlockPos hitPos = new BlockPos(hitVector);
         final Vec3 hitBlockPosVector = Vec3.atLowerCornerOf(hitPos);
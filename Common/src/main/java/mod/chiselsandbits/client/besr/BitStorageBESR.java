@@ -33,7 +33,7 @@ import java.util.Objects;
 
 public class BitStorageBESR implements BlockEntityRenderer<BitStorageBlockEntity>
 {
-    private static final SimpleMaxSizedCache<CacheKey, IStateEntryStorage> STORAGE_CONTENTS_BLOB_CACHE = new SimpleMaxSizedCache<>(IClientConfiguration.getInstance().getBitStorageContentCacheSize()::get);
+    private static final SimpleMaxSizedCache<CacheKey, IStateEntryStorage> STORAGE_CONTENTS_BLOB_CACHE = new SimpleMaxSizedCache<>("bit-storage-contents", IClientConfiguration.getInstance().getBitStorageContentCacheSize()::get);
 
     public static void clearCache() {
         STORAGE_CONTENTS_BLOB_CACHE.clear();
@@ -0,0 +1,99 @@
+package mod.chiselsandbits.client.chiseling.preview;
+
+import mod.chiselsandbits.api.chiseling.ChiselingOperation;
+import mod.chiselsandbits.api.chiseling.IChiselingContext;
+import mod.chiselsandbits.api.chiseling.IChiselingManager;
+import mod.chiselsandbits.api.chiseling.mode.IChiselMode;
+import mod.chiselsandbits.client.render.MemoizedPreview;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds the simulated chiseling contexts which are previewed for the held chiseling item, one per operation.
+ *
+ * A context is only created again when its {@link ChiselingPreviewKey} changes, or when a chiseled block changed on the client side.
+ * The modes read the live level and player while the context is created, so this only happens on the client thread.
+ */
+public final class ChiselingPreviewContextCache
+{
+    private static final ChiselingPreviewContextCache INSTANCE = new ChiselingPreviewContextCache();
+
+    public static ChiselingPreviewContextCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<ChiselingOperation, Entry> entries = new EnumMap<>(ChiselingOperation.class);
+
+    private ChiselingPreviewContextCache()
+    {
+    }
+
+    /**
+     * Returns the previewed context of the given player for the given operation.
+     *
+     * @param player The player.
+     * @param stack The held chiseling item stack.
+     * @param mode The mode of the held item.
+     * @param operation The previewed operation.
+     * @return The simulated context, or empty if the operation would not affect any bit.
+     */
+    public Optional<IChiselingContext> get(final Player player, final ItemStack stack, final IChiselMode mode, final ChiselingOperation operation)
+    {
+        final Optional<ChiselingPreviewKey> key = ChiselingPreviewKey.create(player, stack, mode, operation);
+        if (key.isEmpty())
+        {
+            entries.remove(operation);
+            return Optional.empty();
+        }
+
+        final long revision = MemoizedPreview.getRevision();
+        final Entry entry = entries.get(operation);
+        if (entry != null && entry.revision() == revision && entry.key().equals(key.get()))
+        {
+            return Optional.ofNullable(entry.context());
+        }
+
+        final IChiselingContext context = createContext(player, stack, mode, operation);
+        entries.put(operation, new Entry(key.get(), revision, context));
+        return Optional.ofNullable(context);
+    }
+
+    @Nullable
+    private static IChiselingContext createContext(final Player player, final ItemStack stack, final IChiselMode mode, final ChiselingOperation operation)
+    {
+        final IChiselingContext context = IChiselingManager.getInstance().create(
+          player,
+          mode,
+          operation,
+          true,
+          stack
+        );
+
+        if (operation == ChiselingOperation.CHISELING)
+        {
+            mode.onLeftClickBy(
+              player,
+              context
+            );
+        }
+        else
+        {
+            mode.onRightClickBy(
+              player,
+              context
+            );
+        }
+
+        return context.getMutator().isPresent() ? context : null;
+    }
+
+    private record Entry(ChiselingPreviewKey key, long revision, @Nullable IChiselingContext context)
+    {
+    }
+}
@@ -0,0 +1,79 @@
+package mod.chiselsandbits.client.chiseling.preview;
+
+import mod.chiselsandbits.api.chiseling.ChiselingOperation;
+import mod.chiselsandbits.api.chiseling.mode.IChiselMode;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.raytracing.BitHitResult;
+import mod.chiselsandbits.raytracing.BitRayTracer;
+import mod.chiselsandbits.utils.ItemStackUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Vec3i;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Identifies the inputs of a chiseling preview: the targeted block, bit and face, as well as the held item, its mode and the held bit state.
+ * Previews with equal keys produce the same result, as long as the world did not change.
+ */
+public record ChiselingPreviewKey(BlockPos hitBlock,
+                                  BlockState hitState,
+                                  Vec3i hitBit,
+                                  Direction face,
+                                  Item item,
+                                  @Nullable CompoundTag itemTag,
+                                  IChiselMode mode,
+                                  BlockState heldBitState,
+                                  ChiselingOperation operation)
+{
+    /**
+     * Creates the key for the preview of the given player.
+     *
+     * @param player The player.
+     * @param stack The held item stack.
+     * @param mode The mode of the held item.
+     * @param operation The previewed operation.
+     * @return The key, or empty if the player is not looking at a block.
+     */
+    public static Optional<ChiselingPreviewKey> create(final Player player, final ItemStack stack, final IChiselMode mode, final ChiselingOperation operation)
+    {
+        final HitResult hitResult = BitRayTracer.rayTracePlayer(player);
+        if (!(hitResult instanceof final BlockHitResult blockHitResult) || hitResult.getType() != HitResult.Type.BLOCK)
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ChiselingPreviewKey(
+          blockHitResult.getBlockPos(),
+          player.getLevel().getBlockState(blockHitResult.getBlockPos()),
+          getHitBit(blockHitResult),
+          blockHitResult.getDirection(),
+          stack.getItem(),
+          stack.getTag() == null ? null : stack.getTag().copy(),
+          mode,
+          ItemStackUtils.getHeldBitBlockStateFromPlayer(player),
+          operation
+        ));
+    }
+
+    private static Vec3i getHitBit(final BlockHitResult hitResult)
+    {
+        if (hitResult instanceof final BitHitResult bitHitResult)
+        {
+            return bitHitResult.getBlockPos().multiply(StateEntrySize.current().getBitsPerBlockSide()).offset(bitHitResult.getBitPosition());
+        }
+
+        final Vec3 hitBitPosition = hitResult.getLocation().multiply(StateEntrySize.current().getBitsPerBlockSideScalingVector());
+        return new Vec3i(Mth.floor(hitBitPosition.x()), Mth.floor(hitBitPosition.y()), Mth.floor(hitBitPosition.z()));
+    }
+}
@@ -8,18 +8,24 @@ import mod.chiselsandbits.api.chiseling.eligibility.IEligibilityManager;
 import mod.chiselsandbits.api.client.chiseling.preview.render.IChiselContextPreviewRenderer;
 import mod.chiselsandbits.api.config.IClientConfiguration;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
+import mod.chiselsandbits.api.multistate.mutator.world.IWorldAreaMutator;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
+import mod.chiselsandbits.client.render.CachedLineShape;
+import mod.chiselsandbits.client.render.MemoizedPreview;
 import mod.chiselsandbits.client.render.ModRenderTypes;
 import mod.chiselsandbits.voxelshape.VoxelShapeManager;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.core.BlockPos;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import static mod.chiselsandbits.api.util.StateEntryPredicates.ALL;
@@ -29,6 +35,13 @@ public class ConfigurableColoredVoxelShapeChiselContextPreviewRenderer implement
 {
     static ResourceLocation ID = new ResourceLocation(Constants.MOD_ID, "default");
 
+    private final Map<ChiselingOperation, MemoizedPreview<PreviewKey, PreviewShapeInput, PreviewShape>> previews = Util.make(new EnumMap<>(ChiselingOperation.class), map -> {
+        for (final ChiselingOperation operation : ChiselingOperation.values())
+        {
+            map.put(operation, new MemoizedPreview<>());
+        }
+    });
+
     @Override
     public ResourceLocation getId()
     {
@@ -47,27 +60,36 @@ public class ConfigurableColoredVoxelShapeChiselContextPreviewRenderer implement
         double yView = Vec3.y();
         double zView = Vec3.z();
 
-        final BlockPos inWorldStartPos = new BlockPos(currentContextSnapshot.getMutator().get().getInWorldStartPoint());
-        final VoxelShape boundingShape = VoxelShapeManager.getInstance()
-          .get(currentContextSnapshot.getMutator().get(),
-            areaAccessor -> {
-                final Predicate<IStateEntryInfo> contextPredicate = currentContextSnapshot.getStateFilter()
-                  .map(factory -> factory.apply(areaAccessor))
-                  .orElse(currentContextSnapshot.getModeOfOperandus() == ChiselingOperation.CHISELING ? NOT_AIR : ALL);
+        final IWorldAreaMutator mutator = currentContextSnapshot.getMutator().get();
+        final Predicate<IStateEntryInfo> contextPredicate = currentContextSnapshot.getStateFilter()
+          .map(factory -> factory.apply(mutator))
+          .orElse(currentContextSnapshot.getModeOfOperandus() == ChiselingOperation.CHISELING ? NOT_AIR : ALL);
+        final InternalContextFilter filter = new InternalContextFilter(contextPredicate);
+
+        //The shape reads the level, so it is taken here, its edges are collected in the background.
+        //The previous outline, with its own origin, is rendered until the edges of a changed context are available.
+        final Optional<PreviewShape> previewShape = previews.get(currentContextSnapshot.getModeOfOperandus())
+          .get(
+            new PreviewKey(mutator.getInWorldStartPoint(), mutator.getInWorldEndPoint(), filter),
+            () -> new PreviewShapeInput(
+              new BlockPos(mutator.getInWorldStartPoint()),
+              VoxelShapeManager.getInstance().get(mutator, areaAccessor -> filter, false)
+            ),
+            input -> new PreviewShape(input.origin(), CachedLineShape.of(input.shape()))
+          );
+        if (previewShape.isEmpty())
+            return;
 
-                return new InternalContextFilter(contextPredicate);
-            },
-            false);
+        final BlockPos inWorldStartPos = previewShape.get().origin();
 
         final List<? extends Float> color = currentContextSnapshot.getModeOfOperandus() == ChiselingOperation.CHISELING ?
                                  IClientConfiguration.getInstance().getPreviewChiselingColor().get() :
                                  IClientConfiguration.getInstance().getPreviewPlacementColor().get();
 
         RenderSystem.disableDepthTest();
-        LevelRenderer.renderShape(
+        previewShape.get().shape().render(
           poseStack,
           Minecraft.getInstance().renderBuffers().bufferSource().getBuffer(ModRenderTypes.MEASUREMENT_LINES.get()),
-          boundingShape,
           inWorldStartPos.getX() - xView, inWorldStartPos.getY() - yView, inWorldStartPos.getZ() - zView,
           getColorValue(color, 0, 0f),
           getColorValue(color, 1, 0f),
@@ -89,6 +111,18 @@ public class ConfigurableColoredVoxelShapeChiselContextPreviewRenderer implement
         return defaultValue;
     }
 
+    private record PreviewKey(Vec3 start, Vec3 end, InternalContextFilter filter)
+    {
+    }
+
+    private record PreviewShapeInput(BlockPos origin, VoxelShape shape)
+    {
+    }
+
+    private record PreviewShape(BlockPos origin, CachedLineShape shape)
+    {
+    }
+
     private static final class InternalContextFilter implements Predicate<IStateEntryInfo>
     {
         private final Predicate<IStateEntryInfo> placingContextPredicate;
@@ -2,20 +2,33 @@ package mod.chiselsandbits.client.logic;
 
 import com.mojang.blaze3d.vertex.PoseStack;
 import mod.chiselsandbits.api.item.wireframe.IWireframeProvidingItem;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
 import mod.chiselsandbits.api.util.RayTracingUtils;
+import mod.chiselsandbits.client.render.CachedLineShape;
 import mod.chiselsandbits.client.render.ChiseledBlockWireframeRenderer;
+import mod.chiselsandbits.client.render.MemoizedPreview;
 import mod.chiselsandbits.utils.ItemStackUtils;
 import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Vec3i;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.phys.shapes.VoxelShape;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
 
 public class MultiStateBlockPreviewRenderHandler
 {
+    private static final MemoizedPreview<WireframeKey, WireframeInput, Wireframe> WIREFRAME_PREVIEW = new MemoizedPreview<>();
 
     public static void renderMultiStateBlockPreview(final PoseStack poseStack)
     {
@@ -38,15 +51,59 @@ public class MultiStateBlockPreviewRenderHandler
         if (!(rayTraceResult instanceof final BlockHitResult blockRayTraceResult))
             return;
 
-        final VoxelShape wireFrame = wireframeItem.getWireFrame(heldStack, playerEntity, blockRayTraceResult);
-        final Vec3 color = wireframeItem.getWireFrameColor(heldStack, playerEntity, blockRayTraceResult);
-        final Vec3 targetedRenderPos = wireframeItem.getTargetedBlockPos(heldStack, playerEntity, blockRayTraceResult);
+        //The wireframe is only recalculated when the targeted bit, or the held stack changes.
+        //The items can read the level through the player, so the shape is taken here, its edges are collected in the background.
+        final Optional<Wireframe> wireframe = WIREFRAME_PREVIEW.get(
+          WireframeKey.create(playerEntity, heldStack, blockRayTraceResult),
+          () -> new WireframeInput(
+            wireframeItem.getWireFrame(heldStack, playerEntity, blockRayTraceResult),
+            wireframeItem.getWireFrameColor(heldStack, playerEntity, blockRayTraceResult),
+            wireframeItem.getTargetedBlockPos(heldStack, playerEntity, blockRayTraceResult)
+          ),
+          input -> new Wireframe(CachedLineShape.of(input.shape()), input.color(), input.position())
+        );
+
+        if (wireframe.isEmpty())
+            return;
 
         ChiseledBlockWireframeRenderer.getInstance().renderShape(
           poseStack,
-          wireFrame,
-          targetedRenderPos,
-          color
+          wireframe.get().shape(),
+          wireframe.get().position(),
+          wireframe.get().color()
         );
     }
+
+    private record WireframeKey(Item item,
+                                @Nullable CompoundTag itemTag,
+                                BlockPos hitBlock,
+                                BlockState hitState,
+                                Vec3i hitBit,
+                                Direction face,
+                                boolean sneaking,
+                                int inventoryRevision)
+    {
+        private static WireframeKey create(final Player player, final ItemStack stack, final BlockHitResult hitResult)
+        {
+            final Vec3 hitBitPosition = hitResult.getLocation().multiply(StateEntrySize.current().getBitsPerBlockSideScalingVector());
+            return new WireframeKey(
+              stack.getItem(),
+              stack.getTag() == null ? null : stack.getTag().copy(),
+              hitResult.getBlockPos(),
+              player.getLevel().getBlockState(hitResult.getBlockPos()),
+              new Vec3i(Mth.floor(hitBitPosition.x()), Mth.floor(hitBitPosition.y()), Mth.floor(hitBitPosition.z())),
+              hitResult.getDirection(),
+              player.isShiftKeyDown(),
+              player.getInventory().getTimesChanged()
+            );
+        }
+    }
+
+    private record WireframeInput(VoxelShape shape, Vec3 color, Vec3 position)
+    {
+    }
+
+    private record Wireframe(CachedLineShape shape, Vec3 color, Vec3 position)
+    {
+    }
 }
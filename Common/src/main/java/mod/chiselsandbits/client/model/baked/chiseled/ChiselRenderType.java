@@ -3,12 +3,14 @@ package mod.chiselsandbits.client.model.baked.chiseled;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
 import mod.chiselsandbits.client.culling.ICullTest;
 import mod.chiselsandbits.client.culling.MCCullTest;
 import mod.chiselsandbits.platforms.core.client.rendering.IRenderingManager;
 import mod.chiselsandbits.platforms.core.client.rendering.type.IRenderTypeManager;
 import net.minecraft.client.renderer.RenderType;
+import net.minecraft.world.level.block.state.BlockState;
 
 import java.security.InvalidParameterException;
 import java.util.Collection;
@@ -50,6 +52,15 @@ public enum ChiselRenderType
             return false;
         }
 
+        //All entries of a uniform area share the same state, so testing the first one suffices.
+        if ( accessor instanceof final IAreaAccessorWithOccupancy occupancyAccessor && occupancyAccessor.getOccupancy().isUniform() )
+        {
+            return accessor.stream()
+              .findFirst()
+              .map(this::isRequiredForRendering)
+              .orElse(false);
+        }
+
         return accessor.stream()
           .anyMatch(this::isRequiredForRendering);
     }
@@ -57,14 +68,20 @@ public enum ChiselRenderType
     public boolean isRequiredForRendering(
       final IStateEntryInfo stateEntryInfo )
     {
-        if (!this.type.isValidBlockState(stateEntryInfo.getState()))
+        return isRequiredForRendering(stateEntryInfo.getState());
+    }
+
+    public boolean isRequiredForRendering(
+      final BlockState state )
+    {
+        if (!this.type.isValidBlockState(state))
             return false;
 
         if (this.type.isFluid()) {
-            return IRenderTypeManager.getInstance().canRenderInType(stateEntryInfo.getState().getFluidState(), this.layer);
+            return IRenderTypeManager.getInstance().canRenderInType(state.getFluidState(), this.layer);
         }
 
-        return IRenderTypeManager.getInstance().canRenderInType(stateEntryInfo.getState(), this.layer);
+        return IRenderTypeManager.getInstance().canRenderInType(state, this.layer);
     }
 
     public static ChiselRenderType fromLayer(
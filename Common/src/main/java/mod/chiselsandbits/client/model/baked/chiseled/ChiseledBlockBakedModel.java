@@ -1,22 +1,23 @@
 package mod.chiselsandbits.client.model.baked.chiseled;
 
 import com.google.common.collect.Lists;
-import com.mojang.blaze3d.vertex.DefaultVertexFormat;
-import com.mojang.blaze3d.vertex.VertexFormat;
-import com.mojang.blaze3d.vertex.VertexFormatElement;
 import com.mojang.math.Vector3f;
 import mod.chiselsandbits.api.multistate.StateEntrySize;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
 import mod.chiselsandbits.api.multistate.accessor.sortable.IPositionMutator;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
 import mod.chiselsandbits.client.culling.ICullTest;
 import mod.chiselsandbits.client.model.baked.base.BaseBakedBlockModel;
-import mod.chiselsandbits.client.model.baked.face.ChiselsAndBitsBakedQuad;
+import mod.chiselsandbits.client.model.baked.face.BlockQuadEmitter;
 import mod.chiselsandbits.client.model.baked.face.FaceManager;
 import mod.chiselsandbits.client.model.baked.face.FaceRegion;
-import mod.chiselsandbits.client.model.baked.face.IFaceBuilder;
+import mod.chiselsandbits.client.model.baked.face.QuadInternPool;
 import mod.chiselsandbits.client.model.baked.face.model.ModelQuadLayer;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.LodMesher;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.MajorityDownsampler;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.ModelLod;
 import mod.chiselsandbits.utils.ModelUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.block.model.BakedQuad;
@@ -52,6 +53,11 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
     private final static int[][]     faceVertMap      = new int[6][4];
     private final static float[][][] quadMapping      = new float[6][4][6];
 
+    /**
+     * The amount of cells per side of a downsampled model.
+     */
+    private static final int DOWNSAMPLED_SIZE = 4;
+
     private static final Direction[] X_Faces = new Direction[] {Direction.EAST, Direction.WEST};
     private static final Direction[] Y_Faces = new Direction[] {Direction.UP, Direction.DOWN};
     private static final Direction[] Z_Faces = new Direction[] {Direction.SOUTH, Direction.NORTH};
@@ -181,62 +187,195 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
       final IAreaAccessor data,
       final Function<Vec3, BlockState> neighborStateSupplier,
       final long primaryStateRenderSeed)
+    {
+        this(layer, buildModels(state, Collections.singletonList(layer), data, neighborStateSupplier, primaryStateRenderSeed).get(layer));
+    }
+
+    ChiseledBlockBakedModel(
+      final ChiselRenderType layer,
+      @Nullable final ChiseledBlockModelBuilder builder)
     {
         chiselRenderType = layer;
-        BakedModel originalModel = null;
 
-        if (state != null && state.getBlock() != Blocks.AIR)
+        if (builder != null)
         {
-            originalModel = Minecraft.getInstance().getBlockRenderer().getBlockModelShaper().getBlockModel(state);
+            // convert from builder to final storage.
+            up = builder.getSide(Direction.UP);
+            down = builder.getSide(Direction.DOWN);
+            east = builder.getSide(Direction.EAST);
+            west = builder.getSide(Direction.WEST);
+            north = builder.getSide(Direction.NORTH);
+            south = builder.getSide(Direction.SOUTH);
+            generic = builder.getSide(null);
+
+            QuadInternPool.getInstance().track(this, getQuadCount());
         }
+    }
 
-        if (originalModel != null && data != null)
+    /**
+     * Builds the models of all the given render types at once.
+     * Every entry of the area is classified by render type during a single analysis of the area, instead of analysing the area again for every render type.
+     *
+     * @param state The primary state of the area.
+     * @param layers The render types to build the models for.
+     * @param data The area.
+     * @param neighborStateSupplier The supplier for the states outside of the area.
+     * @param primaryStateRenderSeed The render seed of the primary state.
+     * @return The models, for each of the given render types.
+     */
+    public static Map<ChiselRenderType, ChiseledBlockBakedModel> createAll(
+      final BlockState state,
+      final Collection<ChiselRenderType> layers,
+      final IAreaAccessor data,
+      final Function<Vec3, BlockState> neighborStateSupplier,
+      final long primaryStateRenderSeed)
+    {
+        final Map<ChiselRenderType, ChiseledBlockModelBuilder> builders = buildModels(state, layers, data, neighborStateSupplier, primaryStateRenderSeed);
+
+        final Map<ChiselRenderType, ChiseledBlockBakedModel> models = new EnumMap<>(ChiselRenderType.class);
+        for (final ChiselRenderType layer : layers)
         {
-            if (layer.isRequiredForRendering(data))
-            {
-                final ChiseledBlockModelBuilder builder = new ChiseledBlockModelBuilder();
-                generateFaces(builder, data, neighborStateSupplier, primaryStateRenderSeed);
-
-                // convert from builder to final storage.
-                up = builder.getSide(Direction.UP);
-                down = builder.getSide(Direction.DOWN);
-                east = builder.getSide(Direction.EAST);
-                west = builder.getSide(Direction.WEST);
-                north = builder.getSide(Direction.NORTH);
-                south = builder.getSide(Direction.SOUTH);
-                generic = builder.getSide(null);
-            }
+            models.put(layer, new ChiseledBlockBakedModel(layer, builders.get(layer)));
         }
+        return models;
     }
 
-    public boolean isEmpty()
+    /**
+     * Builds the models of all the given render types at once, with a reduced level of detail.
+     * The area is reduced to a coarse grid first, of which only the faces are meshed that are not hidden by other cells or the covered sides.
+     *
+     * @param state The primary state of the area.
+     * @param layers The render types to build the models for.
+     * @param data The area.
+     * @param lod The level of detail, either {@link ModelLod#DOWNSAMPLED} or {@link ModelLod#CUBE}.
+     * @param coveredSides Indicates, by the 3D data value of a side, if that side of the area is covered by its neighbor.
+     * @param primaryStateRenderSeed The render seed of the primary state.
+     * @return The models, for each of the given render types.
+     */
+    public static Map<ChiselRenderType, ChiseledBlockBakedModel> createAllReduced(
+      final BlockState state,
+      final Collection<ChiselRenderType> layers,
+      final IAreaAccessor data,
+      final ModelLod lod,
+      final boolean[] coveredSides,
+      final long primaryStateRenderSeed)
     {
-        boolean trulyEmpty = getList(null).isEmpty();
+        final Map<ChiselRenderType, ChiseledBlockBakedModel> models = new EnumMap<>(ChiselRenderType.class);
+        for (final ChiselRenderType layer : layers)
+        {
+            models.put(layer, new ChiseledBlockBakedModel(layer, null));
+        }
 
-        for (final Direction e : Direction.values())
+        if (state == null || state.isAir() || data == null || isKnownEmpty(data))
         {
-            trulyEmpty = trulyEmpty && getList(e).isEmpty();
+            return models;
         }
 
-        return trulyEmpty;
-    }
+        final List<BlockState> palette = new ArrayList<>();
+        palette.add(Blocks.AIR.defaultBlockState());
 
-    IFaceBuilder getBuilder()
-    {
-        return new ChiselsAndBitsBakedQuad.Builder(DefaultVertexFormat.BLOCK);
+        final int[] grid;
+        final int size;
+        if (lod == ModelLod.CUBE)
+        {
+            palette.add(state);
+            grid = new int[] {1};
+            size = 1;
+        }
+        else
+        {
+            final int fullSize = StateEntrySize.current().getBitsPerBlockSide();
+            final int[] fullGrid = new int[fullSize * fullSize * fullSize];
+            final Map<BlockState, Integer> ids = new IdentityHashMap<>();
+            data.stream().forEach(stateEntryInfo -> {
+                final BlockState entryState = stateEntryInfo.getState();
+                if (entryState.isAir())
+                    return;
+
+                final int x = (int) Math.floor(stateEntryInfo.getStartPoint().x() * fullSize);
+                final int y = (int) Math.floor(stateEntryInfo.getStartPoint().y() * fullSize);
+                final int z = (int) Math.floor(stateEntryInfo.getStartPoint().z() * fullSize);
+                fullGrid[x * fullSize * fullSize + y * fullSize + z] = ids.computeIfAbsent(entryState, newState -> {
+                    palette.add(newState);
+                    return palette.size() - 1;
+                });
+            });
+
+            size = Math.min(fullSize, DOWNSAMPLED_SIZE);
+            grid = size == fullSize ? fullGrid : MajorityDownsampler.downsample(fullGrid, fullSize, size);
+        }
+
+        final Map<ChiselRenderType, List<FaceRegion>> regions = new EnumMap<>(ChiselRenderType.class);
+        for (final LodMesher.Face face : LodMesher.mesh(grid, size, coveredSides))
+        {
+            final BlockState faceState = palette.get(face.id());
+            final FaceRegion region = new FaceRegion(
+              face.direction(),
+              faceState,
+              face.onSide(),
+              face.minX(),
+              face.minY(),
+              face.minZ(),
+              face.maxX(),
+              face.maxY(),
+              face.maxZ()
+            );
+
+            for (final ChiselRenderType layer : layers)
+            {
+                if (layer.isRequiredForRendering(faceState))
+                    regions.computeIfAbsent(layer, key -> new ArrayList<>()).add(region);
+            }
+        }
+
+        regions.forEach((layer, layerRegions) -> {
+            final ChiseledBlockModelBuilder builder = new ChiseledBlockModelBuilder();
+            final List<List<FaceRegion>> faces = new ArrayList<>();
+            faces.add(layerRegions);
+            generateFaces(builder, layer, faces, primaryStateRenderSeed);
+            models.put(layer, new ChiseledBlockBakedModel(layer, builder));
+        });
+        return models;
     }
 
-    private void generateFaces(
-      final ChiseledBlockModelBuilder builder,
-      final IAreaAccessor accessor,
+    private static Map<ChiselRenderType, ChiseledBlockModelBuilder> buildModels(
+      final BlockState state,
+      final Collection<ChiselRenderType> layers,
+      final IAreaAccessor data,
       final Function<Vec3, BlockState> neighborStateSupplier,
       final long primaryStateRenderSeed)
     {
-        final List<List<FaceRegion>> resultingFaces = new ArrayList<>();
+        BakedModel originalModel = null;
+
+        if (state != null && state.getBlock() != Blocks.AIR)
+        {
+            originalModel = Minecraft.getInstance().getBlockRenderer().getBlockModelShaper().getBlockModel(state);
+        }
+
+        if (originalModel == null || data == null || isKnownEmpty(data))
+        {
+            return Collections.emptyMap();
+        }
+
+        // the render types only depend on the state, so each state is classified once.
+        final Map<BlockState, ChiselRenderType[]> classifiedStates = new IdentityHashMap<>();
+        final Function<IStateEntryInfo, ChiselRenderType[]> classifier = stateEntryInfo -> classifiedStates.computeIfAbsent(
+          stateEntryInfo.getState(),
+          blockState -> layers.stream()
+                          .filter(layer -> layer.isRequiredForRendering(stateEntryInfo))
+                          .toArray(ChiselRenderType[]::new)
+        );
+
+        final Map<ChiselRenderType, List<List<FaceRegion>>> resultingFaces = new EnumMap<>(ChiselRenderType.class);
+        for (final ChiselRenderType layer : layers)
+        {
+            resultingFaces.put(layer, new ArrayList<>());
+        }
 
         processFaces(
-          accessor,
+          data,
           resultingFaces,
+          classifier,
           IPositionMutator.xzy(),
           X_Faces,
           Vec3::x,
@@ -244,8 +383,9 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
           neighborStateSupplier
         );
         processFaces(
-          accessor,
+          data,
           resultingFaces,
+          classifier,
           IPositionMutator.zxy(),
           Y_Faces,
           Vec3::y,
@@ -253,8 +393,9 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
           neighborStateSupplier
         );
         processFaces(
-          accessor,
+          data,
           resultingFaces,
+          classifier,
           IPositionMutator.zyx(),
           Z_Faces,
           Vec3::z,
@@ -262,14 +403,65 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
           neighborStateSupplier
         );
 
+        final Map<ChiselRenderType, ChiseledBlockModelBuilder> builders = new EnumMap<>(ChiselRenderType.class);
+        resultingFaces.forEach((layer, faces) -> {
+            if (faces.isEmpty())
+                return;
+
+            final ChiseledBlockModelBuilder builder = new ChiseledBlockModelBuilder();
+            generateFaces(builder, layer, faces, primaryStateRenderSeed);
+            builders.put(layer, builder);
+        });
+        return builders;
+    }
+
+    private static boolean isKnownEmpty(final IAreaAccessor data)
+    {
+        return data instanceof final IAreaAccessorWithOccupancy occupancyAccessor && occupancyAccessor.getOccupancy().isEmpty();
+    }
+
+    public boolean isEmpty()
+    {
+        boolean trulyEmpty = getList(null).isEmpty();
+
+        for (final Direction e : Direction.values())
+        {
+            trulyEmpty = trulyEmpty && getList(e).isEmpty();
+        }
+
+        return trulyEmpty;
+    }
+
+    /**
+     * The amount of quads of this model, on all sides.
+     *
+     * @return The amount of quads.
+     */
+    public int getQuadCount()
+    {
+        int count = getList(null).size();
+        for (final Direction e : Direction.values())
+        {
+            count += getList(e).size();
+        }
+
+        return count;
+    }
+
+    private static void generateFaces(
+      final ChiseledBlockModelBuilder builder,
+      final ChiselRenderType chiselRenderType,
+      final List<List<FaceRegion>> resultingFaces,
+      final long primaryStateRenderSeed)
+    {
         // re-usable float[]'s to minimize garbage cleanup.
         final double[] to = new double[3];
         final double[] from = new double[3];
         final float[] uvs = new float[8];
         final float[] pos = new float[3];
 
-        // single reusable face builder.
-        final IFaceBuilder faceBuilder = getBuilder();
+        // single reusable quad emitter.
+        final BlockQuadEmitter quadEmitter = new BlockQuadEmitter();
 
         for (final List<FaceRegion> src : resultingFaces)
         {
@@ -290,67 +482,30 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
                 {
                     for (final ModelQuadLayer pc : mpc)
                     {
-                        VertexFormat builderFormat = faceBuilder.getFormat();
-
-                        faceBuilder.begin();
-                        faceBuilder.setFace(myFace, pc.getTint());
-
-                        final float maxLightmap = 32.0f / 0xffff;
+                        quadEmitter.begin(myFace, pc.getTint(), pc.getColor(), pc.getLight());
                         getFaceUvs(uvs, myFace, from, to, pc.getUvs());
 
                         // build it.
                         for (int vertNum = 0; vertNum < 4; vertNum++)
                         {
-                            for (int elementIndex = 0; elementIndex < builderFormat.getElements().size(); elementIndex++)
-                            {
-                                final VertexFormatElement element = builderFormat.getElements().get(elementIndex);
-                                switch (element.getUsage())
-                                {
-                                    case POSITION:
-                                        getVertexPos(pos, myFace, vertNum, to, from);
-                                        faceBuilder.put(elementIndex, pos[0], pos[1], pos[2]);
-                                        break;
-
-                                    case COLOR:
-                                        final int cb = pc.getColor();
-                                        faceBuilder.put(elementIndex, byteToFloat(cb >> 16), byteToFloat(cb >> 8), byteToFloat(cb), NotZero(byteToFloat(cb >> 24)));
-                                        break;
-
-                                    case NORMAL:
-                                        // this fixes a bug with Forge AO?? and
-                                        // solid blocks.. I have no idea why...
-                                        final float normalShift = 0.999f;
-                                        faceBuilder.put(elementIndex, normalShift * myFace.getStepX(), normalShift * myFace.getStepY(), normalShift * myFace.getStepZ());
-                                        break;
-
-                                    case UV:
-                                        if (element.getIndex() == 2)
-                                        {
-                                            final float v = maxLightmap * Math.max(0, Math.min(15, pc.getLight()));
-                                            faceBuilder.put(elementIndex, v, v);
-                                        }
-                                        else
-                                        {
-                                            final float u = uvs[faceVertMap[myFace.get3DDataValue()][vertNum] * 2];
-                                            final float v = uvs[faceVertMap[myFace.get3DDataValue()][vertNum] * 2 + 1];
-                                            faceBuilder.put(elementIndex, pc.getSprite().getU(u), pc.getSprite().getV(v));
-                                        }
-                                        break;
-
-                                    default:
-                                        faceBuilder.put(elementIndex);
-                                        break;
-                                }
-                            }
+                            getVertexPos(pos, myFace, vertNum, to, from);
+
+                            final int uvIndex = faceVertMap[myFace.get3DDataValue()][vertNum] * 2;
+                            quadEmitter.put(
+                              vertNum,
+                              pos[0], pos[1], pos[2],
+                              pc.getSprite().getU(uvs[uvIndex]),
+                              pc.getSprite().getV(uvs[uvIndex + 1])
+                            );
                         }
 
                         if (region.isEdge())
                         {
-                            builder.getList(myFace).add(faceBuilder.create(pc.getSprite()));
+                            builder.getList(myFace).add(quadEmitter.create(pc.getSprite()));
                         }
                         else
                         {
-                            builder.getList(null).add(faceBuilder.create(pc.getSprite()));
+                            builder.getList(null).add(quadEmitter.create(pc.getSprite()));
                         }
                     }
                 }
@@ -358,24 +513,7 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
         }
     }
 
-    private float NotZero(
-      float byteToFloat)
-    {
-        if (byteToFloat < 0.00001f)
-        {
-            return 1;
-        }
-
-        return byteToFloat;
-    }
-
-    private float byteToFloat(
-      final int i)
-    {
-        return (i & 0xff) / 255.0f;
-    }
-
-    private void mergeFaces(
+    private static void mergeFaces(
       final List<FaceRegion> src)
     {
         boolean restart;
@@ -411,70 +549,84 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
     }
 
 
-    private void processFaces(
+    private static void processFaces(
       final IAreaAccessor accessor,
-      final List<List<FaceRegion>> resultingRegions,
+      final Map<ChiselRenderType, List<List<FaceRegion>>> resultingRegions,
+      final Function<IStateEntryInfo, ChiselRenderType[]> classifier,
       final IPositionMutator analysisOrder,
       final Direction[] potentialDirections,
       final Function<Vec3, Double> regionBuildingAxisValueExtractor,
       final Function<Vec3, Double> faceBuildingAxisValueExtractor,
       final Function<Vec3, BlockState> neighborStateSupplier) {
-        final ArrayList<FaceRegion> regions = Lists.newArrayList();
-        final ICullTest test = chiselRenderType.getTest();
-
         for (final Direction facing : potentialDirections)
         {
-            final FaceBuildingState state = new FaceBuildingState();
+            final Map<ChiselRenderType, FaceBuildingState> states = new EnumMap<>(ChiselRenderType.class);
+            resultingRegions.forEach((layer, regions) -> states.put(layer, new FaceBuildingState(layer.getTest(), regions)));
 
             accessor.streamWithPositionMutator(analysisOrder)
-              .filter(this.chiselRenderType::isRequiredForRendering)
               .forEach(stateEntryInfo -> {
-                  if (state.getRegionBuildingAxisValue() != regionBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint())) {
-                      if (!regions.isEmpty()) {
-                          resultingRegions.add(Lists.newArrayList(regions));
-                      }
-                      regions.clear();
-                      state.setCurrentRegion(null);
+                  for (final ChiselRenderType layer : classifier.apply(stateEntryInfo))
+                  {
+                      processEntry(
+                        accessor,
+                        states.get(layer),
+                        facing,
+                        stateEntryInfo,
+                        regionBuildingAxisValueExtractor,
+                        faceBuildingAxisValueExtractor,
+                        neighborStateSupplier
+                      );
                   }
-                  state.setRegionBuildingAxisValue(regionBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint()));
+              });
 
-                  if (state.getFaceBuildingAxisValue() != faceBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint())) {
-                      state.setCurrentRegion(null);
-                  }
-                  state.setFaceBuildingAxisValue(faceBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint()));
-
-                  final Optional<FaceRegion> potentialRegionData = buildFaceRegion(
-                    accessor,
-                    facing,
-                    stateEntryInfo,
-                    test,
-                    neighborStateSupplier
-                  );
-
-                  if (potentialRegionData.isEmpty()) {
-                      state.setCurrentRegion(null);
-                      return;
-                  }
+            states.values().forEach(FaceBuildingState::flushRegions);
+        }
+    }
+
+    private static void processEntry(
+      final IAreaAccessor accessor,
+      final FaceBuildingState state,
+      final Direction facing,
+      final IStateEntryInfo stateEntryInfo,
+      final Function<Vec3, Double> regionBuildingAxisValueExtractor,
+      final Function<Vec3, Double> faceBuildingAxisValueExtractor,
+      final Function<Vec3, BlockState> neighborStateSupplier) {
+        if (state.getRegionBuildingAxisValue() != regionBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint())) {
+            state.flushRegions();
+            state.setCurrentRegion(null);
+        }
+        state.setRegionBuildingAxisValue(regionBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint()));
 
+        if (state.getFaceBuildingAxisValue() != faceBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint())) {
+            state.setCurrentRegion(null);
+        }
+        state.setFaceBuildingAxisValue(faceBuildingAxisValueExtractor.apply(stateEntryInfo.getStartPoint()));
 
-                  if (state.getCurrentRegion() != null) {
-                      if (state.getCurrentRegion().extend(potentialRegionData.get())) {
-                          return;
-                      }
-                  }
+        final Optional<FaceRegion> potentialRegionData = buildFaceRegion(
+          accessor,
+          facing,
+          stateEntryInfo,
+          state.getTest(),
+          neighborStateSupplier
+        );
 
-                  state.setCurrentRegion(potentialRegionData.get());
-                  regions.add(potentialRegionData.get());
-              });
+        if (potentialRegionData.isEmpty()) {
+            state.setCurrentRegion(null);
+            return;
+        }
 
-            if (!regions.isEmpty()) {
-                resultingRegions.add(Lists.newArrayList(regions));
+
+        if (state.getCurrentRegion() != null) {
+            if (state.getCurrentRegion().extend(potentialRegionData.get())) {
+                return;
             }
-            regions.clear();
         }
+
+        state.setCurrentRegion(potentialRegionData.get());
+        state.getRegions().add(potentialRegionData.get());
     }
 
-    private Optional<FaceRegion> buildFaceRegion(
+    private static Optional<FaceRegion> buildFaceRegion(
       final IAreaAccessor blob,
       final Direction facing,
       final IStateEntryInfo target,
@@ -523,7 +675,7 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
     }
 
     // generate final pos from static data.
-    private void getVertexPos(
+    private static void getVertexPos(
       final float[] pos,
       final Direction side,
       final int vertNum,
@@ -537,7 +689,7 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
         pos[2] = (float) (to[2] * 16f * interpos[4] + from[2] * 16f * interpos[5]);
     }
 
-    private void getFaceUvs(
+    private static void getFaceUvs(
       final float[] uvs,
       final Direction face,
       final double[] from,
@@ -586,7 +738,7 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
         uvs[7] = v(quadsUV, to_u, from_v) * 16; // 1
     }
 
-    float u(
+    static float u(
       final float[] src,
       final float inU,
       final float inV)
@@ -597,7 +749,7 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
         return u1 * inV + (1.0f - inV) * u2;
     }
 
-    float v(
+    static float v(
       final float[] src,
       final float inU,
       final float inV)
@@ -640,11 +792,39 @@ public class ChiseledBlockBakedModel extends BaseBakedBlockModel
     }
 
     private static final class FaceBuildingState {
+        private final ICullTest                test;
+        private final List<List<FaceRegion>>  resultingRegions;
+        private final ArrayList<FaceRegion>   regions = Lists.newArrayList();
+
         private double regionBuildingAxis = -1d;
         private double faceBuildingAxis = -1d;
 
         private FaceRegion currentRegion;
 
+        private FaceBuildingState(final ICullTest test, final List<List<FaceRegion>> resultingRegions)
+        {
+            this.test = test;
+            this.resultingRegions = resultingRegions;
+        }
+
+        public ICullTest getTest()
+        {
+            return test;
+        }
+
+        public List<FaceRegion> getRegions()
+        {
+            return regions;
+        }
+
+        public void flushRegions()
+        {
+            if (!regions.isEmpty()) {
+                resultingRegions.add(Lists.newArrayList(regions));
+            }
+            regions.clear();
+        }
+
         public double getRegionBuildingAxisValue()
         {
             return regionBuildingAxis;
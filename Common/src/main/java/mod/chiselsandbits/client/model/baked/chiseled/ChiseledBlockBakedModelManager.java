@@ -3,31 +3,52 @@ package mod.chiselsandbits.client.model.baked.chiseled;
 import mod.chiselsandbits.api.config.IClientConfiguration;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
 import mod.chiselsandbits.api.multistate.accessor.identifier.IAreaShapeIdentifier;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhoodBuilder;
 import mod.chiselsandbits.api.profiling.IProfilerSection;
 import mod.chiselsandbits.api.util.VectorUtils;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.ModelLod;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
 import mod.chiselsandbits.profiling.ProfilingManager;
+import mod.chiselsandbits.profiling.jfr.FlightRecorderEvents;
+import mod.chiselsandbits.profiling.jfr.ModelBuildEvent;
 import mod.chiselsandbits.utils.SimpleMaxSizedCache;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class ChiseledBlockBakedModelManager {
+    private static final ProfilerSectionId ITEM_BASED_CHISELED_BLOCK_MODEL_SECTION   = ProfilingManager.getInstance().registerSection("Item based chiseled block model");
+    private static final ProfilerSectionId BLOCK_BASED_CHISELED_BLOCK_MODEL_SECTION  = ProfilingManager.getInstance().registerSection("Block based chiseled block model");
+    private static final ProfilerSectionId CACHE_MISS_SECTION                        = ProfilingManager.getInstance().registerSection("Cache miss");
+    private static final ProfilerSectionId BLOCK_BASED_CHISELED_BLOCK_MODELS_SECTION = ProfilingManager.getInstance().registerSection("Block based chiseled block models");
+    private static final ProfilerSectionId DISK_CACHE_SECTION                        = ProfilingManager.getInstance().registerSection("Disk cache");
+    private static final ProfilerSectionId REDUCED_CHISELED_BLOCK_MODELS_SECTION     = ProfilingManager.getInstance().registerSection("Reduced chiseled block models");
+
     private static final ChiseledBlockBakedModelManager INSTANCE = new ChiseledBlockBakedModelManager();
 
     private final SimpleMaxSizedCache<Key, ChiseledBlockBakedModel> cache = new SimpleMaxSizedCache<>(
+            "block-models",
             () -> IClientConfiguration.getInstance().getModelCacheSize().get() * RenderType.chunkBufferLayers().size()
     );
 
@@ -46,7 +67,7 @@ public class ChiseledBlockBakedModelManager {
             final IMultiStateItemStack multiStateItemStack,
             final ChiselRenderType renderType
     ) {
-        try (IProfilerSection ignored = ProfilingManager.getInstance().withSection("Item based chiseled block model")) {
+        try (IProfilerSection ignored = ProfilingManager.getInstance().withSection(ITEM_BASED_CHISELED_BLOCK_MODEL_SECTION)) {
             return Optional.of(
                     get(
                             multiStateItemStack,
@@ -76,67 +97,288 @@ public class ChiseledBlockBakedModelManager {
             @Nullable Function<Direction, IAreaAccessor> neighborhoodAreaAccessorProvider,
             @NotNull BlockPos position
     ) {
-        try (IProfilerSection ignored1 = ProfilingManager.getInstance().withSection("Block based chiseled block model")) {
+        try (IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(BLOCK_BASED_CHISELED_BLOCK_MODEL_SECTION)) {
             final long primaryStateRenderSeed = primaryState.getSeed(position);
+            final IBlockNeighborhood neighborhood = IBlockNeighborhoodBuilder.getInstance().build(
+                    neighborhoodBlockStateProvider,
+                    neighborhoodAreaAccessorProvider
+            );
             final Key key = new Key(
                     accessor.createNewShapeIdentifier(),
                     primaryState,
                     renderType,
-                    IBlockNeighborhoodBuilder.getInstance().build(
-                            neighborhoodBlockStateProvider,
-                            neighborhoodAreaAccessorProvider
-                    ),
+                    neighborhood,
                     primaryStateRenderSeed);
             return cache.get(key,
                     () -> {
-                        try (IProfilerSection ignored3 = ProfilingManager.getInstance().withSection("Cache mis")) {
-                            return new ChiseledBlockBakedModel(
+                        try (IProfilerSection ignored3 = ProfilingManager.getInstance().withSection(CACHE_MISS_SECTION)) {
+                            final ModelBuildEvent event = FlightRecorderEvents.begin(ModelBuildEvent::new);
+                            final ChiseledBlockBakedModel model = new ChiseledBlockBakedModel(
                                     primaryState,
                                     renderType,
                                     accessor,
-                                    targetOffset -> {
-                                        final Vec3 nominalTargetOffset = Vec3.ZERO.add(targetOffset);
-                                        final BlockPos nominalTargetBlockOffset = new BlockPos(nominalTargetOffset);
-                                        final Vec3 inBlockOffset = nominalTargetOffset.subtract(Vec3.atLowerCornerOf(nominalTargetBlockOffset));                                        final Vec3 inBlockOffsetTarget = VectorUtils.makePositive(inBlockOffset);
-
-                                        final Direction offsetDirection = Direction.getNearest(
-                                          nominalTargetBlockOffset.getX(),
-                                          nominalTargetBlockOffset.getY(),
-                                          nominalTargetBlockOffset.getZ()
-                                        );
-
-                                        IAreaAccessor neighborAccessor;
-                                        if (targetOffset.x() >= 0 && targetOffset.x() < 1 &&
-                                                targetOffset.y() >= 0 && targetOffset.y() < 1 &&
-                                                targetOffset.z() >= 0 && targetOffset.z() < 1
-                                        ) {
-                                            neighborAccessor = accessor;
-                                        } else {
-                                            neighborAccessor = neighborhoodAreaAccessorProvider != null ?
-                                                    neighborhoodAreaAccessorProvider.apply(offsetDirection) : null;
-                                        }
-
-                                        if (neighborAccessor != null) {
-                                            return neighborAccessor.getInAreaTarget(inBlockOffsetTarget)
-                                                    .map(IStateEntryInfo::getState)
-                                                    .orElse(Blocks.AIR.defaultBlockState());
-                                        }
-
-                                        return neighborhoodBlockStateProvider != null ? neighborhoodBlockStateProvider.apply(offsetDirection) : Blocks.AIR.defaultBlockState();
-                                    },
+                                    createNeighborStateSupplier(accessor, neighborhood),
                                     primaryStateRenderSeed
                             );
+                            commitModelBuild(event, position, Map.of(renderType, model));
+                            return model;
                         }
                     });
         }
     }
 
+    /**
+     * Gets the models of all render types for the given area.
+     * Models which are not cached in memory are loaded from the {@link ChiseledBlockMeshDiskCache}, the remaining ones are built together,
+     * with a single analysis of the area.
+     *
+     * @param accessor The area to get the models for.
+     * @param primaryState The primary state of the area.
+     * @param neighborhood The neighborhood of the area.
+     * @param position The position of the area in the world.
+     * @return The models, for each render type.
+     */
+    public Map<ChiselRenderType, ChiseledBlockBakedModel> getAll(
+            final IAreaAccessor accessor,
+            final BlockState primaryState,
+            final IBlockNeighborhood neighborhood,
+            @NotNull BlockPos position
+    ) {
+        return getAll(accessor, primaryState, neighborhood, position, ModelLod.FULL);
+    }
+
+    /**
+     * Gets the models of all render types for the given area, with the given level of detail.
+     * Models with a reduced level of detail are only kept in memory.
+     *
+     * @param accessor The area to get the models for.
+     * @param primaryState The primary state of the area.
+     * @param neighborhood The neighborhood of the area.
+     * @param position The position of the area in the world.
+     * @param lod The level of detail of the models.
+     * @return The models, for each render type.
+     */
+    public Map<ChiselRenderType, ChiseledBlockBakedModel> getAll(
+            final IAreaAccessor accessor,
+            final BlockState primaryState,
+            final IBlockNeighborhood neighborhood,
+            @NotNull BlockPos position,
+            final ModelLod lod
+    ) {
+        if (lod != ModelLod.FULL) {
+            return getAllReduced(accessor, primaryState, neighborhood, position, lod);
+        }
+
+        try (IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(BLOCK_BASED_CHISELED_BLOCK_MODELS_SECTION)) {
+            final long primaryStateRenderSeed = primaryState.getSeed(position);
+            final IAreaShapeIdentifier identifier = accessor.createNewShapeIdentifier();
+
+            final Map<ChiselRenderType, ChiseledBlockBakedModel> models = new EnumMap<>(ChiselRenderType.class);
+            final List<ChiselRenderType> missingRenderTypes = new ArrayList<>();
+            for (final ChiselRenderType renderType : ChiselRenderType.values()) {
+                final Optional<ChiseledBlockBakedModel> cachedModel = cache.getIfPresent(new Key(identifier, primaryState, renderType, neighborhood, primaryStateRenderSeed));
+                if (cachedModel.isPresent()) {
+                    models.put(renderType, cachedModel.get());
+                } else {
+                    missingRenderTypes.add(renderType);
+                }
+            }
+
+            if (missingRenderTypes.isEmpty()) {
+                return models;
+            }
+
+            final Optional<ChiseledBlockMeshDiskCache.Fingerprint> fingerprint;
+            try (IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(DISK_CACHE_SECTION)) {
+                fingerprint = ChiseledBlockMeshDiskCache.getInstance().fingerprint(accessor, primaryState, neighborhood, primaryStateRenderSeed);
+                fingerprint.ifPresent(blockFingerprint -> missingRenderTypes.removeIf(renderType -> {
+                    final Optional<ChiseledBlockBakedModel> storedModel = ChiseledBlockMeshDiskCache.getInstance().load(blockFingerprint, renderType);
+                    storedModel.ifPresent(model -> {
+                        cache.put(new Key(identifier, primaryState, renderType, neighborhood, primaryStateRenderSeed), model);
+                        models.put(renderType, model);
+                    });
+                    return storedModel.isPresent();
+                }));
+            }
+
+            if (missingRenderTypes.isEmpty()) {
+                return models;
+            }
+
+            //Built outside of the cache lock, so that other model builders are not blocked in the meantime.
+            try (IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(CACHE_MISS_SECTION)) {
+                final ModelBuildEvent event = FlightRecorderEvents.begin(ModelBuildEvent::new);
+                final Map<ChiselRenderType, ChiseledBlockBakedModel> builtModels = ChiseledBlockBakedModel.createAll(
+                        primaryState,
+                        missingRenderTypes,
+                        accessor,
+                        createNeighborStateSupplier(accessor, neighborhood),
+                        primaryStateRenderSeed
+                );
+                commitModelBuild(event, position, builtModels);
+
+                builtModels.forEach((renderType, model) -> {
+                    cache.put(new Key(identifier, primaryState, renderType, neighborhood, primaryStateRenderSeed), model);
+                    models.put(renderType, model);
+                    fingerprint.ifPresent(blockFingerprint -> ChiseledBlockMeshDiskCache.getInstance().store(blockFingerprint, renderType, model));
+                });
+            }
+
+            return models;
+        }
+    }
+
+    private Map<ChiselRenderType, ChiseledBlockBakedModel> getAllReduced(
+            final IAreaAccessor accessor,
+            final BlockState primaryState,
+            final IBlockNeighborhood neighborhood,
+            final BlockPos position,
+            final ModelLod lod
+    ) {
+        try (IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(REDUCED_CHISELED_BLOCK_MODELS_SECTION)) {
+            final long primaryStateRenderSeed = primaryState.getSeed(position);
+            final IAreaShapeIdentifier identifier = accessor.createNewShapeIdentifier();
+
+            final Map<ChiselRenderType, ChiseledBlockBakedModel> models = new EnumMap<>(ChiselRenderType.class);
+            final List<ChiselRenderType> missingRenderTypes = new ArrayList<>();
+            for (final ChiselRenderType renderType : ChiselRenderType.values()) {
+                final Optional<ChiseledBlockBakedModel> cachedModel = cache.getIfPresent(new Key(identifier, primaryState, renderType, neighborhood, primaryStateRenderSeed, lod));
+                if (cachedModel.isPresent()) {
+                    models.put(renderType, cachedModel.get());
+                } else {
+                    missingRenderTypes.add(renderType);
+                }
+            }
+
+            if (missingRenderTypes.isEmpty()) {
+                return models;
+            }
+
+            try (IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(CACHE_MISS_SECTION)) {
+                final ModelBuildEvent event = FlightRecorderEvents.begin(ModelBuildEvent::new);
+                final Map<ChiselRenderType, ChiseledBlockBakedModel> builtModels = ChiseledBlockBakedModel.createAllReduced(
+                        primaryState,
+                        missingRenderTypes,
+                        accessor,
+                        lod,
+                        getCoveredSides(neighborhood),
+                        primaryStateRenderSeed
+                );
+                commitModelBuild(event, position, builtModels);
+
+                builtModels.forEach((renderType, model) -> {
+                    cache.put(new Key(identifier, primaryState, renderType, neighborhood, primaryStateRenderSeed, lod), model);
+                    models.put(renderType, model);
+                });
+            }
+
+            return models;
+        }
+    }
+
+    private static void commitModelBuild(
+            @Nullable final ModelBuildEvent event,
+            final BlockPos position,
+            final Map<ChiselRenderType, ChiseledBlockBakedModel> builtModels
+    ) {
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+        event.x = position.getX();
+        event.y = position.getY();
+        event.z = position.getZ();
+        event.renderTypes = builtModels.keySet().stream().map(Enum::name).collect(Collectors.joining(","));
+        event.quads = builtModels.values().stream().mapToInt(ChiseledBlockBakedModel::getQuadCount).sum();
+        event.commit();
+    }
+
+    /**
+     * Determines which sides of a block are fully hidden by its neighbors, for the reduced models which do not cull per entry.
+     * Chiseled neighbors only cover a side when their touching layer is complete and consists of opaque full blocks only.
+     */
+    private static boolean[] getCoveredSides(final IBlockNeighborhood neighborhood) {
+        final boolean[] covered = new boolean[Direction.values().length];
+        for (final Direction direction : Direction.values()) {
+            final IFaceSignature signature = neighborhood.getFaceSignature(direction);
+            final IAreaAccessor neighborAccessor = neighborhood.getAreaAccessor(direction);
+            if (signature != null && neighborAccessor != null) {
+                covered[direction.get3DDataValue()] = signature.isCovered() && neighborAccessor.stream()
+                        .map(IStateEntryInfo::getState)
+                        .allMatch(ChiseledBlockBakedModelManager::isOpaqueFullBlock);
+                continue;
+            }
+
+            covered[direction.get3DDataValue()] = signature == null && isOpaqueFullBlock(neighborhood.getBlockState(direction));
+        }
+        return covered;
+    }
+
+    private static boolean isOpaqueFullBlock(final BlockState state) {
+        return state.canOcclude() && Block.isShapeFullBlock(state.getOcclusionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+    }
+
+    private static Function<Vec3, BlockState> createNeighborStateSupplier(
+            final IAreaAccessor accessor,
+            final IBlockNeighborhood neighborhood
+    ) {
+        return targetOffset -> {
+            final Vec3 nominalTargetOffset = Vec3.ZERO.add(targetOffset);
+            final BlockPos nominalTargetBlockOffset = new BlockPos(nominalTargetOffset);
+            final Vec3 inBlockOffset = nominalTargetOffset.subtract(Vec3.atLowerCornerOf(nominalTargetBlockOffset));
+            final Vec3 inBlockOffsetTarget = VectorUtils.makePositive(inBlockOffset);
+
+            if (targetOffset.x() >= 0 && targetOffset.x() < 1 &&
+                    targetOffset.y() >= 0 && targetOffset.y() < 1 &&
+                    targetOffset.z() >= 0 && targetOffset.z() < 1
+            ) {
+                return accessor.getInAreaTarget(inBlockOffsetTarget)
+                        .map(IStateEntryInfo::getState)
+                        .orElse(Blocks.AIR.defaultBlockState());
+            }
+
+            final Direction offsetDirection = Direction.getNearest(
+              nominalTargetBlockOffset.getX(),
+              nominalTargetBlockOffset.getY(),
+              nominalTargetBlockOffset.getZ()
+            );
+
+            final IFaceSignature signature = neighborhood.getFaceSignature(offsetDirection);
+            if (signature != null && isOnTouchingLayer(signature, offsetDirection, inBlockOffsetTarget)) {
+                final int size = signature.getSize();
+                final int x = Mth.clamp(Mth.floor(inBlockOffsetTarget.x() * size), 0, size - 1);
+                final int y = Mth.clamp(Mth.floor(inBlockOffsetTarget.y() * size), 0, size - 1);
+                final int z = Mth.clamp(Mth.floor(inBlockOffsetTarget.z() * size), 0, size - 1);
+                if (!signature.isOccupied(x, y, z)) {
+                    return Blocks.AIR.defaultBlockState();
+                }
+            }
+
+            final IAreaAccessor neighborAccessor = neighborhood.getAreaAccessor(offsetDirection);
+            if (neighborAccessor != null) {
+                return neighborAccessor.getInAreaTarget(inBlockOffsetTarget)
+                        .map(IStateEntryInfo::getState)
+                        .orElse(Blocks.AIR.defaultBlockState());
+            }
+
+            return neighborhood.getBlockState(offsetDirection);
+        };
+    }
+
+    private static boolean isOnTouchingLayer(final IFaceSignature signature, final Direction offsetDirection, final Vec3 inBlockOffsetTarget) {
+        final int size = signature.getSize();
+        final int layer = Mth.clamp(Mth.floor(offsetDirection.getAxis().choose(inBlockOffsetTarget.x(), inBlockOffsetTarget.y(), inBlockOffsetTarget.z()) * size), 0, size - 1);
+        return offsetDirection.getAxisDirection() == Direction.AxisDirection.POSITIVE ? layer == 0 : layer == size - 1;
+    }
+
     private static final class Key {
         private final IAreaShapeIdentifier identifier;
         private final BlockState primaryState;
         private final ChiselRenderType renderType;
         private final IBlockNeighborhood neighborhood;
         private final long renderSeed;
+        private final ModelLod lod;
 
         private Key(
                 final IAreaShapeIdentifier identifier,
@@ -144,11 +386,22 @@ public class ChiseledBlockBakedModelManager {
                 final ChiselRenderType renderType,
                 final IBlockNeighborhood neighborhood,
                 final long renderSeed) {
+            this(identifier, primaryState, renderType, neighborhood, renderSeed, ModelLod.FULL);
+        }
+
+        private Key(
+                final IAreaShapeIdentifier identifier,
+                final BlockState primaryState,
+                final ChiselRenderType renderType,
+                final IBlockNeighborhood neighborhood,
+                final long renderSeed,
+                final ModelLod lod) {
             this.identifier = identifier;
             this.primaryState = primaryState;
             this.renderType = renderType;
             this.neighborhood = neighborhood;
             this.renderSeed = renderSeed;
+            this.lod = lod;
         }
 
         @Override
@@ -174,6 +427,9 @@ public class ChiseledBlockBakedModelManager {
             if (renderType != key.renderType) {
                 return false;
             }
+            if (lod != key.lod) {
+                return false;
+            }
             return Objects.equals(neighborhood, key.neighborhood);
         }
 
@@ -184,6 +440,7 @@ public class ChiseledBlockBakedModelManager {
             result = 31 * result + (renderType != null ? renderType.hashCode() : 0);
             result = 31 * result + (neighborhood != null ? neighborhood.hashCode() : 0);
             result = 31 * result + (int) (renderSeed ^ (renderSeed >>> 32));
+            result = 31 * result + lod.hashCode();
             return result;
         }
     }
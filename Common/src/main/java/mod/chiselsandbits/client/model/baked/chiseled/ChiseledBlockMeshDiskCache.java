@@ -0,0 +1,468 @@
+package mod.chiselsandbits.client.model.baked.chiseled;
+
+import mod.chiselsandbits.ChiselsAndBits;
+import mod.chiselsandbits.api.config.IClientConfiguration;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
+import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
+import mod.chiselsandbits.client.model.baked.chiseled.cache.MeshCacheFile;
+import mod.chiselsandbits.client.model.baked.face.QuadInternPool;
+import mod.chiselsandbits.platforms.core.util.constants.Constants;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackResources;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.world.inventory.InventoryMenu;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Stores built chiseled block models on disk, so that they do not need to be built again when the same blocks are loaded in a later session.
+ *
+ * A model is addressed by a fingerprint of the content of its block, its primary state and render seed, the outer layers of its neighbors
+ * and its render type. The fingerprint only uses the names of the states, never their runtime ids, so it remains stable between sessions.
+ * The quads are stored with their texture coordinates relative to their sprite, so that a different layout of the texture atlas does not invalidate them.
+ *
+ * The file is tied to the game and mod version, the format of the stored models, the loaded resource packs and their metadata,
+ * and the configuration that affects the models. It is discarded when any of them change.
+ * A resource reload during a session discards the file as well, since the contents of the packs might have changed.
+ */
+public final class ChiseledBlockMeshDiskCache
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The version of the layout of the stored models, needs to be raised whenever the way models are written or built changes.
+     */
+    private static final int MESH_FORMAT     = 1;
+    private static final int SEGMENT_SIZE    = 8 * 1024 * 1024;
+    private static final int INTS_PER_VERTEX = 8;
+    private static final int UV_OFFSET       = 4;
+
+    private static final Direction[] SIDES = new Direction[] {
+      Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null
+    };
+
+    private static final ChiseledBlockMeshDiskCache INSTANCE = new ChiseledBlockMeshDiskCache();
+
+    public static ChiseledBlockMeshDiskCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<BlockState, Long> stateHashes = new ConcurrentHashMap<>();
+
+    @Nullable
+    private MeshCacheFile file;
+    private long          environment;
+    private boolean       hasEnvironment;
+    private boolean       unavailable;
+    private boolean       clearOnOpen;
+
+    private ChiseledBlockMeshDiskCache()
+    {
+    }
+
+    /**
+     * Closes the file and determines the environment of the newly loaded resources.
+     * Invoked when the resources are reloaded.
+     */
+    public synchronized void invalidate()
+    {
+        closeFile();
+        stateHashes.clear();
+        unavailable = false;
+
+        //The first reload loads the resources of the session, any later reload might have changed their contents.
+        clearOnOpen = hasEnvironment;
+        environment = calculateEnvironment();
+        hasEnvironment = true;
+    }
+
+    /**
+     * Calculates the fingerprint of a block, which, combined with a render type, addresses its models on disk.
+     *
+     * @param accessor The content of the block.
+     * @param primaryState The primary state of the block.
+     * @param neighborhood The neighborhood of the block.
+     * @param renderSeed The render seed of the primary state.
+     * @return The fingerprint, or empty when the disk cache is not in use.
+     */
+    public Optional<Fingerprint> fingerprint(
+      final IAreaAccessor accessor,
+      final BlockState primaryState,
+      final IBlockNeighborhood neighborhood,
+      final long renderSeed)
+    {
+        if (getFile() == null)
+            return Optional.empty();
+
+        final Hasher hasher = new Hasher();
+        hasher.put(stateHash(primaryState));
+        hasher.put(renderSeed);
+
+        final Iterator<IStateEntryInfo> entries = accessor.stream().iterator();
+        while (entries.hasNext())
+        {
+            hasher.put(stateHash(entries.next().getState()));
+        }
+
+        final int size = StateEntrySize.current().getBitsPerBlockSide();
+        for (final Direction direction : Direction.values())
+        {
+            hasher.put(stateHash(neighborhood.getBlockState(direction)));
+
+            final IAreaAccessor neighbor = neighborhood.getAreaAccessor(direction);
+            if (neighbor == null)
+            {
+                hasher.put(0);
+                continue;
+            }
+
+            //Only the layer touching this block affects its model.
+            final int layer = direction.getAxisDirection() == Direction.AxisDirection.POSITIVE ? 0 : size - 1;
+            for (int u = 0; u < size; u++)
+            {
+                for (int v = 0; v < size; v++)
+                {
+                    final Vec3 target = switch (direction.getAxis())
+                                          {
+                                              case X -> center(layer, u, v, size);
+                                              case Y -> center(u, layer, v, size);
+                                              case Z -> center(u, v, layer, size);
+                                          };
+                    hasher.put(stateHash(neighbor.getInAreaTarget(target).map(IStateEntryInfo::getState).orElse(Blocks.AIR.defaultBlockState())));
+                }
+            }
+        }
+
+        return Optional.of(new Fingerprint(hasher.high(), hasher.low()));
+    }
+
+    /**
+     * Loads the model of the given render type from disk.
+     *
+     * @param fingerprint The fingerprint of the block.
+     * @param renderType The render type of the model.
+     * @return The model, or empty when it is not stored, or could not be restored.
+     */
+    public Optional<ChiseledBlockBakedModel> load(final Fingerprint fingerprint, final ChiselRenderType renderType)
+    {
+        final MeshCacheFile cacheFile = getFile();
+        if (cacheFile == null)
+            return Optional.empty();
+
+        final byte[] payload = cacheFile.get(fingerprint.high(), Hasher.mix(fingerprint.low() + renderType.ordinal()));
+        if (payload == null)
+            return Optional.empty();
+
+        try
+        {
+            return Optional.ofNullable(read(renderType, payload));
+        }
+        catch (final IOException | RuntimeException exception)
+        {
+            LOGGER.debug("Failed to read a chiseled block model from disk.", exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the model of the given render type on disk.
+     *
+     * @param fingerprint The fingerprint of the block.
+     * @param renderType The render type of the model.
+     * @param model The model.
+     */
+    public void store(final Fingerprint fingerprint, final ChiselRenderType renderType, final ChiseledBlockBakedModel model)
+    {
+        final MeshCacheFile cacheFile = getFile();
+        if (cacheFile == null)
+            return;
+
+        try
+        {
+            cacheFile.put(fingerprint.high(), Hasher.mix(fingerprint.low() + renderType.ordinal()), write(model));
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.warn("Failed to store a chiseled block model on disk, disabling the mesh cache until the next resource reload.", exception);
+            synchronized (this)
+            {
+                closeFile();
+                unavailable = true;
+            }
+        }
+    }
+
+    @Nullable
+    private synchronized MeshCacheFile getFile()
+    {
+        if (file != null || unavailable || !hasEnvironment)
+            return file;
+
+        if (!IClientConfiguration.getInstance().getMeshDiskCacheEnabled().get())
+            return null;
+
+        try
+        {
+            final Path directory = Minecraft.getInstance().gameDirectory.toPath().resolve(Constants.MOD_ID).resolve("mesh-cache");
+            final long maxSize = IClientConfiguration.getInstance().getMeshDiskCacheSize().get() * 1024L * 1024L;
+            file = MeshCacheFile.open(directory, environment, maxSize, SEGMENT_SIZE);
+            if (clearOnOpen)
+            {
+                file.clear();
+                clearOnOpen = false;
+            }
+
+            LOGGER.info("Opened the chiseled block mesh cache with {} meshes.", file.size());
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.warn("Failed to open the chiseled block mesh cache, disabling it until the next resource reload.", exception);
+            unavailable = true;
+        }
+
+        return file;
+    }
+
+    private void closeFile()
+    {
+        if (file == null)
+            return;
+
+        try
+        {
+            file.close();
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.debug("Failed to close the chiseled block mesh cache.", exception);
+        }
+        file = null;
+    }
+
+    private long stateHash(final BlockState state)
+    {
+        return stateHashes.computeIfAbsent(state, blockState -> Hasher.hash(blockState.toString()));
+    }
+
+    private static long calculateEnvironment()
+    {
+        final Hasher hasher = new Hasher();
+        hasher.put(Hasher.hash(SharedConstants.getCurrentVersion().getId()));
+        hasher.put(Hasher.hash(Objects.requireNonNullElse(ChiselsAndBits.class.getPackage().getImplementationVersion(), "development")));
+        hasher.put(MESH_FORMAT);
+        hasher.put(StateEntrySize.current().ordinal());
+        hasher.put(IClientConfiguration.getInstance().getEnableFaceLightmapExtraction().get() ? 1 : 0);
+        hasher.put(IClientConfiguration.getInstance().getUseGetLightValue().get() ? 1 : 0);
+        Minecraft.getInstance().getResourceManager().listPacks().forEach(pack -> {
+            hasher.put(Hasher.hash(pack.getName()));
+            hasher.put(packMetadataHash(pack));
+            pack.getNamespaces(PackType.CLIENT_RESOURCES).stream().sorted().forEach(namespace -> hasher.put(Hasher.hash(namespace)));
+        });
+        return hasher.high() ^ hasher.low();
+    }
+
+    /**
+     * Hashes the metadata file of the given pack, so that a different version of a pack with the same name yields a different environment.
+     */
+    private static long packMetadataHash(final PackResources pack)
+    {
+        try (final InputStream stream = pack.getRootResource(PackResources.PACK_META))
+        {
+            return stream == null ? 0 : Hasher.hash(stream.readAllBytes());
+        }
+        catch (final IOException exception)
+        {
+            //Not every pack has a metadata file, for example the packs of mods on some platforms.
+            return 0;
+        }
+    }
+
+    private static Vec3 center(final int x, final int y, final int z, final int size)
+    {
+        return new Vec3((x + 0.5d) / size, (y + 0.5d) / size, (z + 0.5d) / size);
+    }
+
+    private static byte[] write(final ChiseledBlockBakedModel model) throws IOException
+    {
+        final List<ResourceLocation> sprites = new ArrayList<>();
+        final Map<ResourceLocation, Integer> spriteIndices = new HashMap<>();
+        final ByteArrayOutputStream quadBytes = new ByteArrayOutputStream();
+        final DataOutputStream quadData = new DataOutputStream(quadBytes);
+        final Random random = new Random();
+
+        for (final Direction side : SIDES)
+        {
+            final List<BakedQuad> quads = model.getQuads(null, side, random);
+            quadData.writeInt(quads.size());
+            for (final BakedQuad quad : quads)
+            {
+                final TextureAtlasSprite sprite = quad.getSprite();
+                quadData.writeShort(spriteIndices.computeIfAbsent(sprite.getName(), name -> {
+                    sprites.add(name);
+                    return sprites.size() - 1;
+                }));
+                quadData.writeInt(quad.getTintIndex());
+                quadData.writeByte(quad.getDirection().get3DDataValue());
+
+                final int[] vertices = quad.getVertices();
+                for (int index = 0; index < vertices.length; index++)
+                {
+                    final int offset = index % INTS_PER_VERTEX;
+                    if (offset == UV_OFFSET)
+                        quadData.writeFloat(sprite.getUOffset(Float.intBitsToFloat(vertices[index])));
+                    else if (offset == UV_OFFSET + 1)
+                        quadData.writeFloat(sprite.getVOffset(Float.intBitsToFloat(vertices[index])));
+                    else
+                        quadData.writeInt(vertices[index]);
+                }
+            }
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(quadBytes.size() + 64);
+        final DataOutputStream data = new DataOutputStream(bytes);
+        data.writeShort(sprites.size());
+        for (final ResourceLocation sprite : sprites)
+        {
+            data.writeUTF(sprite.toString());
+        }
+        quadBytes.writeTo(data);
+        data.flush();
+        return bytes.toByteArray();
+    }
+
+    @Nullable
+    private static ChiseledBlockBakedModel read(final ChiselRenderType renderType, final byte[] payload) throws IOException
+    {
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        final Function<ResourceLocation, TextureAtlasSprite> atlas = Minecraft.getInstance().getTextureAtlas(InventoryMenu.BLOCK_ATLAS);
+
+        final TextureAtlasSprite[] sprites = new TextureAtlasSprite[data.readShort()];
+        for (int i = 0; i < sprites.length; i++)
+        {
+            final ResourceLocation name = new ResourceLocation(data.readUTF());
+            sprites[i] = atlas.apply(name);
+            //A sprite which no longer exists means the stored model is outdated.
+            if (sprites[i].getName().equals(MissingTextureAtlasSprite.getLocation()) && !name.equals(MissingTextureAtlasSprite.getLocation()))
+                return null;
+        }
+
+        final ChiseledBlockModelBuilder builder = new ChiseledBlockModelBuilder();
+        boolean empty = true;
+        for (final Direction side : SIDES)
+        {
+            final int count = data.readInt();
+            final List<BakedQuad> quads = builder.getList(side);
+            for (int i = 0; i < count; i++)
+            {
+                final TextureAtlasSprite sprite = sprites[data.readShort()];
+                final int tint = data.readInt();
+                final Direction face = Direction.from3DDataValue(data.readByte());
+
+                final int[] vertices = new int[INTS_PER_VERTEX * 4];
+                for (int index = 0; index < vertices.length; index++)
+                {
+                    final int offset = index % INTS_PER_VERTEX;
+                    if (offset == UV_OFFSET)
+                        vertices[index] = Float.floatToRawIntBits(sprite.getU(data.readFloat()));
+                    else if (offset == UV_OFFSET + 1)
+                        vertices[index] = Float.floatToRawIntBits(sprite.getV(data.readFloat()));
+                    else
+                        vertices[index] = data.readInt();
+                }
+
+                quads.add(QuadInternPool.getInstance().intern(vertices, tint, face, sprite));
+                empty = false;
+            }
+        }
+
+        return new ChiseledBlockBakedModel(renderType, empty ? null : builder);
+    }
+
+    /**
+     * The fingerprint of a block, independent of its render type.
+     *
+     * @param high The upper half of the fingerprint.
+     * @param low The lower half of the fingerprint.
+     */
+    public record Fingerprint(long high, long low) {}
+
+    private static final class Hasher
+    {
+        private long high = 0x9E3779B97F4A7C15L;
+        private long low  = 0xC2B2AE3D27D4EB4FL;
+
+        private void put(final long value)
+        {
+            high = mix(high ^ value) * 0x100000001B3L;
+            low = Long.rotateLeft(low + mix(value + 0x632BE59BD9B4E019L), 31) * 0x9E3779B97F4A7C15L;
+        }
+
+        private long high()
+        {
+            return mix(high);
+        }
+
+        private long low()
+        {
+            return mix(low);
+        }
+
+        private static long hash(final String value)
+        {
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < value.length(); i++)
+            {
+                hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        private static long hash(final byte[] value)
+        {
+            long hash = 0xCBF29CE484222325L;
+            for (final byte b : value)
+            {
+                hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value)
+        {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+}
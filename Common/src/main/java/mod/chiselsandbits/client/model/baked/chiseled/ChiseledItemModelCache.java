@@ -0,0 +1,150 @@
+package mod.chiselsandbits.client.model.baked.chiseled;
+
+import com.google.common.collect.MapMaker;
+import mod.chiselsandbits.api.config.IClientConfiguration;
+import mod.chiselsandbits.api.item.multistate.IMultiStateItem;
+import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
+import mod.chiselsandbits.api.profiling.IProfilerSection;
+import mod.chiselsandbits.client.model.baked.simple.CombinedModel;
+import mod.chiselsandbits.client.model.data.ChiseledBlockModelDataExecutor;
+import mod.chiselsandbits.platforms.core.util.constants.NbtConstants;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
+import mod.chiselsandbits.profiling.ProfilingManager;
+import mod.chiselsandbits.utils.NbtFingerprint;
+import mod.chiselsandbits.utils.SimpleMaxSizedCache;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caches the models of chiseled items, as they are rendered in inventories, screens and hands.
+ *
+ * Models are keyed by a fingerprint of the chiseled data of a stack, so that copies of the same stack share a single model.
+ * The fingerprint itself is remembered per instance of the chiseled data tag, which the item stacks replace instead of modifying,
+ * so a stack which is rendered every frame is only hashed once.
+ * Missing models are built on the model builder pool, until they are done nothing is rendered for the stack.
+ */
+public final class ChiseledItemModelCache
+{
+    private static final ProfilerSectionId ITEM_MODEL_BUILDING_SECTION                    = ProfilingManager.getInstance().registerSection("Item model building");
+    private static final ProfilerSectionId BUILDING_INDIVIDUAL_RENDER_TYPE_MODELS_SECTION = ProfilingManager.getInstance().registerSection("Building individual render type models");
+    private static final ProfilerSectionId COMBINING_MODEL_DATA_SECTION                   = ProfilingManager.getInstance().registerSection("Combining model data");
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final ChiseledItemModelCache INSTANCE = new ChiseledItemModelCache();
+
+    public static ChiseledItemModelCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ConcurrentMap<CompoundTag, NbtFingerprint> fingerprints = new MapMaker().weakKeys().makeMap();
+    private final SimpleMaxSizedCache<Key, BakedModel> models = new SimpleMaxSizedCache<>(
+      "stack-models",
+      IClientConfiguration.getInstance().getStackModelCacheSize()::get
+    );
+    private final Set<Key> pendingBuilds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private ChiseledItemModelCache()
+    {
+    }
+
+    public void clearCache()
+    {
+        generation.incrementAndGet();
+        pendingBuilds.clear();
+        fingerprints.clear();
+        models.clear();
+    }
+
+    /**
+     * Gets the model of the given stack, or the placeholder if the model is still being built.
+     *
+     * @param stack The stack to get the model for.
+     * @param multiStateItem The item of the stack.
+     * @return The model of the stack.
+     */
+    public BakedModel get(final ItemStack stack, final IMultiStateItem multiStateItem)
+    {
+        final CompoundTag stackTag = stack.getTag();
+        if (stackTag == null || !stackTag.contains(NbtConstants.CHISELED_DATA, Tag.TAG_COMPOUND))
+            return ChiseledBlockBakedModel.EMPTY;
+
+        final CompoundTag chiseledData = stackTag.getCompound(NbtConstants.CHISELED_DATA);
+        final NbtFingerprint fingerprint = fingerprints.computeIfAbsent(chiseledData, NbtFingerprint::of);
+        final Key key = new Key(stack.getItem(), fingerprint);
+
+        final Optional<BakedModel> model = models.getIfPresent(key);
+        if (model.isPresent())
+            return model.get();
+
+        if (pendingBuilds.add(key))
+        {
+            //The stack is copied here, since building the item stack view writes back into it.
+            final ItemStack source = stack.copy();
+            final int buildGeneration = generation.get();
+            CompletableFuture.runAsync(() -> {
+                final BakedModel builtModel = build(multiStateItem.createItemStack(source));
+                if (generation.get() == buildGeneration)
+                    models.put(key, builtModel);
+            }, ChiseledBlockModelDataExecutor.getRecalculationService()).whenComplete((result, throwable) -> {
+                if (throwable != null)
+                    LOGGER.error("Failed to build the model of a chiseled item.", throwable);
+
+                pendingBuilds.remove(key);
+            });
+        }
+
+        return ChiseledBlockBakedModel.EMPTY;
+    }
+
+    private static BakedModel build(final IMultiStateItemStack multiStateItemStack)
+    {
+        try(IProfilerSection ignored = ProfilingManager.getInstance().withSection(ITEM_MODEL_BUILDING_SECTION))
+        {
+            final BakedModel[] typedModels;
+            try(IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(BUILDING_INDIVIDUAL_RENDER_TYPE_MODELS_SECTION))
+            {
+                typedModels = Arrays.stream(VoxelType.values())
+                  .map(ChiselRenderType::getRenderTypes)
+                  .filter(types -> !types.isEmpty())
+                  .map(types -> {
+                      final BakedModel[] models = types.stream()
+                        .map(type -> ChiseledBlockBakedModelManager.getInstance().get(multiStateItemStack, type))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .filter(model -> !model.isEmpty())
+                        .toArray(BakedModel[]::new);
+                      if (models.length == 0)
+                          return ChiseledBlockBakedModel.EMPTY;
+
+                      return new CombinedModel(models);
+                  })
+                  .toArray(BakedModel[]::new);
+            }
+
+            if (typedModels.length == 0)
+                return ChiseledBlockBakedModel.EMPTY;
+
+            try(IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(COMBINING_MODEL_DATA_SECTION))
+            {
+                return new CombinedModel(typedModels);
+            }
+        }
+    }
+
+    private record Key(Item item, NbtFingerprint fingerprint) {}
+}
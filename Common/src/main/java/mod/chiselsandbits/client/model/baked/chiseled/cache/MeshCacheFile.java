@@ -0,0 +1,439 @@
+package mod.chiselsandbits.client.model.baked.chiseled.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * An append only, memory mapped file, which maps 128 bit keys to byte payloads.
+ *
+ * The file consists of a header followed by records, each record holds its key, its length, a checksum and its payload.
+ * The file is mapped in fixed size segments, which are added as the file grows, a record never spans two segments.
+ * An index of the records is kept in memory in least recently used order. When the file grows beyond its maximum size,
+ * the most recently used half is copied into a new generation of the file, and the old generation is deleted.
+ *
+ * All records belong to a single environment, a file of a different environment is discarded when it is opened.
+ */
+public final class MeshCacheFile implements Closeable
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    static final int MAGIC   = 0x43424d43;
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE        = 32;
+    private static final int HEADER_END_OFFSET  = 16;
+    private static final int RECORD_HEADER_SIZE = 24;
+
+    private static final String FILE_PREFIX = "meshes-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long environment;
+    private final long maxSize;
+    private final int  segmentSize;
+
+    private final LinkedHashMap<Key, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<MappedByteBuffer>   segments = new ArrayList<>();
+
+    private long        generation;
+    private Path        file;
+    private FileChannel channel;
+    private long        end;
+
+    private MeshCacheFile(final Path directory, final long environment, final long maxSize, final int segmentSize)
+    {
+        this.directory = directory;
+        this.environment = environment;
+        this.maxSize = maxSize;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the newest file in the given directory, or creates a new one if no file of the given environment exists.
+     *
+     * @param directory The directory of the file.
+     * @param environment The environment the records belong to.
+     * @param maxSize The size in bytes beyond which the file is compacted.
+     * @param segmentSize The size in bytes of a single mapped segment, which is also the largest possible record.
+     * @return The opened file.
+     * @throws IOException When the file could not be opened or created.
+     */
+    public static MeshCacheFile open(final Path directory, final long environment, final long maxSize, final int segmentSize) throws IOException
+    {
+        if (segmentSize < HEADER_SIZE + RECORD_HEADER_SIZE || maxSize < segmentSize)
+            throw new IllegalArgumentException("The segment size needs to fit at least a single record, and the maximal size at least a single segment.");
+
+        Files.createDirectories(directory);
+
+        final MeshCacheFile cacheFile = new MeshCacheFile(directory, environment, maxSize, segmentSize);
+        cacheFile.openNewest();
+        return cacheFile;
+    }
+
+    /**
+     * Gets the payload that is stored for the given key.
+     *
+     * @param high The upper half of the key.
+     * @param low The lower half of the key.
+     * @return The payload, or null when no payload is stored.
+     */
+    @Nullable
+    public synchronized byte[] get(final long high, final long low)
+    {
+        if (channel == null)
+            return null;
+
+        final Long position = index.get(new Key(high, low));
+        if (position == null)
+            return null;
+
+        final MappedByteBuffer segment = segments.get(segmentOf(position));
+        final int offset = offsetInSegment(position);
+        final byte[] payload = new byte[segment.getInt(offset + 16)];
+        segment.get(offset + RECORD_HEADER_SIZE, payload);
+        return payload;
+    }
+
+    /**
+     * Stores the given payload for the given key, replacing the previous payload.
+     * Payloads which do not fit into a single segment are not stored.
+     *
+     * @param high The upper half of the key.
+     * @param low The lower half of the key.
+     * @param payload The payload.
+     * @throws IOException When the file could not be extended.
+     */
+    public synchronized void put(final long high, final long low, final byte[] payload) throws IOException
+    {
+        if (channel == null || payload.length == 0 || RECORD_HEADER_SIZE + payload.length > segmentSize - HEADER_SIZE)
+            return;
+
+        if (reserve(end, payload.length) + RECORD_HEADER_SIZE + payload.length > maxSize)
+            compact();
+
+        final long position = reserve(end, payload.length);
+        final MappedByteBuffer segment = segment(segmentOf(position));
+        final int offset = offsetInSegment(position);
+        writeRecord(segment, offset, high, low, payload);
+
+        end = position + RECORD_HEADER_SIZE + payload.length;
+        segments.get(0).putLong(HEADER_END_OFFSET, end);
+        index.put(new Key(high, low), position);
+    }
+
+    /**
+     * The amount of stored records.
+     *
+     * @return The amount of records.
+     */
+    public synchronized int size()
+    {
+        return index.size();
+    }
+
+    /**
+     * The amount of bytes in use by the file, including records which were replaced.
+     *
+     * @return The used size in bytes.
+     */
+    public synchronized long getUsedSize()
+    {
+        return end;
+    }
+
+    /**
+     * Copies the most recently used records, up to half of the maximal size, into a new generation of the file.
+     *
+     * @throws IOException When the new generation could not be written.
+     */
+    public synchronized void compact() throws IOException
+    {
+        if (channel == null)
+            return;
+
+        final long budget = maxSize / 2;
+        final List<Key> keys = new ArrayList<>(index.keySet());
+        final List<Key> kept = new ArrayList<>();
+        long keptSize = 0;
+        for (int i = keys.size() - 1; i >= 0; i--)
+        {
+            final long position = index.get(keys.get(i));
+            final long recordSize = RECORD_HEADER_SIZE + segments.get(segmentOf(position)).getInt(offsetInSegment(position) + 16);
+            if (keptSize + recordSize > budget)
+                break;
+
+            keptSize += recordSize;
+            kept.add(keys.get(i));
+        }
+
+        final Map<Key, Long> oldIndex = new LinkedHashMap<>(index);
+        final List<MappedByteBuffer> oldSegments = new ArrayList<>(segments);
+        final Path oldFile = file;
+        final FileChannel oldChannel = channel;
+
+        index.clear();
+        createGeneration(generation + 1);
+        //Written least recently used first, so that reading the file back restores the order.
+        for (int i = kept.size() - 1; i >= 0; i--)
+        {
+            final Key key = kept.get(i);
+            final long oldPosition = oldIndex.get(key);
+            final MappedByteBuffer source = oldSegments.get(segmentOf(oldPosition));
+            final int sourceOffset = offsetInSegment(oldPosition);
+            final byte[] payload = new byte[source.getInt(sourceOffset + 16)];
+            source.get(sourceOffset + RECORD_HEADER_SIZE, payload);
+
+            final long position = reserve(end, payload.length);
+            writeRecord(segment(segmentOf(position)), offsetInSegment(position), key.high(), key.low(), payload);
+            end = position + RECORD_HEADER_SIZE + payload.length;
+            index.put(key, position);
+        }
+
+        segments.get(0).putLong(HEADER_END_OFFSET, end);
+        segments.forEach(MappedByteBuffer::force);
+
+        oldChannel.close();
+        deleteQuietly(oldFile);
+        LOGGER.debug("Compacted mesh cache to {} records, {} KiB.", index.size(), end / 1024);
+    }
+
+    /**
+     * Removes all records, by starting a new, empty, generation of the file.
+     *
+     * @throws IOException When the new generation could not be created.
+     */
+    public synchronized void clear() throws IOException
+    {
+        if (channel == null)
+            return;
+
+        final Path oldFile = file;
+        channel.close();
+        index.clear();
+        createGeneration(generation + 1);
+        deleteQuietly(oldFile);
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (channel == null)
+            return;
+
+        segments.forEach(MappedByteBuffer::force);
+        segments.clear();
+        index.clear();
+        channel.close();
+        channel = null;
+    }
+
+    private void openNewest() throws IOException
+    {
+        final List<Path> existing = new ArrayList<>();
+        long newestGeneration = -1;
+        Path newest = null;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX))
+        {
+            for (final Path candidate : stream)
+            {
+                existing.add(candidate);
+                final long candidateGeneration = parseGeneration(candidate);
+                if (candidateGeneration > newestGeneration)
+                {
+                    newestGeneration = candidateGeneration;
+                    newest = candidate;
+                }
+            }
+        }
+
+        //Older generations are left behind when they could not be deleted while they were mapped.
+        for (final Path candidate : existing)
+        {
+            if (candidate != newest)
+                deleteQuietly(candidate);
+        }
+
+        if (newest != null && load(newest, newestGeneration))
+            return;
+
+        if (newest != null)
+            deleteQuietly(newest);
+
+        createGeneration(newestGeneration + 1);
+    }
+
+    private boolean load(final Path candidate, final long candidateGeneration) throws IOException
+    {
+        final long fileSize = Files.size(candidate);
+        if (fileSize < HEADER_SIZE)
+            return false;
+
+        this.file = candidate;
+        this.generation = candidateGeneration;
+        this.channel = FileChannel.open(candidate, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        final int segmentCount = (int) ((fileSize + segmentSize - 1) / segmentSize);
+        for (int i = 0; i < segmentCount; i++)
+        {
+            segment(i);
+        }
+
+        final MappedByteBuffer header = segments.get(0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getLong(8) != environment)
+        {
+            LOGGER.info("Discarding mesh cache of a different version or environment.");
+            close();
+            return false;
+        }
+
+        final long committedEnd = Math.min(header.getLong(HEADER_END_OFFSET), fileSize);
+        long position = HEADER_SIZE;
+        final CRC32 checksum = new CRC32();
+        while (true)
+        {
+            position = skipToRecord(position);
+            if (position + RECORD_HEADER_SIZE > committedEnd)
+                break;
+
+            final MappedByteBuffer segment = segments.get(segmentOf(position));
+            final int offset = offsetInSegment(position);
+            final int length = segment.getInt(offset + 16);
+            if (length <= 0)
+            {
+                position = (segmentOf(position) + 1L) * segmentSize;
+                continue;
+            }
+
+            if (offset + RECORD_HEADER_SIZE + length > segmentSize || position + RECORD_HEADER_SIZE + length > committedEnd)
+                break;
+
+            final byte[] payload = new byte[length];
+            segment.get(offset + RECORD_HEADER_SIZE, payload);
+            checksum.reset();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != segment.getInt(offset + 20))
+            {
+                LOGGER.warn("Mesh cache record at {} is damaged, dropping all later records.", position);
+                break;
+            }
+
+            index.put(new Key(segment.getLong(offset), segment.getLong(offset + 8)), position);
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        end = position;
+        header.putLong(HEADER_END_OFFSET, end);
+        return true;
+    }
+
+    private void createGeneration(final long newGeneration) throws IOException
+    {
+        this.generation = newGeneration;
+        this.file = directory.resolve(FILE_PREFIX + newGeneration + FILE_SUFFIX);
+        this.segments.clear();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        final MappedByteBuffer header = segment(0);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putLong(8, environment);
+        header.putLong(HEADER_END_OFFSET, HEADER_SIZE);
+        this.end = HEADER_SIZE;
+    }
+
+    private MappedByteBuffer segment(final int segmentIndex) throws IOException
+    {
+        while (segments.size() <= segmentIndex)
+        {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentSize, segmentSize));
+        }
+
+        return segments.get(segmentIndex);
+    }
+
+    private long reserve(final long position, final int payloadLength)
+    {
+        final long start = skipToRecord(position);
+        if (offsetInSegment(start) + RECORD_HEADER_SIZE + payloadLength > segmentSize)
+            return (segmentOf(start) + 1L) * segmentSize;
+
+        return start;
+    }
+
+    private long skipToRecord(final long position)
+    {
+        if (segmentSize - offsetInSegment(position) < RECORD_HEADER_SIZE)
+            return (segmentOf(position) + 1L) * segmentSize;
+
+        return position;
+    }
+
+    private void writeRecord(final MappedByteBuffer segment, final int offset, final long high, final long low, final byte[] payload)
+    {
+        final CRC32 checksum = new CRC32();
+        checksum.update(payload);
+
+        segment.putLong(offset, high);
+        segment.putLong(offset + 8, low);
+        segment.putInt(offset + 16, payload.length);
+        segment.putInt(offset + 20, (int) checksum.getValue());
+        segment.put(offset + RECORD_HEADER_SIZE, payload);
+
+        //Marks the remainder of the segment as unused, in case the next record does not fit into it.
+        final int next = offset + RECORD_HEADER_SIZE + payload.length;
+        if (segmentSize - next >= RECORD_HEADER_SIZE)
+            segment.putInt(next + 16, 0);
+    }
+
+    private int segmentOf(final long position)
+    {
+        return (int) (position / segmentSize);
+    }
+
+    private int offsetInSegment(final long position)
+    {
+        return (int) (position % segmentSize);
+    }
+
+    private static long parseGeneration(final Path candidate)
+    {
+        final String name = candidate.getFileName().toString();
+        try
+        {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        }
+        catch (final NumberFormatException exception)
+        {
+            return -1;
+        }
+    }
+
+    private static void deleteQuietly(final Path path)
+    {
+        try
+        {
+            Files.deleteIfExists(path);
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.debug("Could not delete old mesh cache file {}.", path, exception);
+        }
+    }
+
+    private record Key(long high, long low) {}
+}
@@ -0,0 +1,168 @@
+package mod.chiselsandbits.client.model.baked.chiseled.lod;
+
+import net.minecraft.core.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the visible faces of a coarse, cubic grid of state ids, for the reduced levels of detail.
+ *
+ * A face is visible when the neighboring cell is air, or when it lies on the side of the block and that side is not covered by the neighboring block.
+ * The faces of each layer are merged greedily into rectangles of a single state, so that every layer produces as few faces as possible.
+ * The grid is indexed like the grids of the {@link MajorityDownsampler}.
+ */
+public final class LodMesher
+{
+    private LodMesher()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: LodMesher. This is a utility class");
+    }
+
+    /**
+     * Generates the visible faces of the given grid.
+     *
+     * @param grid The grid to generate the faces of.
+     * @param size The amount of cells per side of the grid.
+     * @param coveredSides Indicates, by the 3D data value of a side, if that side of the block is covered by its neighbor.
+     * @return The faces, with their bounds in block space.
+     */
+    public static List<Face> mesh(final int[] grid, final int size, final boolean[] coveredSides)
+    {
+        if (grid.length != size * size * size)
+            throw new IllegalArgumentException(String.format("The grid does not contain %d entries per side.", size));
+
+        final List<Face> faces = new ArrayList<>();
+        final int[] mask = new int[size * size];
+
+        for (final Direction direction : Direction.values())
+        {
+            final Direction.Axis axis = direction.getAxis();
+            final boolean positive = direction.getAxisDirection() == Direction.AxisDirection.POSITIVE;
+
+            for (int layer = 0; layer < size; layer++)
+            {
+                final int neighborLayer = positive ? layer + 1 : layer - 1;
+                final boolean onSide = neighborLayer < 0 || neighborLayer >= size;
+                if (onSide && coveredSides[direction.get3DDataValue()])
+                    continue;
+
+                boolean anyVisible = false;
+                for (int u = 0; u < size; u++)
+                {
+                    for (int v = 0; v < size; v++)
+                    {
+                        final int id = grid[indexOf(axis, size, layer, u, v)];
+                        final boolean visible = id != MajorityDownsampler.AIR &&
+                                                  (onSide || grid[indexOf(axis, size, neighborLayer, u, v)] == MajorityDownsampler.AIR);
+                        mask[u * size + v] = visible ? id : MajorityDownsampler.AIR;
+                        anyVisible |= visible;
+                    }
+                }
+
+                if (anyVisible)
+                    mergeLayer(faces, mask, size, direction, positive ? layer + 1 : layer, onSide);
+            }
+        }
+
+        return faces;
+    }
+
+    private static void mergeLayer(final List<Face> faces, final int[] mask, final int size, final Direction direction, final int plane, final boolean onSide)
+    {
+        for (int u = 0; u < size; u++)
+        {
+            for (int v = 0; v < size; )
+            {
+                final int id = mask[u * size + v];
+                if (id == MajorityDownsampler.AIR)
+                {
+                    v++;
+                    continue;
+                }
+
+                int width = 1;
+                while (v + width < size && mask[u * size + v + width] == id)
+                {
+                    width++;
+                }
+
+                int height = 1;
+                growing:
+                while (u + height < size)
+                {
+                    for (int offset = 0; offset < width; offset++)
+                    {
+                        if (mask[(u + height) * size + v + offset] != id)
+                            break growing;
+                    }
+                    height++;
+                }
+
+                for (int row = 0; row < height; row++)
+                {
+                    for (int offset = 0; offset < width; offset++)
+                    {
+                        mask[(u + row) * size + v + offset] = MajorityDownsampler.AIR;
+                    }
+                }
+
+                faces.add(createFace(direction, id, size, plane, u, v, height, width, onSide));
+                v += width;
+            }
+        }
+    }
+
+    private static Face createFace(
+      final Direction direction,
+      final int id,
+      final int size,
+      final int plane,
+      final int u,
+      final int v,
+      final int uLength,
+      final int vLength,
+      final boolean onSide)
+    {
+        final double planePosition = plane / (double) size;
+        final double minU = u / (double) size;
+        final double maxU = (u + uLength) / (double) size;
+        final double minV = v / (double) size;
+        final double maxV = (v + vLength) / (double) size;
+
+        return switch (direction.getAxis())
+                 {
+                     case X -> new Face(direction, id, onSide, planePosition, minU, minV, planePosition, maxU, maxV);
+                     case Y -> new Face(direction, id, onSide, minU, planePosition, minV, maxU, planePosition, maxV);
+                     case Z -> new Face(direction, id, onSide, minU, minV, planePosition, maxU, maxV, planePosition);
+                 };
+    }
+
+    /**
+     * The index of a cell in the grid, addressed by the layer along the given axis and the two remaining coordinates, in x, y, z order.
+     */
+    private static int indexOf(final Direction.Axis axis, final int size, final int layer, final int u, final int v)
+    {
+        return switch (axis)
+                 {
+                     case X -> layer * size * size + u * size + v;
+                     case Y -> u * size * size + layer * size + v;
+                     case Z -> u * size * size + v * size + layer;
+                 };
+    }
+
+    /**
+     * A single visible face.
+     *
+     * @param direction The direction the face points to.
+     * @param id The state id of the face.
+     * @param onSide Indicates if the face lies on the side of the block.
+     * @param minX The lower x bound of the face, in block space.
+     * @param minY The lower y bound of the face, in block space.
+     * @param minZ The lower z bound of the face, in block space.
+     * @param maxX The upper x bound of the face, in block space.
+     * @param maxY The upper y bound of the face, in block space.
+     * @param maxZ The upper z bound of the face, in block space.
+     */
+    public record Face(Direction direction, int id, boolean onSide, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {}
+}
@@ -0,0 +1,55 @@
+package mod.chiselsandbits.client.model.baked.chiseled.lod;
+
+/**
+ * Picks the level of detail of a block from its distance to the camera.
+ *
+ * A block which already uses a level only switches to another level once it is further than the hysteresis past the boundary
+ * between the two levels, so that blocks on a boundary do not keep rebuilding while the camera moves back and forth.
+ *
+ * @param downsampleDistance The distance in blocks from which on blocks are downsampled.
+ * @param cubeDistance The distance in blocks from which on blocks are rendered as cubes.
+ * @param hysteresis The distance in blocks a block needs to be past a boundary before it switches levels.
+ */
+public record LodSelector(double downsampleDistance, double cubeDistance, double hysteresis)
+{
+    /**
+     * Picks the level of detail for a block at the given distance.
+     *
+     * @param distance The distance between the block and the camera.
+     * @param current The level the block currently uses.
+     * @return The level the block should use.
+     */
+    public ModelLod select(final double distance, final ModelLod current)
+    {
+        final ModelLod target = select(distance);
+        if (target == current)
+            return current;
+
+        //Only moves as far towards the target level as the distance allows, once the hysteresis is taken into account.
+        if (target.ordinal() > current.ordinal())
+        {
+            final ModelLod candidate = select(distance - hysteresis);
+            return candidate.ordinal() > current.ordinal() ? candidate : current;
+        }
+
+        final ModelLod candidate = select(distance + hysteresis);
+        return candidate.ordinal() < current.ordinal() ? candidate : current;
+    }
+
+    /**
+     * Picks the level of detail for a block at the given distance, without hysteresis.
+     *
+     * @param distance The distance between the block and the camera.
+     * @return The level the block should use.
+     */
+    public ModelLod select(final double distance)
+    {
+        if (distance >= cubeDistance)
+            return ModelLod.CUBE;
+
+        if (distance >= downsampleDistance)
+            return ModelLod.DOWNSAMPLED;
+
+        return ModelLod.FULL;
+    }
+}
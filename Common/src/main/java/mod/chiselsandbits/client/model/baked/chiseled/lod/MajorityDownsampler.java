@@ -0,0 +1,100 @@
+package mod.chiselsandbits.client.model.baked.chiseled.lod;
+
+/**
+ * Reduces a cubic grid of state ids to a coarser grid, in which every cell holds the most common state of the entries it covers.
+ *
+ * Grids are indexed in x, y, z order, as {@code x * size * size + y * size + z}, and the id {@link #AIR} is used for empty entries.
+ * Ties are resolved in favor of states other than air, so that thin walls keep their silhouette, and then in favor of the lower id.
+ */
+public final class MajorityDownsampler
+{
+    /**
+     * The id of an empty entry.
+     */
+    public static final int AIR = 0;
+
+    private MajorityDownsampler()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: MajorityDownsampler. This is a utility class");
+    }
+
+    /**
+     * Downsamples the given grid.
+     *
+     * @param grid The grid to downsample.
+     * @param size The amount of entries per side of the grid.
+     * @param targetSize The amount of cells per side of the result, needs to divide the size.
+     * @return The downsampled grid.
+     */
+    public static int[] downsample(final int[] grid, final int size, final int targetSize)
+    {
+        if (targetSize <= 0 || size % targetSize != 0)
+            throw new IllegalArgumentException(String.format("The target size %d does not divide the size %d.", targetSize, size));
+        if (grid.length != size * size * size)
+            throw new IllegalArgumentException(String.format("The grid does not contain %d entries per side.", size));
+
+        final int cellSize = size / targetSize;
+        final int cellVolume = cellSize * cellSize * cellSize;
+        final int[] result = new int[targetSize * targetSize * targetSize];
+
+        //Each cell holds at most cellVolume distinct ids, so two small arrays suffice to count them.
+        final int[] ids = new int[cellVolume];
+        final int[] counts = new int[cellVolume];
+
+        for (int cellX = 0; cellX < targetSize; cellX++)
+        {
+            for (int cellY = 0; cellY < targetSize; cellY++)
+            {
+                for (int cellZ = 0; cellZ < targetSize; cellZ++)
+                {
+                    int distinct = 0;
+                    for (int x = cellX * cellSize; x < (cellX + 1) * cellSize; x++)
+                    {
+                        for (int y = cellY * cellSize; y < (cellY + 1) * cellSize; y++)
+                        {
+                            for (int z = cellZ * cellSize; z < (cellZ + 1) * cellSize; z++)
+                            {
+                                final int id = grid[x * size * size + y * size + z];
+                                int slot = 0;
+                                while (slot < distinct && ids[slot] != id)
+                                {
+                                    slot++;
+                                }
+
+                                if (slot == distinct)
+                                {
+                                    ids[slot] = id;
+                                    counts[slot] = 0;
+                                    distinct++;
+                                }
+                                counts[slot]++;
+                            }
+                        }
+                    }
+
+                    int best = 0;
+                    for (int slot = 1; slot < distinct; slot++)
+                    {
+                        if (isPreferred(ids[slot], counts[slot], ids[best], counts[best]))
+                            best = slot;
+                    }
+
+                    result[cellX * targetSize * targetSize + cellY * targetSize + cellZ] = ids[best];
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isPreferred(final int id, final int count, final int currentId, final int currentCount)
+    {
+        if (count != currentCount)
+            return count > currentCount;
+
+        if ((id == AIR) != (currentId == AIR))
+            return currentId == AIR;
+
+        return id < currentId;
+    }
+}
@@ -0,0 +1,22 @@
+package mod.chiselsandbits.client.model.baked.chiseled.lod;
+
+/**
+ * The level of detail with which a chiseled block is rendered.
+ */
+public enum ModelLod
+{
+    /**
+     * Every entry of the block is rendered.
+     */
+    FULL,
+
+    /**
+     * The block is reduced to a grid of four entries per side, each cell takes the most common state of the entries it covers.
+     */
+    DOWNSAMPLED,
+
+    /**
+     * The block is rendered as a full cube of its primary state.
+     */
+    CUBE
+}
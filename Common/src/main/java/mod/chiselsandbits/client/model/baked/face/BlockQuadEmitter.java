@@ -0,0 +1,117 @@
+package mod.chiselsandbits.client.model.baked.face;
+
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+
+/**
+ * Emits quads in the {@link DefaultVertexFormat#BLOCK} format, by writing the vertex data directly into the packed integer array of the quad.
+ *
+ * Produces the same vertex data as {@link ChiselsAndBitsBakedQuad.Builder}, without the intermediate float buffers and the repacking
+ * of every element.
+ */
+public final class BlockQuadEmitter
+{
+    private static final int INTS_PER_VERTEX = 8;
+    private static final int POSITION_OFFSET = 0;
+    private static final int COLOR_OFFSET    = 3;
+    private static final int UV_OFFSET       = 4;
+    private static final int LIGHT_OFFSET    = 6;
+    private static final int NORMAL_OFFSET   = 7;
+
+    private static final float LIGHTMAP_SCALE = 32.0f / 0xffff;
+
+    //This fixes a bug with Forge AO and solid blocks.
+    private static final float NORMAL_SHIFT = 0.999f;
+
+    /**
+     * The slot in the quad of each emitted vertex, per face.
+     * Inverse of the vertex order used by {@link FormatInfo}.
+     */
+    private static final int[][] VERTEX_SLOTS = new int[6][4];
+
+    static
+    {
+        for (final Direction face : Direction.values())
+        {
+            final int[] order = FormatInfo.VERTEX_ORDER_MAP[face.get3DDataValue()];
+            for (int slot = 0; slot < 4; slot++)
+            {
+                VERTEX_SLOTS[face.get3DDataValue()][order[slot]] = slot;
+            }
+        }
+    }
+
+    private int[]     vertices;
+    private Direction face;
+    private int       tint;
+    private int       color;
+    private int       light;
+    private int       normal;
+
+    /**
+     * Starts a new quad.
+     *
+     * @param face The face of the quad.
+     * @param tint The tint index of the quad.
+     * @param argb The color of the quad, an alpha of zero is treated as fully opaque.
+     * @param lightLevel The light level emitted by the quad, between 0 and 15.
+     */
+    public void begin(final Direction face, final int tint, final int argb, final int lightLevel)
+    {
+        this.vertices = new int[INTS_PER_VERTEX * 4];
+        this.face = face;
+        this.tint = tint;
+
+        final int alpha = (argb >>> 24) == 0 ? 0xff : argb >>> 24;
+        this.color = ((argb >> 16) & 0xff) | (((argb >> 8) & 0xff) << 8) | ((argb & 0xff) << 16) | (alpha << 24);
+
+        final int lightValue = Math.round(LIGHTMAP_SCALE * Math.max(0, Math.min(15, lightLevel)) * Short.MAX_VALUE) & 0xffff;
+        this.light = lightValue | (lightValue << 16);
+
+        this.normal = packNormal(face.getStepX()) | (packNormal(face.getStepY()) << 8) | (packNormal(face.getStepZ()) << 16);
+    }
+
+    /**
+     * Writes a single vertex of the current quad.
+     *
+     * @param vertex The index of the vertex, in emission order.
+     * @param x The x position of the vertex.
+     * @param y The y position of the vertex.
+     * @param z The z position of the vertex.
+     * @param u The u texture coordinate, in atlas space.
+     * @param v The v texture coordinate, in atlas space.
+     */
+    public void put(final int vertex, final float x, final float y, final float z, final float u, final float v)
+    {
+        final int start = VERTEX_SLOTS[face.get3DDataValue()][vertex] * INTS_PER_VERTEX;
+        vertices[start + POSITION_OFFSET] = Float.floatToRawIntBits(x);
+        vertices[start + POSITION_OFFSET + 1] = Float.floatToRawIntBits(y);
+        vertices[start + POSITION_OFFSET + 2] = Float.floatToRawIntBits(z);
+        vertices[start + COLOR_OFFSET] = color;
+        vertices[start + UV_OFFSET] = Float.floatToRawIntBits(u);
+        vertices[start + UV_OFFSET + 1] = Float.floatToRawIntBits(v);
+        vertices[start + LIGHT_OFFSET] = light;
+        vertices[start + NORMAL_OFFSET] = normal;
+    }
+
+    /**
+     * Completes the current quad.
+     * Identical quads are shared through the {@link QuadInternPool}.
+     *
+     * @param sprite The sprite of the quad.
+     * @return The quad.
+     */
+    public BakedQuad create(final TextureAtlasSprite sprite)
+    {
+        final BakedQuad quad = QuadInternPool.getInstance().intern(vertices, tint, face, sprite);
+        vertices = null;
+        return quad;
+    }
+
+    private static int packNormal(final int step)
+    {
+        return Math.round(NORMAL_SHIFT * step * Byte.MAX_VALUE) & 0xff;
+    }
+}
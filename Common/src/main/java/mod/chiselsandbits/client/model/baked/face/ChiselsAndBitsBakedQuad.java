@@ -62,6 +62,15 @@ public class ChiselsAndBitsBakedQuad extends BakedQuad
         super(buildProcessedVertexData(packData(unpackedData, orientation)), tint, orientation, sprite, true);
     }
 
+    public ChiselsAndBitsBakedQuad(
+      final int[] packedData,
+      final int tint,
+      final Direction orientation,
+      final TextureAtlasSprite sprite)
+    {
+        super(packedData, tint, orientation, sprite, true);
+    }
+
     public static class Builder implements IVertexConsumer, IFaceBuilder
     {
         private float[][][] unpackedData;
@@ -21,6 +21,7 @@ import net.minecraft.client.renderer.block.model.ItemOverrides;
 import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.SimpleBakedModel;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.inventory.InventoryMenu;
@@ -35,14 +36,14 @@ import static net.minecraft.core.Direction.*;
 import static net.minecraft.core.Direction.EAST;
 
 public final class FaceManager {
-    private static final Random RANDOM = new Random();
-
     private static final FaceManager INSTANCE = new FaceManager();
 
     private final SimpleMaxSizedCache<Key, ModelQuadLayer[]> cache = new SimpleMaxSizedCache<>(
+            "face-layers",
             IClientConfiguration.getInstance().getFaceLayerCacheSize()::get
     );
     private final SimpleMaxSizedCache<BlockState, Integer> colorCache = new SimpleMaxSizedCache<>(
+            "face-colors",
             () -> IPlatformRegistryManager.getInstance().getBlockStateIdMap().size() == 0 ? 1000 : IPlatformRegistryManager.getInstance().getBlockStateIdMap().size()
     );
 
@@ -68,19 +69,35 @@ public final class FaceManager {
             return null;
         }
 
-        final Key key = new Key(state, layer, face, primaryStateRenderSeed);
+        //Plain json models ignore the seed, so their faces can be shared by all positions.
+        final long seed = Minecraft.getInstance().getBlockRenderer().getBlockModelShaper().getBlockModel(state) instanceof SimpleBakedModel ? 0 : primaryStateRenderSeed;
+        final Key key = new Key(state, layer, face, seed);
 
-        return cache.get(key, () -> {
+        //Built outside of the cache lock, so that the model builders and the warm up do not wait on each other.
+        return cache.getOrCreate(key, () -> {
             final Optional<RenderType> original = IRenderTypeManager.getInstance().getCurrentRenderType();
             try {
                 IRenderTypeManager.getInstance().setCurrentRenderType(layer);
-                return buildFaceQuadLayers(state, face, primaryStateRenderSeed);
+                return buildFaceQuadLayers(state, face, seed);
             } finally {
                 IRenderTypeManager.getInstance().setCurrentRenderType(original.orElse(null));
             }
         });
     }
 
+    /**
+     * Fills the caches with the color and the faces of the given state in the given layer, as they are used by blocks with a seed independent model.
+     *
+     * @param state The state to prepare.
+     * @param layer The layer to prepare the faces of.
+     */
+    public void warmUp(final BlockState state, final RenderType layer) {
+        getColorFor(state);
+        for (final Direction face : Direction.values()) {
+            getCachedFace(state, face, layer, 0);
+        }
+    }
+
     private ModelQuadLayer[] buildFaceQuadLayers(
             final BlockState state,
             final Direction face,
@@ -331,16 +348,17 @@ public final class FaceManager {
             final BlockState state,
             final Direction f,
             final long primaryStateRenderSeed) {
+        //Faces are built on several threads at once, so each lookup gets its own random.
+        final Random random = new Random(primaryStateRenderSeed);
         try {
             // try to get block model...
-            RANDOM.setSeed(primaryStateRenderSeed);
-            return model.getQuads(state, f, RANDOM);
+            return model.getQuads(state, f, random);
         } catch (final Throwable ignored) {
         }
 
         try {
             // try to get item model?
-            return model.getQuads(null, f, RANDOM);
+            return model.getQuads(null, f, random);
         } catch (final Throwable ignored) {
         }
 
@@ -350,7 +368,7 @@ public final class FaceManager {
 
             if (secondModel != null) {
                 try {
-                    return secondModel.getQuads(null, f, RANDOM);
+                    return secondModel.getQuads(null, f, random);
                 } catch (final Throwable ignored) {
                 }
             }
@@ -9,7 +9,7 @@ import static net.minecraft.core.Direction.EAST;
 public class FormatInfo
 {
 
-    private static final int[][] VERTEX_ORDER_MAP = new int[6][4];
+    static final int[][] VERTEX_ORDER_MAP = new int[6][4];
     static {
         VERTEX_ORDER_MAP[DOWN.get3DDataValue()] = new int[] { 0, 1, 2, 3 };
         VERTEX_ORDER_MAP[UP.get3DDataValue()] = new int[] { 2, 3, 0, 1 };
@@ -0,0 +1,285 @@
+package mod.chiselsandbits.client.model.baked.face;
+
+import mod.chiselsandbits.metrics.MetricsRegistry;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares identical quads between all chiseled block models.
+ *
+ * Quads are addressed by their content: the sprite, the face, the tint and the packed vertex data, which in turn
+ * contains the rectangle of the region, its texture coordinates, its colour and its light.
+ * The pool only holds weak references to its quads, so a quad is released as soon as no model uses it anymore.
+ *
+ * Models register the amount of pooled quads they hold via {@link #track(Object, int)}, again through weak references.
+ * This allows the pool to measure how many quads it currently saves: every live reference beyond the first one to a pooled quad
+ * would be a separate quad without the pool.
+ */
+public final class QuadInternPool
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * An estimate of the size of a single quad: the quad object itself and its vertex data array.
+     */
+    private static final int ESTIMATED_QUAD_BYTES = 40 + 16 + 32 * Integer.BYTES;
+
+    private static final QuadInternPool INSTANCE = new QuadInternPool();
+
+    public static QuadInternPool getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<Key, QuadReference>   quads = new ConcurrentHashMap<>();
+    private final ReferenceQueue<BakedQuad> queue = new ReferenceQueue<>();
+
+    private final Set<HolderReference>   holders     = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Object> holderQueue = new ReferenceQueue<>();
+    private final AtomicLong             references  = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hits     = new AtomicLong();
+
+    private QuadInternPool()
+    {
+        MetricsRegistry.getInstance().gaugeGroup("quads", () -> {
+            final Statistics statistics = getStatistics();
+            return Map.of(
+              "requests", statistics.requests(),
+              "live", statistics.liveQuads(),
+              "dedup-ratio", statistics.dedupRatio(),
+              "references", statistics.liveReferences(),
+              "bytes-saved", statistics.bytesSaved(),
+              "bytes-allocation-avoided", statistics.bytesAllocationAvoided()
+            );
+        });
+    }
+
+    /**
+     * Gets the shared quad with the given content, creating it if no such quad is alive.
+     * The given vertex data is taken over by the pool, and may not be modified afterwards.
+     *
+     * @param vertices The packed vertex data of the quad.
+     * @param tint The tint index of the quad.
+     * @param face The face of the quad.
+     * @param sprite The sprite of the quad.
+     * @return The shared quad.
+     */
+    public BakedQuad intern(final int[] vertices, final int tint, final Direction face, final TextureAtlasSprite sprite)
+    {
+        purgeReleased();
+        requests.incrementAndGet();
+
+        final Key key = new Key(vertices, tint, face, sprite);
+        final QuadReference existingReference = quads.get(key);
+        if (existingReference != null)
+        {
+            final BakedQuad existing = existingReference.get();
+            if (existing != null)
+            {
+                hits.incrementAndGet();
+                return existing;
+            }
+        }
+
+        //Keeps the quad strongly reachable until it is returned.
+        final BakedQuad[] result = new BakedQuad[1];
+        quads.compute(key, (k, current) -> {
+            final BakedQuad currentQuad = current == null ? null : current.get();
+            if (currentQuad != null)
+            {
+                hits.incrementAndGet();
+                result[0] = currentQuad;
+                return current;
+            }
+
+            result[0] = new ChiselsAndBitsBakedQuad(vertices, tint, face, sprite);
+            return new QuadReference(result[0], k, queue);
+        });
+
+        return result[0];
+    }
+
+    /**
+     * Registers a holder of pooled quads, for example a model.
+     * The quads are counted as referenced until the holder is garbage collected.
+     *
+     * @param holder The holder of the quads.
+     * @param quadCount The amount of quads from this pool which the holder references.
+     */
+    public void track(final Object holder, final int quadCount)
+    {
+        if (quadCount <= 0)
+        {
+            return;
+        }
+
+        purgeReleased();
+        holders.add(new HolderReference(holder, quadCount, holderQueue));
+        references.addAndGet(quadCount);
+    }
+
+    /**
+     * Drops all pooled quads, for example because the sprites they reference were reloaded.
+     */
+    public void clear()
+    {
+        LOGGER.debug("Clearing quad intern pool: {}", getStatistics());
+        quads.clear();
+        holders.clear();
+        references.set(0);
+        purgeReleased();
+        requests.set(0);
+        hits.set(0);
+    }
+
+    /**
+     * The current statistics of the pool.
+     *
+     * @return The statistics.
+     */
+    public Statistics getStatistics()
+    {
+        purgeReleased();
+        final long requestCount = requests.get();
+        final long hitCount = hits.get();
+        final int liveQuads = quads.size();
+        final long liveReferences = references.get();
+        return new Statistics(
+          requestCount,
+          hitCount,
+          liveQuads,
+          liveReferences,
+          requestCount == 0 ? 0 : hitCount / (double) requestCount,
+          Math.max(0, liveReferences - liveQuads) * ESTIMATED_QUAD_BYTES,
+          hitCount * ESTIMATED_QUAD_BYTES
+        );
+    }
+
+    private void purgeReleased()
+    {
+        Reference<? extends BakedQuad> reference;
+        while ((reference = queue.poll()) != null)
+        {
+            final QuadReference quadReference = (QuadReference) reference;
+            quads.remove(quadReference.key, quadReference);
+        }
+
+        Reference<?> holder;
+        while ((holder = holderQueue.poll()) != null)
+        {
+            final HolderReference holderReference = (HolderReference) holder;
+            //Holders which were dropped by clear() are no longer counted.
+            if (holders.remove(holderReference))
+            {
+                references.addAndGet(-holderReference.quadCount);
+            }
+        }
+    }
+
+    /**
+     * The statistics of the pool.
+     *
+     * @param requests The amount of quads requested from the pool.
+     * @param hits The amount of requests which were answered with an already existing quad.
+     * @param liveQuads The amount of distinct quads currently in the pool.
+     * @param liveReferences The amount of references to pooled quads held by live models.
+     * @param dedupRatio The fraction of requests which were answered with an already existing quad.
+     * @param bytesSaved An estimate of the amount of bytes currently retained less, because live models share their quads.
+     *                   Every live reference beyond the first one to a pooled quad counts as one quad saved.
+     * @param bytesAllocationAvoided An estimate of the amount of bytes not allocated for duplicate quads, over the lifetime of the pool.
+     *                               This counts every hit, so it is not the amount of memory retained less at the moment.
+     */
+    public record Statistics(long requests, long hits, int liveQuads, long liveReferences, double dedupRatio, long bytesSaved, long bytesAllocationAvoided)
+    {
+        @Override
+        public String toString()
+        {
+            return String.format("%d requests, %d live quads, %d live references, %.1f%% deduplicated, ~%d KiB saved, ~%d KiB of allocations avoided",
+              requests, liveQuads, liveReferences, dedupRatio * 100, bytesSaved / 1024, bytesAllocationAvoided / 1024);
+        }
+    }
+
+    private static final class Key
+    {
+        private final int[]              vertices;
+        private final int                tint;
+        private final Direction          face;
+        private final TextureAtlasSprite sprite;
+        private final int                hash;
+
+        private Key(final int[] vertices, final int tint, final Direction face, final TextureAtlasSprite sprite)
+        {
+            this.vertices = vertices;
+            this.tint = tint;
+            this.face = face;
+            this.sprite = sprite;
+
+            int result = Arrays.hashCode(vertices);
+            result = 31 * result + tint;
+            result = 31 * result + face.hashCode();
+            result = 31 * result + System.identityHashCode(sprite);
+            this.hash = result;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof final Key that))
+            {
+                return false;
+            }
+
+            return hash == that.hash &&
+                     tint == that.tint &&
+                     face == that.face &&
+                     sprite == that.sprite &&
+                     Arrays.equals(vertices, that.vertices);
+        }
+    }
+
+    private static final class QuadReference extends WeakReference<BakedQuad>
+    {
+        private final Key key;
+
+        private QuadReference(final BakedQuad referent, final Key key, final ReferenceQueue<? super BakedQuad> queue)
+        {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class HolderReference extends WeakReference<Object>
+    {
+        private final int quadCount;
+
+        private HolderReference(final Object referent, final int quadCount, final ReferenceQueue<Object> queue)
+        {
+            super(referent, queue);
+            this.quadCount = quadCount;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package mod.chiselsandbits.client.model.data;
+
+import mod.chiselsandbits.api.config.IClientConfiguration;
+import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.LodSelector;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.ModelLod;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the level of detail of the chiseled blocks on the client, and rebuilds the models of blocks whose distance to the camera
+ * moved them into another distance band.
+ */
+public class ChiseledBlockLodManager
+{
+    private static final ChiseledBlockLodManager INSTANCE = new ChiseledBlockLodManager();
+
+    private static final int    CHECK_INTERVAL         = 10;
+    private static final int    MAX_REBUILDS_PER_CHECK = 256;
+    private static final double HYSTERESIS             = 4;
+
+    public static ChiseledBlockLodManager getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Set<ChiseledBlockEntity> trackedBlockEntities = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private int ticksSinceLastCheck = 0;
+
+    private ChiseledBlockLodManager()
+    {
+    }
+
+    /**
+     * Picks the level of detail the given block entity should currently be rendered with.
+     *
+     * @param blockEntity The block entity.
+     * @return The level of detail.
+     */
+    public ModelLod select(final ChiseledBlockEntity blockEntity)
+    {
+        if (!IClientConfiguration.getInstance().getLodEnabled().get())
+            return ModelLod.FULL;
+
+        final Minecraft minecraft = Minecraft.getInstance();
+        final Camera camera = minecraft.gameRenderer.getMainCamera();
+        if (!camera.isInitialized() || minecraft.level == null || minecraft.level != blockEntity.getLevel())
+            return ModelLod.FULL;
+
+        final double distance = camera.getPosition().distanceTo(Vec3.atCenterOf(blockEntity.getBlockPos()));
+        return createSelector().select(distance, blockEntity.getModelLod());
+    }
+
+    /**
+     * Starts tracking the given block entity, so that its model is rebuilt once it moves into another distance band.
+     *
+     * @param blockEntity The block entity.
+     */
+    public void track(final ChiseledBlockEntity blockEntity)
+    {
+        trackedBlockEntities.add(blockEntity);
+    }
+
+    public void onClientTick()
+    {
+        if (++ticksSinceLastCheck < CHECK_INTERVAL)
+            return;
+        ticksSinceLastCheck = 0;
+
+        final Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.level == null)
+        {
+            trackedBlockEntities.clear();
+            return;
+        }
+
+        final List<ChiseledBlockEntity> candidates;
+        synchronized (trackedBlockEntities)
+        {
+            trackedBlockEntities.removeIf(blockEntity -> blockEntity.isRemoved() || blockEntity.getLevel() != minecraft.level);
+            candidates = new ArrayList<>(trackedBlockEntities);
+        }
+
+        int rebuilds = 0;
+        for (final ChiseledBlockEntity blockEntity : candidates)
+        {
+            if (rebuilds >= MAX_REBUILDS_PER_CHECK)
+                break;
+
+            if (select(blockEntity) != blockEntity.getModelLod())
+            {
+                //Only the world model changes, so the previews do not need to be invalidated.
+                ChiseledBlockModelDataExecutor.updateModelDataCore(blockEntity, () -> {});
+                rebuilds++;
+            }
+        }
+    }
+
+    private static LodSelector createSelector()
+    {
+        return new LodSelector(
+          IClientConfiguration.getInstance().getLodDownsampleDistance().get(),
+          IClientConfiguration.getInstance().getLodCubeDistance().get(),
+          HYSTERESIS
+        );
+    }
+}
@@ -6,6 +6,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import mod.chiselsandbits.ChiselsAndBits;
 import mod.chiselsandbits.api.config.IClientConfiguration;
+import mod.chiselsandbits.api.metrics.ITimer;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhoodBuilder;
@@ -15,11 +16,15 @@ import mod.chiselsandbits.client.model.baked.chiseled.ChiselRenderType;
 import mod.chiselsandbits.client.model.baked.chiseled.ChiseledBlockBakedModel;
 import mod.chiselsandbits.client.model.baked.chiseled.ChiseledBlockBakedModelManager;
 import mod.chiselsandbits.client.model.baked.chiseled.FluidRenderingManager;
+import mod.chiselsandbits.client.model.baked.chiseled.lod.ModelLod;
 import mod.chiselsandbits.client.model.baked.simple.CombinedModel;
+import mod.chiselsandbits.metrics.MetricsRegistry;
+import mod.chiselsandbits.multistate.snapshot.RenderSnapshot;
 import mod.chiselsandbits.platforms.core.client.models.data.IModelDataBuilder;
 import mod.chiselsandbits.platforms.core.client.models.data.IModelDataManager;
 import mod.chiselsandbits.platforms.core.client.rendering.IRenderingManager;
 import mod.chiselsandbits.platforms.core.client.rendering.type.IRenderTypeManager;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
 import mod.chiselsandbits.profiling.ProfilingManager;
 import mod.chiselsandbits.registrars.ModModelProperties;
 import net.minecraft.client.Minecraft;
@@ -27,9 +32,9 @@ import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.ChunkPos;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -40,12 +45,21 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class ChiseledBlockModelDataExecutor
 {
+    private static final ProfilerSectionId EXTRACT_MODEL_DATA_FROM_DATA_SECTION         = ProfilingManager.getInstance().registerSection("Extract model data from data");
+    private static final ProfilerSectionId ALL_RENDER_TYPES_BUILDING_SECTION            = ProfilingManager.getInstance().registerSection("All render types building");
+    private static final ProfilerSectionId UNKNOWN_RENDER_LAYER_MODEL_COMBINING_SECTION = ProfilingManager.getInstance().registerSection("Unknown render layer model combining");
+    private static final ProfilerSectionId KNOWN_RENDER_LAYER_MODEL_COMBINING_SECTION   = ProfilingManager.getInstance().registerSection("Known render layer model combining");
+
+    private static final ITimer BUILD_LATENCY_TIMER = MetricsRegistry.getInstance().timer("executor.model-builder.latency");
+
     private static       ExecutorService              recalculationService;
 
     public static void updateModelDataCore(final ChiseledBlockEntity tileEntity, final Runnable onCompleteCallback)
     {
         ensureThreadPoolSetup();
 
+        //The builders only ever read these snapshots, never the live block entities, which keep changing on the client thread.
+        final RenderSnapshot snapshot = tileEntity.createRenderSnapshot();
         final IBlockNeighborhood neighborhood = IBlockNeighborhoodBuilder.getInstance().build(
           direction -> Objects.requireNonNull(tileEntity.getLevel()).getBlockState(tileEntity.getBlockPos().offset(direction.getNormal())),
           direction -> {
@@ -56,125 +70,73 @@ public class ChiseledBlockModelDataExecutor
               return null;
           }
         );
+        tileEntity.setModelNeighborhood(neighborhood);
+        final ModelLod lod = ChiseledBlockLodManager.getInstance().select(tileEntity);
+        tileEntity.setModelLod(lod);
+        ChiseledBlockLodManager.getInstance().track(tileEntity);
+        final long submittedAt = System.nanoTime();
         CompletableFuture.supplyAsync(() -> {
               BakedModel unknownRenderTypeModel;
               Map<RenderType, BakedModel> renderTypedModels = Maps.newHashMap();
 
-              try(IProfilerSection ignored1 = ProfilingManager.getInstance().withSection("Extract model data from data"))
+              try(IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(EXTRACT_MODEL_DATA_FROM_DATA_SECTION))
               {
                   final RenderType currentType = IRenderTypeManager.getInstance().getCurrentRenderType().orElse(null);
                   IRenderTypeManager.getInstance().setCurrentRenderType(null);
-                  try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection("Unknown render layer model building"))
+                  final Map<ChiselRenderType, ChiseledBlockBakedModel> models;
+                  try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(ALL_RENDER_TYPES_BUILDING_SECTION))
                   {
-                      final ChiseledBlockBakedModel[] models = new ChiseledBlockBakedModel[ChiselRenderType.values().length];
-                      try(IProfilerSection ignored3 = ProfilingManager.getInstance().withSection("Individual render types building"))
-                      {
-                          ChiselRenderType[] values = ChiselRenderType.values();
-                          for (int i = 0; i < values.length; i++)
-                          {
-                              final ChiselRenderType chiselRenderType = values[i];
-                              try (IProfilerSection ignored4 = ProfilingManager.getInstance().withSection(chiselRenderType.name()))
-                              {
-                                  final ChiseledBlockBakedModel model = ChiseledBlockBakedModelManager.getInstance().get(
-                                    tileEntity,
-                                    tileEntity.getStatistics().getPrimaryState(),
-                                    chiselRenderType,
-                                    neighborhood::getBlockState,
-                                    neighborhood::getAreaAccessor,
-                                    tileEntity.getBlockPos()
-                                  );
-                                  models[i] = model;
-                              }
-                          }
-                      }
-
-                      try(IProfilerSection ignored3 = ProfilingManager.getInstance().withSection("Combining model"))
-                      {
-                          unknownRenderTypeModel = new CombinedModel(models);
-                      }
+                      models = ChiseledBlockBakedModelManager.getInstance().getAll(
+                        snapshot,
+                        snapshot.getPrimaryState(),
+                        neighborhood,
+                        tileEntity.getBlockPos(),
+                        lod
+                      );
                   }
 
-                  try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection("Known render layer model building"))
+                  try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(UNKNOWN_RENDER_LAYER_MODEL_COMBINING_SECTION))
                   {
+                      unknownRenderTypeModel = new CombinedModel(
+                        Arrays.stream(ChiselRenderType.values())
+                          .map(models::get)
+                          .toArray(ChiseledBlockBakedModel[]::new)
+                      );
+                  }
 
-                      for (final RenderType chunkBufferLayer : RenderType.chunkBufferLayers())
+                  try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(KNOWN_RENDER_LAYER_MODEL_COMBINING_SECTION))
+                  {
+                      //An empty block has nothing to render in any layer.
+                      if (!snapshot.getOccupancy().isEmpty())
                       {
-                          try(IProfilerSection ignored3 = ProfilingManager.getInstance().withSection("Known render layer model building for: " + chunkBufferLayer.toString()))
+                          for (final RenderType chunkBufferLayer : RenderType.chunkBufferLayers())
                           {
-                              IRenderTypeManager.getInstance().setCurrentRenderType(chunkBufferLayer);
-                              if (tileEntity.getStatistics().getStateCounts().isEmpty() ||
-                                    (tileEntity.getStatistics().getStateCounts().size() == 1 && tileEntity.getStatistics().getStateCounts().containsKey(Blocks.AIR.defaultBlockState()))) {
-                                  continue;
-                              }
-
                               BakedModel baked;
                               if (FluidRenderingManager.getInstance().isFluidRenderType(chunkBufferLayer))
                               {
-                                  try(IProfilerSection ignored4 = ProfilingManager.getInstance().withSection("Solid and fluid model building"))
-                                  {
-
-                                      final ChiseledBlockBakedModel solidModel;
-                                      try(IProfilerSection ignored5 = ProfilingManager.getInstance().withSection("Solid"))
-                                      {
-                                          solidModel = ChiseledBlockBakedModelManager.getInstance().get(
-                                            tileEntity,
-                                            tileEntity.getStatistics().getPrimaryState(),
-                                            ChiselRenderType.fromLayer(chunkBufferLayer, false),
-                                            neighborhood::getBlockState,
-                                            neighborhood::getAreaAccessor,
-                                            tileEntity.getBlockPos()
-                                          );
-                                      }
-
-                                      final ChiseledBlockBakedModel fluidModel;
-                                      try(IProfilerSection ignored5 = ProfilingManager.getInstance().withSection("Fluid"))
-                                      {
-                                          fluidModel = ChiseledBlockBakedModelManager.getInstance().get(
-                                            tileEntity,
-                                            tileEntity.getStatistics().getPrimaryState(),
-                                            ChiselRenderType.fromLayer(chunkBufferLayer, true),
-                                            neighborhood::getBlockState,
-                                            neighborhood::getAreaAccessor,
-                                            tileEntity.getBlockPos()
-                                          );
-                                      }
-
-                                      try(IProfilerSection ignored5 = ProfilingManager.getInstance().withSection("Model combining"))
-                                      {
-                                          if (solidModel.isEmpty())
-                                          {
-                                              baked = fluidModel;
-                                          }
-                                          else if (fluidModel.isEmpty())
-                                          {
-                                              baked = solidModel;
-                                          }
-                                          else
-                                          {
-                                              baked = new CombinedModel(solidModel, fluidModel);
-                                          }
-                                      }
+                                  final ChiseledBlockBakedModel solidModel = models.get(ChiselRenderType.fromLayer(chunkBufferLayer, false));
+                                  final ChiseledBlockBakedModel fluidModel = models.get(ChiselRenderType.fromLayer(chunkBufferLayer, true));
 
+                                  if (solidModel.isEmpty())
+                                  {
+                                      baked = fluidModel;
+                                  }
+                                  else if (fluidModel.isEmpty())
+                                  {
+                                      baked = solidModel;
+                                  }
+                                  else
+                                  {
+                                      baked = new CombinedModel(solidModel, fluidModel);
                                   }
                               }
                               else
                               {
-                                  try(IProfilerSection ignored4 = ProfilingManager.getInstance().withSection("Solid or fluid model building"))
-                                  {
-                                      baked = ChiseledBlockBakedModelManager.getInstance().get(
-                                        tileEntity,
-                                        tileEntity.getStatistics().getPrimaryState(),
-                                        ChiselRenderType.fromLayer(chunkBufferLayer, false),
-                                        neighborhood::getBlockState,
-                                        neighborhood::getAreaAccessor,
-                                        tileEntity.getBlockPos()
-                                      );
-                                  }
+                                  baked = models.get(ChiselRenderType.fromLayer(chunkBufferLayer, false));
                               }
 
                               renderTypedModels.put(chunkBufferLayer, baked);
                           }
-
                       }
                   }
 
@@ -190,7 +152,10 @@ public class ChiseledBlockModelDataExecutor
                 )
                 .build();
           }, recalculationService)
-          .thenAcceptAsync(tileEntity::setModelData, recalculationService)
+          .thenAcceptAsync(modelData -> {
+              tileEntity.setModelData(modelData);
+              BUILD_LATENCY_TIMER.recordSince(submittedAt);
+          }, recalculationService)
           .thenRunAsync(onCompleteCallback, recalculationService)
           .thenRunAsync(() -> {
               if (Minecraft.getInstance().level == tileEntity.getLevel()) {
@@ -205,6 +170,17 @@ public class ChiseledBlockModelDataExecutor
           }, Minecraft.getInstance());
     }
 
+    /**
+     * The pool on which chiseled models are built.
+     *
+     * @return The model builder pool.
+     */
+    public static ExecutorService getRecalculationService()
+    {
+        ensureThreadPoolSetup();
+        return recalculationService;
+    }
+
     private static synchronized void ensureThreadPoolSetup() {
         if (recalculationService == null) {
             final ClassLoader classLoader = ChiselsAndBits.class.getClassLoader();
@@ -219,6 +195,7 @@ public class ChiseledBlockModelDataExecutor
                   return thread;
               }
             );
+            MetricsRegistry.getInstance().executorGauges("executor.model-builder", recalculationService);
         }
     }
 }
@@ -1,6 +1,7 @@
 package mod.chiselsandbits.client.model.data;
 
 import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
+import mod.chiselsandbits.client.render.MemoizedPreview;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
@@ -38,6 +39,7 @@ public class ChiseledBlockModelDataManager
             }
         }
 
+        MemoizedPreview.invalidateAll();
         ChiseledBlockModelDataExecutor.updateModelDataCore(tileEntity, onCompleteCallback);
     }
 
@@ -5,7 +5,10 @@ import mod.chiselsandbits.api.reloading.ICacheClearingHandler;
 import mod.chiselsandbits.client.besr.BitStorageBESR;
 import mod.chiselsandbits.client.model.baked.bit.BitBlockBakedModelManager;
 import mod.chiselsandbits.client.model.baked.chiseled.ChiseledBlockBakedModelManager;
+import mod.chiselsandbits.client.model.baked.chiseled.ChiseledBlockMeshDiskCache;
+import mod.chiselsandbits.client.model.baked.chiseled.ChiseledItemModelCache;
 import mod.chiselsandbits.client.model.baked.face.FaceManager;
+import mod.chiselsandbits.client.model.baked.face.QuadInternPool;
 import net.minecraft.client.Minecraft;
 import net.minecraft.server.packs.resources.ReloadableResourceManager;
 import net.minecraft.server.packs.resources.ResourceManager;
@@ -36,7 +39,9 @@ public class ClientResourceReloadingManager implements ResourceManagerReloadList
     public void onResourceManagerReload(final @NotNull ResourceManager manager)
     {
         LOGGER.info("Resetting client caches");
+        FaceCacheWarmUp.getInstance().cancel();
         cacheClearingHandlers.forEach(ICacheClearingHandler::clear);
+        FaceCacheWarmUp.getInstance().start();
     }
 
     public ClientResourceReloadingManager registerCacheClearer(final ICacheClearingHandler cacheClearingHandler) {
@@ -55,6 +60,9 @@ public class ClientResourceReloadingManager implements ResourceManagerReloadList
           .registerCacheClearer(BitStorageBESR::clearCache)
           .registerCacheClearer(BitBlockBakedModelManager.getInstance()::clearCache)
           .registerCacheClearer(ChiseledBlockBakedModelManager.getInstance()::clearCache)
-          .registerCacheClearer(FaceManager.getInstance()::clearCache);
+          .registerCacheClearer(ChiseledBlockMeshDiskCache.getInstance()::invalidate)
+          .registerCacheClearer(ChiseledItemModelCache.getInstance()::clearCache)
+          .registerCacheClearer(FaceManager.getInstance()::clearCache)
+          .registerCacheClearer(QuadInternPool.getInstance()::clear);
     }
 }
@@ -0,0 +1,255 @@
+package mod.chiselsandbits.client.reloading;
+
+import com.google.common.collect.Lists;
+import mod.chiselsandbits.api.config.IClientConfiguration;
+import mod.chiselsandbits.api.chiseling.eligibility.IEligibilityManager;
+import mod.chiselsandbits.client.model.baked.chiseled.ChiselRenderType;
+import mod.chiselsandbits.client.model.baked.face.FaceManager;
+import mod.chiselsandbits.platforms.core.registries.IPlatformRegistryManager;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.world.level.block.state.BlockState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fills the face cache of the {@link FaceManager} with the faces and colors of all chiselable blocks, right after the resources are reloaded.
+ *
+ * The states are prepared in parallel on a dedicated fork join pool, in the background, so the reload itself is not delayed.
+ * A warm up stops once its configured time limit is exceeded or the resources are reloaded again, whatever was prepared up to then stays cached.
+ */
+public final class FaceCacheWarmUp
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The amount of states below which a task prepares the states itself instead of splitting them further.
+     */
+    private static final int STATES_PER_TASK = 32;
+
+    /**
+     * The amount of seconds a cancellation waits for the states which are being prepared at that moment.
+     */
+    private static final long CANCEL_TIMEOUT = 10;
+
+    private static final FaceCacheWarmUp INSTANCE = new FaceCacheWarmUp();
+
+    public static FaceCacheWarmUp getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final AtomicReference<Run> current = new AtomicReference<>();
+
+    private FaceCacheWarmUp()
+    {
+    }
+
+    /**
+     * Starts a new warm up, if enabled in the configuration, stopping the one that is currently running.
+     */
+    public void start()
+    {
+        cancel();
+        if (!IClientConfiguration.getInstance().getFaceWarmUpEnabled().get())
+            return;
+
+        final Run run = new Run(TimeUnit.SECONDS.toNanos(IClientConfiguration.getInstance().getFaceWarmUpTimeLimit().get()));
+        if (current.compareAndSet(null, run))
+            run.start();
+    }
+
+    /**
+     * Stops the currently running warm up, if any, and waits for its workers to finish.
+     * Once this returns no face built from the previous resources is put into the cache anymore, so the caches can be cleared safely.
+     */
+    public void cancel()
+    {
+        final Run previous = current.getAndSet(null);
+        if (previous != null)
+            previous.cancel();
+    }
+
+    /**
+     * The progress of the currently running warm up.
+     *
+     * @return The fraction of the chiselable states which were prepared, or 1 when no warm up is running.
+     */
+    public double getProgress()
+    {
+        final Run run = current.get();
+        return run == null ? 1 : run.getProgress();
+    }
+
+    private final class Run
+    {
+        private final long          timeLimit;
+        private final AtomicInteger prepared = new AtomicInteger();
+        private final ForkJoinPool  pool;
+
+        private volatile long    deadline;
+        private volatile int     total = -1;
+        private volatile boolean cancelled;
+
+        private Run(final long timeLimit)
+        {
+            this.timeLimit = timeLimit;
+
+            final AtomicInteger threadCounter = new AtomicInteger();
+            this.pool = new ForkJoinPool(
+              IClientConfiguration.getInstance().getModelBuildingThreadCount().get(),
+              forkJoinPool -> {
+                  final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                  thread.setName(String.format("Chisels and Bits Face warm up #%s", threadCounter.incrementAndGet()));
+                  thread.setDaemon(true);
+                  return thread;
+              },
+              null,
+              false
+            );
+        }
+
+        private void start()
+        {
+            pool.execute(this::run);
+        }
+
+        private void cancel()
+        {
+            cancelled = true;
+            pool.shutdownNow();
+            try
+            {
+                if (!pool.awaitTermination(CANCEL_TIMEOUT, TimeUnit.SECONDS))
+                    LOGGER.warn("Face cache warm up did not stop within {} seconds, faces of the previous resources might remain cached.", CANCEL_TIMEOUT);
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private double getProgress()
+        {
+            final int count = total;
+            if (count < 0)
+                return 0;
+            if (count == 0)
+                return 1;
+
+            return prepared.get() / (double) count;
+        }
+
+        private boolean shouldStop()
+        {
+            return cancelled || System.nanoTime() - deadline > 0;
+        }
+
+        private void run()
+        {
+            final long startTime = System.nanoTime();
+            deadline = startTime + timeLimit;
+
+            final List<BlockState> states = Lists.newArrayList();
+            for (final BlockState state : IPlatformRegistryManager.getInstance().getBlockStateIdMap())
+            {
+                if (shouldStop())
+                    break;
+
+                if (IEligibilityManager.getInstance().analyse(state).canBeChiseled())
+                    states.add(state);
+            }
+
+            total = states.size();
+            LOGGER.info("Warming up the face cache for {} chiselable states.", states.size());
+
+            try
+            {
+                new PrepareTask(states, 0, states.size()).invoke();
+            }
+            catch (final Exception exception)
+            {
+                if (!cancelled)
+                    LOGGER.error("Failed to warm up the face cache.", exception);
+            }
+            finally
+            {
+                final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                if (cancelled)
+                    LOGGER.info("Face cache warm up was cancelled after {} ms, prepared {} of {} states.", elapsed, prepared.get(), states.size());
+                else if (prepared.get() < states.size())
+                    LOGGER.warn("Face cache warm up exceeded its time limit after {} ms, prepared {} of {} states.", elapsed, prepared.get(), states.size());
+                else
+                    LOGGER.info("Face cache warm up completed in {} ms.", elapsed);
+
+                current.compareAndSet(this, null);
+                pool.shutdown();
+            }
+        }
+
+        private void prepare(final BlockState state)
+        {
+            for (final ChiselRenderType renderType : ChiselRenderType.values())
+            {
+                if (!renderType.isRequiredForRendering(state))
+                    continue;
+
+                final RenderType layer = renderType.layer;
+                try
+                {
+                    FaceManager.getInstance().warmUp(state, layer);
+                }
+                catch (final Exception exception)
+                {
+                    LOGGER.debug("Failed to prepare the faces of {} in {}.", state, layer, exception);
+                }
+            }
+
+            final int count = total;
+            final int done = prepared.incrementAndGet();
+            //Reports every tenth of the states.
+            if (count >= 10 && done % (count / 10) == 0)
+                LOGGER.info("Face cache warm up: {}% ({}/{})", Math.round(done * 100d / count), done, count);
+        }
+
+        private final class PrepareTask extends RecursiveAction
+        {
+            private final List<BlockState> states;
+            private final int              from;
+            private final int              to;
+
+            private PrepareTask(final List<BlockState> states, final int from, final int to)
+            {
+                this.states = states;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute()
+            {
+                if (to - from > STATES_PER_TASK)
+                {
+                    final int middle = (from + to) >>> 1;
+                    invokeAll(new PrepareTask(states, from, middle), new PrepareTask(states, middle, to));
+                    return;
+                }
+
+                for (int index = from; index < to; index++)
+                {
+                    if (shouldStop())
+                        return;
+
+                    prepare(states.get(index));
+                }
+            }
+        }
+    }
+}
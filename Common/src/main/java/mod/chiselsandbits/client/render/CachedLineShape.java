@@ -0,0 +1,106 @@
+package mod.chiselsandbits.client.render;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+/**
+ * The edges of a voxel shape, together with their normals, flattened into a single array.
+ * Allows the same outline to be rendered over several frames without walking the shape again,
+ * produces the same vertices as {@link net.minecraft.client.renderer.LevelRenderer#renderShape(PoseStack, VertexConsumer, VoxelShape, double, double, double, float, float, float, float)}.
+ */
+public final class CachedLineShape
+{
+    private static final int FLOATS_PER_EDGE = 9;
+
+    private final VoxelShape shape;
+    private final float[]    edges;
+
+    private CachedLineShape(final VoxelShape shape, final float[] edges)
+    {
+        this.shape = shape;
+        this.edges = edges;
+    }
+
+    /**
+     * Collects the edges of the given shape.
+     *
+     * @param shape The shape.
+     * @return The cached edges of the shape.
+     */
+    public static CachedLineShape of(final VoxelShape shape)
+    {
+        final FloatArrayList edges = new FloatArrayList();
+        shape.forAllEdges((x1, y1, z1, x2, y2, z2) -> {
+            float nx = (float) (x2 - x1);
+            float ny = (float) (y2 - y1);
+            float nz = (float) (z2 - z1);
+            final float length = Mth.sqrt(nx * nx + ny * ny + nz * nz);
+            nx /= length;
+            ny /= length;
+            nz /= length;
+
+            edges.add((float) x1);
+            edges.add((float) y1);
+            edges.add((float) z1);
+            edges.add((float) x2);
+            edges.add((float) y2);
+            edges.add((float) z2);
+            edges.add(nx);
+            edges.add(ny);
+            edges.add(nz);
+        });
+
+        return new CachedLineShape(shape, edges.toFloatArray());
+    }
+
+    public VoxelShape getShape()
+    {
+        return shape;
+    }
+
+    public boolean isEmpty()
+    {
+        return edges.length == 0;
+    }
+
+    /**
+     * Emits the lines of the shape into the given consumer.
+     *
+     * @param poseStack The current pose.
+     * @param consumer The consumer to emit the vertices into.
+     * @param x The x offset of the shape, relative to the camera.
+     * @param y The y offset of the shape, relative to the camera.
+     * @param z The z offset of the shape, relative to the camera.
+     * @param red The red color component.
+     * @param green The green color component.
+     * @param blue The blue color component.
+     * @param alpha The alpha color component.
+     */
+    public void render(
+      final PoseStack poseStack,
+      final VertexConsumer consumer,
+      final double x,
+      final double y,
+      final double z,
+      final float red,
+      final float green,
+      final float blue,
+      final float alpha)
+    {
+        final PoseStack.Pose pose = poseStack.last();
+        for (int i = 0; i < edges.length; i += FLOATS_PER_EDGE)
+        {
+            consumer.vertex(pose.pose(), (float) (edges[i] + x), (float) (edges[i + 1] + y), (float) (edges[i + 2] + z))
+              .color(red, green, blue, alpha)
+              .normal(pose.normal(), edges[i + 6], edges[i + 7], edges[i + 8])
+              .endVertex();
+            consumer.vertex(pose.pose(), (float) (edges[i + 3] + x), (float) (edges[i + 4] + y), (float) (edges[i + 5] + z))
+              .color(red, green, blue, alpha)
+              .normal(pose.normal(), edges[i + 6], edges[i + 7], edges[i + 8])
+              .endVertex();
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
@@ -44,6 +43,10 @@ public class ChiseledBlockWireframeRenderer
     }
 
     public void renderShape(final PoseStack stack, final VoxelShape wireFrame, final Vec3 position, final Vec3 color) {
+        renderShape(stack, CachedLineShape.of(wireFrame), position, color);
+    }
+
+    public void renderShape(final PoseStack stack, final CachedLineShape wireFrame, final Vec3 position, final Vec3 color) {
         stack.pushPose();
 
         Vec3 vector3d = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
@@ -53,10 +56,9 @@ public class ChiseledBlockWireframeRenderer
 
         //48/255f, 120/255f, 201/255f
         RenderSystem.disableDepthTest();
-        LevelRenderer.renderShape(
+        wireFrame.render(
           stack,
           Minecraft.getInstance().renderBuffers().bufferSource().getBuffer(ModRenderTypes.WIREFRAME_LINES.get()),
-          wireFrame,
           position.x() - xView, position.y() - yView, position.z() - zView,
           (float) color.x(), (float) color.y(), (float) color.z() , 1f
         );
@@ -0,0 +1,191 @@
+package mod.chiselsandbits.client.render;
+
+import mod.chiselsandbits.ChiselsAndBits;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Memoises the result of a single preview calculation, for example the shape rendered for the current chiseling preview.
+ *
+ * When the requested key matches the key of the last result, and no chiseled block has changed since, the last result is returned directly.
+ * Otherwise the input of the calculation is captured on the calling thread, and the calculation itself is scheduled on a background thread.
+ * The last result is returned until the new one is available.
+ *
+ * The input needs to be immutable and may not reference the live level or player, since the calculation runs concurrently with the client thread.
+ *
+ * @param <K> The type of the key which identifies the inputs of the calculation.
+ * @param <I> The type of the captured input of the calculation.
+ * @param <V> The type of the result.
+ */
+public final class MemoizedPreview<K, I, V>
+{
+    private static final Logger     LOGGER   = LogManager.getLogger();
+    private static final AtomicLong REVISION = new AtomicLong();
+
+    private static ExecutorService calculationService;
+
+    private K       currentKey;
+    private long    currentRevision = -1;
+    private V       currentValue;
+    private boolean hasValue        = false;
+
+    private K                    pendingKey;
+    private long                 pendingRevision = -1;
+    private CompletableFuture<V> pending;
+
+    /**
+     * Marks all memoised previews as outdated, so that they are recalculated the next time they are requested.
+     * Invoked whenever the contents of a chiseled block change on the client side.
+     */
+    public static void invalidateAll()
+    {
+        REVISION.incrementAndGet();
+    }
+
+    /**
+     * The current revision of the chiseled blocks on the client side, changes whenever {@link #invalidateAll()} is invoked.
+     *
+     * @return The current revision.
+     */
+    public static long getRevision()
+    {
+        return REVISION.get();
+    }
+
+    /**
+     * Returns the result for the given key.
+     *
+     * @param key The key of the inputs of the calculation. Needs to implement equals and hashcode.
+     * @param inputCapture Captures the input of the calculation, invoked on the calling thread if the key or the revision changed.
+     *                     Can return null if there is nothing to preview.
+     * @param calculator The calculation, invoked on a background thread with the captured input.
+     * @return The result for the given key if available, else the last known result, which is empty if nothing has been calculated yet.
+     */
+    public synchronized Optional<V> get(final K key, final Supplier<I> inputCapture, final Function<I, V> calculator)
+    {
+        final long revision = REVISION.get();
+        if (hasValue && currentRevision == revision && Objects.equals(currentKey, key))
+        {
+            return Optional.ofNullable(currentValue);
+        }
+
+        if (pending != null && pendingRevision == revision && Objects.equals(pendingKey, key))
+        {
+            return Optional.ofNullable(currentValue);
+        }
+
+        if (pending != null)
+        {
+            pending.cancel(false);
+            pending = null;
+            pendingKey = null;
+        }
+
+        final I input;
+        try
+        {
+            input = inputCapture.get();
+        }
+        catch (RuntimeException ex)
+        {
+            //Failed captures are memoised as well, so they are not retried every frame.
+            LOGGER.error("Failed to capture the input of a preview.", ex);
+            return memoise(key, revision, null);
+        }
+
+        if (input == null)
+        {
+            return memoise(key, revision, null);
+        }
+
+        final CompletableFuture<V> calculation = CompletableFuture.supplyAsync(() -> calculator.apply(input), getCalculationService());
+        pendingKey = key;
+        pendingRevision = revision;
+        pending = calculation;
+
+        calculation.whenComplete((value, throwable) -> onCalculated(calculation, key, revision, value, throwable));
+        return Optional.ofNullable(currentValue);
+    }
+
+    /**
+     * Drops the last result and cancels any running calculation.
+     */
+    public synchronized void clear()
+    {
+        if (pending != null)
+        {
+            pending.cancel(false);
+        }
+
+        pending = null;
+        pendingKey = null;
+        currentKey = null;
+        currentValue = null;
+        hasValue = false;
+    }
+
+    private Optional<V> memoise(final K key, final long revision, final V value)
+    {
+        currentKey = key;
+        currentRevision = revision;
+        currentValue = value;
+        hasValue = true;
+        return Optional.ofNullable(value);
+    }
+
+    private synchronized void onCalculated(final CompletableFuture<V> calculation, final K key, final long revision, final V value, final Throwable throwable)
+    {
+        if (pending != calculation)
+        {
+            //A newer calculation has been requested in the meantime.
+            return;
+        }
+
+        pending = null;
+        pendingKey = null;
+
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof CancellationException)
+        {
+            return;
+        }
+
+        if (cause != null)
+        {
+            LOGGER.error("Failed to calculate a preview.", cause);
+        }
+
+        //Failed calculations are memoised as well, so they are not retried every frame.
+        memoise(key, revision, cause == null ? value : null);
+    }
+
+    private static synchronized ExecutorService getCalculationService()
+    {
+        if (calculationService == null)
+        {
+            final ClassLoader classLoader = ChiselsAndBits.class.getClassLoader();
+            calculationService = Executors.newSingleThreadExecutor(
+              runnable -> {
+                  final Thread thread = new Thread(runnable);
+                  thread.setContextClassLoader(classLoader);
+                  thread.setName("Chisels and Bits Preview builder");
+                  thread.setDaemon(true);
+                  return thread;
+              }
+            );
+        }
+
+        return calculationService;
+    }
+}
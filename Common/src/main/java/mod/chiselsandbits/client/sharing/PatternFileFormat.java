@@ -0,0 +1,224 @@
+package mod.chiselsandbits.client.sharing;
+
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The binary pattern file format, version 2.
+ *
+ * A file starts with an uncompressed header, made up of the magic bytes and the version. It is followed by a deflated body, which holds
+ * the amount of bits per block side, the palette of the pattern as block state tags, the palette indices of all bits packed into longs,
+ * and the pixels of the sprites which the states of the palette use in the block atlas.
+ * Files of version 1 start with a deflate stream right away, and can never start with the magic bytes.
+ */
+final class PatternFileFormat
+{
+    static final int VERSION = 2;
+
+    private static final byte[] MAGIC       = new byte[] {'C', 'B', 'S', 'B'};
+    private static final int    HEADER_SIZE = MAGIC.length + Integer.BYTES;
+
+    private PatternFileFormat()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: PatternFileFormat. This is a utility class");
+    }
+
+    /**
+     * Writes the given pattern into the channel, compressing the body while it is written.
+     *
+     * @param channel The channel to write to.
+     * @param pattern The pattern.
+     * @throws IOException When the pattern could not be written.
+     */
+    static void write(final WritableByteChannel channel, final PatternData pattern) throws IOException
+    {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC);
+        header.putInt(VERSION);
+        header.flip();
+        while (header.hasRemaining())
+        {
+            channel.write(header);
+        }
+
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try
+        {
+            final DeflaterOutputStream deflaterStream = new DeflaterOutputStream(Channels.newOutputStream(channel), deflater);
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(deflaterStream));
+
+            output.writeByte(pattern.size());
+            output.writeShort(pattern.palette().size());
+            for (final BlockState state : pattern.palette())
+            {
+                NbtIo.write(NbtUtils.writeBlockState(state), output);
+            }
+
+            final long[] packedIndices = pack(pattern.indices(), getBitsPerEntry(pattern.palette().size()));
+            for (final long packedIndex : packedIndices)
+            {
+                output.writeLong(packedIndex);
+            }
+
+            output.writeShort(pattern.sprites().size());
+            for (final SpriteData sprite : pattern.sprites())
+            {
+                output.writeUTF(sprite.name().toString());
+                output.writeShort(sprite.width());
+                output.writeShort(sprite.height());
+                for (final int pixel : sprite.pixels())
+                {
+                    output.writeInt(pixel);
+                }
+            }
+
+            //The stream is only finished, not closed, since the channel is closed by its owner.
+            output.flush();
+            deflaterStream.finish();
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Reads the header of the given channel.
+     *
+     * @param channel The channel, positioned at its start.
+     * @return The version of the file, or {@code 1} when the file does not have a header.
+     * @throws IOException When the header could not be read.
+     */
+    static int readVersion(final ReadableByteChannel channel) throws IOException
+    {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining())
+        {
+            if (channel.read(header) < 0)
+                return 1;
+        }
+        header.flip();
+
+        final byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC))
+            return 1;
+
+        return header.getInt();
+    }
+
+    /**
+     * Reads a pattern from the channel, whose header has already been read by {@link #readVersion(ReadableByteChannel)}.
+     * The sprites are skipped, since they are only stored for external tools.
+     *
+     * @param channel The channel to read from.
+     * @return The pattern, without its sprites.
+     * @throws IOException When the pattern could not be read.
+     */
+    static PatternData read(final ReadableByteChannel channel) throws IOException
+    {
+        final InputStream channelStream = Channels.newInputStream(channel);
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(new InflaterInputStream(channelStream)));
+
+        final int size = input.readUnsignedByte();
+        final int paletteSize = input.readUnsignedShort();
+        if (size == 0 || paletteSize == 0)
+            throw new IOException("The pattern is empty.");
+
+        final List<BlockState> palette = new ArrayList<>(paletteSize);
+        for (int i = 0; i < paletteSize; i++)
+        {
+            palette.add(NbtUtils.readBlockState(NbtIo.read(input)));
+        }
+
+        final int entryCount = size * size * size;
+        final int bitsPerEntry = getBitsPerEntry(paletteSize);
+        final long[] packedIndices = new long[getPackedLength(entryCount, bitsPerEntry)];
+        for (int i = 0; i < packedIndices.length; i++)
+        {
+            packedIndices[i] = input.readLong();
+        }
+
+        final int[] indices = unpack(packedIndices, entryCount, bitsPerEntry);
+        for (final int index : indices)
+        {
+            if (index >= paletteSize)
+                throw new IOException("The pattern references a state outside of its palette.");
+        }
+
+        return new PatternData(size, palette, indices, List.of());
+    }
+
+    private static int getBitsPerEntry(final int paletteSize)
+    {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    private static int getPackedLength(final int entryCount, final int bitsPerEntry)
+    {
+        final int entriesPerLong = Long.SIZE / bitsPerEntry;
+        return (entryCount + entriesPerLong - 1) / entriesPerLong;
+    }
+
+    private static long[] pack(final int[] indices, final int bitsPerEntry)
+    {
+        final int entriesPerLong = Long.SIZE / bitsPerEntry;
+        final long[] packed = new long[getPackedLength(indices.length, bitsPerEntry)];
+        for (int i = 0; i < indices.length; i++)
+        {
+            packed[i / entriesPerLong] |= ((long) indices[i]) << ((i % entriesPerLong) * bitsPerEntry);
+        }
+        return packed;
+    }
+
+    private static int[] unpack(final long[] packed, final int entryCount, final int bitsPerEntry)
+    {
+        final int entriesPerLong = Long.SIZE / bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        final int[] indices = new int[entryCount];
+        for (int i = 0; i < entryCount; i++)
+        {
+            indices[i] = (int) ((packed[i / entriesPerLong] >>> ((i % entriesPerLong) * bitsPerEntry)) & mask);
+        }
+        return indices;
+    }
+
+    /**
+     * The contents of a pattern file.
+     *
+     * @param size The amount of bits per block side.
+     * @param palette The distinct states of the pattern, including air.
+     * @param indices The palette index of every bit, ordered by x, then y, then z.
+     * @param sprites The sprites used by the states of the palette.
+     */
+    record PatternData(int size, List<BlockState> palette, int[] indices, List<SpriteData> sprites) {}
+
+    /**
+     * The pixels of a sprite of the block atlas.
+     *
+     * @param name The name of the sprite.
+     * @param width The width of the sprite.
+     * @param height The height of the sprite.
+     * @param pixels The pixels of the sprite in the format of the atlas, row by row.
+     */
+    record SpriteData(ResourceLocation name, int width, int height, int[] pixels) {}
+}
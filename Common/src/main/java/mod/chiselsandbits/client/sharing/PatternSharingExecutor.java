@@ -1,18 +1,18 @@
 package mod.chiselsandbits.client.sharing;
 
 import com.google.common.io.ByteArrayDataInput;
-import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mojang.blaze3d.platform.NativeImage;
 import com.mojang.datafixers.util.Either;
 import mod.chiselsandbits.api.client.sharing.PatternIOException;
 import mod.chiselsandbits.api.config.IClientConfiguration;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
 import mod.chiselsandbits.api.util.LocalStrings;
+import mod.chiselsandbits.block.entities.storage.SimpleStateEntryStorage;
 import mod.chiselsandbits.item.multistate.SingleBlockMultiStateItemStack;
 import mod.chiselsandbits.registrars.ModItems;
 import mod.chiselsandbits.utils.CompressionUtils;
@@ -20,30 +20,35 @@ import mod.chiselsandbits.utils.FileUtils;
 import mod.chiselsandbits.utils.TextureUtils;
 import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtIo;
 import net.minecraft.world.inventory.InventoryMenu;
-import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.zip.DataFormatException;
 
 public final class PatternSharingExecutor
 {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Direction[] SIDES = new Direction[] {
+      Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null
+    };
 
     private PatternSharingExecutor()
     {
@@ -58,30 +63,54 @@ public final class PatternSharingExecutor
         }
         catch (PatternIOException e)
         {
-            Minecraft.getInstance().player.sendMessage(e.getErrorMessage(), Util.NIL_UUID);
+            reportError(e);
         }
     }
 
+    private static void reportError(final PatternIOException exception)
+    {
+        LOGGER.warn("Failed to export a pattern.", exception);
+        if (Minecraft.getInstance().player != null)
+        {
+            Minecraft.getInstance().player.sendMessage(exception.getErrorMessage(), Util.NIL_UUID);
+        }
+    }
+
+    /**
+     * Captures the pattern and the sprites it uses on the calling thread, and writes them to disk in the background.
+     */
     private static void savePattern(final IMultiStateItemStack multiStateItemStack, final String patternName) throws PatternIOException
     {
-        final byte[] textureAtlasData = getBlockTextureAtlasData();
-        final ModelData modelData = getModelQuadData(multiStateItemStack);
-        final byte[] chiselData = getChiselData(multiStateItemStack);
+        final PatternFileFormat.PatternData patternData = getPatternData(multiStateItemStack);
+        final Path targetPath = Paths.get(IClientConfiguration.getInstance().getPatternExportPath().get(), patternName + ".cbsbp");
 
-        final String dataString = toDataString(textureAtlasData, modelData, chiselData);
-        writePatternDataToDisk(patternName, dataString);
+        CompletableFuture.runAsync(() -> {
+            try
+            {
+                writePatternDataToDisk(targetPath, patternData);
+            }
+            catch (PatternIOException e)
+            {
+                throw new CompletionException(e);
+            }
+        }, Util.ioPool()).exceptionally(throwable -> {
+            final PatternIOException exception = throwable.getCause() instanceof final PatternIOException patternIOException
+                                                   ? patternIOException
+                                                   : new PatternIOException(
+                                                     LocalStrings.PatternExportFailedCouldNotWriteFile.getText(),
+                                                     "Could not write pattern data file to disk",
+                                                     throwable
+                                                   );
+            Minecraft.getInstance().execute(() -> reportError(exception));
+            return null;
+        });
     }
 
-    private static void writePatternDataToDisk(final String patternName, final String dataString) throws PatternIOException
+    private static void writePatternDataToDisk(final Path targetPath, final PatternFileFormat.PatternData patternData) throws PatternIOException
     {
-        final String encodedString = Base64.getEncoder().encodeToString(dataString.getBytes());
-        final Path targetPath = Paths.get(IClientConfiguration.getInstance().getPatternExportPath().get(), patternName + ".cbsbp");
-        try
+        try (FileChannel channel = FileChannel.open(FileUtils.ensureFileWritable(targetPath), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
         {
-            final byte[] uncompressedData = encodedString.getBytes();
-            final byte[] compressedData = CompressionUtils.compress(uncompressedData);
-
-            Files.write(FileUtils.ensureFileWritable(targetPath), compressedData, StandardOpenOption.WRITE);
+            PatternFileFormat.write(channel, patternData);
         }
         catch (IOException e)
         {
@@ -93,99 +122,87 @@ public final class PatternSharingExecutor
         }
     }
 
-    private static String toDataString(final byte[] textureAtlasData, final ModelData modelData, final byte[] chiselData)
+    private static PatternFileFormat.PatternData getPatternData(final IMultiStateItemStack multiStateItemStack) throws PatternIOException
     {
-        final Gson gson = new GsonBuilder().create();
-
-        final JsonObject returnObject = new JsonObject();
-
-        returnObject.addProperty("version", "1.0");
-        returnObject.addProperty("textureAtlas", Base64.getEncoder().encodeToString(textureAtlasData));
-        returnObject.add("modelData", gson.toJsonTree(modelData));
-        returnObject.addProperty("chiselData", Base64.getEncoder().encodeToString(chiselData));
-
-        return gson.toJson(returnObject);
+        final int size = StateEntrySize.current().getBitsPerBlockSide();
+        final List<BlockState> palette = new ArrayList<>();
+        final Map<BlockState, Integer> paletteIndices = new HashMap<>();
+        final int[] indices = new int[size * size * size];
+
+        //Air is always the first entry, so that positions without an entry are empty.
+        palette.add(Blocks.AIR.defaultBlockState());
+        paletteIndices.put(Blocks.AIR.defaultBlockState(), 0);
+
+        multiStateItemStack.stream().forEach(entry -> {
+            final int paletteIndex = paletteIndices.computeIfAbsent(entry.getState(), state -> {
+                palette.add(state);
+                return palette.size() - 1;
+            });
+
+            final int x = (int) (entry.getStartPoint().x() * size);
+            final int y = (int) (entry.getStartPoint().y() * size);
+            final int z = (int) (entry.getStartPoint().z() * size);
+            indices[(x * size + y) * size + z] = paletteIndex;
+        });
+
+        return new PatternFileFormat.PatternData(size, palette, indices, getSpriteData(palette));
     }
 
-    private static byte[] getChiselData(final IMultiStateItemStack multiStateItemStack) throws PatternIOException
+    /**
+     * Copies the sprites which the block models of the given states use out of the block atlas.
+     * Only these sprites are stored, instead of the entire atlas.
+     */
+    private static List<PatternFileFormat.SpriteData> getSpriteData(final List<BlockState> palette) throws PatternIOException
     {
-        final CompoundTag compoundTag = multiStateItemStack.serializeNBT();
-
-        final ByteArrayDataOutput dataOutput = ByteStreams.newDataOutput();
-
-        try
-        {
-            NbtIo.write(compoundTag, dataOutput);
-        }
-        catch (IOException e)
+        final Set<TextureAtlasSprite> sprites = new LinkedHashSet<>();
+        final Random random = new Random();
+        for (final BlockState state : palette)
         {
-            throw new PatternIOException(
-              LocalStrings.PatternExportFailedCouldNotWriteChiselData.getText(),
-              "Failed to write chisel data to memory.",
-              e
-            );
+            if (state.isAir())
+                continue;
+
+            final BakedModel model = Minecraft.getInstance().getBlockRenderer().getBlockModel(state);
+            for (final Direction direction : SIDES)
+            {
+                random.setSeed(42L);
+                model.getQuads(state, direction, random).forEach(quad -> sprites.add(quad.getSprite()));
+            }
+            sprites.add(model.getParticleIcon());
         }
 
-        return dataOutput.toByteArray();
-    }
-
-    private static byte[] getBlockTextureAtlasData() throws PatternIOException
-    {
-        final NativeImage currentAtlas = TextureUtils.getNativeImageFromTexture(InventoryMenu.BLOCK_ATLAS);
+        sprites.removeIf(sprite -> !sprite.atlas().location().equals(InventoryMenu.BLOCK_ATLAS));
+        if (sprites.isEmpty())
+            return List.of();
 
-        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        final WritableByteChannel channel = Channels.newChannel(byteArrayOutputStream);
-        try
+        try (NativeImage atlas = TextureUtils.getNativeImageFromTexture(InventoryMenu.BLOCK_ATLAS))
         {
-            if (currentAtlas.writeToChannel(channel)) {
-                return byteArrayOutputStream.toByteArray();
+            final List<PatternFileFormat.SpriteData> spriteData = new ArrayList<>(sprites.size());
+            for (final TextureAtlasSprite sprite : sprites)
+            {
+                final int[] pixels = new int[sprite.getWidth() * sprite.getHeight()];
+                for (int y = 0; y < sprite.getHeight(); y++)
+                {
+                    for (int x = 0; x < sprite.getWidth(); x++)
+                    {
+                        pixels[y * sprite.getWidth() + x] = atlas.getPixelRGBA(sprite.getX() + x, sprite.getY() + y);
+                    }
+                }
+
+                spriteData.add(new PatternFileFormat.SpriteData(sprite.getName(), sprite.getWidth(), sprite.getHeight(), pixels));
             }
 
-            throw new PatternIOException(
-              LocalStrings.PatternExportFailedGenericAtlasWriteFailure.getText(),
-              "Failed to process the in-memory block atlas texture."
-            );
+            return spriteData;
         }
-        catch (IOException e)
+        catch (RuntimeException e)
         {
             throw new PatternIOException(
               LocalStrings.PatternExportFailedCouldNotWriteAtlas.getText(),
-              "Failed to write the current block texture atlas to disk.",
+              "Failed to copy the used sprites out of the block texture atlas.",
               e
             );
         }
     }
 
-    private static ModelData getModelQuadData(final IMultiStateItemStack multiStateItemStack)
-    {
-        final ItemStack blockStack = multiStateItemStack.toBlockStack();
-        final BakedModel bakedmodel = Minecraft.getInstance().getItemRenderer().getModel(
-          blockStack,
-          Minecraft.getInstance().level,
-          Minecraft.getInstance().player,
-          0
-        );
-
-        final Random random = new Random();
-
-        final ModelData modelData = new ModelData(
-          Arrays.stream(Direction.values())
-            .collect(Collectors.toMap(
-              Function.identity(),
-              direction -> bakedmodel.getQuads(
-                null, direction, random
-              ).stream()
-                             .map(QuadData::new)
-                             .collect(Collectors.toList())
-            )),
-          bakedmodel.getQuads(null, null, random).stream()
-            .map(QuadData::new)
-            .collect(Collectors.toList())
-        );
-
-        return modelData;
-    }
-
     static Either<IMultiStateItemStack, PatternIOException> doImportPattern(final String patternName) {
         try
         {
@@ -199,11 +216,6 @@ public final class PatternSharingExecutor
 
     private static IMultiStateItemStack importPattern(final String patternName) throws PatternIOException
     {
-        final String patternData = loadPatternDataFromDisk(patternName);
-        return getChiselData(patternData);
-    }
-
-    private static String loadPatternDataFromDisk(final String patternName) throws PatternIOException {
         final Path targetPath = Paths.get(IClientConfiguration.getInstance().getPatternExportPath().get(), patternName + ".cbsbp");
         if (!Files.exists(targetPath)) {
             throw new PatternIOException(
@@ -212,6 +224,78 @@ public final class PatternSharingExecutor
             );
         }
 
+        final int version;
+        try (FileChannel channel = FileChannel.open(targetPath, StandardOpenOption.READ))
+        {
+            version = PatternFileFormat.readVersion(channel);
+            if (version == PatternFileFormat.VERSION)
+            {
+                return getVersion2ChiselData(channel);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new PatternIOException(
+              LocalStrings.PatternImportFailedCouldNotReadFile.getText(),
+              "Failed to read the pattern file from disk.",
+              e
+            );
+        }
+
+        if (version != 1) {
+            throw new PatternIOException(
+              LocalStrings.PatternImportFailedUnknownVersion.getText(),
+              "The pattern file is stored in an unknown version."
+            );
+        }
+
+        final String patternData = loadPatternDataFromDisk(targetPath);
+        return getChiselData(patternData);
+    }
+
+    private static IMultiStateItemStack getVersion2ChiselData(final FileChannel channel) throws PatternIOException
+    {
+        final PatternFileFormat.PatternData patternData;
+        try
+        {
+            patternData = PatternFileFormat.read(channel);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw new PatternIOException(
+              LocalStrings.PatternImportFailedInvalidChiselData.getText(),
+              "The chisel data is stored in an invalid format.",
+              e
+            );
+        }
+
+        final int size = patternData.size();
+        if (size != StateEntrySize.current().getBitsPerBlockSide())
+        {
+            throw new PatternIOException(
+              LocalStrings.PatternImportFailedInvalidChiselData.getText(),
+              "The pattern was exported with a different bit size."
+            );
+        }
+
+        final SimpleStateEntryStorage storage = new SimpleStateEntryStorage(size);
+        final int[] indices = patternData.indices();
+        for (int index = 0; index < indices.length; index++)
+        {
+            final BlockState state = patternData.palette().get(indices[index]);
+            if (!state.isAir())
+            {
+                storage.setBlockState(index / (size * size), (index / size) % size, index % size, state);
+            }
+        }
+
+        return new SingleBlockMultiStateItemStack(ModItems.SINGLE_USE_PATTERN_ITEM.get(), storage);
+    }
+
+    /**
+     * Loads the contents of a pattern file of version 1, which is a compressed, Base64 encoded json document.
+     */
+    private static String loadPatternDataFromDisk(final Path targetPath) throws PatternIOException {
         final byte[] compressedData;
         try
         {
@@ -290,53 +374,4 @@ public final class PatternSharingExecutor
 
         return new SingleBlockMultiStateItemStack(ModItems.SINGLE_USE_PATTERN_ITEM.get(), compoundTag);
     }
-
-    private static final class ModelData {
-        final Map<Direction, List<QuadData>> directionalQuads;
-        final List<QuadData> genericData;
-
-        private ModelData(
-          final Map<Direction, List<QuadData>> directionalQuads,
-          final List<QuadData> genericData) {
-            this.directionalQuads = directionalQuads;
-            this.genericData = genericData;
-        }
-
-
-    }
-
-    private static final class QuadData {
-        private final int[] vertices;
-        private final int tintIndex;
-        private final Direction direction;
-        private final boolean shade;
-
-        private QuadData(final BakedQuad source)
-        {
-            this.vertices = source.getVertices();
-            this.tintIndex = source.getTintIndex();
-            this.direction = source.getDirection();
-            this.shade = source.isShade();
-        }
-
-        public int[] getVertices()
-        {
-            return vertices;
-        }
-
-        public int getTintIndex()
-        {
-            return tintIndex;
-        }
-
-        public Direction getDirection()
-        {
-            return direction;
-        }
-
-        public boolean isShade()
-        {
-            return shade;
-        }
-    }
 }
@@ -0,0 +1,232 @@
+package mod.chiselsandbits.clipboard;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Persists the entries of the creative clipboard as a snapshot file, plus a journal of the entries which were added since.
+ *
+ * Adding an entry only appends a single record to the journal. Once the journal grows too long it is compacted, by writing a new snapshot
+ * next to the old one and atomically renaming it into place. Every snapshot carries a generation, and only the journal of that generation
+ * is replayed on load, so a compaction which is interrupted at any point never loses or duplicates entries.
+ *
+ * This class is not thread safe, all operations need to be executed by the same thread.
+ */
+final class ClipboardJournal
+{
+    private static final String SNAPSHOT_NAME  = "clipboard.dat";
+    private static final String CLIPBOARD_KEY  = "clipboard";
+    private static final String GENERATION_KEY = "generation";
+    private static final String JOURNAL_PREFIX = "clipboard-";
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final Path directory;
+
+    private long             generation     = 0;
+    private int              journalEntries = 0;
+    private boolean          damaged        = false;
+    private DataOutputStream journalOutput  = null;
+
+    ClipboardJournal(final Path directory)
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the snapshot and replays the journal of its generation.
+     * A record which was only partially written is ignored, and marks the journal as {@link #isDamaged() damaged}.
+     *
+     * @return The stored entries, oldest first.
+     * @throws IOException When the snapshot could not be read.
+     */
+    List<CompoundTag> read() throws IOException
+    {
+        final List<CompoundTag> entries = new ArrayList<>();
+
+        final Path snapshot = directory.resolve(SNAPSHOT_NAME);
+        if (Files.exists(snapshot))
+        {
+            final CompoundTag data = NbtIo.readCompressed(snapshot.toFile());
+            generation = data.getLong(GENERATION_KEY);
+            data.getList(CLIPBOARD_KEY, Tag.TAG_COMPOUND).stream()
+              .filter(CompoundTag.class::isInstance)
+              .map(CompoundTag.class::cast)
+              .forEach(entries::add);
+        }
+
+        final Path journal = getJournalFile(generation);
+        if (Files.exists(journal))
+        {
+            try (DataInputStream input = new DataInputStream(Files.newInputStream(journal)))
+            {
+                while (input.available() > 0)
+                {
+                    final int length = input.readInt();
+                    final byte[] record = input.readNBytes(length);
+                    if (record.length != length)
+                    {
+                        damaged = true;
+                        break;
+                    }
+
+                    entries.add(NbtIo.read(new DataInputStream(new ByteArrayInputStream(record))));
+                    journalEntries++;
+                }
+            }
+            catch (final IOException e)
+            {
+                damaged = true;
+            }
+        }
+
+        deleteStaleJournals();
+        return entries;
+    }
+
+    /**
+     * Appends an entry to the journal.
+     *
+     * @param entry The saved item stack of the entry.
+     * @throws IOException When the entry could not be written.
+     */
+    void append(final CompoundTag entry) throws IOException
+    {
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        NbtIo.write(entry, new DataOutputStream(record));
+
+        //Until the record is completely written, the journal might end with a partial record.
+        damaged = true;
+        final DataOutputStream output = getJournalOutput();
+        output.writeInt(record.size());
+        record.writeTo(output);
+        output.flush();
+        damaged = false;
+
+        journalEntries++;
+    }
+
+    /**
+     * Writes a new snapshot with the given entries, and starts a new, empty journal.
+     *
+     * @param entries The saved item stacks of all entries, oldest first.
+     * @throws IOException When the snapshot could not be written.
+     */
+    void compact(final List<CompoundTag> entries) throws IOException
+    {
+        final long nextGeneration = generation + 1;
+
+        final CompoundTag data = new CompoundTag();
+        final ListTag tags = new ListTag();
+        tags.addAll(entries);
+        data.put(CLIPBOARD_KEY, tags);
+        data.putLong(GENERATION_KEY, nextGeneration);
+
+        Files.createDirectories(directory);
+        final Path snapshot = directory.resolve(SNAPSHOT_NAME);
+        final Path temporary = directory.resolve(SNAPSHOT_NAME + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temporary))
+        {
+            NbtIo.writeCompressed(data, output);
+        }
+
+        try
+        {
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (final AtomicMoveNotSupportedException e)
+        {
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        closeJournal();
+        generation = nextGeneration;
+        journalEntries = 0;
+        damaged = false;
+        deleteStaleJournals();
+    }
+
+    /**
+     * The amount of entries in the journal, which are not part of the snapshot.
+     *
+     * @return The amount of journal entries.
+     */
+    int getJournalEntries()
+    {
+        return journalEntries;
+    }
+
+    /**
+     * Indicates if the journal ends with a partially written record, after which no further records can be appended.
+     * This is the case when the game stopped, or appending failed, while a record was written.
+     *
+     * @return {@code true} when the journal needs to be compacted before it is appended to.
+     */
+    boolean isDamaged()
+    {
+        return damaged;
+    }
+
+    private DataOutputStream getJournalOutput() throws IOException
+    {
+        if (journalOutput == null)
+        {
+            Files.createDirectories(directory);
+            journalOutput = new DataOutputStream(Files.newOutputStream(
+              getJournalFile(generation),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.APPEND
+            ));
+        }
+
+        return journalOutput;
+    }
+
+    private void closeJournal() throws IOException
+    {
+        if (journalOutput != null)
+        {
+            journalOutput.close();
+            journalOutput = null;
+        }
+    }
+
+    private Path getJournalFile(final long journalGeneration)
+    {
+        return directory.resolve(JOURNAL_PREFIX + journalGeneration + JOURNAL_SUFFIX);
+    }
+
+    private void deleteStaleJournals() throws IOException
+    {
+        if (!Files.isDirectory(directory))
+            return;
+
+        final Path current = getJournalFile(generation);
+        try (Stream<Path> files = Files.list(directory))
+        {
+            for (final Path file : (Iterable<Path>) files::iterator)
+            {
+                final String name = file.getFileName().toString();
+                if (name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX) && !file.equals(current))
+                    Files.deleteIfExists(file);
+            }
+        }
+    }
+}
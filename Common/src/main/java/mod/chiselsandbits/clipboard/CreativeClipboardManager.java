@@ -1,24 +1,32 @@
 package mod.chiselsandbits.clipboard;
 
 import com.google.common.collect.ImmutableList;
+import mod.chiselsandbits.ChiselsAndBits;
 import mod.chiselsandbits.api.client.clipboard.ICreativeClipboardManager;
 import mod.chiselsandbits.api.config.IClientConfiguration;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
 import mod.chiselsandbits.item.multistate.SingleBlockMultiStateItemStack;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
+import mod.chiselsandbits.utils.NbtFingerprint;
 import mod.chiselsandbits.utils.SimpleMaxSizedList;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.NbtIo;
-import net.minecraft.nbt.Tag;
 import net.minecraft.world.item.ItemStack;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Manages the contents of the creative clipboard.
+ *
+ * The clipboard is persisted by a background writer, which appends every new entry to a journal and periodically compacts it into a snapshot.
+ * The stored entries are read in the background when the game starts, and are only decoded once the clipboard is first displayed.
+ */
 public final class CreativeClipboardManager implements ICreativeClipboardManager
 {
     private static final Logger LOGGER = LogManager.getLogger();
@@ -29,80 +37,173 @@ public final class CreativeClipboardManager implements ICreativeClipboardManager
         return INSTANCE;
     }
 
-    private final SimpleMaxSizedList<IMultiStateItemStack> cache = new SimpleMaxSizedList<>(
+    private final SimpleMaxSizedList<ClipboardEntry> cache = new SimpleMaxSizedList<>(
       IClientConfiguration.getInstance().getClipboardSize()
     );
+    private final ClipboardJournal journal = new ClipboardJournal(Path.of(Constants.MOD_ID));
+    private final ExecutorService writer;
+
+    private CompletableFuture<List<CompoundTag>> storedEntries = CompletableFuture.completedFuture(List.of());
+    private boolean loaded = false;
 
     private CreativeClipboardManager()
     {
+        final ClassLoader classLoader = ChiselsAndBits.class.getClassLoader();
+        writer = Executors.newSingleThreadExecutor(
+          runnable -> {
+              final Thread thread = new Thread(runnable);
+              thread.setContextClassLoader(classLoader);
+              thread.setName("Chisels and Bits Clipboard writer");
+              thread.setDaemon(true);
+              return thread;
+          }
+        );
     }
 
     public void onGameStart() {
-        final File file = new File(Constants.MOD_ID + "/clipboard.dat");
-        if (!file.exists()) {
-            return;
+        storedEntries = CompletableFuture.supplyAsync(this::readStoredEntries, writer);
+    }
+
+    @Override
+    public List<IMultiStateItemStack> getClipboard()
+    {
+        synchronized (cache) {
+            ensureLoaded();
+            return cache.stream()
+              .map(ClipboardEntry::getStack)
+              .collect(ImmutableList.toImmutableList());
         }
+    }
 
+    @Override
+    public void addEntry(final IMultiStateItemStack multiStateItemStack)
+    {
+        final ClipboardEntry entry = new ClipboardEntry(multiStateItemStack);
+        final List<CompoundTag> contents;
+        synchronized (cache) {
+            ensureLoaded();
+            if (cache.contains(entry))
+                return;
+
+            cache.add(entry);
+            contents = cache.stream().map(ClipboardEntry::getTag).toList();
+        }
+
+        writer.execute(() -> writeEntry(entry.getTag(), contents));
+    }
+
+    private void ensureLoaded()
+    {
+        if (loaded)
+            return;
+
+        loaded = true;
+        storedEntries.join().stream()
+          .map(ClipboardEntry::new)
+          .forEach(cache::add);
+    }
+
+    private List<CompoundTag> readStoredEntries()
+    {
         try
         {
-            final CompoundTag data = NbtIo.readCompressed(file);
-            final ListTag tags = data.getList("clipboard", Tag.TAG_COMPOUND);
-            tags.stream()
-              .filter(CompoundTag.class::isInstance)
-              .map(CompoundTag.class::cast)
-              .map(ItemStack::of)
-              .map(SingleBlockMultiStateItemStack::new)
-              .forEach(cache::add);
+            final List<CompoundTag> entries = journal.read();
+            final int maxSize = IClientConfiguration.getInstance().getClipboardSize().get();
+            final List<CompoundTag> retainedEntries = entries.subList(Math.max(0, entries.size() - maxSize), entries.size());
+            if (journal.isDamaged() || journal.getJournalEntries() >= maxSize)
+                journal.compact(retainedEntries);
+
+            return retainedEntries;
         }
         catch (IOException e)
         {
             LOGGER.fatal("Failed to read a clipboard file!", e);
+            return List.of();
         }
     }
 
-    private void writeContentsToDisk() {
-        final CompoundTag data = new CompoundTag();
-        final ListTag tags = new ListTag();
+    /**
+     * Writes a new entry to disk, running on the background writer.
+     *
+     * @param entry The saved stack of the new entry.
+     * @param contents The saved stacks of all entries, including the new one, used when the journal needs to be compacted.
+     */
+    private void writeEntry(final CompoundTag entry, final List<CompoundTag> contents)
+    {
+        try
+        {
+            if (journal.isDamaged() || journal.getJournalEntries() >= IClientConfiguration.getInstance().getClipboardSize().get())
+                journal.compact(contents);
+            else
+                journal.append(entry);
+        }
+        catch (IOException e)
+        {
+            LOGGER.fatal("Failed to write a clipboard file!", e);
+        }
+    }
 
-        cache.stream()
-          .map(IMultiStateItemStack::toBlockStack)
-          .map(stack -> stack.save(new CompoundTag()))
-          .forEach(tags::add);
+    /**
+     * An entry of the clipboard, which keeps the saved form of its stack and only decodes it when it is needed.
+     * Entries are equal when the saved forms of their stacks are equal.
+     */
+    private static final class ClipboardEntry
+    {
+        private final CompoundTag          tag;
+        private       IMultiStateItemStack stack;
+        private       NbtFingerprint       fingerprint;
 
-        data.put("clipboard", tags);
+        private ClipboardEntry(final CompoundTag tag)
+        {
+            this.tag = tag;
+        }
 
-        final File file = new File(Constants.MOD_ID + "/clipboard.dat");
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
+        private ClipboardEntry(final IMultiStateItemStack stack)
+        {
+            this.tag = stack.toBlockStack().save(new CompoundTag());
+            this.stack = stack;
         }
-        else
+
+        private CompoundTag getTag()
         {
-            file.delete();
+            return tag;
         }
 
-        try
+        private synchronized IMultiStateItemStack getStack()
         {
-            file.createNewFile();
-            NbtIo.writeCompressed(data, file);
+            if (stack == null)
+            {
+                //The tag is shared with the background writer, so the stack, which might upgrade its data, gets a copy of it.
+                stack = new SingleBlockMultiStateItemStack(ItemStack.of(tag.copy()));
+            }
+
+            return stack;
         }
-        catch (IOException e)
+
+        private synchronized NbtFingerprint getFingerprint()
         {
-            LOGGER.fatal("Failed to create a clipboard file!", e);
+            if (fingerprint == null)
+                fingerprint = NbtFingerprint.of(tag);
+
+            return fingerprint;
         }
-    }
 
-    @Override
-    public List<IMultiStateItemStack> getClipboard()
-    {
-        return ImmutableList.copyOf(cache);
-    }
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+                return true;
 
-    @Override
-    public void addEntry(final IMultiStateItemStack multiStateItemStack)
-    {
-        synchronized (cache) {
-            cache.add(multiStateItemStack);
-            writeContentsToDisk();
+            if (!(o instanceof final ClipboardEntry that))
+                return false;
+
+            return getFingerprint().equals(that.getFingerprint());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return getFingerprint().hashCode();
         }
     }
 }
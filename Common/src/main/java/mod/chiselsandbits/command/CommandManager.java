@@ -17,6 +17,7 @@ import mod.chiselsandbits.api.exceptions.SpaceOccupiedException;
 import mod.chiselsandbits.api.inventory.bit.IBitInventory;
 import mod.chiselsandbits.api.inventory.management.IBitInventoryManager;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
+import mod.chiselsandbits.api.metrics.IMetricsRegistry;
 import mod.chiselsandbits.api.multistate.mutator.IMutableStateEntryInfo;
 import mod.chiselsandbits.api.multistate.mutator.IMutatorFactory;
 import mod.chiselsandbits.api.multistate.mutator.batched.IBatchMutation;
@@ -25,10 +26,13 @@ import mod.chiselsandbits.api.profiling.IProfilerResult;
 import mod.chiselsandbits.api.profiling.IProfilingManager;
 import mod.chiselsandbits.api.util.BlockStateUtils;
 import mod.chiselsandbits.api.util.LocalStrings;
+import mod.chiselsandbits.metrics.MetricsDumper;
 import mod.chiselsandbits.network.packets.ExportPatternCommandMessagePacket;
 import mod.chiselsandbits.network.packets.ImportPatternCommandMessagePacket;
+import mod.chiselsandbits.platforms.core.util.constants.Constants;
 import mod.chiselsandbits.profiling.ProfilingManager;
 import mod.chiselsandbits.utils.CommandUtils;
+import net.minecraft.Util;
 import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -45,10 +49,15 @@ import net.minecraft.network.chat.TranslatableComponent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
 public class CommandManager
 {
-    private static final CommandManager INSTANCE = new CommandManager();
-    private static final Logger         LOGGER   = LogManager.getLogger();
+    private static final CommandManager    INSTANCE  = new CommandManager();
+    private static final Logger            LOGGER    = LogManager.getLogger();
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss");
 
     private CommandManager()
     {
@@ -108,9 +117,21 @@ public class CommandManager
                             .executes(this::startProfiling)
                     )
                     .then(Commands.literal("stop")
+                            .then(Commands.literal("json")
+                                    .executes(this::stopProfilingToJson)
+                            )
                             .executes(this::stopProfiling)
                     )
             )
+            .then(Commands.literal("metrics")
+                    .then(Commands.literal("dump")
+                            .then(Commands.argument("interval", IntegerArgumentType.integer(0, 3600))
+                                    .executes(this::dumpMetricsPeriodically)
+                            )
+                            .executes(this::dumpMetrics)
+                    )
+                    .executes(this::showMetrics)
+            )
             .then(Commands.literal("undo")
               .then(Commands.argument("target", EntityArgument.player())
                 .executes(this::undoFor)
@@ -285,6 +306,59 @@ public class CommandManager
         return 0;
     }
 
+    private int stopProfilingToJson(final CommandContext<CommandSourceStack> context) throws CommandSyntaxException
+    {
+        if (!ProfilingManager.getInstance().hasProfiler()) {
+            context.getSource().sendFailure(new TextComponent("Not yet profiling!"));
+            return 1;
+        }
+
+        final IProfilerResult result = IProfilingManager.getInstance().endProfiling(ProfilingManager.getInstance().getProfiler());
+        ProfilingManager.getInstance().setProfiler(null);
+
+        final Path file = Path.of(Constants.MOD_ID, "profiling", "profiling-" + FORMATTER.format(LocalDateTime.now()) + ".json");
+        Util.ioPool().execute(() -> result.writeToFile(file));
+        context.getSource().sendSuccess(new TextComponent("Writing profiling results to: " + file.toAbsolutePath()), true);
+
+        return 0;
+    }
+
+    private int showMetrics(final CommandContext<CommandSourceStack> context) throws CommandSyntaxException
+    {
+        IMetricsRegistry.getInstance().snapshot().writeAsResponse(line -> context.getSource().sendSuccess(new TextComponent(line), true));
+
+        return 0;
+    }
+
+    private int dumpMetrics(final CommandContext<CommandSourceStack> context) throws CommandSyntaxException
+    {
+        final Path file = MetricsDumper.getInstance().write(IMetricsRegistry.getInstance().snapshot());
+        context.getSource().sendSuccess(new TextComponent("Writing metrics to: " + file.toAbsolutePath()), true);
+
+        return 0;
+    }
+
+    private int dumpMetricsPeriodically(final CommandContext<CommandSourceStack> context) throws CommandSyntaxException
+    {
+        final int interval = IntegerArgumentType.getInteger(context, "interval");
+        if (interval == 0)
+        {
+            if (!MetricsDumper.getInstance().stop())
+            {
+                context.getSource().sendFailure(new TextComponent("Metrics are not being dumped!"));
+                return 1;
+            }
+
+            context.getSource().sendSuccess(new TextComponent("Stopped dumping metrics."), true);
+            return 0;
+        }
+
+        MetricsDumper.getInstance().start(context.getSource().getServer(), interval);
+        context.getSource().sendSuccess(new TextComponent("Dumping metrics every " + interval + " seconds to: " + Path.of(Constants.MOD_ID, "metrics").toAbsolutePath()), true);
+
+        return 0;
+    }
+
     private int redoFor(final CommandContext<CommandSourceStack> context) throws CommandSyntaxException
     {
         final Player target = EntityArgument.getPlayer(context, "target");
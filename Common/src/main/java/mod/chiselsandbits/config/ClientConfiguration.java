@@ -31,6 +31,13 @@ public class ClientConfiguration implements IClientConfiguration
     private final Supplier<Boolean>               addBrokenBlocksToClipboard;
     private final Supplier<Boolean> addPickedBlocksToClipboard;
     private final Supplier<String>        patternExportPath;
+    private final Supplier<Boolean>       faceWarmUpEnabled;
+    private final Supplier<Integer>       faceWarmUpTimeLimit;
+    private final Supplier<Boolean>       meshDiskCacheEnabled;
+    private final Supplier<Integer>       meshDiskCacheSize;
+    private final Supplier<Boolean>       lodEnabled;
+    private final Supplier<Integer>       lodDownsampleDistance;
+    private final Supplier<Integer>       lodCubeDistance;
 
     public ClientConfiguration()
     {
@@ -55,6 +62,13 @@ public class ClientConfiguration implements IClientConfiguration
         modelBuildingThreadCount = builder.defineInteger("performance.model-building.thead-count", Math.max(1, Runtime.getRuntime().availableProcessors()) / 2, 1, Runtime.getRuntime()
           .availableProcessors());
         stackModelCacheSize = builder.defineLong("performance.caches.sizes.stack-models", 100, 0, Long.MAX_VALUE);
+        faceWarmUpEnabled = builder.defineBoolean("performance.caches.face-warm-up.enabled", false);
+        faceWarmUpTimeLimit = builder.defineInteger("performance.caches.face-warm-up.time-limit", 30, 1, 600);
+        meshDiskCacheEnabled = builder.defineBoolean("performance.caches.disk.enabled", true);
+        meshDiskCacheSize = builder.defineInteger("performance.caches.disk.size", 256, 16, 4096);
+        lodEnabled = builder.defineBoolean("performance.lod.enabled", true);
+        lodDownsampleDistance = builder.defineInteger("performance.lod.downsample-distance", 48, 8, 512);
+        lodCubeDistance = builder.defineInteger("performance.lod.cube-distance", 96, 8, 512);
 
         builder.setup();
     }
@@ -166,4 +180,46 @@ public class ClientConfiguration implements IClientConfiguration
     {
         return stackModelCacheSize;
     }
+
+    @Override
+    public Supplier<Boolean> getFaceWarmUpEnabled()
+    {
+        return faceWarmUpEnabled;
+    }
+
+    @Override
+    public Supplier<Integer> getFaceWarmUpTimeLimit()
+    {
+        return faceWarmUpTimeLimit;
+    }
+
+    @Override
+    public Supplier<Boolean> getMeshDiskCacheEnabled()
+    {
+        return meshDiskCacheEnabled;
+    }
+
+    @Override
+    public Supplier<Integer> getMeshDiskCacheSize()
+    {
+        return meshDiskCacheSize;
+    }
+
+    @Override
+    public Supplier<Boolean> getLodEnabled()
+    {
+        return lodEnabled;
+    }
+
+    @Override
+    public Supplier<Integer> getLodDownsampleDistance()
+    {
+        return lodDownsampleDistance;
+    }
+
+    @Override
+    public Supplier<Integer> getLodCubeDistance()
+    {
+        return lodCubeDistance;
+    }
 }
@@ -13,7 +13,9 @@ public class CommonConfiguration implements ICommonConfiguration
 
     private final Supplier<Boolean> enableHelp;
     private final Supplier<Long> collisionBoxCacheSize;
+    private final Supplier<Long> decodedStackCacheSize;
     private final Supplier<Integer> blockSaveThreadCount;
+    private final Supplier<Boolean> flightRecorderEventsEnabled;
 
     public CommonConfiguration() {
         final IConfigurationBuilder builder = IConfigurationManager.getInstance().createBuilder(
@@ -22,8 +24,10 @@ public class CommonConfiguration implements ICommonConfiguration
 
         enableHelp = builder.defineBoolean("help.enabled-in-tooltips", true);
         collisionBoxCacheSize = builder.defineLong("performance.caches.sizes.collision-boxes", 10000, 0, Long.MAX_VALUE);
+        decodedStackCacheSize = builder.defineLong("performance.caches.sizes.decoded-stacks", 1000, 0, Long.MAX_VALUE);
         blockSaveThreadCount = builder.defineInteger("performance.saving.thread-count", Math.max(1, Runtime.getRuntime().availableProcessors()) / 2, 1, Runtime.getRuntime()
           .availableProcessors());
+        flightRecorderEventsEnabled = builder.defineBoolean("performance.flight-recorder.enabled", false);
 
         builder.setup();
     }
@@ -40,9 +44,21 @@ public class CommonConfiguration implements ICommonConfiguration
         return collisionBoxCacheSize;
     }
 
+    @Override
+    public Supplier<Long> getDecodedStackCacheSize()
+    {
+        return decodedStackCacheSize;
+    }
+
     @Override
     public Supplier<Integer> getBlockSaveThreadCount()
     {
         return blockSaveThreadCount;
     }
+
+    @Override
+    public Supplier<Boolean> getFlightRecorderEventsEnabled()
+    {
+        return flightRecorderEventsEnabled;
+    }
 }
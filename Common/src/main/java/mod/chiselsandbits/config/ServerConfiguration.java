@@ -19,6 +19,9 @@ public class ServerConfiguration implements IServerConfiguration
     private final Supplier<Integer>        changeTrackerSize;
     private final Supplier<Boolean>        deleteExcessBits;
     private final Supplier<Double> lightFactorMultiplier;
+    private final Supplier<Boolean>        collapseUniformBlocks;
+    private final Supplier<Boolean>        printerHighThroughputEnabled;
+    private final Supplier<Integer>        printerHighThroughputBatchSize;
 
     public ServerConfiguration() {
         final IConfigurationBuilder builder = IConfigurationManager.getInstance().createBuilder(
@@ -32,6 +35,9 @@ public class ServerConfiguration implements IServerConfiguration
         changeTrackerSize = builder.defineInteger("balancing.change-tracker-size", 20, 10, 40);
         deleteExcessBits = builder.defineBoolean("balancing.delete-excess-bits", true);
         lightFactorMultiplier = builder.defineDouble("balancing.light-factor-multiplier", 1,0, 4096);
+        collapseUniformBlocks = builder.defineBoolean("balancing.collapse-uniform-blocks", true);
+        printerHighThroughputEnabled = builder.defineBoolean("performance.printer.high-throughput.enabled", false);
+        printerHighThroughputBatchSize = builder.defineInteger("performance.printer.high-throughput.batch-size", 8, 1, 64);
 
         builder.setup();
     }
@@ -77,4 +83,22 @@ public class ServerConfiguration implements IServerConfiguration
     {
         return lightFactorMultiplier;
     }
+
+    @Override
+    public Supplier<Boolean> getCollapseUniformBlocks()
+    {
+        return collapseUniformBlocks;
+    }
+
+    @Override
+    public Supplier<Boolean> getPrinterHighThroughputEnabled()
+    {
+        return printerHighThroughputEnabled;
+    }
+
+    @Override
+    public Supplier<Integer> getPrinterHighThroughputBatchSize()
+    {
+        return printerHighThroughputBatchSize;
+    }
 }
@@ -1,25 +1,17 @@
 package mod.chiselsandbits.inventory.bit;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import mod.chiselsandbits.api.inventory.bit.IBitInventory;
-import mod.chiselsandbits.api.inventory.bit.IBitInventoryItem;
 import mod.chiselsandbits.api.inventory.bit.IBitInventoryItemStack;
-import mod.chiselsandbits.api.item.bit.IBitItem;
 import mod.chiselsandbits.api.item.bit.IBitItemManager;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.util.Tuple;
+import net.minecraft.world.level.block.state.BlockState;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.BinaryOperator;
-import java.util.function.Function;
-import java.util.stream.IntStream;
 
 public abstract class AbstractBitInventory implements IBitInventory
 {
+    private BitInventoryIndex index = null;
 
     protected AbstractBitInventory() {}
 
@@ -46,40 +38,32 @@ public abstract class AbstractBitInventory implements IBitInventory
     @Override
     public int getMaxExtractAmount(final BlockState blockState)
     {
-        return IntStream.range(0, getInventorySize())
-                 .mapToObj(this::getItem)
-                 .filter(stack -> stack.getItem() instanceof IBitItem || stack.getItem() instanceof IBitInventoryItem)
-                 .mapToInt(stack -> {
-                     if (stack.getItem() instanceof IBitItem) {
-                         final IBitItem bitItem = (IBitItem) stack.getItem();
-                         if (bitItem.getBitState(stack) == blockState)
-                             return stack.getCount();
-
-                         return 0;
-                     }
-
-                     if (stack.getItem() instanceof IBitInventoryItem) {
-                         final IBitInventoryItem bitInventoryItem = (IBitInventoryItem) stack.getItem();
-                         final IBitInventory bitInventory = bitInventoryItem.create(stack);
-                         return bitInventory.getMaxExtractAmount(blockState);
-                     }
-
-                     return 0;
-                 })
-                 .sum();
+        return getIndex().getMaxExtractAmount(blockState);
     }
 
     /**
      * Gets a copy of the stack that is in the given slot.
-     * 
+     *
      * @param index The index of the slot to read.
      * @return A copy of the stack in the slot.
      */
     protected abstract ItemStack getItem(final int index);
 
+    /**
+     * Gets the stack that is in the given slot, without copying it.
+     * The stack is only used to detect changes to the inventory, and is never modified.
+     *
+     * @param index The index of the slot to read.
+     * @return The stack in the slot.
+     */
+    protected ItemStack peekItem(final int index)
+    {
+        return getItem(index);
+    }
+
     /**
      * The size of the inventory.
-     * 
+     *
      * @return The size of the inventory.
      */
     protected abstract int getInventorySize();
@@ -94,47 +78,31 @@ public abstract class AbstractBitInventory implements IBitInventory
     @Override
     public void extract(final BlockState blockState, final int count) throws IllegalArgumentException
     {
-        if (!canExtract(blockState, count))
-            throw new IllegalArgumentException("Can not extract: " + blockState);
-
-        int toExtract = count;
-
-        for (int i = getInventorySize() - 1; i >= 0; i--)
-        {
-            final ItemStack stack = getItem(i);
-            if (stack.getItem() instanceof IBitInventoryItem) {
-                final IBitInventoryItem bitInventoryItem = (IBitInventoryItem) stack.getItem();
-                final IBitInventoryItemStack bitInventory = bitInventoryItem.create(stack);
-
-                final int inventoryExtractCount = Math.min(toExtract, bitInventory.getMaxExtractAmount(blockState));
-                toExtract -= inventoryExtractCount;
-
-                bitInventory.extract(blockState, inventoryExtractCount);
-
-                final ItemStack newStack = bitInventory.toItemStack();
-
-                setSlotContents(i, newStack);
-            }
-        }
-
-        if (toExtract <= 0)
-            return;
-
-        for (int i = getInventorySize() - 1; i >= 0; i--)
-        {
-            final ItemStack stack = getItem(i);
-            if (stack.getItem() instanceof IBitItem) {
-                final IBitItem bitItem = (IBitItem) stack.getItem();
-                if (bitItem.getBitState(stack) == blockState) {
-                    final int stackExtractCount = Math.min(toExtract, stack.getCount());
-                    toExtract -= stackExtractCount;
+        extractAll(Map.of(blockState, count));
+    }
 
-                    stack.setCount(stack.getCount() - stackExtractCount);
+    /**
+     * Extracts all the given amounts of bits from the current inventory.
+     * Every modified bit bag is written back into the inventory exactly once.
+     *
+     * @param counts The amount of bits to extract, per blockstate.
+     * @throws IllegalArgumentException when extraction of all bits is not possible.
+     */
+    @Override
+    public void extractAll(final Map<BlockState, Integer> counts) throws IllegalArgumentException
+    {
+        if (!canExtractAll(counts))
+            throw new IllegalArgumentException("Can not extract: " + counts);
 
-                    setSlotContents(i, stack);
-                }
+        final Transaction transaction = new Transaction(getIndex());
+        counts.forEach((state, count) -> {
+            if (transaction.extract(state, count) > 0)
+            {
+                transaction.rollback();
+                throw new IllegalArgumentException("Can not extract: " + state);
             }
-        }
+        });
+        transaction.commit();
     }
 
     /**
@@ -172,30 +140,7 @@ public abstract class AbstractBitInventory implements IBitInventory
     @Override
     public int getMaxInsertAmount(final BlockState blockState)
     {
-        return IntStream.range(0, getInventorySize())
-                 .mapToObj(this::getItem)
-                 .filter(stack -> stack.getItem() instanceof IBitItem || stack.getItem() instanceof IBitInventoryItem || stack.isEmpty())
-                 .mapToInt(stack -> {
-                     if (stack.isEmpty())
-                         return getMaxBitsForSlot();
-
-                     if (stack.getItem() instanceof IBitItem) {
-                         final IBitItem bitItem = (IBitItem) stack.getItem();
-                         if (bitItem.getBitState(stack) == blockState)
-                             return getMaxBitsForSlot() - stack.getCount();
-
-                         return 0;
-                     }
-
-                     if (stack.getItem() instanceof IBitInventoryItem) {
-                         final IBitInventoryItem bitInventoryItem = (IBitInventoryItem) stack.getItem();
-                         final IBitInventory bitInventory = bitInventoryItem.create(stack);
-                         return bitInventory.getMaxInsertAmount(blockState);
-                     }
-
-                     return 0;
-                 })
-                 .sum();
+        return getIndex().getMaxInsertAmount(blockState);
     }
 
     /**
@@ -208,168 +153,240 @@ public abstract class AbstractBitInventory implements IBitInventory
     @Override
     public void insert(final BlockState blockState, final int count) throws IllegalArgumentException
     {
-        if (!canInsert(blockState, count))
-            throw new IllegalArgumentException("Can not insert: " + blockState);
+        insertAll(Map.of(blockState, count));
+    }
 
-        int currentRawCount = 0;
-        for (int i = 0; i < getInventorySize(); i++)
-        {
-            final ItemStack stack = getItem(i);
-            if (stack.getItem() instanceof IBitItem) {
-                final IBitItem bitItem = (IBitItem) stack.getItem();
-                if (bitItem.getBitState(stack) == blockState) {
-                    currentRawCount += stack.getCount();
-                }
+    /**
+     * Inserts all the given amounts of bits into the current inventory.
+     * The bits are inserted into a working copy of the inventory first, so states which compete for the same free slots
+     * either all fit, or the inventory is left untouched. Every modified bit bag is written back exactly once.
+     *
+     * @param counts The amount of bits to insert, per blockstate.
+     * @throws IllegalArgumentException when insertion of all bits is not possible.
+     */
+    @Override
+    public void insertAll(final Map<BlockState, Integer> counts) throws IllegalArgumentException
+    {
+        if (!counts.entrySet().stream().allMatch(entry -> canInsert(entry.getKey(), entry.getValue())))
+            throw new IllegalArgumentException("Can not insert: " + counts);
+
+        final Transaction transaction = new Transaction(getIndex());
+        counts.forEach((state, count) -> {
+            if (transaction.insert(state, count) > 0)
+            {
+                transaction.rollback();
+                throw new IllegalArgumentException("Can not insert: " + state);
             }
-        }
+        });
+        transaction.commit();
+    }
 
-        int toInsert = count;
+    @Override
+    public Map<BlockState, Integer> getContainedStates()
+    {
+        return Maps.newHashMap(getIndex().getContainedStates());
+    }
 
-        if (currentRawCount == 0) {
-            for (int i = 0; i < getInventorySize(); i++)
-            {
-                final ItemStack stack = getItem(i);
-                if (stack.isEmpty()) {
-                    final int stackInsertCount = Math.min(toInsert, getMaxBitsForSlot());
+    /**
+     * Discards the cached index of the contents of this inventory.
+     * Needs to be called by implementations whenever their contents change without the stacks in their slots being replaced.
+     */
+    protected void invalidateIndex()
+    {
+        this.index = null;
+    }
 
-                    if (stackInsertCount > 0) {
-                        toInsert -= stackInsertCount;
+    private BitInventoryIndex getIndex()
+    {
+        if (this.index == null || !this.index.isValid())
+            this.index = new BitInventoryIndex(this);
 
-                        final ItemStack newStack = IBitItemManager.getInstance().create(blockState, stackInsertCount);
+        return this.index;
+    }
 
-                        setSlotContents(i, newStack);
-                        break;
-                    }
-                }
+    /**
+     * A set of modifications to the inventory, which are only written into the inventory when the transaction is committed.
+     * Loose bits are modified on copies of their stacks, and bit bags are modified on the decoded bags of the index.
+     */
+    private final class Transaction
+    {
+        private final BitInventoryIndex index;
+        private final ItemStack[]       workingStacks;
+        private final BlockState[]      states;
+        private final boolean[]         dirty;
 
-                if (toInsert <= 0)
-                    return;
-            }
-        }
+        private Transaction(final BitInventoryIndex index)
+        {
+            this.index = index;
 
-        if (currentRawCount < getMaxBitsForSlot()) {
-            for (int i = 0; i < getInventorySize(); i++)
+            final int size = getInventorySize();
+            this.workingStacks = new ItemStack[size];
+            this.states = new BlockState[size];
+            this.dirty = new boolean[size];
+            for (int i = 0; i < size; i++)
             {
-                final ItemStack stack = getItem(i);
-                if (stack.getItem() instanceof IBitItem) {
-                    final IBitItem bitItem = (IBitItem) stack.getItem();
-                    if (bitItem.getBitState(stack) == blockState) {
-                        final int stackInsertCount = Math.min(toInsert, getMaxBitsForSlot() - stack.getCount());
+                states[i] = index.getBitState(i);
+            }
+        }
 
-                        if (stackInsertCount > 0) {
-                            toInsert -= stackInsertCount;
+        /**
+         * Extracts the bits, from bit bags first and then from loose bits, starting with the last slot.
+         *
+         * @return The amount of bits which could not be extracted.
+         */
+        private int extract(final BlockState state, final int count)
+        {
+            int toExtract = count;
 
-                            stack.setCount(stack.getCount() + stackInsertCount);
+            for (int i = workingStacks.length - 1; i >= 0 && toExtract > 0; i--)
+            {
+                final IBitInventoryItemStack bag = index.getBag(i);
+                if (bag == null)
+                    continue;
+
+                final int bagExtractCount = Math.min(toExtract, bag.getMaxExtractAmount(state));
+                if (bagExtractCount > 0)
+                {
+                    bag.extract(state, bagExtractCount);
+                    dirty[i] = true;
+                    toExtract -= bagExtractCount;
+                }
+            }
 
-                            setSlotContents(i, stack);
-                        }
-                    }
+            for (int i = workingStacks.length - 1; i >= 0 && toExtract > 0; i--)
+            {
+                if (states[i] != state)
+                    continue;
+
+                final ItemStack stack = getWorkingStack(i);
+                final int stackExtractCount = Math.min(toExtract, stack.getCount());
+                if (stackExtractCount > 0)
+                {
+                    stack.shrink(stackExtractCount);
+                    dirty[i] = true;
+                    toExtract -= stackExtractCount;
                 }
 
-                if (toInsert <= 0)
-                    return;
+                if (stack.isEmpty())
+                    states[i] = null;
             }
+
+            return toExtract;
         }
 
-        for (int i = getInventorySize() - 1; i >= 0; i--)
+        /**
+         * Inserts the bits, preferring loose bits of the same state, then bit bags and then free slots.
+         *
+         * @return The amount of bits which could not be inserted.
+         */
+        private int insert(final BlockState state, final int count)
         {
-            final ItemStack stack = getItem(i);
-            if (stack.getItem() instanceof IBitInventoryItem) {
-                final IBitInventoryItem bitInventoryItem = (IBitInventoryItem) stack.getItem();
-                final IBitInventoryItemStack bitInventory = bitInventoryItem.create(stack);
+            int toInsert = count;
 
-                final int inventoryInsertCount = Math.min(toInsert, bitInventory.getMaxInsertAmount(blockState));
+            boolean hasLooseBits = false;
+            for (final BlockState slotState : states)
+            {
+                hasLooseBits |= slotState == state;
+            }
 
-                if (inventoryInsertCount > 0) {
-                    toInsert -= inventoryInsertCount;
+            //Without loose bits of the state, a single free slot is used first, so that the bits show up in the inventory.
+            if (!hasLooseBits)
+                toInsert = fillFreeSlots(state, toInsert, true);
 
-                    bitInventory.insert(blockState, inventoryInsertCount);
+            toInsert = fillLooseBits(state, toInsert);
 
-                    final ItemStack newStack = bitInventory.toItemStack();
-                    setSlotContents(i, newStack);
+            for (int i = workingStacks.length - 1; i >= 0 && toInsert > 0; i--)
+            {
+                final IBitInventoryItemStack bag = index.getBag(i);
+                if (bag == null)
+                    continue;
+
+                final int bagInsertCount = Math.min(toInsert, bag.getMaxInsertAmount(state));
+                if (bagInsertCount > 0)
+                {
+                    bag.insert(state, bagInsertCount);
+                    dirty[i] = true;
+                    toInsert -= bagInsertCount;
                 }
             }
 
-            if (toInsert <= 0)
-                return;
+            return fillFreeSlots(state, toInsert, false);
         }
 
-
-        for (int i = 0; i < getInventorySize(); i++)
+        private int fillLooseBits(final BlockState state, int toInsert)
         {
-            final ItemStack stack = getItem(i);
-            if (stack.getItem() instanceof IBitItem) {
-                final IBitItem bitItem = (IBitItem) stack.getItem();
-                if (bitItem.getBitState(stack) == blockState) {
-                    final int stackInsertCount = Math.min(toInsert, getMaxBitsForSlot() - stack.getCount());
+            for (int i = 0; i < workingStacks.length && toInsert > 0; i++)
+            {
+                if (states[i] != state)
+                    continue;
+
+                final ItemStack stack = getWorkingStack(i);
+                final int stackInsertCount = Math.min(toInsert, getMaxBitsForSlot() - stack.getCount());
+                if (stackInsertCount > 0)
+                {
+                    stack.grow(stackInsertCount);
+                    dirty[i] = true;
+                    toInsert -= stackInsertCount;
+                }
+            }
 
-                    if (stackInsertCount > 0) {
-                        toInsert -= stackInsertCount;
+            return toInsert;
+        }
 
-                        stack.setCount(stack.getCount() + stackInsertCount);
+        private int fillFreeSlots(final BlockState state, int toInsert, final boolean singleSlot)
+        {
+            for (int i = 0; i < workingStacks.length && toInsert > 0; i++)
+            {
+                if (!isFree(i))
+                    continue;
 
-                        setSlotContents(i, stack);
-                    }
-                }
+                final int stackInsertCount = Math.min(toInsert, getMaxBitsForSlot());
+                workingStacks[i] = IBitItemManager.getInstance().create(state, stackInsertCount);
+                states[i] = state;
+                dirty[i] = true;
+                toInsert -= stackInsertCount;
+
+                if (singleSlot)
+                    break;
             }
 
-            if (toInsert <= 0)
-                return;
+            return toInsert;
         }
 
-        for (int i = 0; i < getInventorySize(); i++)
+        private boolean isFree(final int index)
         {
-            final ItemStack stack = getItem(i);
-            if (stack.isEmpty()) {
-                final int stackInsertCount = Math.min(toInsert, getMaxBitsForSlot());
+            if (workingStacks[index] != null)
+                return workingStacks[index].isEmpty();
 
-                if (stackInsertCount > 0) {
-                    toInsert -= stackInsertCount;
+            return peekItem(index).isEmpty();
+        }
 
-                    final ItemStack newStack = IBitItemManager.getInstance().create(blockState, stackInsertCount);
+        private ItemStack getWorkingStack(final int index)
+        {
+            if (workingStacks[index] == null)
+                workingStacks[index] = getItem(index).copy();
 
-                    setSlotContents(i, newStack);
-                }
+            return workingStacks[index];
+        }
+
+        private void commit()
+        {
+            for (int i = 0; i < dirty.length; i++)
+            {
+                if (!dirty[i])
+                    continue;
+
+                final IBitInventoryItemStack bag = index.getBag(i);
+                setSlotContents(i, bag != null ? bag.toItemStack() : workingStacks[i]);
             }
 
-            if (toInsert <= 0)
-                return;
+            invalidateIndex();
         }
-    }
 
-    @Override
-    public Map<BlockState, Integer> getContainedStates()
-    {
-        return IntStream.range(0, getInventorySize())
-          .mapToObj(this::getItem)
-          .filter(stack -> stack.getItem() instanceof IBitItem || stack.getItem() instanceof IBitInventoryItem)
-          .map((Function<ItemStack, HashMap<BlockState, Integer>>) stack -> {
-              if (stack.getItem() instanceof IBitItem) {
-                  final IBitItem bitItem = (IBitItem) stack.getItem();
-                  return Maps.newHashMap(ImmutableMap.of(bitItem.getBitState(stack), stack.getCount()));
-              }
-
-              if (stack.getItem() instanceof IBitInventoryItem) {
-                  final IBitInventoryItem bitInventoryItem = (IBitInventoryItem) stack.getItem();
-                  final IBitInventory bitInventory = bitInventoryItem.create(stack);
-                  return Maps.newHashMap(bitInventory.getContainedStates());
-              }
-
-              return Maps.newHashMap(ImmutableMap.of());
-          })
-          .reduce(
-            Maps.newHashMap(),
-            (blockStateIntegerHashMap, blockStateIntegerHashMap2) -> {
-                final HashMap<BlockState, Integer> result = Maps.newHashMap(blockStateIntegerHashMap);
-                blockStateIntegerHashMap2.forEach((state, count) -> {
-                    if (!result.containsKey(state))
-                        result.put(state, count);
-                    else
-                        result.put(state, result.get(state) + count);
-                });
-
-                return result;
-            }
-          );
+        private void rollback()
+        {
+            //The decoded bags of the index have been modified, so the index can not be used anymore.
+            invalidateIndex();
+        }
     }
 }
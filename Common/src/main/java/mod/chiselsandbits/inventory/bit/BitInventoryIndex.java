@@ -0,0 +1,141 @@
+package mod.chiselsandbits.inventory.bit;
+
+import com.google.common.collect.Maps;
+import mod.chiselsandbits.api.inventory.bit.IBitInventoryItem;
+import mod.chiselsandbits.api.inventory.bit.IBitInventoryItemStack;
+import mod.chiselsandbits.api.item.bit.IBitItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An index of the contents of an {@link AbstractBitInventory}.
+ *
+ * The index decodes every bit bag in the inventory exactly once and keeps the totals of every state, so that repeated queries
+ * during a single operation do not need to scan and decode the inventory again.
+ * It remembers the stacks it was built from, and is considered stale as soon as any slot holds another stack or another amount.
+ */
+final class BitInventoryIndex
+{
+    private final AbstractBitInventory inventory;
+    private final int maxBitsForSlot;
+
+    private final ItemStack[]              observedStacks;
+    private final int[]                    observedCounts;
+    private final BlockState[]             bitStates;
+    private final IBitInventoryItemStack[] bags;
+    private final int                      emptySlots;
+
+    private final Map<BlockState, Integer> extractableAmounts = Maps.newHashMap();
+    private final Map<BlockState, Integer> insertableAmounts = Maps.newHashMap();
+
+    BitInventoryIndex(final AbstractBitInventory inventory)
+    {
+        this.inventory = inventory;
+        this.maxBitsForSlot = inventory.getMaxBitsForSlot();
+
+        final int size = inventory.getInventorySize();
+        this.observedStacks = new ItemStack[size];
+        this.observedCounts = new int[size];
+        this.bitStates = new BlockState[size];
+        this.bags = new IBitInventoryItemStack[size];
+
+        int emptySlots = 0;
+        for (int i = 0; i < size; i++)
+        {
+            observedStacks[i] = inventory.peekItem(i);
+            observedCounts[i] = observedStacks[i].getCount();
+
+            final ItemStack stack = inventory.getItem(i);
+            if (stack.isEmpty())
+            {
+                emptySlots++;
+            }
+            else if (stack.getItem() instanceof final IBitItem bitItem)
+            {
+                bitStates[i] = bitItem.getBitState(stack);
+                extractableAmounts.merge(bitStates[i], stack.getCount(), Integer::sum);
+            }
+            else if (stack.getItem() instanceof final IBitInventoryItem bitInventoryItem)
+            {
+                bags[i] = bitInventoryItem.create(stack);
+                bags[i].getContainedStates().forEach((state, count) -> extractableAmounts.merge(state, count, Integer::sum));
+            }
+        }
+        this.emptySlots = emptySlots;
+    }
+
+    /**
+     * Checks if the inventory still holds the stacks this index was built from.
+     *
+     * @return {@code true} when the index can still be used.
+     */
+    boolean isValid()
+    {
+        if (inventory.getInventorySize() != observedStacks.length)
+            return false;
+
+        for (int i = 0; i < observedStacks.length; i++)
+        {
+            final ItemStack stack = inventory.peekItem(i);
+            if (stack != observedStacks[i] || stack.getCount() != observedCounts[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    int getMaxExtractAmount(final BlockState state)
+    {
+        return extractableAmounts.getOrDefault(state, 0);
+    }
+
+    int getMaxInsertAmount(final BlockState state)
+    {
+        return insertableAmounts.computeIfAbsent(state, this::calculateMaxInsertAmount);
+    }
+
+    Map<BlockState, Integer> getContainedStates()
+    {
+        return Collections.unmodifiableMap(extractableAmounts);
+    }
+
+    /**
+     * The state of the loose bits in the given slot.
+     *
+     * @param index The index of the slot.
+     * @return The state, or {@code null} when the slot does not contain loose bits.
+     */
+    BlockState getBitState(final int index)
+    {
+        return bitStates[index];
+    }
+
+    /**
+     * The decoded bit bag in the given slot.
+     * Modifications to the bag are not written back into the inventory.
+     *
+     * @param index The index of the slot.
+     * @return The bag, or {@code null} when the slot does not contain a bit bag.
+     */
+    IBitInventoryItemStack getBag(final int index)
+    {
+        return bags[index];
+    }
+
+    private int calculateMaxInsertAmount(final BlockState state)
+    {
+        long amount = (long) emptySlots * maxBitsForSlot;
+        for (int i = 0; i < observedStacks.length; i++)
+        {
+            if (bitStates[i] == state)
+                amount += maxBitsForSlot - observedCounts[i];
+            else if (bags[i] != null)
+                amount += bags[i].getMaxInsertAmount(state);
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, amount);
+    }
+}
@@ -119,6 +119,7 @@ public class SlottedBitInventory extends AbstractBitInventory implements IWatcha
     }
 
     protected void onChange() {
+        invalidateIndex();
         this.onChangeCallbacks.values().forEach(Runnable::run);
     }
 
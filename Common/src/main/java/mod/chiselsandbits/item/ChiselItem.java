@@ -14,6 +14,7 @@ import mod.chiselsandbits.api.item.chisel.IChiselingItem;
 import mod.chiselsandbits.api.item.click.ClickProcessingState;
 import mod.chiselsandbits.chiseling.ChiselingManager;
 import mod.chiselsandbits.chiseling.LocalChiselingContextCache;
+import mod.chiselsandbits.client.chiseling.preview.ChiselingPreviewContextCache;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
 import mod.chiselsandbits.platforms.core.util.constants.NbtConstants;
 import mod.chiselsandbits.registrars.ModTags;
@@ -286,9 +287,7 @@ public class ChiselItem extends DiggerItem implements IChiselItem
         final Optional<IChiselingContext> potentiallyExistingContext =
           IChiselingManager.getInstance().get(playerEntity, chiselMode, ChiselingOperation.CHISELING);
 
-        final Optional<IChiselingContext> potentiallyCachedContext = ILocalChiselingContextCache.getInstance()
-                                                                       .get(ChiselingOperation.CHISELING);
-        IChiselingContext context;
+        final IChiselingContext context;
         if (potentiallyExistingContext.isPresent()) {
             context = potentiallyExistingContext.get();
 
@@ -297,29 +296,14 @@ public class ChiselItem extends DiggerItem implements IChiselItem
               context
             );
         }
-        else if (potentiallyCachedContext.isPresent()
-                   && potentiallyCachedContext.get().getMode() == chiselMode
-                   && potentiallyCachedContext.get().getModeOfOperandus() == ChiselingOperation.CHISELING
-                   && chiselMode.isStillValid(playerEntity, potentiallyCachedContext.get(), ChiselingOperation.CHISELING)) {
-            context = potentiallyCachedContext.get();
-        }
         else
         {
-            context =  IChiselingManager.getInstance().create(
-              playerEntity,
-              chiselMode,
-              ChiselingOperation.CHISELING,
-              true,
-              itemStack
-            );
-
-            chiselMode.onLeftClickBy(
-              playerEntity,
-              context
-            );
+            //Only recalculated when the targeted block, bit or face, or the held item changes.
+            context = ChiselingPreviewContextCache.getInstance().get(playerEntity, itemStack, chiselMode, ChiselingOperation.CHISELING)
+              .orElse(null);
         }
 
-        if (context.getMutator().isEmpty())
+        if (context == null || context.getMutator().isEmpty())
         {
             ILocalChiselingContextCache.getInstance().clear(ChiselingOperation.CHISELING);
             //No bit was included in the chiseling action
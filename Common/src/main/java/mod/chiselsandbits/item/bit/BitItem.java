@@ -22,6 +22,7 @@ import mod.chiselsandbits.chiseling.LocalChiselingContextCache;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
 import mod.chiselsandbits.platforms.core.util.constants.NbtConstants;
 import mod.chiselsandbits.chiseling.ChiselingManager;
+import mod.chiselsandbits.client.chiseling.preview.ChiselingPreviewContextCache;
 import mod.chiselsandbits.client.render.ModRenderTypes;
 import mod.chiselsandbits.platforms.core.fluid.IFluidManager;
 import mod.chiselsandbits.platforms.core.registries.IPlatformRegistryManager;
@@ -389,12 +390,6 @@ public class BitItem extends Item implements IChiselingItem, IBitItem, IDocument
           IChiselingManager.getInstance().get(playerEntity, chiselMode);
 
 
-        final Optional<IChiselingContext> potentialChiselingContext = ILocalChiselingContextCache.getInstance()
-                                                                       .get(ChiselingOperation.CHISELING);
-
-        final Optional<IChiselingContext> potentialPlacingContext = ILocalChiselingContextCache.getInstance()
-          .get(ChiselingOperation.PLACING);
-
         if (potentiallyExistingContext.isPresent()) {
             final IChiselingContext currentContextSnapshot = potentiallyExistingContext.get().createSnapshot();
 
@@ -416,71 +411,31 @@ public class BitItem extends Item implements IChiselingItem, IBitItem, IDocument
                                                                  .renderExistingContextsBoundingBox(matrixStack, currentContextSnapshot);
             return;
         }
-        else if (potentialChiselingContext.isPresent()
-                   && potentialChiselingContext.get().getMode() == chiselMode
-                   && chiselMode.isStillValid(playerEntity, potentialChiselingContext.get(), ChiselingOperation.CHISELING)) {
 
-            final IChiselingContext chiselingContext = potentialChiselingContext.get();
+        //Only recalculated when the targeted block, bit or face, or the held item changes.
+        final Optional<IChiselingContext> chiselingContext =
+          ChiselingPreviewContextCache.getInstance().get(playerEntity, itemStack, chiselMode, ChiselingOperation.CHISELING);
+        final Optional<IChiselingContext> placingContext =
+          ChiselingPreviewContextCache.getInstance().get(playerEntity, itemStack, chiselMode, ChiselingOperation.PLACING);
 
+        RenderSystem.disableDepthTest();
+        if (chiselingContext.isPresent()) {
             IChiselContextPreviewRendererRegistry.getInstance().getCurrent()
-              .renderExistingContextsBoundingBox(matrixStack, chiselingContext);
-
-            if (potentialPlacingContext.isPresent()
-                  && potentialPlacingContext.get().getMode() == chiselMode
-                  && chiselMode.isStillValid(playerEntity, potentialPlacingContext.get(), ChiselingOperation.PLACING)) {
-
-                final IChiselingContext placingContext = potentialPlacingContext.get();
-
-                IChiselContextPreviewRendererRegistry.getInstance().getCurrent()
-                  .renderExistingContextsBoundingBox(matrixStack, placingContext);
-            }
-            return;
+              .renderExistingContextsBoundingBox(matrixStack, chiselingContext.get());
+            ILocalChiselingContextCache.getInstance().set(ChiselingOperation.CHISELING, chiselingContext.get());
         }
-        else if (potentialPlacingContext.isPresent()
-                   && potentialPlacingContext.get().getMode() == chiselMode
-                   && chiselMode.isStillValid(playerEntity, potentialPlacingContext.get(), ChiselingOperation.PLACING)) {
-
-            final IChiselingContext context = potentialPlacingContext.get();
-
-            IChiselContextPreviewRendererRegistry.getInstance().getCurrent()
-              .renderExistingContextsBoundingBox(matrixStack, context);
-            return;
+        else
+        {
+            ILocalChiselingContextCache.getInstance().clear(ChiselingOperation.CHISELING);
         }
-
-        final IChiselingContext chiselingContext = IChiselingManager.getInstance().create(
-          playerEntity,
-          chiselMode,
-          ChiselingOperation.CHISELING,
-          true,
-          itemStack
-        );
-        final IChiselingContext placingContext = IChiselingManager.getInstance().create(
-          playerEntity,
-          chiselMode,
-          ChiselingOperation.PLACING,
-          true,
-          itemStack
-        );
-
-        chiselMode.onLeftClickBy(
-          playerEntity,
-          chiselingContext
-        );
-        chiselMode.onRightClickBy(
-          playerEntity,
-          placingContext
-        );
-
-        RenderSystem.disableDepthTest();
-        if (chiselingContext.getMutator().isPresent()) {
+        if (placingContext.isPresent()) {
             IChiselContextPreviewRendererRegistry.getInstance().getCurrent()
-              .renderExistingContextsBoundingBox(matrixStack, chiselingContext);
-            ILocalChiselingContextCache.getInstance().set(ChiselingOperation.CHISELING, chiselingContext);
+              .renderExistingContextsBoundingBox(matrixStack, placingContext.get());
+            ILocalChiselingContextCache.getInstance().set(ChiselingOperation.PLACING, placingContext.get());
         }
-        if (placingContext.getMutator().isPresent()) {
-            IChiselContextPreviewRendererRegistry.getInstance().getCurrent()
-              .renderExistingContextsBoundingBox(matrixStack, placingContext);
-            ILocalChiselingContextCache.getInstance().set(ChiselingOperation.PLACING, placingContext);
+        else
+        {
+            ILocalChiselingContextCache.getInstance().clear(ChiselingOperation.PLACING);
         }
         Minecraft.getInstance().renderBuffers().bufferSource().endBatch(ModRenderTypes.MEASUREMENT_LINES.get());
         RenderSystem.enableDepthTest();
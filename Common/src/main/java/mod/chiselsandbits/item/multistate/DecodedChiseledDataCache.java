@@ -0,0 +1,86 @@
+package mod.chiselsandbits.item.multistate;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+import mod.chiselsandbits.api.block.storage.IStateEntryStorage;
+import mod.chiselsandbits.api.config.ICommonConfiguration;
+import mod.chiselsandbits.utils.NbtFingerprint;
+import mod.chiselsandbits.utils.SimpleMaxSizedCache;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the decoded form of the chiseled data of item stacks.
+ *
+ * Entries are found by the identity of the chiseled data tag first, which is replaced instead of modified whenever a stack changes,
+ * and otherwise by the fingerprint of the tag, so that copies of a stack are only decoded once.
+ * The cached storages are shared between all item stacks which are created from the same data, and may never be modified.
+ */
+final class DecodedChiseledDataCache
+{
+    private static final DecodedChiseledDataCache INSTANCE = new DecodedChiseledDataCache();
+
+    static DecodedChiseledDataCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ConcurrentMap<CompoundTag, DecodedData> byIdentity = new MapMaker().weakKeys().makeMap();
+    private final SimpleMaxSizedCache<NbtFingerprint, DecodedData> byFingerprint = new SimpleMaxSizedCache<>(
+      "decoded-stacks",
+      ICommonConfiguration.getInstance().getDecodedStackCacheSize()::get
+    );
+
+    private DecodedChiseledDataCache()
+    {
+    }
+
+    /**
+     * Looks up the decoded form of the given chiseled data.
+     *
+     * @param chiseledData The chiseled data tag of a stack.
+     * @return The decoded data, if it was decoded before.
+     */
+    Optional<DecodedData> get(final CompoundTag chiseledData)
+    {
+        final DecodedData identityMatch = byIdentity.get(chiseledData);
+        if (identityMatch != null)
+            return Optional.of(identityMatch);
+
+        final Optional<DecodedData> fingerprintMatch = byFingerprint.getIfPresent(NbtFingerprint.of(chiseledData));
+        fingerprintMatch.ifPresent(decodedData -> byIdentity.put(chiseledData, decodedData));
+        return fingerprintMatch;
+    }
+
+    /**
+     * Stores the decoded form of the given chiseled data.
+     *
+     * @param chiseledData The chiseled data tag of a stack.
+     * @param decodedData The decoded data, whose storage may not be modified afterwards.
+     */
+    void put(final CompoundTag chiseledData, final DecodedData decodedData)
+    {
+        byIdentity.put(chiseledData, decodedData);
+        byFingerprint.put(NbtFingerprint.of(chiseledData), decodedData);
+    }
+
+    /**
+     * The decoded form of chiseled data.
+     *
+     * @param storage The decoded storage, which is shared and may not be modified.
+     * @param stateCounts The amount of entries per state.
+     * @param primaryState The primary state.
+     * @param upToDate Indicates if the data was stored in the current format, and does not need to be written again.
+     */
+    record DecodedData(IStateEntryStorage storage, Map<BlockState, Integer> stateCounts, BlockState primaryState, boolean upToDate)
+    {
+        DecodedData
+        {
+            stateCounts = ImmutableMap.copyOf(stateCounts);
+        }
+    }
+}
@@ -59,7 +59,8 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
 {
 
     private final ItemStack          sourceStack;
-    private final IStateEntryStorage compressedSection;
+    private       IStateEntryStorage compressedSection;
+    private       boolean            sharedSection = false;
     private final Statistics         statistics = new Statistics();
     private final IStorageEngine storageEngine = buildStorageEngine();
 
@@ -68,8 +69,9 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
         this.sourceStack = sourceStack;
         this.compressedSection = new SimpleStateEntryStorage();
 
-        this.deserializeNBT(sourceStack.getOrCreateTagElement(NbtConstants.CHISELED_DATA));
-        this.sourceStack.getOrCreateTag().put(NbtConstants.CHISELED_DATA, serializeNBT());
+        //Data which is already stored in the current format does not need to be written back.
+        if (!this.loadFrom(sourceStack.getOrCreateTagElement(NbtConstants.CHISELED_DATA)))
+            this.sourceStack.getOrCreateTag().put(NbtConstants.CHISELED_DATA, serializeNBT());
     }
 
     public SingleBlockMultiStateItemStack(final Item item, final IStateEntryStorage compressedSection)
@@ -94,9 +96,65 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
         this.compressedSection = new SimpleStateEntryStorage();
         this.statistics.initializeFrom(this.compressedSection);
 
+        //The given tag is copied, so that the cache is not keyed by a tag which is still modified by its owner.
+        final CompoundTag chiseledData = nbt.copy();
+        if (this.loadFrom(chiseledData))
+            this.sourceStack.getOrCreateTag().put(NbtConstants.CHISELED_DATA, chiseledData);
+        else
+            this.sourceStack.getOrCreateTag().put(NbtConstants.CHISELED_DATA, serializeNBT());
+    }
+
+    /**
+     * Loads the given chiseled data, from the decoded data cache if possible.
+     * When the data was decoded before, the storage of this stack is shared with the cache until it is modified.
+     *
+     * @param nbt The chiseled data.
+     * @return {@code true} when the data is stored in the current format.
+     */
+    private boolean loadFrom(final CompoundTag nbt)
+    {
+        final Optional<DecodedChiseledDataCache.DecodedData> cachedData = DecodedChiseledDataCache.getInstance().get(nbt);
+        if (cachedData.isPresent())
+        {
+            this.compressedSection = cachedData.get().storage();
+            this.sharedSection = true;
+            this.statistics.initializeFrom(cachedData.get().stateCounts(), cachedData.get().primaryState());
+            return cachedData.get().upToDate();
+        }
+
         this.deserializeNBT(nbt);
 
-        this.sourceStack.getOrCreateTag().put(NbtConstants.CHISELED_DATA, serializeNBT());
+        final boolean upToDate = nbt.contains(NbtConstants.VERSION);
+        DecodedChiseledDataCache.getInstance().put(
+          nbt,
+          new DecodedChiseledDataCache.DecodedData(this.compressedSection, this.statistics.countMap, this.statistics.primaryState, upToDate)
+        );
+        this.sharedSection = true;
+        return upToDate;
+    }
+
+    /**
+     * Makes sure that this stack has its own copy of the storage, before it is modified.
+     */
+    private void ensureOwnSection()
+    {
+        if (!this.sharedSection)
+            return;
+
+        this.compressedSection = this.compressedSection.createSnapshot();
+        this.sharedSection = false;
+    }
+
+    /**
+     * Makes sure that this stack has its own storage, before it is completely overridden.
+     */
+    private void replaceSharedSection()
+    {
+        if (!this.sharedSection)
+            return;
+
+        this.compressedSection = new SimpleStateEntryStorage();
+        this.sharedSection = false;
     }
 
     private IStorageEngine buildStorageEngine() {
@@ -293,6 +351,7 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
             throw new SpaceOccupiedException();
         }
 
+        ensureOwnSection();
         this.compressedSection.setBlockState(
           inAreaPos.getX(),
           inAreaPos.getY(),
@@ -361,6 +420,7 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
           inAreaPos.getZ()
         );
 
+        ensureOwnSection();
         this.compressedSection.setBlockState(
           inAreaPos.getX(),
           inAreaPos.getY(),
@@ -417,6 +477,7 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
     @Override
     public void deserializeFrom(@NotNull final FriendlyByteBuf packetBuffer)
     {
+        replaceSharedSection();
         compressedSection.deserializeFrom(packetBuffer);
     }
 
@@ -429,6 +490,7 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
     @Override
     public void deserializeNBT(final CompoundTag nbt)
     {
+        replaceSharedSection();
         this.storageEngine.deserializeNBT(nbt);
     }
 
@@ -500,6 +562,7 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
     @Override
     public void rotate(final Direction.Axis axis, final int rotationCount)
     {
+        ensureOwnSection();
         this.compressedSection.rotate(axis, rotationCount);
         this.statistics.clear();
 
@@ -514,6 +577,7 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
     @Override
     public void mirror(final Direction.Axis axis)
     {
+        ensureOwnSection();
         this.compressedSection.mirror(axis);
         this.statistics.clear();
 
@@ -756,6 +820,13 @@ public class SingleBlockMultiStateItemStack implements IMultiStateItemStack
             compressedSection.count(countMap::putIfAbsent);
             updatePrimaryState();
         }
+
+        private void initializeFrom(final Map<BlockState, Integer> stateCounts, final BlockState primaryState)
+        {
+            this.countMap.clear();
+            this.countMap.putAll(stateCounts);
+            this.primaryState = primaryState;
+        }
     }
 
     @SuppressWarnings("removal")
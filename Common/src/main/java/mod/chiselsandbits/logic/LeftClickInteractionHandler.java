@@ -3,6 +3,7 @@ package mod.chiselsandbits.logic;
 import mod.chiselsandbits.api.item.click.ClickProcessingState;
 import mod.chiselsandbits.api.item.click.ILeftClickControllingItem;
 import mod.chiselsandbits.api.profiling.IProfilerSection;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
 import mod.chiselsandbits.profiling.ProfilingManager;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -12,6 +13,7 @@ import net.minecraft.world.item.ItemStack;
 
 public class LeftClickInteractionHandler
 {
+    private static final ProfilerSectionId LEFT_CLICK_PROCESSING_SECTION = ProfilingManager.getInstance().registerSection("Left click processing");
 
     public static ClickProcessingState leftClickOnBlock(
       final Player player,
@@ -23,7 +25,7 @@ public class LeftClickInteractionHandler
       final ClickProcessingState.ProcessingResult currentItemUsageState)
     {
         if (itemStack.getItem() instanceof ILeftClickControllingItem) {
-            try(IProfilerSection ignored = ProfilingManager.getInstance().withSection("Left click processing")) {
+            try(IProfilerSection ignored = ProfilingManager.getInstance().withSection(LEFT_CLICK_PROCESSING_SECTION)) {
                 final ILeftClickControllingItem leftClickControllingItem = (ILeftClickControllingItem) itemStack.getItem();
 
                 if (!leftClickControllingItem.canUse(player)) {
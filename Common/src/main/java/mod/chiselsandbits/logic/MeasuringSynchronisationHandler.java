@@ -1,11 +1,20 @@
 package mod.chiselsandbits.logic;
 
 import mod.chiselsandbits.measures.MeasuringManager;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
 
 public class MeasuringSynchronisationHandler
 {
 
-    public static void syncToAll() {
-        MeasuringManager.getInstance().syncToAll();
+    /**
+     * Sends the measurements of the world the given player is in to that player.
+     * Needs to be invoked when the player logs in and when it changes dimension.
+     *
+     * @param player The player to sync.
+     */
+    public static void syncTo(final Player player) {
+        if (player instanceof final ServerPlayer serverPlayer)
+            MeasuringManager.getInstance().syncTo(serverPlayer);
     }
 }
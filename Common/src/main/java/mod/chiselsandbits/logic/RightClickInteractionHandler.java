@@ -4,6 +4,7 @@ import mod.chiselsandbits.api.item.click.ClickProcessingState;
 import mod.chiselsandbits.api.item.click.IRightClickControllingItem;
 import mod.chiselsandbits.api.profiling.IProfilerSection;
 import mod.chiselsandbits.api.util.RayTracingUtils;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
 import mod.chiselsandbits.profiling.ProfilingManager;
 import mod.chiselsandbits.registrars.ModBlocks;
 import net.minecraft.core.BlockPos;
@@ -17,6 +18,7 @@ import net.minecraft.world.phys.HitResult;
 
 public class RightClickInteractionHandler
 {
+    private static final ProfilerSectionId RIGHT_CLICK_PROCESSING_SECTION = ProfilingManager.getInstance().registerSection("Right click processing");
 
     public static ClickProcessingState rightClickOnBlock(
       final Level level,
@@ -34,7 +36,7 @@ public class RightClickInteractionHandler
         }
 
         if (itemStack.getItem() instanceof IRightClickControllingItem) {
-            try(IProfilerSection ignored = ProfilingManager.getInstance().withSection("Right click processing")) {
+            try(IProfilerSection ignored = ProfilingManager.getInstance().withSection(RIGHT_CLICK_PROCESSING_SECTION)) {
                 final IRightClickControllingItem rightClickControllingItem = (IRightClickControllingItem) itemStack.getItem();
 
                 if (!rightClickControllingItem.canUse(player)) {
@@ -72,7 +74,7 @@ public class RightClickInteractionHandler
         }
 
         if (itemStack.getItem() instanceof IRightClickControllingItem) {
-            try(IProfilerSection ignored = ProfilingManager.getInstance().withSection("Right click processing")) {
+            try(IProfilerSection ignored = ProfilingManager.getInstance().withSection(RIGHT_CLICK_PROCESSING_SECTION)) {
                 final IRightClickControllingItem rightClickControllingItem = (IRightClickControllingItem) itemStack.getItem();
 
                 if (!rightClickControllingItem.canUse(player)) {
@@ -1,30 +1,34 @@
 package mod.chiselsandbits.measures;
 
 import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Table;
 import mod.chiselsandbits.ChiselsAndBits;
 import mod.chiselsandbits.api.measuring.IMeasurement;
 import mod.chiselsandbits.api.measuring.IMeasuringManager;
 import mod.chiselsandbits.api.measuring.MeasuringMode;
-import mod.chiselsandbits.api.util.IPacketBufferSerializable;
+import mod.chiselsandbits.network.packets.MeasurementUpdatedPacket;
+import mod.chiselsandbits.network.packets.MeasurementsRemovedPacket;
 import mod.chiselsandbits.network.packets.MeasurementsUpdatedPacket;
+import mod.chiselsandbits.platforms.core.IChiselsAndBitsPlatformCore;
 import mod.chiselsandbits.platforms.core.dist.Dist;
 import mod.chiselsandbits.platforms.core.dist.DistExecutor;
 import net.minecraft.core.Direction;
-import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
-import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 
-public class MeasuringManager implements IMeasuringManager, IPacketBufferSerializable
+public class MeasuringManager implements IMeasuringManager
 {
     private static final MeasuringManager INSTANCE = new MeasuringManager();
 
@@ -68,63 +72,97 @@ public class MeasuringManager implements IMeasuringManager, IPacketBufferSeriali
     @Override
     public void resetMeasurementsFor(final UUID playerId)
     {
+        final Set<ResourceLocation> worldKeys = Set.copyOf(measurements.column(playerId).keySet());
         measurements.columnMap().remove(playerId);
-        syncToAll();
-    }
 
-    public void syncToAll()
-    {
-        ChiselsAndBits.getInstance().getNetworkChannel().sendToEveryone(
-          new MeasurementsUpdatedPacket()
-        );
+        //Every player in a world the measurements were in might have received them.
+        final MinecraftServer server = IChiselsAndBitsPlatformCore.getInstance().getCurrentServer();
+        final MeasurementsRemovedPacket packet = new MeasurementsRemovedPacket(playerId);
+        worldKeys.stream()
+          .map(worldKey -> server.getLevel(ResourceKey.create(Registry.DIMENSION_REGISTRY, worldKey)))
+          .filter(Objects::nonNull)
+          .flatMap(level -> level.players().stream())
+          .forEach(player -> ChiselsAndBits.getInstance().getNetworkChannel().sendToPlayer(packet, player));
     }
 
-    @Override
-    public void serializeInto(final @NotNull FriendlyByteBuf packetBuffer)
+    /**
+     * Sends all measurements of the world the given player is in to that player.
+     * Invoked when the player logs in or changes dimension, all other changes are synced individually.
+     *
+     * @param player The player to sync.
+     */
+    public void syncTo(final ServerPlayer player)
     {
-        packetBuffer.writeVarInt(measurements.size());
-        measurements.values().forEach(m -> {
-            packetBuffer.writeVarInt(m.size());
-            m.values().forEach(measurement -> measurement.serializeInto(packetBuffer));
-        });
+        final ResourceLocation worldKey = player.getLevel().dimension().location();
+        ChiselsAndBits.getInstance().getNetworkChannel().sendToPlayer(
+          new MeasurementsUpdatedPacket(worldKey, getInWorld(worldKey).stream().map(Measurement.class::cast).toList()),
+          player
+        );
     }
 
-    @Override
-    public void deserializeFrom(final @NotNull FriendlyByteBuf packetBuffer)
+    /**
+     * Adds or updates the given measurement on the server, and sends it to the players which can see it.
+     * These are the players in the same world, which are within the tracking range of the server of the measurement.
+     *
+     * @param measurement The measurement.
+     * @param server The server.
+     */
+    public void addOrUpdate(final Measurement measurement, @Nullable final MinecraftServer server)
     {
-        measurements.clear();
-        Collection<Measurement> measurements = IntStream.range(0, packetBuffer.readVarInt())
-          .mapToObj(index -> {
-              final int measurementCount = packetBuffer.readVarInt();
-
-              final List<Measurement> measurementList = Lists.newArrayList();
-              for (int i = 0; i < measurementCount; i++)
-              {
-                  final Measurement measurement = new Measurement();
-                  measurement.deserializeFrom(packetBuffer);
-                  measurementList.add(measurement);
-              }
-
-              return measurementList;
-          })
-          .flatMap(Collection::stream).toList();
-
-        measurements.forEach(measurement -> {
-            if (!this.measurements.contains(measurement.getWorldKey(), measurement.getOwner()))
-                this.measurements.put(measurement.getWorldKey(), measurement.getOwner(), new HashMap<>());
-
-            this.measurements.get(measurement.getWorldKey(), measurement.getOwner()).put(measurement.getMode(), measurement);
-        });
+        update(measurement);
+
+        if (server == null)
+            return;
+
+        final ServerLevel level = server.getLevel(ResourceKey.create(Registry.DIMENSION_REGISTRY, measurement.getWorldKey()));
+        if (level == null)
+            return;
+
+        final Vec3 center = measurement.getFrom().add(measurement.getTo()).scale(0.5d);
+        final double range = server.getPlayerList().getViewDistance() * 16d + measurement.getFrom().distanceTo(measurement.getTo()) / 2d;
+        final MeasurementUpdatedPacket packet = new MeasurementUpdatedPacket(measurement);
+        for (final ServerPlayer player : level.players())
+        {
+            if (player.getUUID().equals(measurement.getOwner()) || player.position().distanceToSqr(center) <= range * range)
+            {
+                ChiselsAndBits.getInstance().getNetworkChannel().sendToPlayer(packet, player);
+            }
+        }
     }
 
-    public void addOrUpdate(final Measurement measurement)
+    /**
+     * Adds or updates the given measurement, without syncing it.
+     *
+     * @param measurement The measurement.
+     */
+    public void update(final Measurement measurement)
     {
         if (!this.measurements.contains(measurement.getWorldKey(), measurement.getOwner()))
             this.measurements.put(measurement.getWorldKey(), measurement.getOwner(), new HashMap<>());
 
         this.measurements.get(measurement.getWorldKey(), measurement.getOwner()).put(measurement.getMode(), measurement);
+    }
+
+    /**
+     * Removes all measurements of the given player, without syncing it.
+     *
+     * @param playerId The id of the player.
+     */
+    public void removeFor(final UUID playerId)
+    {
+        measurements.columnMap().remove(playerId);
+    }
 
-        this.syncToAll();
+    /**
+     * Replaces all measurements in the given world, without syncing it.
+     *
+     * @param worldKey The key of the world.
+     * @param worldMeasurements The new measurements of the world.
+     */
+    public void replaceInWorld(final ResourceLocation worldKey, final Collection<? extends Measurement> worldMeasurements)
+    {
+        measurements.rowMap().remove(worldKey);
+        worldMeasurements.forEach(this::update);
     }
 
     public void createAndSend(
@@ -0,0 +1,52 @@
+package mod.chiselsandbits.metrics;
+
+import com.google.common.collect.MapMaker;
+import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tracks the chiseled block entities of the server, to report their amount and their estimated memory usage per dimension.
+ * Block entities are only referenced weakly, and are only inspected when a metrics snapshot is taken.
+ */
+public final class BlockEntityMetrics
+{
+    private static final BlockEntityMetrics INSTANCE = new BlockEntityMetrics();
+
+    public static BlockEntityMetrics getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Set<ChiseledBlockEntity> blockEntities = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    private BlockEntityMetrics()
+    {
+        MetricsRegistry.getInstance().gaugeGroup("block-entities", this::collect);
+    }
+
+    public void track(final ChiseledBlockEntity blockEntity)
+    {
+        blockEntities.add(blockEntity);
+    }
+
+    private Map<String, Long> collect()
+    {
+        final Map<String, Long> values = new TreeMap<>();
+        for (final ChiseledBlockEntity blockEntity : blockEntities)
+        {
+            //Client side block entities are owned by the client thread, and are not inspected.
+            if (blockEntity.isRemoved() || !(blockEntity.getLevel() instanceof final ServerLevel level))
+                continue;
+
+            final String dimension = level.dimension().location().toString();
+            values.merge(dimension + ".count", 1L, Long::sum);
+            values.merge(dimension + ".estimated-bytes", blockEntity.getEstimatedMemoryUsage(), Long::sum);
+        }
+        return values;
+    }
+}
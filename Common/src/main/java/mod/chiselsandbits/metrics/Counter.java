@@ -0,0 +1,42 @@
+package mod.chiselsandbits.metrics;
+
+import mod.chiselsandbits.api.metrics.ICounter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class Counter implements ICounter
+{
+    private final LongAdder total = new LongAdder();
+
+    private long lastSnapshotTotal = 0;
+    private long lastSnapshotNanos = System.nanoTime();
+
+    @Override
+    public void add(final long amount)
+    {
+        total.add(amount);
+    }
+
+    @Override
+    public long get()
+    {
+        return total.sum();
+    }
+
+    /**
+     * Determines the rate of the counter since the previous snapshot, and starts a new interval.
+     *
+     * @param nowNanos The time of the snapshot.
+     * @return The amount added per second since the previous snapshot.
+     */
+    synchronized double takeRate(final long nowNanos)
+    {
+        final long currentTotal = get();
+        final double seconds = (nowNanos - lastSnapshotNanos) / 1_000_000_000d;
+        final double rate = seconds <= 0 ? 0 : (currentTotal - lastSnapshotTotal) / seconds;
+
+        lastSnapshotTotal = currentTotal;
+        lastSnapshotNanos = nowNanos;
+        return rate;
+    }
+}
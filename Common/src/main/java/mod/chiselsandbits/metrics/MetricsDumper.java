@@ -0,0 +1,111 @@
+package mod.chiselsandbits.metrics;
+
+import mod.chiselsandbits.ChiselsAndBits;
+import mod.chiselsandbits.api.metrics.IMetricsSnapshot;
+import mod.chiselsandbits.platforms.core.util.constants.Constants;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes metrics snapshots to disk, so that the behaviour of a server can be analyzed over time.
+ * Snapshots are taken on the server thread, and written on a background thread.
+ */
+public final class MetricsDumper
+{
+    private static final Logger            LOGGER    = LogManager.getLogger();
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss");
+    private static final MetricsDumper     INSTANCE  = new MetricsDumper();
+
+    public static MetricsDumper getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private       ScheduledFuture<?>       task = null;
+
+    private MetricsDumper()
+    {
+        final ClassLoader classLoader = ChiselsAndBits.class.getClassLoader();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+              final Thread thread = new Thread(runnable);
+              thread.setContextClassLoader(classLoader);
+              thread.setName("Chisels and Bits Metrics dumper");
+              thread.setDaemon(true);
+              return thread;
+          }
+        );
+    }
+
+    /**
+     * Writes the given snapshot to a new file in the background.
+     *
+     * @param snapshot The snapshot.
+     * @return The file the snapshot is written to.
+     */
+    public Path write(final IMetricsSnapshot snapshot)
+    {
+        final Path file = createFile();
+        Util.ioPool().execute(() -> snapshot.writeToFile(file));
+        return file;
+    }
+
+    /**
+     * Starts writing a snapshot every interval, replacing the previous schedule.
+     * The schedule ends once the server stops.
+     *
+     * @param server The server whose thread takes the snapshots.
+     * @param intervalSeconds The interval in seconds.
+     */
+    public synchronized void start(final MinecraftServer server, final int intervalSeconds)
+    {
+        stop();
+        task = scheduler.scheduleAtFixedRate(() -> {
+            if (!server.isRunning())
+            {
+                stop();
+                return;
+            }
+
+            try
+            {
+                server.submit(() -> MetricsRegistry.getInstance().snapshot()).join().writeToFile(createFile());
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("Failed to write a periodic metrics snapshot.", e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic writing of snapshots.
+     *
+     * @return {@code true} when snapshots were written periodically.
+     */
+    public synchronized boolean stop()
+    {
+        if (task == null)
+            return false;
+
+        task.cancel(false);
+        task = null;
+        return true;
+    }
+
+    private static Path createFile()
+    {
+        return Path.of(Constants.MOD_ID, "metrics", "metrics-" + FORMATTER.format(LocalDateTime.now()) + ".json");
+    }
+}
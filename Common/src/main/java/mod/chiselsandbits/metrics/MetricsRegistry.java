@@ -0,0 +1,97 @@
+package mod.chiselsandbits.metrics;
+
+import mod.chiselsandbits.api.metrics.ICounter;
+import mod.chiselsandbits.api.metrics.IMetricsRegistry;
+import mod.chiselsandbits.api.metrics.IMetricsSnapshot;
+import mod.chiselsandbits.api.metrics.ITimer;
+import mod.chiselsandbits.profiling.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+public final class MetricsRegistry implements IMetricsRegistry
+{
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    public static MetricsRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<String, Counter>                                 counters    = new ConcurrentHashMap<>();
+    private final Map<String, Timer>                                   timers      = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier>                          gauges      = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<Map<String, ? extends Number>>> gaugeGroups = new ConcurrentHashMap<>();
+
+    private MetricsRegistry()
+    {
+    }
+
+    @Override
+    public ICounter counter(final String name)
+    {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    @Override
+    public ITimer timer(final String name)
+    {
+        return timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    @Override
+    public void gauge(final String name, final DoubleSupplier valueSupplier)
+    {
+        gauges.put(name, valueSupplier);
+    }
+
+    /**
+     * Registers a group of gauges whose names are only known when a snapshot is taken, for example because they contain a dimension.
+     * The names of the supplied values are prefixed with the name of the group.
+     *
+     * @param prefix The name of the group.
+     * @param valuesSupplier The supplier of the current values of the group.
+     */
+    public void gaugeGroup(final String prefix, final Supplier<Map<String, ? extends Number>> valuesSupplier)
+    {
+        gaugeGroups.put(prefix, valuesSupplier);
+    }
+
+    /**
+     * Registers the queue depth and the amount of active threads of the given executor as gauges.
+     *
+     * @param prefix The name prefix of the gauges.
+     * @param executor The executor.
+     */
+    public void executorGauges(final String prefix, final ExecutorService executor)
+    {
+        if (!(executor instanceof final ThreadPoolExecutor threadPoolExecutor))
+            return;
+
+        gauge(prefix + ".queue-depth", () -> threadPoolExecutor.getQueue().size());
+        gauge(prefix + ".active-threads", threadPoolExecutor::getActiveCount);
+    }
+
+    @Override
+    public IMetricsSnapshot snapshot()
+    {
+        final long now = System.nanoTime();
+
+        final Map<String, Double> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, supplier) -> gaugeValues.put(name, supplier.getAsDouble()));
+        gaugeGroups.forEach((prefix, supplier) -> supplier.get().forEach((name, value) -> gaugeValues.put(prefix + "." + name, value.doubleValue())));
+
+        final Map<String, MetricsSnapshot.CounterValue> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, new MetricsSnapshot.CounterValue(counter.get(), counter.takeRate(now))));
+
+        final Map<String, LatencyHistogram> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, timer.copy()));
+
+        return new MetricsSnapshot(gaugeValues, counterValues, timerValues);
+    }
+}
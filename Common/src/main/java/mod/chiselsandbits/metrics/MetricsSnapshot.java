@@ -0,0 +1,123 @@
+package mod.chiselsandbits.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import mod.chiselsandbits.api.metrics.IMetricsSnapshot;
+import mod.chiselsandbits.profiling.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class MetricsSnapshot implements IMetricsSnapshot
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final Instant                       time = Instant.now();
+    private final Map<String, Double>           gauges;
+    private final Map<String, CounterValue>     counters;
+    private final Map<String, LatencyHistogram> timers;
+
+    public MetricsSnapshot(final Map<String, Double> gauges, final Map<String, CounterValue> counters, final Map<String, LatencyHistogram> timers)
+    {
+        this.gauges = gauges;
+        this.counters = counters;
+        this.timers = timers;
+    }
+
+    @Override
+    public void writeToFile(final Path file)
+    {
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+        final JsonObject json = new JsonObject();
+        json.addProperty("time", time.toString());
+
+        final JsonObject gaugesJson = new JsonObject();
+        gauges.forEach(gaugesJson::addProperty);
+        json.add("gauges", gaugesJson);
+
+        final JsonObject countersJson = new JsonObject();
+        counters.forEach((name, value) -> {
+            final JsonObject counterJson = new JsonObject();
+            counterJson.addProperty("total", value.total());
+            counterJson.addProperty("perSecond", value.perSecond());
+            countersJson.add(name, counterJson);
+        });
+        json.add("counters", countersJson);
+
+        final JsonObject timersJson = new JsonObject();
+        timers.forEach((name, histogram) -> {
+            final JsonObject timerJson = new JsonObject();
+            timerJson.addProperty("count", histogram.getCount());
+            timerJson.addProperty("meanNanos", histogram.getCount() == 0 ? 0 : histogram.getTotal() / histogram.getCount());
+            timerJson.addProperty("p50Nanos", histogram.getPercentile(0.5));
+            timerJson.addProperty("p99Nanos", histogram.getPercentile(0.99));
+            timerJson.addProperty("maxNanos", histogram.getMax());
+            timersJson.add(name, timerJson);
+        });
+        json.add("timers", timersJson);
+
+        try
+        {
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(file))
+            {
+                gson.toJson(json, writer);
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Failed to write the metrics to: " + file, e);
+        }
+    }
+
+    @Override
+    public void writeAsResponse(final Consumer<String> lineConsumer)
+    {
+        lineConsumer.accept("Gauges:");
+        gauges.forEach((name, value) -> lineConsumer.accept(String.format(" > %s: %s", name, formatGauge(value))));
+
+        lineConsumer.accept("Counters:");
+        counters.forEach((name, value) -> lineConsumer.accept(String.format(" > %s: %d (%.1f/s)", name, value.total(), value.perSecond())));
+
+        lineConsumer.accept("Timers:");
+        timers.forEach((name, histogram) -> lineConsumer.accept(String.format(" > %s: %dx, mean %.3fms, p50 %.3fms, p99 %.3fms, max %.3fms",
+          name,
+          histogram.getCount(),
+          histogram.getCount() == 0 ? 0 : toMillis(histogram.getTotal()) / histogram.getCount(),
+          toMillis(histogram.getPercentile(0.5)),
+          toMillis(histogram.getPercentile(0.99)),
+          toMillis(histogram.getMax()))));
+    }
+
+    private static String formatGauge(final double value)
+    {
+        if (value == Math.rint(value) && !Double.isInfinite(value))
+            return String.valueOf((long) value);
+
+        return String.format("%.3f", value);
+    }
+
+    private static double toMillis(final long nanos)
+    {
+        return nanos / 1_000_000d;
+    }
+
+    /**
+     * The value of a counter in a snapshot.
+     *
+     * @param total The total of the counter.
+     * @param perSecond The amount added per second since the previous snapshot.
+     */
+    public record CounterValue(long total, double perSecond) {}
+}
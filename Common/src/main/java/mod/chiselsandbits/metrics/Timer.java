@@ -0,0 +1,27 @@
+package mod.chiselsandbits.metrics;
+
+import mod.chiselsandbits.api.metrics.ITimer;
+import mod.chiselsandbits.profiling.LatencyHistogram;
+
+final class Timer implements ITimer
+{
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Override
+    public synchronized void record(final long durationNanos)
+    {
+        histogram.record(durationNanos);
+    }
+
+    /**
+     * Creates a copy of the recorded durations.
+     *
+     * @return The copy.
+     */
+    synchronized LatencyHistogram copy()
+    {
+        final LatencyHistogram copy = new LatencyHistogram();
+        copy.add(histogram);
+        return copy;
+    }
+}
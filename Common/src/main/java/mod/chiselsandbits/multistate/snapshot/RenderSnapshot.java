@@ -0,0 +1,238 @@
+package mod.chiselsandbits.multistate.snapshot;
+
+import mod.chiselsandbits.api.block.storage.IStateEntryStorage;
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
+import mod.chiselsandbits.api.multistate.accessor.IOccupancyPyramid;
+import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
+import mod.chiselsandbits.api.multistate.accessor.identifier.IAreaShapeIdentifier;
+import mod.chiselsandbits.api.multistate.accessor.identifier.IByteArrayBackedAreaShapeIdentifier;
+import mod.chiselsandbits.api.multistate.accessor.sortable.IPositionMutator;
+import mod.chiselsandbits.api.multistate.snapshot.IMultiStateSnapshot;
+import mod.chiselsandbits.api.util.BlockPosStreamProvider;
+import mod.chiselsandbits.utils.MultiStateSnapshotUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * An immutable copy of the contents of a chiseled block, taken on the thread that owns the block, for the model builders to read.
+ *
+ * Holds a private copy of the packed data and the palette, which is never modified after the snapshot is created,
+ * so it can be read from any amount of threads while the block itself keeps changing.
+ * Creating a snapshot only copies the packed data, the palette and the occupancy of the block.
+ */
+public final class RenderSnapshot implements IAreaAccessorWithOccupancy
+{
+    private final IStateEntryStorage storage;
+    private final IOccupancyPyramid  occupancy;
+    private final BlockState         primaryState;
+
+    private volatile IAreaShapeIdentifier identifier;
+
+    /**
+     * Creates a new snapshot of the given storage.
+     * Needs to be called on the thread that owns the storage.
+     *
+     * @param storage The storage to copy.
+     * @param primaryState The primary state of the block.
+     */
+    public RenderSnapshot(final IStateEntryStorage storage, final BlockState primaryState)
+    {
+        this.storage = storage.createSnapshot();
+        //The copy carries the occupancy of the storage, after this the copy is never written to again.
+        this.occupancy = this.storage.getOccupancy();
+        this.primaryState = primaryState;
+    }
+
+    /**
+     * The primary state of the block, at the time the snapshot was taken.
+     *
+     * @return The primary state.
+     */
+    public BlockState getPrimaryState()
+    {
+        return primaryState;
+    }
+
+    @Override
+    public IOccupancyPyramid getOccupancy()
+    {
+        return occupancy;
+    }
+
+    @Override
+    public IAreaShapeIdentifier createNewShapeIdentifier()
+    {
+        //The data never changes, so a single identifier can be shared by all callers.
+        IAreaShapeIdentifier current = identifier;
+        if (current == null)
+        {
+            current = new Identifier(storage.getRawData());
+            identifier = current;
+        }
+
+        return current;
+    }
+
+    @Override
+    public Stream<IStateEntryInfo> stream()
+    {
+        return BlockPosStreamProvider.getForRange(StateEntrySize.current().getBitsPerBlockSide())
+                 .map(blockPos -> new StateEntry(
+                   storage.getBlockState(blockPos.getX(), blockPos.getY(), blockPos.getZ()),
+                   blockPos
+                 ));
+    }
+
+    @Override
+    public boolean isInside(final Vec3 inAreaTarget)
+    {
+        return !(inAreaTarget.x() < 0) &&
+                 !(inAreaTarget.y() < 0) &&
+                 !(inAreaTarget.z() < 0) &&
+                 !(inAreaTarget.x() >= 1) &&
+                 !(inAreaTarget.y() >= 1) &&
+                 !(inAreaTarget.z() >= 1);
+    }
+
+    @Override
+    public boolean isInside(final BlockPos inAreaBlockPosOffset, final Vec3 inBlockTarget)
+    {
+        if (!inAreaBlockPosOffset.equals(BlockPos.ZERO))
+        {
+            return false;
+        }
+
+        return isInside(inBlockTarget);
+    }
+
+    @Override
+    public Optional<IStateEntryInfo> getInAreaTarget(final Vec3 inAreaTarget)
+    {
+        if (!isInside(inAreaTarget))
+        {
+            throw new IllegalArgumentException("Target is not in the current area.");
+        }
+
+        final BlockPos inAreaPos = new BlockPos(inAreaTarget.multiply(StateEntrySize.current().getBitsPerBlockSide(), StateEntrySize.current().getBitsPerBlockSide(), StateEntrySize.current().getBitsPerBlockSide()));
+        return Optional.of(new StateEntry(
+          storage.getBlockState(inAreaPos.getX(), inAreaPos.getY(), inAreaPos.getZ()),
+          inAreaPos
+        ));
+    }
+
+    @Override
+    public Optional<IStateEntryInfo> getInBlockTarget(final BlockPos inAreaBlockPosOffset, final Vec3 inBlockTarget)
+    {
+        if (!inAreaBlockPosOffset.equals(BlockPos.ZERO))
+        {
+            throw new IllegalStateException(String.format("The given in area block pos offset is not inside the current block: %s", inAreaBlockPosOffset));
+        }
+
+        return this.getInAreaTarget(
+          inBlockTarget
+        );
+    }
+
+    @Override
+    public IMultiStateSnapshot createSnapshot()
+    {
+        return MultiStateSnapshotUtils.createFromStorage(storage);
+    }
+
+    @Override
+    public Stream<IStateEntryInfo> streamWithPositionMutator(final IPositionMutator positionMutator)
+    {
+        return BlockPosStreamProvider.getForRange(StateEntrySize.current().getBitsPerBlockSide())
+                 .map(blockPos -> {
+                     final Vec3i pos = positionMutator.mutate(blockPos);
+                     return new StateEntry(
+                       storage.getBlockState(pos.getX(), pos.getY(), pos.getZ()),
+                       pos
+                     );
+                 });
+    }
+
+    private static final class StateEntry implements IStateEntryInfo
+    {
+        private final BlockState state;
+        private final Vec3       startPoint;
+        private final Vec3       endPoint;
+
+        private StateEntry(final BlockState state, final Vec3i position)
+        {
+            final float sizePerBit = StateEntrySize.current().getSizePerBit();
+            this.state = state;
+            this.startPoint = Vec3.atLowerCornerOf(position).multiply(sizePerBit, sizePerBit, sizePerBit);
+            this.endPoint = this.startPoint.add(sizePerBit, sizePerBit, sizePerBit);
+        }
+
+        @Override
+        public BlockState getState()
+        {
+            return state;
+        }
+
+        @Override
+        public Vec3 getStartPoint()
+        {
+            return startPoint;
+        }
+
+        @Override
+        public Vec3 getEndPoint()
+        {
+            return endPoint;
+        }
+    }
+
+    private static final class Identifier implements IByteArrayBackedAreaShapeIdentifier
+    {
+        private final byte[] identifyingPayload;
+
+        private Identifier(final byte[] identifyingPayload)
+        {
+            this.identifyingPayload = identifyingPayload;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(identifyingPayload);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof final IByteArrayBackedAreaShapeIdentifier that))
+            {
+                return false;
+            }
+            return Arrays.equals(identifyingPayload, that.getBackingData());
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Identifier{" +
+                     "identifyingPayload=" + Arrays.toString(identifyingPayload) +
+                     '}';
+        }
+
+        @Override
+        public byte[] getBackingData()
+        {
+            return identifyingPayload;
+        }
+    }
+}
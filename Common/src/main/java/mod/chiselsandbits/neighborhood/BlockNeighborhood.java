@@ -1,8 +1,11 @@
 package mod.chiselsandbits.neighborhood;
 
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
 import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -42,12 +45,36 @@ public final class BlockNeighborhood implements IBlockNeighborhood
     @Override
     public @NotNull BlockState getBlockState(final Direction direction)
     {
-        return neighborhoodMap.get(direction).getBlockState();
+        final BlockNeighborhoodEntry entry = neighborhoodMap.get(direction);
+        return entry != null ? entry.getBlockState() : Blocks.AIR.defaultBlockState();
     }
 
     @Override
     public @Nullable IAreaAccessor getAreaAccessor(final Direction direction)
     {
-        return neighborhoodMap.get(direction).getAccessor();
+        final BlockNeighborhoodEntry entry = neighborhoodMap.get(direction);
+        return entry != null ? entry.getAccessor() : null;
+    }
+
+    @Override
+    public @Nullable IFaceSignature getFaceSignature(final Direction direction)
+    {
+        final BlockNeighborhoodEntry entry = neighborhoodMap.get(direction);
+        return entry != null ? entry.getSignature() : null;
+    }
+
+    @Override
+    public boolean isUnchanged(final Direction direction, final BlockState blockState, @Nullable final IAreaAccessor areaAccessor)
+    {
+        final BlockNeighborhoodEntry entry = neighborhoodMap.get(direction);
+        if (entry == null)
+        {
+            return false;
+        }
+
+        final IFaceSignature touchingSignature = areaAccessor instanceof final IAreaAccessorWithOccupancy accessorWithOccupancy ?
+                                                   accessorWithOccupancy.getOccupancy().getFaceSignature(direction.getOpposite()) :
+                                                   null;
+        return entry.matches(blockState, areaAccessor, touchingSignature);
     }
 }
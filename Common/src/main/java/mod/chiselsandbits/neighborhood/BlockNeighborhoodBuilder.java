@@ -1,9 +1,14 @@
 package mod.chiselsandbits.neighborhood;
 
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
 import mod.chiselsandbits.api.neighborhood.IBlockNeighborhoodBuilder;
 import mod.chiselsandbits.api.profiling.IProfilerSection;
+import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
+import mod.chiselsandbits.multistate.snapshot.RenderSnapshot;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
 import mod.chiselsandbits.profiling.ProfilingManager;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.block.state.BlockState;
@@ -14,6 +19,8 @@ import java.util.EnumMap;
 import java.util.function.Function;
 
 public final class BlockNeighborhoodBuilder implements IBlockNeighborhoodBuilder {
+    private static final ProfilerSectionId KEY_BUILDING_SECTION = ProfilingManager.getInstance().registerSection("Key building");
+
     private static final BlockNeighborhoodBuilder INSTANCE = new BlockNeighborhoodBuilder();
 
     public static BlockNeighborhoodBuilder getInstance() {
@@ -30,13 +37,23 @@ public final class BlockNeighborhoodBuilder implements IBlockNeighborhoodBuilder
     ) {
         final EnumMap<Direction, BlockNeighborhoodEntry> neighborhoodMap = new EnumMap<>(Direction.class);
 
-        try (IProfilerSection ignored2 = ProfilingManager.getInstance().withSection("Key building")) {
+        try (IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(KEY_BUILDING_SECTION)) {
             if (neighborhoodBlockStateProvider != null && neighborhoodAreaAccessorProvider != null) {
                 for (final Direction value : Direction.values()) {
                     final BlockState state = neighborhoodBlockStateProvider.apply(value);
                     final IAreaAccessor accessor = neighborhoodAreaAccessorProvider.apply(value);
                     if (accessor == null) {
                         neighborhoodMap.put(value, new BlockNeighborhoodEntry(state));
+                    } else if (accessor instanceof final IAreaAccessorWithOccupancy accessorWithOccupancy) {
+                        //Only the face touching the block is ever looked at, so it identifies the neighbor.
+                        //If that face is empty the neighbor has nothing to offer, and no snapshot is needed.
+                        final IFaceSignature signature = accessorWithOccupancy.getOccupancy().getFaceSignature(value.getOpposite());
+                        neighborhoodMap.put(value, new BlockNeighborhoodEntry(
+                                        state,
+                                        signature.isEmpty() ? null : snapshot(accessor),
+                                        signature
+                                )
+                        );
                     } else {
                         neighborhoodMap.put(value, new BlockNeighborhoodEntry(
                                         state,
@@ -50,4 +67,16 @@ public final class BlockNeighborhoodBuilder implements IBlockNeighborhoodBuilder
 
         return new BlockNeighborhood(neighborhoodMap);
     }
+
+    private static IAreaAccessor snapshot(final IAreaAccessor accessor) {
+        //Render snapshots are already immutable, copying them again is pointless.
+        if (accessor instanceof RenderSnapshot)
+            return accessor;
+
+        //Chiseled blocks can be copied directly, without a round trip through their serialized form.
+        if (accessor instanceof final ChiseledBlockEntity chiseledBlockEntity)
+            return chiseledBlockEntity.createRenderSnapshot();
+
+        return accessor.createSnapshot();
+    }
 }
@@ -1,8 +1,10 @@
 package mod.chiselsandbits.neighborhood;
 
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IFaceSignature;
 import mod.chiselsandbits.api.multistate.accessor.identifier.IAreaShapeIdentifier;
 import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -11,12 +13,30 @@ public final class BlockNeighborhoodEntry
     private final BlockState    blockState;
     private final IAreaAccessor accessor;
     private final IAreaShapeIdentifier identifier;
+    private final IFaceSignature signature;
 
     public BlockNeighborhoodEntry(final BlockState blockState, final IAreaAccessor accessor)
     {
         this.blockState = blockState;
         this.accessor = accessor;
         this.identifier = this.accessor.createNewShapeIdentifier();
+        this.signature = null;
+    }
+
+    /**
+     * Creates an entry for a neighbor which provides the signature of its touching face.
+     * Only the signature is used to identify the neighbor, since the block never looks past the touching face.
+     *
+     * @param blockState The blockstate of the neighbor.
+     * @param accessor The accessor of the neighbor, may be null if the touching face is empty.
+     * @param signature The signature of the touching face.
+     */
+    public BlockNeighborhoodEntry(final BlockState blockState, @Nullable final IAreaAccessor accessor, final IFaceSignature signature)
+    {
+        this.blockState = blockState;
+        this.accessor = accessor;
+        this.identifier = IAreaShapeIdentifier.DUMMY;
+        this.signature = signature;
     }
 
     public BlockNeighborhoodEntry(final BlockState blockState)
@@ -24,6 +44,7 @@ public final class BlockNeighborhoodEntry
         this.blockState = blockState;
         this.accessor = null;
         this.identifier = IAreaShapeIdentifier.DUMMY;
+        this.signature = null;
     }
 
     @Override
@@ -31,6 +52,7 @@ public final class BlockNeighborhoodEntry
     {
         int result = blockState != null ? blockState.hashCode() : 0;
         result = 31 * result + (identifier != null ? identifier.hashCode() : 0);
+        result = 31 * result + (signature != null ? signature.hashCode() : 0);
         return result;
     }
 
@@ -50,9 +72,37 @@ public final class BlockNeighborhoodEntry
         {
             return false;
         }
+        if (!Objects.equals(signature, that.signature))
+        {
+            return false;
+        }
         return Objects.equals(identifier, that.identifier);
     }
 
+    /**
+     * Indicates if the given neighbor would produce an entry equal to this one.
+     * Neighbors without a face signature can not be compared cheaply, and are never considered unchanged.
+     *
+     * @param blockState The current blockstate of the neighbor.
+     * @param accessor The current accessor of the neighbor.
+     * @param touchingSignature The current signature of the touching face of the neighbor, if any.
+     * @return True when the neighbor is unchanged.
+     */
+    public boolean matches(final BlockState blockState, @Nullable final IAreaAccessor accessor, @Nullable final IFaceSignature touchingSignature)
+    {
+        if (!Objects.equals(this.blockState, blockState))
+        {
+            return false;
+        }
+
+        if (accessor == null)
+        {
+            return this.accessor == null && this.signature == null;
+        }
+
+        return touchingSignature != null && Objects.equals(this.signature, touchingSignature);
+    }
+
     public BlockState getBlockState()
     {
         return blockState;
@@ -67,4 +117,10 @@ public final class BlockNeighborhoodEntry
     {
         return identifier;
     }
+
+    @Nullable
+    public IFaceSignature getSignature()
+    {
+        return signature;
+    }
 }
@@ -1,11 +1,19 @@
 package mod.chiselsandbits.network;
 
+import io.netty.buffer.Unpooled;
+import mod.chiselsandbits.api.metrics.ICounter;
+import mod.chiselsandbits.metrics.MetricsRegistry;
 import mod.chiselsandbits.network.packets.*;
+import mod.chiselsandbits.platforms.core.IChiselsAndBitsPlatformCore;
 import mod.chiselsandbits.platforms.core.network.INetworkChannel;
+import mod.chiselsandbits.profiling.jfr.FlightRecorderEvents;
+import mod.chiselsandbits.profiling.jfr.SyncPacketEvent;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.Function;
 
@@ -16,6 +24,8 @@ public class NetworkChannel
 {
     private static final String        LATEST_PROTO_VER    = "1.0";
     private static final String          ACCEPTED_PROTO_VERS = LATEST_PROTO_VER;
+    private static final ICounter        ENCODED_BYTES       = MetricsRegistry.getInstance().counter("network.encoded-bytes");
+    private static final ICounter        ENCODED_PACKETS     = MetricsRegistry.getInstance().counter("network.encoded-packets");
     /**
      * Forge network channel
      */
@@ -64,6 +74,7 @@ public class NetworkChannel
         registerMessage(index++, ExportPatternCommandMessagePacket.class, ExportPatternCommandMessagePacket::new);
         registerMessage(index++, ImportPatternCommandMessagePacket.class, ImportPatternCommandMessagePacket::new);
         registerMessage(index++, GivePlayerPatternCommandPacket.class, GivePlayerPatternCommandPacket::new);
+        registerMessage(index++, MeasurementsRemovedPacket.class, MeasurementsRemovedPacket::new);
     }
 
     /**
@@ -79,12 +90,27 @@ public class NetworkChannel
         rawChannel.register(
           id,
           msgClazz,
-          ModPacket::writePayload,
+          NetworkChannel::encode,
           msgCreator,
           (msg, serverSide, player, executor) -> executor.accept(() -> msg.processPacket(player, serverSide))
         );
     }
 
+    /**
+     * Writes the given packet into the buffer, counting the written bytes.
+     * Packets sent to multiple players are counted once per encoding done by the platform.
+     *
+     * @param msg The packet.
+     * @param buffer The buffer to write to.
+     */
+    private static void encode(final ModPacket msg, final FriendlyByteBuf buffer)
+    {
+        final int start = buffer.writerIndex();
+        msg.writePayload(buffer);
+        ENCODED_BYTES.add(buffer.writerIndex() - start);
+        ENCODED_PACKETS.increment();
+    }
+
     /**
      * Sends to server.
      *
@@ -92,7 +118,9 @@ public class NetworkChannel
      */
     public void sendToServer(final ModPacket msg)
     {
+        final SyncPacketEvent event = FlightRecorderEvents.begin(SyncPacketEvent::new);
         rawChannel.sendToServer(msg);
+        commitSyncPacket(event, msg, 1);
     }
 
     /**
@@ -103,7 +131,9 @@ public class NetworkChannel
      */
     public void sendToPlayer(final ModPacket msg, final ServerPlayer player)
     {
+        final SyncPacketEvent event = FlightRecorderEvents.begin(SyncPacketEvent::new);
         rawChannel.sendToPlayer(msg, player);
+        commitSyncPacket(event, msg, 1);
     }
 
     /**
@@ -113,7 +143,10 @@ public class NetworkChannel
      */
     public void sendToEveryone(final ModPacket msg)
     {
+        final SyncPacketEvent event = FlightRecorderEvents.begin(SyncPacketEvent::new);
         rawChannel.sendToEveryone(msg);
+        if (event != null)
+            commitSyncPacket(event, msg, IChiselsAndBitsPlatformCore.getInstance().getCurrentServer().getPlayerCount());
     }
 
     /**
@@ -124,6 +157,39 @@ public class NetworkChannel
      */
     public void sendToTrackingChunk(final ModPacket msg, final LevelChunk chunk)
     {
+        final SyncPacketEvent event = FlightRecorderEvents.begin(SyncPacketEvent::new);
         rawChannel.sendToTrackingChunk(msg, chunk);
+        if (event != null && chunk.getLevel() instanceof final ServerLevel serverLevel)
+            commitSyncPacket(event, msg, serverLevel.getChunkSource().chunkMap.getPlayers(chunk.getPos(), false).size());
+    }
+
+    /**
+     * Completes the flight recorder event of a sent packet.
+     * The packet is serialized once more to determine its size, which only happens while a recording is interested in the event.
+     *
+     * @param event The event, or {@code null} when no event is needed.
+     * @param msg The packet which was sent.
+     * @param recipients The amount of players the packet was sent to.
+     */
+    private static void commitSyncPacket(@Nullable final SyncPacketEvent event, final ModPacket msg, final int recipients)
+    {
+        if (event == null)
+            return;
+
+        event.end();
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        try
+        {
+            msg.writePayload(buffer);
+            event.bytes = buffer.readableBytes();
+        }
+        finally
+        {
+            buffer.release();
+        }
+
+        event.packet = msg.getClass().getSimpleName();
+        event.recipients = recipients;
+        event.commit();
     }
 }
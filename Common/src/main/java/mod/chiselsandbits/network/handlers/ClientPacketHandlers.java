@@ -10,16 +10,21 @@ import mod.chiselsandbits.api.client.screen.AbstractChiselsAndBitsScreen;
 import mod.chiselsandbits.api.client.sharing.IPatternSharingManager;
 import mod.chiselsandbits.api.client.sharing.PatternIOException;
 import mod.chiselsandbits.api.item.multistate.IMultiStateItemStack;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.neighborhood.IBlockNeighborhood;
 import mod.chiselsandbits.api.profiling.IProfilerSection;
+import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
 import mod.chiselsandbits.client.screens.widgets.ChangeTrackerOperationsWidget;
 import mod.chiselsandbits.clipboard.CreativeClipboardManager;
 import mod.chiselsandbits.clipboard.CreativeClipboardUtils;
 import mod.chiselsandbits.item.multistate.SingleBlockMultiStateItemStack;
 import mod.chiselsandbits.network.packets.GivePlayerPatternCommandPacket;
+import mod.chiselsandbits.profiling.ProfilerSectionId;
 import mod.chiselsandbits.profiling.ProfilingManager;
 import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.world.item.ItemStack;
@@ -32,6 +37,9 @@ import java.util.Optional;
 
 public final class ClientPacketHandlers
 {
+    private static final ProfilerSectionId HANDLING_TILE_ENTITY_UPDATE_PACKET_SECTION = ProfilingManager.getInstance().registerSection("Handling tile entity update packet");
+    private static final ProfilerSectionId UPDATING_TILE_ENTITY_SECTION               = ProfilingManager.getInstance().registerSection("Updating tile entity");
+    private static final ProfilerSectionId SCHEDULING_REFRESH_SECTION                 = ProfilingManager.getInstance().registerSection("Scheduling refresh");
 
     private ClientPacketHandlers()
     {
@@ -60,9 +68,9 @@ public final class ClientPacketHandlers
 
             if (tileEntity != null && tileEntity.getLevel() != null) {
 
-                try(IProfilerSection ignored1 = ProfilingManager.getInstance().withSection("Handling tile entity update packet"))
+                try(IProfilerSection ignored1 = ProfilingManager.getInstance().withSection(HANDLING_TILE_ENTITY_UPDATE_PACKET_SECTION))
                 {
-                    try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection("Updating tile entity"))
+                    try(IProfilerSection ignored2 = ProfilingManager.getInstance().withSection(UPDATING_TILE_ENTITY_SECTION))
                     {
                         if (tileEntity instanceof INetworkUpdateableEntity networkUpdateableEntity) {
                             networkUpdateableEntity.handleUpdateTag(updateTag);
@@ -71,7 +79,7 @@ public final class ClientPacketHandlers
                         {
                             tileEntity.load(updateTag);
 
-                            try(IProfilerSection ignored3 = ProfilingManager.getInstance().withSection("Scheduling refresh"))
+                            try(IProfilerSection ignored3 = ProfilingManager.getInstance().withSection(SCHEDULING_REFRESH_SECTION))
                             {
                                 tileEntity.getLevel().sendBlockUpdated(
                                   tileEntity.getBlockPos(),
@@ -100,6 +108,9 @@ public final class ClientPacketHandlers
     }
 
     public static void handleNeighborUpdated(final BlockPos toUpdate, final BlockPos from) {
+        if (isNeighborUnchanged(toUpdate, from))
+            return;
+
         Minecraft.getInstance().level.getBlockState(toUpdate)
           .neighborChanged(
             Minecraft.getInstance().level,
@@ -110,6 +121,27 @@ public final class ClientPacketHandlers
           );
     }
 
+    private static boolean isNeighborUnchanged(final BlockPos toUpdate, final BlockPos from) {
+        final BlockPos offset = from.subtract(toUpdate);
+        final Direction direction = Direction.fromNormal(offset.getX(), offset.getY(), offset.getZ());
+        if (direction == null)
+            return false;
+
+        if (!(Minecraft.getInstance().level.getBlockEntity(toUpdate) instanceof final ChiseledBlockEntity chiseledBlockEntity))
+            return false;
+
+        final IBlockNeighborhood neighborhood = chiseledBlockEntity.getModelNeighborhood();
+        if (neighborhood == null)
+            return false;
+
+        final BlockEntity neighbor = Minecraft.getInstance().level.getBlockEntity(from);
+        return neighborhood.isUnchanged(
+          direction,
+          Minecraft.getInstance().level.getBlockState(from),
+          neighbor instanceof IAreaAccessor ? (IAreaAccessor) neighbor : null
+        );
+    }
+
     public static void handleAddMultiStateToClipboard(final ItemStack stack) {
         final IMultiStateItemStack itemStack = new SingleBlockMultiStateItemStack(stack);
         CreativeClipboardUtils.addBrokenBlock(itemStack);
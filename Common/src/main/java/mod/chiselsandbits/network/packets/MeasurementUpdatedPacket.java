@@ -36,6 +36,12 @@ public final class MeasurementUpdatedPacket extends ModPacket
     @Override
     public void server(final ServerPlayer playerEntity)
     {
-        MeasuringManager.getInstance().addOrUpdate(measurement);
+        MeasuringManager.getInstance().addOrUpdate(measurement, playerEntity.getServer());
+    }
+
+    @Override
+    public void client()
+    {
+        MeasuringManager.getInstance().update(measurement);
     }
 }
@@ -0,0 +1,42 @@
+package mod.chiselsandbits.network.packets;
+
+import mod.chiselsandbits.measures.MeasuringManager;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.UUID;
+
+/**
+ * Removes all measurements of a single player on the client.
+ */
+public final class MeasurementsRemovedPacket extends ModPacket
+{
+    private UUID owner;
+
+    public MeasurementsRemovedPacket(final UUID owner)
+    {
+        this.owner = owner;
+    }
+
+    public MeasurementsRemovedPacket(final FriendlyByteBuf buffer)
+    {
+        readPayload(buffer);
+    }
+
+    @Override
+    public void writePayload(final FriendlyByteBuf buffer)
+    {
+        buffer.writeUUID(owner);
+    }
+
+    @Override
+    public void readPayload(final FriendlyByteBuf buffer)
+    {
+        this.owner = buffer.readUUID();
+    }
+
+    @Override
+    public void client()
+    {
+        MeasuringManager.getInstance().removeFor(owner);
+    }
+}
@@ -1,42 +1,55 @@
 package mod.chiselsandbits.network.packets;
 
+import mod.chiselsandbits.measures.Measurement;
 import mod.chiselsandbits.measures.MeasuringManager;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
 
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Replaces all measurements of a single world on the client.
+ * Only sent when a player logs in or changes dimension, single measurements are synced with {@link MeasurementUpdatedPacket}.
+ */
 public final class MeasurementsUpdatedPacket extends ModPacket
 {
+    private ResourceLocation                  worldKey;
+    private Collection<? extends Measurement> measurements;
 
     public MeasurementsUpdatedPacket(final FriendlyByteBuf buffer)
     {
         readPayload(buffer);
     }
 
-    public MeasurementsUpdatedPacket()
+    public MeasurementsUpdatedPacket(final ResourceLocation worldKey, final Collection<? extends Measurement> measurements)
     {
+        this.worldKey = worldKey;
+        this.measurements = measurements;
     }
 
     @Override
     public void writePayload(final FriendlyByteBuf buffer)
     {
-        MeasuringManager.getInstance().serializeInto(buffer);
+        buffer.writeResourceLocation(worldKey);
+        buffer.writeVarInt(measurements.size());
+        measurements.forEach(measurement -> measurement.serializeInto(buffer));
     }
 
     @Override
     public void readPayload(final FriendlyByteBuf buffer)
     {
-        MeasuringManager.getInstance().deserializeFrom(buffer);
-    }
-
-    @Override
-    public void server(final ServerPlayer playerEntity)
-    {
-        //Noop
+        this.worldKey = buffer.readResourceLocation();
+        this.measurements = buffer.readList(measurementBuffer -> {
+            final Measurement measurement = new Measurement();
+            measurement.deserializeFrom(measurementBuffer);
+            return measurement;
+        });
     }
 
     @Override
     public void client()
     {
-        //Noop
+        MeasuringManager.getInstance().replaceInWorld(worldKey, measurements);
     }
 }
@@ -2,12 +2,19 @@ package mod.chiselsandbits.profiling;
 
 import mod.chiselsandbits.api.profiling.IProfiler;
 import mod.chiselsandbits.api.profiling.IProfilerResult;
-import net.minecraft.util.profiling.ActiveProfiler;
-import net.minecraft.Util;
+import mod.chiselsandbits.api.profiling.IProfilerSection;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+/**
+ * A profiler which can be used from any amount of threads at the same time.
+ *
+ * Every thread records its sections into its own collector, so the section stacks of different threads never interfere with each other.
+ * The collectors are merged by section path when the result is requested.
+ */
 public class CandBProfiler implements IProfiler
 {
 
@@ -31,35 +38,50 @@ public class CandBProfiler implements IProfiler
         return profiler -> profiler.endStartSection(name);
     }
 
-    private final ActiveProfiler inner = new ActiveProfiler(Util.timeSource, () -> 0, false);
+    private final Queue<ThreadCollector>       collectors      = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadCollector> threadCollector = ThreadLocal.withInitial(this::createCollector);
 
-    public CandBProfiler()
+    /**
+     * Starts the given section on the current thread.
+     *
+     * @param section The section to start.
+     * @return The handle which ends the section when it is closed.
+     */
+    public IProfilerSection startSection(final ProfilerSectionId section)
     {
-        inner.startTick();
+        final ThreadCollector collector = threadCollector.get();
+        collector.push(section);
+        return collector;
     }
 
     @Override
     public void startSection(final String name)
     {
-        inner.push(name);
+        startSection(ProfilingManager.getInstance().registerSection(name));
     }
 
     @Override
     public void startSection(final Supplier<String> nameSupplier)
     {
-        inner.push(nameSupplier);
+        startSection(nameSupplier.get());
     }
 
     @Override
     public void endSection()
     {
-        inner.pop();
+        threadCollector.get().close();
     }
 
     public IProfilerResult getResult() {
-        inner.endTick();
-        final IProfilerResult result = new CandBProfilingResult(inner.getResults());
-        inner.startTick();
-        return result;
+        final CandBProfilingResult.Section root = new CandBProfilingResult.Section("root");
+        collectors.forEach(collector -> collector.mergeInto(root));
+        return new CandBProfilingResult(root);
+    }
+
+    private ThreadCollector createCollector()
+    {
+        final ThreadCollector collector = new ThreadCollector();
+        collectors.add(collector);
+        return collector;
     }
 }
@@ -1,48 +1,145 @@
 package mod.chiselsandbits.profiling;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import mod.chiselsandbits.api.profiling.IProfilerResult;
-import net.minecraft.util.profiling.FilledProfileResults;
-import net.minecraft.util.profiling.ProfileResults;
-import net.minecraft.util.profiling.ResultField;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
+/**
+ * The merged results of all threads which used a {@link CandBProfiler}.
+ * Every section reports how often it ran, its total time, and the median, 99th percentile and maximum of its durations.
+ */
 public class CandBProfilingResult implements IProfilerResult
 {
-    private final ProfileResults innerResult;
+    private static final Logger LOGGER = LogManager.getLogger();
 
-    public CandBProfilingResult(final ProfileResults innerResult) {this.innerResult = innerResult;}
+    private final Section root;
+
+    public CandBProfilingResult(final Section root) {this.root = root;}
 
     @Override
     public void writeToFile(final Path file)
     {
-        innerResult.saveResults(file);
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        final JsonObject json = new JsonObject();
+        json.add("sections", toJson(root.getSortedChildren()));
+
+        try
+        {
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(file))
+            {
+                gson.toJson(json, writer);
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Failed to write the profiling results to: " + file, e);
+        }
     }
 
     @Override
     public void writeAsResponse(final Consumer<String> lineConsumer)
     {
-        if (!(innerResult instanceof final FilledProfileResults filledProfileResult))
-            return;
-
         lineConsumer.accept("Results:");
-        writeDatapointsAsResponse("root", filledProfileResult::getTimes, lineConsumer, " ");
+        writeSectionsAsResponse(root.getSortedChildren(), lineConsumer, " ");
     }
 
-    private void writeDatapointsAsResponse(final String name, final Function<String, List<ResultField>> producer, final Consumer<String> lineConsumer, final String indent) {
-        final List<ResultField> dataPoints = producer.apply(name);
-
-        dataPoints.forEach(
-          dataPoint -> {
-              lineConsumer.accept(String.format("%s> %s: %s (%s)", indent, dataPoint.name.substring(dataPoint.name.lastIndexOf('\u001e') + 1), dataPoint.percentage, dataPoint.globalPercentage));
+    private void writeSectionsAsResponse(final List<Section> sections, final Consumer<String> lineConsumer, final String indent) {
+        sections.forEach(
+          section -> {
+              final LatencyHistogram histogram = section.getHistogram();
+              lineConsumer.accept(String.format("%s> %s: %dx, total %.3fms, p50 %.3fms, p99 %.3fms, max %.3fms",
+                indent,
+                section.getName(),
+                histogram.getCount(),
+                toMillis(histogram.getTotal()),
+                toMillis(histogram.getPercentile(0.5)),
+                toMillis(histogram.getPercentile(0.99)),
+                toMillis(histogram.getMax())));
 
-              if (!dataPoint.name.equals(name)) {
-                  writeDatapointsAsResponse(name + '\u001e' + dataPoint.name, producer, lineConsumer, indent + " ");
-              }
+              writeSectionsAsResponse(section.getSortedChildren(), lineConsumer, indent + " ");
           }
         );
     }
+
+    private static JsonArray toJson(final List<Section> sections)
+    {
+        final JsonArray array = new JsonArray();
+        sections.forEach(section -> {
+            final LatencyHistogram histogram = section.getHistogram();
+            final JsonObject object = new JsonObject();
+            object.addProperty("name", section.getName());
+            object.addProperty("count", histogram.getCount());
+            object.addProperty("totalNanos", histogram.getTotal());
+            object.addProperty("p50Nanos", histogram.getPercentile(0.5));
+            object.addProperty("p99Nanos", histogram.getPercentile(0.99));
+            object.addProperty("maxNanos", histogram.getMax());
+            object.add("children", toJson(section.getSortedChildren()));
+            array.add(object);
+        });
+        return array;
+    }
+
+    private static double toMillis(final long nanos)
+    {
+        return nanos / 1_000_000d;
+    }
+
+    /**
+     * A section of the merged results, sections of different threads with the same path are merged into one.
+     */
+    public static final class Section
+    {
+        private final String               name;
+        private final LatencyHistogram     histogram = new LatencyHistogram();
+        private final Map<String, Section> children  = new LinkedHashMap<>();
+
+        public Section(final String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public LatencyHistogram getHistogram()
+        {
+            return histogram;
+        }
+
+        public Section getOrCreateChild(final String childName)
+        {
+            return children.computeIfAbsent(childName, Section::new);
+        }
+
+        /**
+         * The child sections, the ones which took the most time in total first.
+         *
+         * @return The child sections.
+         */
+        public List<Section> getSortedChildren()
+        {
+            return children.values().stream()
+              .sorted(Comparator.comparingLong((Section section) -> section.getHistogram().getTotal()).reversed())
+              .toList();
+        }
+    }
 }
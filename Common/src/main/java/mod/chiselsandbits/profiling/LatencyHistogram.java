@@ -0,0 +1,109 @@
+package mod.chiselsandbits.profiling;
+
+/**
+ * A histogram of durations in nanoseconds, with a bounded relative error.
+ *
+ * Durations below {@value #SUB_BUCKETS} nanoseconds are counted exactly. Every larger power of two is split into {@value #SUB_BUCKETS}
+ * buckets of equal width, so a reported percentile is at most about six percent off, while the histogram never allocates after its creation.
+ * This class is not thread safe.
+ */
+public final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT    = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long total = 0;
+    private long max   = 0;
+
+    /**
+     * Records a single duration.
+     *
+     * @param nanos The duration in nanoseconds, negative durations are counted as zero.
+     */
+    public void record(final long nanos)
+    {
+        final long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all durations recorded by the given histogram to this histogram.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(final LatencyHistogram other)
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public long getTotal()
+    {
+        return total;
+    }
+
+    public long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Determines the duration below which the given fraction of all recorded durations lies.
+     *
+     * @param fraction The fraction, between zero and one.
+     * @return The duration in nanoseconds, never more than the largest recorded duration.
+     */
+    public long getPercentile(final double fraction)
+    {
+        if (count == 0)
+            return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            seen += counts[i];
+            if (seen >= target)
+                return Math.min(max, upperBoundOf(i));
+        }
+
+        return max;
+    }
+
+    static int bucketOf(final long value)
+    {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(final int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        final long lowerBound = (SUB_BUCKETS + (bucket % SUB_BUCKETS)) * width;
+        return lowerBound + width - 1;
+    }
+}
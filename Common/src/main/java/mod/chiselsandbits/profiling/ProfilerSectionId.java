@@ -0,0 +1,10 @@
+package mod.chiselsandbits.profiling;
+
+/**
+ * A pre-registered profiler section, obtained from {@link ProfilingManager#registerSection(String)}.
+ * Sections are identified by their id, so that starting them does not require any string handling on hot paths.
+ *
+ * @param id The id of the section, unique for the lifetime of the game.
+ * @param name The name of the section, as it is shown in the results.
+ */
+public record ProfilerSectionId(int id, String name) {}
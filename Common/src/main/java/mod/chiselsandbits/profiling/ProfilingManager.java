@@ -5,18 +5,26 @@ import mod.chiselsandbits.api.profiling.IProfilerResult;
 import mod.chiselsandbits.api.profiling.IProfilerSection;
 import mod.chiselsandbits.api.profiling.IProfilingManager;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class ProfilingManager implements IProfilingManager
 {
     private static final ProfilingManager INSTANCE = new ProfilingManager();
 
+    private static final IProfilerSection NOOP_SECTION = () -> {};
+
     public static ProfilingManager getInstance()
     {
         return INSTANCE;
     }
 
-    public IProfiler profiler = null;
+    private final Map<String, ProfilerSectionId> sections    = new ConcurrentHashMap<>();
+    private final AtomicInteger                  nextSection = new AtomicInteger();
+
+    private volatile IProfiler profiler = null;
 
     private ProfilingManager()
     {
@@ -54,19 +62,45 @@ public class ProfilingManager implements IProfilingManager
     }
 
     public void withProfiler(final Consumer<IProfiler> callback) {
-        if (hasProfiler())
-            callback.accept(getProfiler());
+        final IProfiler current = getProfiler();
+        if (current != null)
+            callback.accept(current);
     }
 
-    public IProfilerSection withSection(final String name) {
-        final IProfiler profiler = getProfiler();
+    /**
+     * Registers a profiler section, which is meant to be stored in a constant by its user.
+     * Registering the same name twice returns the same section.
+     *
+     * @param name The name of the section.
+     * @return The section.
+     */
+    public ProfilerSectionId registerSection(final String name) {
+        return sections.computeIfAbsent(name, key -> new ProfilerSectionId(nextSection.getAndIncrement(), key));
+    }
 
-        if (profiler != null)
-            profiler.startSection(name);
+    /**
+     * Starts the given section on the current thread, if profiling is active.
+     * When profiling is not active this neither allocates nor synchronizes.
+     *
+     * @param section The section to start.
+     * @return The handle which ends the section when it is closed.
+     */
+    public IProfilerSection withSection(final ProfilerSectionId section) {
+        final IProfiler current = getProfiler();
+        if (current == null)
+            return NOOP_SECTION;
+
+        if (current instanceof final CandBProfiler candBProfiler)
+            return candBProfiler.startSection(section);
+
+        current.startSection(section.name());
+        return current::endSection;
+    }
+
+    public IProfilerSection withSection(final String name) {
+        if (!hasProfiler())
+            return NOOP_SECTION;
 
-        return () -> {
-            if (profiler != null)
-                profiler.endSection();
-        };
+        return withSection(registerSection(name));
     }
 }
@@ -0,0 +1,96 @@
+package mod.chiselsandbits.profiling;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import mod.chiselsandbits.api.profiling.IProfilerSection;
+
+import java.util.Arrays;
+
+/**
+ * Collects the section timings of a single thread.
+ *
+ * Only the owning thread pushes and closes sections, so the lock is never contended while profiling.
+ * It only exists so that the results can be safely merged by the thread which stops the profiler.
+ * The collector itself is returned as the section handle, so starting a section does not allocate once the section was seen before.
+ */
+final class ThreadCollector implements IProfilerSection
+{
+    private final Node root = new Node();
+
+    private Node[] stack  = new Node[16];
+    private long[] starts = new long[16];
+    private int    depth  = 0;
+
+    synchronized void push(final ProfilerSectionId section)
+    {
+        if (depth == stack.length)
+        {
+            stack = Arrays.copyOf(stack, depth * 2);
+            starts = Arrays.copyOf(starts, depth * 2);
+        }
+
+        final Node parent = depth == 0 ? root : stack[depth - 1];
+        stack[depth] = parent.getOrCreateChild(section);
+        starts[depth] = System.nanoTime();
+        depth++;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if (depth == 0)
+            return;
+
+        depth--;
+        stack[depth].histogram.record(System.nanoTime() - starts[depth]);
+        stack[depth] = null;
+    }
+
+    /**
+     * Adds the timings of all completed sections to the given result section.
+     * Sections which are still running are not included.
+     *
+     * @param target The root of the merged results.
+     */
+    synchronized void mergeInto(final CandBProfilingResult.Section target)
+    {
+        mergeInto(root, target);
+    }
+
+    private static void mergeInto(final Node node, final CandBProfilingResult.Section target)
+    {
+        node.children.values().forEach(child -> {
+            final CandBProfilingResult.Section targetChild = target.getOrCreateChild(child.section.name());
+            targetChild.getHistogram().add(child.histogram);
+            mergeInto(child, targetChild);
+        });
+    }
+
+    private static final class Node
+    {
+        private final ProfilerSectionId           section;
+        private final LatencyHistogram            histogram = new LatencyHistogram();
+        private final Int2ObjectOpenHashMap<Node> children  = new Int2ObjectOpenHashMap<>();
+
+        private Node()
+        {
+            this(null);
+        }
+
+        private Node(final ProfilerSectionId section)
+        {
+            this.section = section;
+        }
+
+        private Node getOrCreateChild(final ProfilerSectionId childSection)
+        {
+            Node child = children.get(childSection.id());
+            if (child == null)
+            {
+                child = new Node(childSection);
+                children.put(childSection.id(), child);
+            }
+
+            return child;
+        }
+    }
+}
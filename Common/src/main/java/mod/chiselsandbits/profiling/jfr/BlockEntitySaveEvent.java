@@ -0,0 +1,34 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("chiselsandbits.BlockEntitySave")
+@Label("Chiseled Block Entity Save")
+@Category({"Chisels and Bits", "Storage"})
+@Description("The serialization and LZ4 compression of the data of a chiseled block entity.")
+@StackTrace(false)
+public final class BlockEntitySaveEvent extends Event
+{
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Uncompressed Size")
+    @DataAmount
+    public int uncompressedBytes;
+
+    @Label("Compressed Size")
+    @DataAmount
+    public int compressedBytes;
+}
@@ -0,0 +1,28 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("chiselsandbits.BulkMutation")
+@Label("Bulk Mutation")
+@Category({"Chisels and Bits", "Chiseling"})
+@Description("A batch of changes to a chiseled block, from the start of the batch until it was closed.")
+@StackTrace(false)
+public final class BulkMutationEvent extends Event
+{
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Bits Changed")
+    public int bitsChanged;
+}
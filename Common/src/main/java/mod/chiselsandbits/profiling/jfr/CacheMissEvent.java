@@ -0,0 +1,19 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("chiselsandbits.CacheMiss")
+@Label("Cache Miss")
+@Category({"Chisels and Bits", "Caches"})
+@Description("A lookup which was not answered by a cache, including the calculation of the missing value if the cache performed it.")
+@StackTrace(false)
+public final class CacheMissEvent extends Event
+{
+    @Label("Cache")
+    public String cache;
+}
@@ -0,0 +1,25 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("chiselsandbits.ChangeTrackerOperation")
+@Label("Change Tracker Operation")
+@Category({"Chisels and Bits", "Chiseling"})
+@Description("A change which was recorded, undone or redone by a change tracker, or the clearing of its history.")
+@StackTrace(false)
+public final class ChangeTrackerOperationEvent extends Event
+{
+    @Label("Operation")
+    public String operation;
+
+    @Label("Blocks")
+    public int blocks;
+
+    @Label("History Size")
+    public int historySize;
+}
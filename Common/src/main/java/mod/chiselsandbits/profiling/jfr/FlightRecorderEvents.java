@@ -0,0 +1,54 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import mod.chiselsandbits.api.config.ICommonConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates the Java Flight Recorder events of Chisels and Bits.
+ *
+ * Events are only created when they are enabled in the common configuration, and a running recording is interested in them.
+ * In all other cases no event is allocated, and the callers skip collecting the values of the event.
+ */
+public final class FlightRecorderEvents
+{
+    private FlightRecorderEvents()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: FlightRecorderEvents. This is a utility class");
+    }
+
+    /**
+     * Indicates if the events are enabled in the configuration.
+     * The configuration is only consulted once the flight recorder was started in this process.
+     *
+     * @return {@code true} when events can be emitted.
+     */
+    public static boolean isEnabled()
+    {
+        return FlightRecorder.isInitialized() && ICommonConfiguration.getInstance().getFlightRecorderEventsEnabled().get();
+    }
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @param factory The factory of the event.
+     * @param <E> The type of the event.
+     * @return The started event, or {@code null} when the event is not needed.
+     */
+    @Nullable
+    public static <E extends Event> E begin(final Supplier<E> factory)
+    {
+        if (!isEnabled())
+            return null;
+
+        final E event = factory.get();
+        if (!event.isEnabled())
+            return null;
+
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,31 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("chiselsandbits.ModelBuild")
+@Label("Chiseled Model Build")
+@Category({"Chisels and Bits", "Rendering"})
+@Description("The building of the models of a chiseled block, for one or more render types.")
+@StackTrace(false)
+public final class ModelBuildEvent extends Event
+{
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Render Types")
+    public String renderTypes;
+
+    @Label("Quads")
+    public int quads;
+}
@@ -0,0 +1,27 @@
+package mod.chiselsandbits.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("chiselsandbits.SyncPacket")
+@Label("Packet Sent")
+@Category({"Chisels and Bits", "Network"})
+@Description("A packet of Chisels and Bits which was handed to the network layer.")
+@StackTrace(false)
+public final class SyncPacketEvent extends Event
+{
+    @Label("Packet")
+    public String packet;
+
+    @Label("Size")
+    @DataAmount
+    public int bytes;
+
+    @Label("Recipients")
+    public int recipients;
+}
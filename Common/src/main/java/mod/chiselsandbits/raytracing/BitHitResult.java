@@ -0,0 +1,36 @@
+package mod.chiselsandbits.raytracing;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * A block hit result which targets a single bit of a chiseled block.
+ */
+public class BitHitResult extends BlockHitResult
+{
+    private final Vec3i bitPosition;
+
+    public BitHitResult(
+      final Vec3 location,
+      final Direction direction,
+      final BlockPos blockPos,
+      final boolean inside,
+      final Vec3i bitPosition)
+    {
+        super(location, direction, blockPos, inside);
+        this.bitPosition = bitPosition;
+    }
+
+    /**
+     * The position of the hit bit, inside the hit block.
+     *
+     * @return The position of the bit.
+     */
+    public Vec3i getBitPosition()
+    {
+        return bitPosition;
+    }
+}
@@ -0,0 +1,192 @@
+package mod.chiselsandbits.raytracing;
+
+import mod.chiselsandbits.api.multistate.StateEntrySize;
+import mod.chiselsandbits.api.multistate.accessor.IOccupancyPyramid;
+import mod.chiselsandbits.block.entities.ChiseledBlockEntity;
+import mod.chiselsandbits.platforms.core.entity.IEntityInformationManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Ray tracing which resolves chiseled blocks bit by bit, using a {@link VoxelRayTraversal} over their storage,
+ * instead of clipping against their full voxel shape. Other blocks and fluids are clipped like vanilla does.
+ */
+public final class BitRayTracer
+{
+    private BitRayTracer()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: BitRayTracer. This is a utility class");
+    }
+
+    /**
+     * Performs a raytrace within the reach distance of the given player.
+     * Behaves like {@link mod.chiselsandbits.api.util.RayTracingUtils#rayTracePlayer(Player)}, but returns a {@link BitHitResult}
+     * when a chiseled block is hit.
+     *
+     * @param playerEntity The player to run a raytrace for.
+     * @return The raytrace result.
+     */
+    public static HitResult rayTracePlayer(final Player playerEntity)
+    {
+        final double reachAttributeValue = IEntityInformationManager.getInstance().getReachDistance(playerEntity);
+        final double reachDistance = playerEntity.isCreative() ? reachAttributeValue : reachAttributeValue - 0.5D;
+
+        final Vec3 start = playerEntity.getEyePosition(0.5f);
+        final Vec3 end = start.add(playerEntity.getViewVector(0.5f).scale(reachDistance));
+
+        return clip(playerEntity.getLevel(), start, end, playerEntity);
+    }
+
+    /**
+     * Calculates a point inside the bit which is selected by the given hit and facing.
+     * For a {@link BitHitResult} the bit found by the traversal is used directly, otherwise the hit location is moved by half a bit along the facing.
+     *
+     * @param hitResult The hit result.
+     * @param facing The opposite of the normal of the hit face to select the hit bit, or the normal of the hit face to select the bit in front of it.
+     * @return The point inside the selected bit, in world coordinates.
+     */
+    public static Vec3 getTargetedBitVector(final BlockHitResult hitResult, final Vec3 facing)
+    {
+        final Vec3 halfBitOffset = facing.multiply(StateEntrySize.current().getSizePerHalfBitScalingVector());
+        if (!(hitResult instanceof final BitHitResult bitHitResult))
+        {
+            return hitResult.getLocation().add(halfBitOffset);
+        }
+
+        //The center of the hit bit lies half a bit behind the hit face.
+        final Vec3 hitFaceCenter = Vec3.atLowerCornerOf(bitHitResult.getBitPosition())
+          .add(0.5, 0.5, 0.5)
+          .add(Vec3.atLowerCornerOf(bitHitResult.getDirection().getNormal()).scale(0.5))
+          .multiply(StateEntrySize.current().getSizePerBitScalingVector());
+        return Vec3.atLowerCornerOf(bitHitResult.getBlockPos()).add(hitFaceCenter).add(halfBitOffset);
+    }
+
+    /**
+     * Clips the segment between the two given points against the blocks and fluids in the given world.
+     *
+     * @param world The world.
+     * @param start The start of the segment.
+     * @param end The end of the segment.
+     * @param entity The entity which performs the raytrace.
+     * @return The first hit, or a miss.
+     */
+    public static BlockHitResult clip(final BlockGetter world, final Vec3 start, final Vec3 end, final Entity entity)
+    {
+        final CollisionContext collisionContext = CollisionContext.of(entity);
+        return BlockGetter.traverseBlocks(
+          start,
+          end,
+          world,
+          (blockGetter, position) -> clipBlock(blockGetter, position.immutable(), start, end, collisionContext),
+          blockGetter -> {
+              final Vec3 direction = start.subtract(end);
+              return BlockHitResult.miss(end, Direction.getNearest(direction.x(), direction.y(), direction.z()), new BlockPos(end));
+          }
+        );
+    }
+
+    @Nullable
+    private static BlockHitResult clipBlock(
+      final BlockGetter world,
+      final BlockPos position,
+      final Vec3 start,
+      final Vec3 end,
+      final CollisionContext collisionContext)
+    {
+        final BlockState blockState = world.getBlockState(position);
+        final BlockEntity blockEntity = blockState.hasBlockEntity() ? world.getBlockEntity(position) : null;
+
+        final BlockHitResult blockHitResult;
+        if (blockEntity instanceof final ChiseledBlockEntity chiseledBlockEntity)
+        {
+            blockHitResult = clipChiseledBlock(chiseledBlockEntity, position, start, end);
+        }
+        else
+        {
+            final VoxelShape shape = blockState.getShape(world, position, collisionContext);
+            blockHitResult = world.clipWithInteractionOverride(start, end, position, shape, blockState);
+        }
+
+        final FluidState fluidState = world.getFluidState(position);
+        final BlockHitResult fluidHitResult = fluidState.isEmpty() ? null : fluidState.getShape(world, position).clip(start, end, position);
+
+        if (fluidHitResult == null)
+            return blockHitResult;
+
+        if (blockHitResult == null)
+            return fluidHitResult;
+
+        return start.distanceToSqr(blockHitResult.getLocation()) <= start.distanceToSqr(fluidHitResult.getLocation()) ? blockHitResult : fluidHitResult;
+    }
+
+    @Nullable
+    private static BlockHitResult clipChiseledBlock(
+      final ChiseledBlockEntity blockEntity,
+      final BlockPos position,
+      final Vec3 start,
+      final Vec3 end)
+    {
+        if (blockEntity.getOccupancy().isEmpty())
+            return null;
+
+        final VoxelRayTraversal.IVoxelSource<BlockState> source = new ChiseledBlockVoxelSource(blockEntity);
+        return VoxelRayTraversal.trace(
+            source,
+            start.x() - position.getX(), start.y() - position.getY(), start.z() - position.getZ(),
+            end.x() - position.getX(), end.y() - position.getY(), end.z() - position.getZ()
+          )
+          .map(hit -> (BlockHitResult) new BitHitResult(
+            start.add(end.subtract(start).scale(hit.fraction())),
+            hit.face(),
+            position,
+            hit.fraction() == 0,
+            new Vec3i(hit.x(), hit.y(), hit.z())
+          ))
+          .orElse(null);
+    }
+
+    private static final class ChiseledBlockVoxelSource implements VoxelRayTraversal.IVoxelSource<BlockState>
+    {
+        private final ChiseledBlockEntity blockEntity;
+        private final IOccupancyPyramid   occupancy;
+
+        private ChiseledBlockVoxelSource(final ChiseledBlockEntity blockEntity)
+        {
+            this.blockEntity = blockEntity;
+            this.occupancy = blockEntity.getOccupancy();
+        }
+
+        @Override
+        public int getSize()
+        {
+            return occupancy.getSize();
+        }
+
+        @Nullable
+        @Override
+        public BlockState get(final int x, final int y, final int z)
+        {
+            final BlockState state = blockEntity.getBitState(x, y, z);
+            return state.isAir() ? null : state;
+        }
+
+        @Override
+        public boolean isCellEmpty(final int cellX, final int cellY, final int cellZ)
+        {
+            return occupancy.isCellEmpty(IOccupancyPyramid.LEVEL_FOUR, cellX, cellY, cellZ);
+        }
+    }
+}
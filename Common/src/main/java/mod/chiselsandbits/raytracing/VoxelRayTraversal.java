@@ -0,0 +1,302 @@
+package mod.chiselsandbits.raytracing;
+
+import net.minecraft.core.Direction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Walks a ray through the bits of a single block, using the voxel traversal algorithm of Amanatides and Woo.
+ *
+ * Every bit the ray passes through is visited exactly once, in order, so the cost of a trace only depends on the amount of bits
+ * the ray crosses and not on the complexity of the shape of the block. Coarse cells which are known to be empty are skipped as a whole.
+ *
+ * Positions passed into the traversal are relative to the lower corner of the block, in blocks, so the block spans 0 to 1 on every axis.
+ */
+public final class VoxelRayTraversal
+{
+    /**
+     * The maximal amount of coarse cells per block side.
+     */
+    public static final int COARSE_CELLS_PER_SIDE = 4;
+
+    private static final Direction.Axis[] AXES = new Direction.Axis[] {Direction.Axis.X, Direction.Axis.Y, Direction.Axis.Z};
+
+    private VoxelRayTraversal()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: VoxelRayTraversal. This is a utility class");
+    }
+
+    /**
+     * The amount of coarse cells per block side, for a block with the given amount of bits per side.
+     *
+     * @param size The amount of bits per block side.
+     * @return The amount of coarse cells per block side.
+     */
+    public static int getCoarseCellsPerSide(final int size)
+    {
+        return Math.min(COARSE_CELLS_PER_SIDE, size);
+    }
+
+    /**
+     * Traces the segment between the two given points through the given source.
+     *
+     * @param source The source of the bits.
+     * @param startX The x position of the start point.
+     * @param startY The y position of the start point.
+     * @param startZ The z position of the start point.
+     * @param endX The x position of the end point.
+     * @param endY The y position of the end point.
+     * @param endZ The z position of the end point.
+     * @param <T> The type of the states in the source.
+     * @return The first bit hit by the segment, or empty if no bit is hit.
+     */
+    public static <T> Optional<Hit<T>> trace(
+      final IVoxelSource<T> source,
+      final double startX,
+      final double startY,
+      final double startZ,
+      final double endX,
+      final double endY,
+      final double endZ)
+    {
+        final int size = source.getSize();
+        final double[] origin = new double[] {startX * size, startY * size, startZ * size};
+        final double[] delta = new double[] {(endX - startX) * size, (endY - startY) * size, (endZ - startZ) * size};
+
+        //Clip the segment against the bounds of the block.
+        double tEnter = 0;
+        double tExit = 1;
+        int enterAxis = -1;
+        for (int axis = 0; axis < 3; axis++)
+        {
+            if (delta[axis] == 0)
+            {
+                if (origin[axis] < 0 || origin[axis] > size)
+                {
+                    return Optional.empty();
+                }
+                continue;
+            }
+
+            final double t1 = -origin[axis] / delta[axis];
+            final double t2 = (size - origin[axis]) / delta[axis];
+            final double near = Math.min(t1, t2);
+            final double far = Math.max(t1, t2);
+            if (near > tEnter)
+            {
+                tEnter = near;
+                enterAxis = axis;
+            }
+            tExit = Math.min(tExit, far);
+        }
+
+        if (tEnter > tExit)
+        {
+            return Optional.empty();
+        }
+
+        final int[] step = new int[3];
+        final int[] voxel = new int[3];
+        final double[] tMax = new double[3];
+        final double[] tDelta = new double[3];
+        for (int axis = 0; axis < 3; axis++)
+        {
+            step[axis] = (int) Math.signum(delta[axis]);
+            tDelta[axis] = step[axis] == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / delta[axis]);
+
+            if (axis == enterAxis)
+            {
+                voxel[axis] = step[axis] > 0 ? 0 : size - 1;
+            }
+            else
+            {
+                voxel[axis] = clamp((int) Math.floor(origin[axis] + delta[axis] * tEnter), 0, size - 1);
+            }
+        }
+        updateTMax(origin, delta, step, voxel, tMax);
+
+        Direction face = enterAxis >= 0 ?
+                           getEnteredFace(enterAxis, step) :
+                           Direction.getNearest(-delta[0], -delta[1], -delta[2]);
+
+        final int cellsPerSide = getCoarseCellsPerSide(size);
+        final int cellSize = size / cellsPerSide;
+        final int[] cell = new int[3];
+
+        double t = tEnter;
+        while (true)
+        {
+            cell[0] = voxel[0] / cellSize;
+            cell[1] = voxel[1] / cellSize;
+            cell[2] = voxel[2] / cellSize;
+
+            if (source.isCellEmpty(cell[0], cell[1], cell[2]))
+            {
+                //Jump to the first bit behind the empty cell.
+                int exitAxis = -1;
+                double tCellExit = Double.POSITIVE_INFINITY;
+                for (int axis = 0; axis < 3; axis++)
+                {
+                    if (step[axis] == 0)
+                    {
+                        continue;
+                    }
+
+                    final int boundary = step[axis] > 0 ? (cell[axis] + 1) * cellSize : cell[axis] * cellSize;
+                    final double tBoundary = (boundary - origin[axis]) / delta[axis];
+                    if (tBoundary < tCellExit)
+                    {
+                        tCellExit = tBoundary;
+                        exitAxis = axis;
+                    }
+                }
+
+                if (exitAxis < 0 || tCellExit > tExit)
+                {
+                    return Optional.empty();
+                }
+
+                for (int axis = 0; axis < 3; axis++)
+                {
+                    if (axis == exitAxis)
+                    {
+                        voxel[axis] = step[axis] > 0 ? (cell[axis] + 1) * cellSize : cell[axis] * cellSize - 1;
+                    }
+                    else
+                    {
+                        voxel[axis] = clamp(
+                          (int) Math.floor(origin[axis] + delta[axis] * tCellExit),
+                          cell[axis] * cellSize,
+                          (cell[axis] + 1) * cellSize - 1
+                        );
+                    }
+                }
+
+                if (isOutside(voxel, size))
+                {
+                    return Optional.empty();
+                }
+
+                updateTMax(origin, delta, step, voxel, tMax);
+                face = getEnteredFace(exitAxis, step);
+                t = tCellExit;
+                continue;
+            }
+
+            final T state = source.get(voxel[0], voxel[1], voxel[2]);
+            if (state != null)
+            {
+                return Optional.of(new Hit<>(voxel[0], voxel[1], voxel[2], face, state, t));
+            }
+
+            final int axis = tMax[0] < tMax[1] ? (tMax[0] < tMax[2] ? 0 : 2) : (tMax[1] < tMax[2] ? 1 : 2);
+            t = tMax[axis];
+            if (t > tExit)
+            {
+                return Optional.empty();
+            }
+
+            voxel[axis] += step[axis];
+            tMax[axis] += tDelta[axis];
+            face = getEnteredFace(axis, step);
+
+            if (isOutside(voxel, size))
+            {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static void updateTMax(final double[] origin, final double[] delta, final int[] step, final int[] voxel, final double[] tMax)
+    {
+        for (int axis = 0; axis < 3; axis++)
+        {
+            if (step[axis] > 0)
+            {
+                tMax[axis] = (voxel[axis] + 1 - origin[axis]) / delta[axis];
+            }
+            else if (step[axis] < 0)
+            {
+                tMax[axis] = (voxel[axis] - origin[axis]) / delta[axis];
+            }
+            else
+            {
+                tMax[axis] = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    private static Direction getEnteredFace(final int axis, final int[] step)
+    {
+        return Direction.fromAxisAndDirection(
+          AXES[axis],
+          step[axis] > 0 ? Direction.AxisDirection.NEGATIVE : Direction.AxisDirection.POSITIVE
+        );
+    }
+
+    private static boolean isOutside(final int[] voxel, final int size)
+    {
+        return voxel[0] < 0 || voxel[1] < 0 || voxel[2] < 0 || voxel[0] >= size || voxel[1] >= size || voxel[2] >= size;
+    }
+
+    private static int clamp(final int value, final int min, final int max)
+    {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * The bits of a single block, as seen by the traversal.
+     *
+     * @param <T> The type of the states.
+     */
+    public interface IVoxelSource<T>
+    {
+        /**
+         * The amount of bits per block side.
+         *
+         * @return The amount of bits per block side.
+         */
+        int getSize();
+
+        /**
+         * The state of the bit on the given position.
+         *
+         * @param x The x position of the bit.
+         * @param y The y position of the bit.
+         * @param z The z position of the bit.
+         * @return The state, or null if the bit is empty and should be passed through.
+         */
+        @Nullable
+        T get(int x, int y, int z);
+
+        /**
+         * Indicates if the given coarse cell is known to be empty.
+         * There are {@link #getCoarseCellsPerSide(int)} cells per block side.
+         *
+         * @param cellX The x position of the cell.
+         * @param cellY The y position of the cell.
+         * @param cellZ The z position of the cell.
+         * @return True when the cell contains no bits which can be hit.
+         */
+        default boolean isCellEmpty(final int cellX, final int cellY, final int cellZ)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * A bit hit by a traversal.
+     *
+     * @param x The x position of the bit.
+     * @param y The y position of the bit.
+     * @param z The z position of the bit.
+     * @param face The face of the bit through which the ray entered it.
+     * @param state The state of the bit.
+     * @param fraction The fraction of the traced segment, at which the bit was entered.
+     * @param <T> The type of the state.
+     */
+    public record Hit<T>(int x, int y, int z, Direction face, T state, double fraction)
+    {
+    }
+}
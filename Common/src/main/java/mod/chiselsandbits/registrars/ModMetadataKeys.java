@@ -12,6 +12,7 @@ import net.minecraft.world.phys.Vec3;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.BitSet;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -65,6 +66,15 @@ public final class ModMetadataKeys
         }
     });
 
+    public static final Supplier<IMetadataKey<BitSet>> VALID_BITS = KEY_REGISTRAR.register("valid_bits", () -> new SimpleMetadataKey<>()
+    {
+        @Override
+        public BitSet snapshot(final BitSet value)
+        {
+            return (BitSet) value.clone();
+        }
+    });
+
     public static final Supplier<IMetadataKey<BlockPos>> TARGETED_BLOCK = KEY_REGISTRAR.register("targeted_block", () -> new SimpleMetadataKey<>()
     {
         @Override
@@ -2,6 +2,8 @@ package mod.chiselsandbits.storage;
 
 import mod.chiselsandbits.ChiselsAndBits;
 import mod.chiselsandbits.api.config.ICommonConfiguration;
+import mod.chiselsandbits.api.metrics.ITimer;
+import mod.chiselsandbits.metrics.MetricsRegistry;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import org.jetbrains.annotations.NotNull;
@@ -15,6 +17,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 final class MultiThreadAwareStorageEngine implements IMultiThreadedStorageEngine
 {
 
+    private static final ITimer SAVE_LATENCY_TIMER = MetricsRegistry.getInstance().timer("executor.block-save.latency");
+
     private static ExecutorService saveService;
 
     private static synchronized void ensureThreadPoolSetup() {
@@ -31,6 +35,7 @@ final class MultiThreadAwareStorageEngine implements IMultiThreadedStorageEngine
                   return thread;
               }
             );
+            MetricsRegistry.getInstance().executorGauges("executor.block-save", saveService);
         }
     }
 
@@ -78,8 +83,13 @@ final class MultiThreadAwareStorageEngine implements IMultiThreadedStorageEngine
     public CompletableFuture<CompoundTag> serializeOffThread()
     {
         ensureThreadPoolSetup();
+        final long submittedAt = System.nanoTime();
         return CompletableFuture.supplyAsync(
-          this::serializeNBT,
+          () -> {
+              final CompoundTag tag = serializeNBT();
+              SAVE_LATENCY_TIMER.recordSince(submittedAt);
+              return tag;
+          },
           saveService
         );
     }
@@ -17,13 +17,23 @@ public class ByteArrayUtils
         final int byteCount = BitUtils.getByteCount(totalBitCount);
 
         final byte[] result = new byte[byteCount];
+        if ((value & valueMask) == 0)
+            return result;
 
+        //Encode all values into a single bit set, instead of decoding and encoding the array for every value.
+        final BitSet bitSet = new BitSet(totalBitCount);
         for (int insertionIndex = 0; insertionIndex < count; insertionIndex++)
         {
             final int bitOffset = insertionIndex * bitWidth;
-            setValue(result, value, valueMask, bitOffset);
+            for (int i = 0; i < bitWidth; i++)
+            {
+                if (((value >> i) & 1) != 0)
+                    bitSet.set(bitOffset + i);
+            }
         }
 
+        final byte[] encoded = bitSet.toByteArray();
+        System.arraycopy(encoded, 0, result, 0, Math.min(encoded.length, result.length));
         return result;
     }
 
@@ -60,8 +70,23 @@ public class ByteArrayUtils
     }
 
     public static int getValue(final byte[] target, final int bitMask, final int bitOffset) {
-        final BitSet bitSet = BitSet.valueOf(target);
+        return getValue(BitSet.valueOf(target), bitMask, bitOffset);
+    }
+
+    /**
+     * Reads a value from an already decoded bit set.
+     * Allows bulk reads without decoding the underlying array for every read.
+     *
+     * @param bitSet The decoded bit set.
+     * @param bitWidth The width of each value.
+     * @param index The index of the value.
+     * @return The value.
+     */
+    public static int getValueAt(final BitSet bitSet, final int bitWidth, final int index) {
+        return getValue(bitSet, BitUtils.getBitMask(bitWidth), index * bitWidth);
+    }
 
+    public static int getValue(final BitSet bitSet, final int bitMask, final int bitOffset) {
         final int maskWidth = BitUtils.getMaskWidth(bitMask);
 
         int result = 0;
@@ -8,6 +8,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtIo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.util.function.Consumer;
@@ -24,17 +25,38 @@ public class LZ4DataCompressionUtils
         return result;
     }
 
+    public static CompoundTag compress(final Consumer<CompoundTag> uncompressedBuilder, @Nullable final ICompressionListener listener) {
+        final CompoundTag result = new CompoundTag();
+
+        compress(result, uncompressedBuilder, listener);
+
+        return result;
+    }
+
     public static void compress(final CompoundTag compoundTag, final Consumer<CompoundTag> uncompressedBuilder) {
+        compress(compoundTag, uncompressedBuilder, null);
+    }
+
+    /**
+     * Compresses the data written by the given builder into the given tag.
+     *
+     * @param compoundTag The tag to store the compressed data in.
+     * @param uncompressedBuilder The builder which writes the data which is compressed.
+     * @param listener An optional listener which is informed about the size of the data before and after the compression.
+     */
+    public static void compress(final CompoundTag compoundTag, final Consumer<CompoundTag> uncompressedBuilder, @Nullable final ICompressionListener listener) {
         final CompoundTag uncompressedData = new CompoundTag();
 
         uncompressedBuilder.accept(uncompressedData);
 
         final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final int uncompressedSize;
         try
         {
             final OutputStream lz4Stream = new LZ4FrameOutputStream(outputStream);
-            final DataOutput dataOutput = new DataOutputStream(lz4Stream);
+            final DataOutputStream dataOutput = new DataOutputStream(lz4Stream);
             NbtIo.write(uncompressedData, dataOutput);
+            uncompressedSize = dataOutput.size();
             lz4Stream.close();
         }
         catch (IOException e)
@@ -56,6 +78,9 @@ public class LZ4DataCompressionUtils
         }
         compoundTag.putBoolean(NbtConstants.COMPRESSED, true);
         compoundTag.putByteArray(NbtConstants.DATA, compressedData);
+
+        if (listener != null)
+            listener.onCompressed(uncompressedSize, compressedData.length);
     }
 
     public static void decompress(final CompoundTag input, final Consumer<CompoundTag> uncompressedConsumer) {
@@ -89,4 +114,19 @@ public class LZ4DataCompressionUtils
 
         uncompressedConsumer.accept(uncompressedData);
     }
+
+    /**
+     * Informed about the outcome of a compression.
+     */
+    @FunctionalInterface
+    public interface ICompressionListener
+    {
+        /**
+         * Invoked once the data was compressed.
+         *
+         * @param uncompressedBytes The size of the data before the compression.
+         * @param compressedBytes The size of the data after the compression.
+         */
+        void onCompressed(int uncompressedBytes, int compressedBytes);
+    }
 }
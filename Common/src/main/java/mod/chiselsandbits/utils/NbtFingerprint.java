@@ -0,0 +1,79 @@
+package mod.chiselsandbits.utils;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A 128 bit fingerprint of the binary form of a compound tag.
+ * Two tags with the same fingerprint can be considered equal, without comparing them entry by entry.
+ *
+ * @param high The upper half of the fingerprint.
+ * @param low The lower half of the fingerprint.
+ */
+public record NbtFingerprint(long high, long low)
+{
+    /**
+     * Calculates the fingerprint of the given tag.
+     * Byte arrays, like compressed chiseled data, are hashed as they are, without creating any copies.
+     *
+     * @param tag The tag to fingerprint.
+     * @return The fingerprint.
+     */
+    public static NbtFingerprint of(final CompoundTag tag)
+    {
+        final FingerprintOutputStream outputStream = new FingerprintOutputStream();
+        try
+        {
+            NbtIo.write(tag, new DataOutputStream(outputStream));
+        }
+        catch (IOException e)
+        {
+            //Can not happen, the stream does not perform any IO.
+            throw new IllegalStateException("Failed to fingerprint a tag.", e);
+        }
+        return outputStream.fingerprint();
+    }
+
+    /**
+     * Hashes everything written to it into two independent 64 bit hashes.
+     */
+    private static final class FingerprintOutputStream extends OutputStream
+    {
+        private long high = 0xCBF29CE484222325L;
+        private long low  = 0x9E3779B97F4A7C15L;
+        private long length = 0;
+
+        @Override
+        public void write(final int value)
+        {
+            high = (high ^ (value & 0xFF)) * 0x100000001B3L;
+            low = Long.rotateLeft(low + (value & 0xFF), 23) * 0xC2B2AE3D27D4EB4FL;
+            length++;
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int count)
+        {
+            for (int i = offset; i < offset + count; i++)
+            {
+                write(buffer[i]);
+            }
+        }
+
+        private NbtFingerprint fingerprint()
+        {
+            return new NbtFingerprint(mix(high ^ length), mix(low + length));
+        }
+
+        private static long mix(long value)
+        {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package mod.chiselsandbits.utils;
 
+import mod.chiselsandbits.api.metrics.ICounter;
+import mod.chiselsandbits.metrics.MetricsRegistry;
+import mod.chiselsandbits.profiling.jfr.CacheMissEvent;
+import mod.chiselsandbits.profiling.jfr.FlightRecorderEvents;
 import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,20 +20,65 @@ public class SimpleMaxSizedCache<K, V>
     private final Map<K, V> cache = new HashMap<>();
     private final Queue<K> keyQueue = new LinkedList<>();
 
+    private final String       name;
     private final LongSupplier maxSizeSupplier;
 
+    @Nullable
+    private final ICounter hits;
+    @Nullable
+    private final ICounter misses;
+
     public SimpleMaxSizedCache(final long maxSize)
     {
-        Validate.exclusiveBetween(0, 10000000000L, maxSize);
-        this.maxSizeSupplier = () -> maxSize;
+        this("unnamed", maxSize);
     }
 
     public SimpleMaxSizedCache(final LongSupplier longSupplier) {
-        this.maxSizeSupplier = longSupplier;
+        this("unnamed", longSupplier);
     }
 
     public SimpleMaxSizedCache(final IntSupplier intSupplier) {
-        this.maxSizeSupplier = intSupplier::getAsInt;
+        this("unnamed", intSupplier);
+    }
+
+    /**
+     * Creates a new cache with a fixed size.
+     *
+     * @param name The name of the cache, used when its misses are reported to the flight recorder, and as the prefix of its metrics.
+     * @param maxSize The maximal amount of entries.
+     */
+    public SimpleMaxSizedCache(final String name, final long maxSize)
+    {
+        this(name, (LongSupplier) () -> maxSize);
+        Validate.exclusiveBetween(0, 10000000000L, maxSize);
+    }
+
+    public SimpleMaxSizedCache(final String name, final LongSupplier longSupplier) {
+        this.name = name;
+        this.maxSizeSupplier = longSupplier;
+
+        //Unnamed caches can not be told apart, so only named caches report metrics.
+        if (name.equals("unnamed"))
+        {
+            this.hits = null;
+            this.misses = null;
+            return;
+        }
+
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+        final ICounter hits = registry.counter("cache." + name + ".hits");
+        final ICounter misses = registry.counter("cache." + name + ".misses");
+        this.hits = hits;
+        this.misses = misses;
+        registry.gauge("cache." + name + ".size", this::size);
+        registry.gauge("cache." + name + ".hit-rate", () -> {
+            final long requests = hits.get() + misses.get();
+            return requests == 0 ? 0 : hits.get() / (double) requests;
+        });
+    }
+
+    public SimpleMaxSizedCache(final String name, final IntSupplier intSupplier) {
+        this(name, (LongSupplier) intSupplier::getAsInt);
     }
 
     private void evictFromCacheIfNeeded() {
@@ -47,24 +97,80 @@ public class SimpleMaxSizedCache<K, V>
 
         if (!cache.containsKey(key))
         {
+            final CacheMissEvent event = FlightRecorderEvents.begin(CacheMissEvent::new);
             final V value = valueSupplier.get();
             put(key, value);
+            commitMiss(event);
             return value;
         }
 
+        countHit();
         return cache.get(key);
     }
 
+    /**
+     * Gets the value for the given key, creating it with the given supplier if it is missing.
+     * Unlike {@link #get(Object, Supplier)} the value is created outside of the lock of the cache, so that lookups of other threads do not wait on a slow creation.
+     * Concurrent misses of the same key may create the value more than once, the last created value is kept.
+     *
+     * @param key The key.
+     * @param valueSupplier The supplier of the value, invoked if the key is missing.
+     * @return The cached or the created value.
+     */
+    public V getOrCreate(final K key, final Supplier<V> valueSupplier) {
+        synchronized (this) {
+            final V cached = cache.get(key);
+            if (cached != null) {
+                countHit();
+                return cached;
+            }
+        }
+
+        final CacheMissEvent event = FlightRecorderEvents.begin(CacheMissEvent::new);
+        final V value = valueSupplier.get();
+        put(key, value);
+        commitMiss(event);
+        return value;
+    }
+
     public synchronized Optional<V> getIfPresent(final K key) {
-        return Optional.ofNullable(get(key));
+        final V value = get(key);
+        if (value == null)
+            commitMiss(FlightRecorderEvents.begin(CacheMissEvent::new));
+        else
+            countHit();
+
+        return Optional.ofNullable(value);
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private void countHit() {
+        if (hits != null)
+            hits.increment();
+    }
+
+    private void commitMiss(@Nullable final CacheMissEvent event) {
+        if (misses != null)
+            misses.increment();
+
+        if (event == null)
+            return;
+
+        event.end();
+        event.cache = name;
+        event.commit();
     }
 
     public synchronized void put(final K key, final V value) {
+        //Every cached key is queued exactly once, so the map can answer the membership test instead of a scan of the queue.
         if (!cache.containsKey(key))
+        {
             evictFromCacheIfNeeded();
-
-        if (!keyQueue.contains(key))
             keyQueue.add(key);
+        }
         cache.put(key, value);
     }
 
@@ -2,13 +2,17 @@ package mod.chiselsandbits.voxelshape;
 
 import mod.chiselsandbits.aabb.AABBManager;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessor;
+import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithOccupancy;
 import mod.chiselsandbits.api.multistate.accessor.IAreaAccessorWithVoxelShape;
+import mod.chiselsandbits.api.multistate.accessor.IOccupancyPyramid;
 import mod.chiselsandbits.api.multistate.accessor.IStateEntryInfo;
+import mod.chiselsandbits.api.util.StateEntryPredicates;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.shapes.BooleanOp;
 import net.minecraft.world.phys.shapes.VoxelShape;
 import net.minecraft.world.phys.shapes.Shapes;
 
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -22,6 +26,13 @@ public class VoxelShapeCalculator
         if (areaAccessor instanceof IAreaAccessorWithVoxelShape)
             return ((IAreaAccessorWithVoxelShape) areaAccessor).provideShape(selectablePredicateBuilder, offset, simplify);
 
+        if (areaAccessor instanceof final IAreaAccessorWithOccupancy occupancyAccessor)
+        {
+            final Optional<VoxelShape> uniformShape = calculateUniformShape(occupancyAccessor, offset, selectablePredicateBuilder.apply(areaAccessor));
+            if (uniformShape.isPresent())
+                return uniformShape.get();
+        }
+
         final VoxelShape shape =
             AABBManager.getInstance()
               .get(areaAccessor, selectablePredicateBuilder)
@@ -38,4 +49,26 @@ public class VoxelShapeCalculator
 
         return simplify ? shape.optimize() : shape;
     }
+
+    /**
+     * Short-circuits the calculation for areas which only contain a single state,
+     * for predicates which only depend on the state of an entry and not on its position.
+     */
+    private static Optional<VoxelShape> calculateUniformShape(
+      final IAreaAccessorWithOccupancy areaAccessor,
+      final BlockPos offset,
+      final Predicate<IStateEntryInfo> selectablePredicate) {
+        if (selectablePredicate != StateEntryPredicates.ALL &&
+              selectablePredicate != StateEntryPredicates.NOT_AIR &&
+              selectablePredicate != StateEntryPredicates.COLLIDEABLE_ONLY)
+            return Optional.empty();
+
+        final IOccupancyPyramid occupancy = areaAccessor.getOccupancy();
+        if (!occupancy.isUniform())
+            return Optional.empty();
+
+        return areaAccessor.stream()
+          .findFirst()
+          .map(entry -> selectablePredicate.test(entry) ? Shapes.block().move(offset.getX(), offset.getY(), offset.getZ()) : Shapes.empty());
+    }
 }
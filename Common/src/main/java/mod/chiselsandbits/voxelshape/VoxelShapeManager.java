@@ -23,6 +23,7 @@ public class VoxelShapeManager implements IVoxelShapeManager
     private static final VoxelShapeManager INSTANCE = new VoxelShapeManager();
 
     private final SimpleMaxSizedCache<Key, VoxelShape> cache = new SimpleMaxSizedCache<>(
+      "voxel-shapes",
       ICommonConfiguration.getInstance().getCollisionBoxCacheSize().get()
     );
 
@@ -0,0 +1,110 @@
+package mod.chiselsandbits.chiseling.modes.connected;
+
+import mod.chiselsandbits.api.chiseling.ChiselingOperation;
+import net.minecraft.core.Direction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class ConnectedBitFloodFillTest
+{
+    private static final int SIZE  = 4;
+    private static final int STONE = 1;
+    private static final int DIRT  = 2;
+
+    @Test
+    public void chiselingSelectsConnectedBitsOfTheSameMaterialOnTheTargetedLayer()
+    {
+        //Stone block with a single dirt bit in the top layer.
+        final ConnectedBitGrid grid = createGrid((x, y, z) -> x == 2 && y == 3 && z == 2 ? DIRT : STONE);
+
+        final BitSet result = ConnectedBitFloodFill.fill(grid, 0, 3, 0, Direction.UP, ChiselingOperation.CHISELING, 1, false);
+
+        Assert.assertEquals("The whole top layer except the dirt bit should be selected", SIZE * SIZE - 1, result.cardinality());
+        Assert.assertFalse("The dirt bit should not be selected", result.get(ConnectedBitFloodFill.indexOf(2, 3, 2, SIZE)));
+        Assert.assertFalse("Bits below the top layer should not be selected", result.get(ConnectedBitFloodFill.indexOf(0, 2, 0, SIZE)));
+    }
+
+    @Test
+    public void chiselingRespectsTheDepth()
+    {
+        final ConnectedBitGrid grid = createGrid((x, y, z) -> STONE);
+
+        final BitSet result = ConnectedBitFloodFill.fill(grid, 0, 3, 0, Direction.UP, ChiselingOperation.CHISELING, 2, false);
+
+        Assert.assertEquals("Two layers should be selected", 2 * SIZE * SIZE, result.cardinality());
+    }
+
+    @Test
+    public void planeModeDoesNotWalkThroughAir()
+    {
+        //Top layer split in two halves by an air column.
+        final ConnectedBitGrid grid = createGrid((x, y, z) -> x == 1 ? ConnectedBitGrid.AIR : STONE);
+
+        final BitSet plane = ConnectedBitFloodFill.fill(grid, 0, 3, 0, Direction.UP, ChiselingOperation.CHISELING, 1, false);
+        final BitSet material = ConnectedBitFloodFill.fill(grid, 0, 3, 0, Direction.UP, ChiselingOperation.CHISELING, 1, true);
+
+        Assert.assertEquals("Only the first row should be selected", SIZE, plane.cardinality());
+        Assert.assertEquals("Both halves should be selected", (SIZE - 1) * SIZE, material.cardinality());
+    }
+
+    @Test
+    public void placingSamplesTheBlockBehindTheFace()
+    {
+        //The targeted block is empty, the block below is stone.
+        final ConnectedBitGrid grid = new ConnectedBitGrid(SIZE, (blockX, blockY, blockZ, target) -> {
+            if (blockY == -1)
+            {
+                Arrays.fill(target, STONE);
+            }
+            else
+            {
+                Arrays.fill(target, ConnectedBitGrid.AIR);
+            }
+        });
+
+        final BitSet result = ConnectedBitFloodFill.fill(grid, 1, 0, 1, Direction.UP, ChiselingOperation.PLACING, 1, false);
+
+        Assert.assertEquals("The bottom layer of the targeted block should be selected", SIZE * SIZE, result.cardinality());
+        Assert.assertTrue(result.get(ConnectedBitFloodFill.indexOf(3, 0, 3, SIZE)));
+    }
+
+    @Test
+    public void unavailableTargetSelectsNothing()
+    {
+        final ConnectedBitGrid grid = new ConnectedBitGrid(SIZE, (blockX, blockY, blockZ, target) -> {});
+
+        final BitSet result = ConnectedBitFloodFill.fill(grid, 0, 0, 0, Direction.UP, ChiselingOperation.CHISELING, 1, true);
+
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    private static ConnectedBitGrid createGrid(final IdProvider centerBlock)
+    {
+        return new ConnectedBitGrid(SIZE, (blockX, blockY, blockZ, target) -> {
+            if (blockX != 0 || blockY != 0 || blockZ != 0)
+            {
+                return;
+            }
+
+            for (int x = 0; x < SIZE; x++)
+            {
+                for (int y = 0; y < SIZE; y++)
+                {
+                    for (int z = 0; z < SIZE; z++)
+                    {
+                        target[ConnectedBitFloodFill.indexOf(x, y, z, SIZE)] = centerBlock.get(x, y, z);
+                    }
+                }
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface IdProvider
+    {
+        int get(int x, int y, int z);
+    }
+}
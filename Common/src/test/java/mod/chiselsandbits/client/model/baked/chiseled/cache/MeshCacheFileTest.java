@@ -0,0 +1,125 @@
+package mod.chiselsandbits.client.model.baked.chiseled.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MeshCacheFileTest
+{
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void storedPayloadCanBeRead() throws IOException
+    {
+        try (MeshCacheFile file = MeshCacheFile.open(folder.getRoot().toPath(), 1, 16 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            file.put(1, 2, payload(100, 7));
+            assertArrayEquals(payload(100, 7), file.get(1, 2));
+            assertNull(file.get(2, 1));
+        }
+    }
+
+    @Test
+    public void laterPayloadReplacesEarlierOne() throws IOException
+    {
+        try (MeshCacheFile file = MeshCacheFile.open(folder.getRoot().toPath(), 1, 16 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            file.put(1, 2, payload(100, 7));
+            file.put(1, 2, payload(50, 9));
+            assertArrayEquals(payload(50, 9), file.get(1, 2));
+            assertEquals(1, file.size());
+        }
+    }
+
+    @Test
+    public void payloadsSurviveReopeningAcrossSegments() throws IOException
+    {
+        final Path directory = folder.getRoot().toPath();
+        try (MeshCacheFile file = MeshCacheFile.open(directory, 1, 64 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            for (int i = 0; i < 40; i++)
+            {
+                file.put(i, -i, payload(300 + i, i));
+            }
+        }
+
+        try (MeshCacheFile file = MeshCacheFile.open(directory, 1, 64 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            assertEquals(40, file.size());
+            for (int i = 0; i < 40; i++)
+            {
+                assertArrayEquals(payload(300 + i, i), file.get(i, -i));
+            }
+        }
+    }
+
+    @Test
+    public void otherEnvironmentIsDiscarded() throws IOException
+    {
+        final Path directory = folder.getRoot().toPath();
+        try (MeshCacheFile file = MeshCacheFile.open(directory, 1, 16 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            file.put(1, 2, payload(100, 7));
+        }
+
+        try (MeshCacheFile file = MeshCacheFile.open(directory, 2, 16 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            assertEquals(0, file.size());
+            assertNull(file.get(1, 2));
+        }
+    }
+
+    @Test
+    public void compactionKeepsRecentlyUsedPayloads() throws IOException
+    {
+        final Path directory = folder.getRoot().toPath();
+        try (MeshCacheFile file = MeshCacheFile.open(directory, 1, 4 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            file.put(0, 0, payload(200, 0));
+            for (int i = 1; i < 40; i++)
+            {
+                file.put(i, i, payload(200, i));
+                //Keeps the first payload in use.
+                assertNotNull(file.get(0, 0));
+            }
+
+            assertTrue(file.getUsedSize() <= 4 * SEGMENT_SIZE);
+            assertArrayEquals(payload(200, 0), file.get(0, 0));
+            assertArrayEquals(payload(200, 39), file.get(39, 39));
+            assertNull(file.get(1, 1));
+        }
+
+        try (MeshCacheFile file = MeshCacheFile.open(directory, 1, 4 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            assertArrayEquals(payload(200, 0), file.get(0, 0));
+            assertArrayEquals(payload(200, 39), file.get(39, 39));
+        }
+    }
+
+    @Test
+    public void oversizedPayloadIsNotStored() throws IOException
+    {
+        try (MeshCacheFile file = MeshCacheFile.open(folder.getRoot().toPath(), 1, 16 * SEGMENT_SIZE, SEGMENT_SIZE))
+        {
+            file.put(1, 2, payload(SEGMENT_SIZE, 7));
+            assertNull(file.get(1, 2));
+        }
+    }
+
+    private static byte[] payload(final int length, final int seed)
+    {
+        final byte[] payload = new byte[length];
+        Arrays.fill(payload, (byte) seed);
+        payload[0] = (byte) (seed * 31 + 1);
+        return payload;
+    }
+}
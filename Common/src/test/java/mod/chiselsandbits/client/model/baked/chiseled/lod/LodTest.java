@@ -0,0 +1,184 @@
+package mod.chiselsandbits.client.model.baked.chiseled.lod;
+
+import net.minecraft.core.Direction;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LodTest
+{
+    private static final boolean[] UNCOVERED = new boolean[6];
+
+    @Test
+    public void downsamplingPicksMajorityPerCell()
+    {
+        final int size = 8;
+        final int[] grid = new int[size * size * size];
+        Arrays.fill(grid, 1);
+        //A single entry of another state does not change the cell it is in.
+        grid[0] = 2;
+        //Fill the upper half of the cell at the far corner with air, so the cell is tied.
+        for (int x = 4; x < 8; x++)
+        {
+            for (int y = 6; y < 8; y++)
+            {
+                for (int z = 4; z < 8; z++)
+                {
+                    grid[x * size * size + y * size + z] = MajorityDownsampler.AIR;
+                }
+            }
+        }
+
+        final int[] result = MajorityDownsampler.downsample(grid, size, 2);
+        assertEquals(8, result.length);
+        for (final int id : result)
+        {
+            assertEquals(1, id);
+        }
+    }
+
+    @Test
+    public void downsamplingKeepsEmptyCellsEmpty()
+    {
+        final int size = 16;
+        final int[] grid = new int[size * size * size];
+        for (int x = 0; x < 4; x++)
+        {
+            for (int y = 0; y < 4; y++)
+            {
+                for (int z = 0; z < 4; z++)
+                {
+                    grid[x * size * size + y * size + z] = 3;
+                }
+            }
+        }
+
+        final int[] result = MajorityDownsampler.downsample(grid, size, 4);
+        assertEquals(3, result[0]);
+        for (int i = 1; i < result.length; i++)
+        {
+            assertEquals(MajorityDownsampler.AIR, result[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void downsamplingRejectsUnevenCells()
+    {
+        MajorityDownsampler.downsample(new int[27], 3, 2);
+    }
+
+    @Test
+    public void uniformGridProducesSixFaces()
+    {
+        final int size = 4;
+        final int[] grid = new int[size * size * size];
+        Arrays.fill(grid, 5);
+
+        final List<LodMesher.Face> faces = LodMesher.mesh(grid, size, UNCOVERED);
+        assertEquals(6, faces.size());
+        for (final LodMesher.Face face : faces)
+        {
+            assertEquals(5, face.id());
+            assertTrue(face.onSide());
+            assertEquals(1, area(face), 1e-9);
+        }
+    }
+
+    @Test
+    public void coveredSidesAreSkipped()
+    {
+        final int[] grid = new int[] {7};
+        final boolean[] covered = new boolean[6];
+        covered[Direction.UP.get3DDataValue()] = true;
+        covered[Direction.NORTH.get3DDataValue()] = true;
+
+        final List<LodMesher.Face> faces = LodMesher.mesh(grid, 1, covered);
+        assertEquals(4, faces.size());
+        assertTrue(faces.stream().noneMatch(face -> face.direction() == Direction.UP || face.direction() == Direction.NORTH));
+    }
+
+    @Test
+    public void innerFacesAreOnlyEmittedTowardsAir()
+    {
+        final int size = 4;
+        final int[] grid = new int[size * size * size];
+        //Bottom half filled, top half empty.
+        for (int x = 0; x < size; x++)
+        {
+            for (int y = 0; y < 2; y++)
+            {
+                for (int z = 0; z < size; z++)
+                {
+                    grid[x * size * size + y * size + z] = 1;
+                }
+            }
+        }
+
+        final List<LodMesher.Face> faces = LodMesher.mesh(grid, size, UNCOVERED);
+        assertEquals(6, faces.size());
+
+        final LodMesher.Face top = faces.stream().filter(face -> face.direction() == Direction.UP).findFirst().orElseThrow();
+        assertFalse(top.onSide());
+        assertEquals(0.5, top.minY(), 1e-9);
+        assertEquals(0.5, top.maxY(), 1e-9);
+    }
+
+    @Test
+    public void downsampledMeshHasFewerFacesThanFullDetail()
+    {
+        final int size = 16;
+        final int[] grid = new int[size * size * size];
+        //A checkerboard of two states creates a face for every entry at full detail.
+        for (int x = 0; x < size; x++)
+        {
+            for (int y = 0; y < size; y++)
+            {
+                for (int z = 0; z < size; z++)
+                {
+                    grid[x * size * size + y * size + z] = ((x + y + z) & 1) == 0 ? 1 : 2;
+                }
+            }
+        }
+
+        final int full = LodMesher.mesh(grid, size, UNCOVERED).size();
+        final int downsampled = LodMesher.mesh(MajorityDownsampler.downsample(grid, size, 4), 4, UNCOVERED).size();
+        final int cube = LodMesher.mesh(new int[] {1}, 1, UNCOVERED).size();
+
+        assertTrue(downsampled < full);
+        assertTrue(cube <= downsampled);
+        assertEquals(6, cube);
+    }
+
+    @Test
+    public void selectorUsesBands()
+    {
+        final LodSelector selector = new LodSelector(48, 96, 4);
+        assertEquals(ModelLod.FULL, selector.select(10));
+        assertEquals(ModelLod.DOWNSAMPLED, selector.select(50));
+        assertEquals(ModelLod.CUBE, selector.select(100));
+    }
+
+    @Test
+    public void selectorAppliesHysteresis()
+    {
+        final LodSelector selector = new LodSelector(48, 96, 4);
+        assertEquals(ModelLod.FULL, selector.select(49, ModelLod.FULL));
+        assertEquals(ModelLod.DOWNSAMPLED, selector.select(53, ModelLod.FULL));
+        assertEquals(ModelLod.DOWNSAMPLED, selector.select(46, ModelLod.DOWNSAMPLED));
+        assertEquals(ModelLod.FULL, selector.select(43, ModelLod.DOWNSAMPLED));
+        //Far jumps still move as far as the hysteresis allows.
+        assertEquals(ModelLod.DOWNSAMPLED, selector.select(98, ModelLod.FULL));
+        assertEquals(ModelLod.CUBE, selector.select(120, ModelLod.FULL));
+    }
+
+    private static double area(final LodMesher.Face face)
+    {
+        final double x = face.maxX() - face.minX();
+        final double y = face.maxY() - face.minY();
+        final double z = face.maxZ() - face.minZ();
+        return face.direction().getAxis() == Direction.Axis.X ? y * z : face.direction().getAxis() == Direction.Axis.Y ? x * z : x * y;
+    }
+}
@@ -0,0 +1,93 @@
+package mod.chiselsandbits.clipboard;
+
+import net.minecraft.nbt.CompoundTag;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ClipboardJournalTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendedEntriesAreReadInOrder() throws IOException
+    {
+        final Path directory = folder.getRoot().toPath();
+        final ClipboardJournal journal = new ClipboardJournal(directory);
+        journal.read();
+        journal.append(entry(1));
+        journal.append(entry(2));
+
+        final ClipboardJournal reopened = new ClipboardJournal(directory);
+        assertEquals(List.of(entry(1), entry(2)), reopened.read());
+        assertEquals(2, reopened.getJournalEntries());
+        assertFalse(reopened.isDamaged());
+    }
+
+    @Test
+    public void compactionReplacesJournalWithSnapshot() throws IOException
+    {
+        final Path directory = folder.getRoot().toPath();
+        final ClipboardJournal journal = new ClipboardJournal(directory);
+        journal.read();
+        journal.append(entry(1));
+        journal.append(entry(2));
+        journal.compact(List.of(entry(2)));
+        journal.append(entry(3));
+
+        final ClipboardJournal reopened = new ClipboardJournal(directory);
+        assertEquals(List.of(entry(2), entry(3)), reopened.read());
+        assertEquals(1, reopened.getJournalEntries());
+        assertEquals(1, countJournals(directory));
+    }
+
+    @Test
+    public void partialRecordIsIgnoredAndMarksJournalDamaged() throws IOException
+    {
+        final Path directory = folder.getRoot().toPath();
+        final ClipboardJournal journal = new ClipboardJournal(directory);
+        journal.read();
+        journal.append(entry(1));
+
+        try (Stream<Path> files = Files.list(directory))
+        {
+            final Path journalFile = files.filter(file -> file.getFileName().toString().endsWith(".journal")).findFirst().orElseThrow();
+            Files.write(journalFile, new byte[] {0, 0, 0, 100, 10, 0}, StandardOpenOption.APPEND);
+        }
+
+        final ClipboardJournal reopened = new ClipboardJournal(directory);
+        assertEquals(List.of(entry(1)), reopened.read());
+        assertTrue(reopened.isDamaged());
+
+        reopened.compact(List.of(entry(1)));
+        assertFalse(reopened.isDamaged());
+        assertEquals(List.of(entry(1)), new ClipboardJournal(directory).read());
+    }
+
+    private static CompoundTag entry(final int id)
+    {
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("id", "chiselsandbits:chiseled_block");
+        tag.putInt("entry", id);
+        tag.putByteArray("data", new byte[] {(byte) id, 2, 3});
+        return tag;
+    }
+
+    private static long countJournals(final Path directory) throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).count();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package mod.chiselsandbits.profiling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void smallValuesAreExact()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++)
+        {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(55, histogram.getTotal());
+        assertEquals(5, histogram.getPercentile(0.5));
+        assertEquals(10, histogram.getPercentile(0.99));
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    public void percentilesStayWithinRelativeError()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++)
+        {
+            histogram.record(i * 1_000);
+        }
+
+        assertWithinRelativeError(50_000_000L, histogram.getPercentile(0.5));
+        assertWithinRelativeError(99_000_000L, histogram.getPercentile(0.99));
+        assertEquals(100_000_000L, histogram.getMax());
+    }
+
+    @Test
+    public void bucketBoundsContainTheirValues()
+    {
+        for (long value = 0; value < 1_000_000; value = value * 3 / 2 + 1)
+        {
+            final int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < value);
+        }
+
+        assertTrue(LatencyHistogram.bucketOf(Long.MAX_VALUE) >= 0);
+    }
+
+    @Test
+    public void addingMergesCountsAndMax()
+    {
+        final LatencyHistogram first = new LatencyHistogram();
+        final LatencyHistogram second = new LatencyHistogram();
+        first.record(100);
+        second.record(5_000);
+        second.record(-1);
+
+        first.add(second);
+
+        assertEquals(3, first.getCount());
+        assertEquals(5_100, first.getTotal());
+        assertEquals(5_000, first.getMax());
+        assertEquals(0, first.getPercentile(0.1));
+    }
+
+    private static void assertWithinRelativeError(final long expected, final long actual)
+    {
+        assertTrue("Expected about " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 16);
+    }
+}
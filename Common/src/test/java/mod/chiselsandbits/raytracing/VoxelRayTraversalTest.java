@@ -0,0 +1,162 @@
+package mod.chiselsandbits.raytracing;
+
+import net.minecraft.core.Direction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public class VoxelRayTraversalTest
+{
+    private static final int SIZE = 16;
+
+    @Test
+    public void rayAlongTheXAxisHitsTheFirstSolidBit()
+    {
+        final TestSource source = new TestSource();
+        source.set(5, 3, 7, "stone");
+
+        final Optional<VoxelRayTraversal.Hit<String>> hit = trace(source, -1, 3.5, 7.5, 17, 3.5, 7.5);
+
+        Assert.assertTrue(hit.isPresent());
+        Assert.assertEquals(5, hit.get().x());
+        Assert.assertEquals(3, hit.get().y());
+        Assert.assertEquals(7, hit.get().z());
+        Assert.assertEquals(Direction.WEST, hit.get().face());
+        Assert.assertEquals("stone", hit.get().state());
+        Assert.assertEquals(6 / 18d, hit.get().fraction(), 1e-9);
+    }
+
+    @Test
+    public void rayFromAboveEntersThroughTheTopFace()
+    {
+        final TestSource source = new TestSource();
+        source.set(2, 0, 2, "dirt");
+
+        final Optional<VoxelRayTraversal.Hit<String>> hit = trace(source, 2.5, 20, 2.5, 2.5, -4, 2.5);
+
+        Assert.assertTrue(hit.isPresent());
+        Assert.assertEquals(Direction.UP, hit.get().face());
+        Assert.assertEquals(0, hit.get().y());
+    }
+
+    @Test
+    public void diagonalRayMatchesWithAndWithoutCoarseSkipping()
+    {
+        final TestSource source = new TestSource();
+        source.set(13, 11, 9, "stone");
+        source.set(14, 12, 10, "stone");
+
+        final TestSource coarse = new TestSource();
+        coarse.set(13, 11, 9, "stone");
+        coarse.set(14, 12, 10, "stone");
+        coarse.useCoarseOccupancy = true;
+
+        final Optional<VoxelRayTraversal.Hit<String>> fine = trace(source, 0.1, 0.3, 0.2, 15.9, 13.2, 11.1);
+        final Optional<VoxelRayTraversal.Hit<String>> skipped = trace(coarse, 0.1, 0.3, 0.2, 15.9, 13.2, 11.1);
+
+        Assert.assertTrue(fine.isPresent());
+        Assert.assertTrue(skipped.isPresent());
+        Assert.assertEquals(fine.get().x(), skipped.get().x());
+        Assert.assertEquals(fine.get().y(), skipped.get().y());
+        Assert.assertEquals(fine.get().z(), skipped.get().z());
+        Assert.assertEquals(fine.get().face(), skipped.get().face());
+        Assert.assertEquals(fine.get().fraction(), skipped.get().fraction(), 1e-9);
+        Assert.assertTrue("Coarse skipping should read less bits", coarse.reads < source.reads);
+    }
+
+    @Test
+    public void rayMissingTheBlockReturnsNothing()
+    {
+        final TestSource source = new TestSource();
+        source.fill("stone");
+
+        Assert.assertTrue(trace(source, -1, 20, -1, 17, 20, 17).isEmpty());
+    }
+
+    @Test
+    public void segmentEndingBeforeTheBitReturnsNothing()
+    {
+        final TestSource source = new TestSource();
+        source.set(10, 8, 8, "stone");
+
+        Assert.assertTrue(trace(source, 0.5, 8.5, 8.5, 9.5, 8.5, 8.5).isEmpty());
+    }
+
+    @Test
+    public void rayStartingInsideASolidBitHitsItImmediately()
+    {
+        final TestSource source = new TestSource();
+        source.fill("stone");
+
+        final Optional<VoxelRayTraversal.Hit<String>> hit = trace(source, 8.5, 8.5, 8.5, 8.5, 8.5, 30);
+
+        Assert.assertTrue(hit.isPresent());
+        Assert.assertEquals(0, hit.get().fraction(), 0);
+        Assert.assertEquals(8, hit.get().z());
+    }
+
+    private static Optional<VoxelRayTraversal.Hit<String>> trace(
+      final TestSource source,
+      final double startX, final double startY, final double startZ,
+      final double endX, final double endY, final double endZ)
+    {
+        return VoxelRayTraversal.trace(source, startX / SIZE, startY / SIZE, startZ / SIZE, endX / SIZE, endY / SIZE, endZ / SIZE);
+    }
+
+    private static final class TestSource implements VoxelRayTraversal.IVoxelSource<String>
+    {
+        private final String[] states = new String[SIZE * SIZE * SIZE];
+        private boolean useCoarseOccupancy = false;
+        private int reads = 0;
+
+        private void set(final int x, final int y, final int z, final String state)
+        {
+            states[(x * SIZE + y) * SIZE + z] = state;
+        }
+
+        private void fill(final String state)
+        {
+            Arrays.fill(states, state);
+        }
+
+        @Override
+        public int getSize()
+        {
+            return SIZE;
+        }
+
+        @Override
+        public String get(final int x, final int y, final int z)
+        {
+            reads++;
+            return states[(x * SIZE + y) * SIZE + z];
+        }
+
+        @Override
+        public boolean isCellEmpty(final int cellX, final int cellY, final int cellZ)
+        {
+            if (!useCoarseOccupancy)
+            {
+                return false;
+            }
+
+            final int cellSize = SIZE / VoxelRayTraversal.getCoarseCellsPerSide(SIZE);
+            for (int x = cellX * cellSize; x < (cellX + 1) * cellSize; x++)
+            {
+                for (int y = cellY * cellSize; y < (cellY + 1) * cellSize; y++)
+                {
+                    for (int z = cellZ * cellSize; z < (cellZ + 1) * cellSize; z++)
+                    {
+                        if (states[(x * SIZE + y) * SIZE + z] != null)
+                        {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
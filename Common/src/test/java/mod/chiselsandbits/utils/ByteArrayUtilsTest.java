@@ -150,4 +150,27 @@ public class ByteArrayUtilsTest
         final int value = ByteArrayUtils.getValue( array, 0b111111, 16 );
         assertEquals( 0b101010, value );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void fillMatchesIndividualSets()
+    {
+        final byte[] expected = new byte[BitUtils.getByteCount(3 * 100)];
+        for (int i = 0; i < 100; i++)
+        {
+            ByteArrayUtils.setValueAt( expected, 0b101, 3, i );
+        }
+
+        final byte[] filled = ByteArrayUtils.fill( 0b101, 3, 100 );
+        assertArrayEquals( expected, filled );
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals( 0b101, ByteArrayUtils.getValueAt( filled, 3, i ) );
+        }
+    }
+
+    @Test
+    public void fillWithZeroIsEmpty()
+    {
+        assertArrayEquals( new byte[BitUtils.getByteCount(4 * 16)], ByteArrayUtils.fill( 0, 4, 16 ) );
+    }
+}
@@ -46,4 +46,5 @@ public class NbtConstants
     public static final String BLOCK_ENTITY_DATA = "BlockEntityTag";
     public static final String COMPRESSED = "compressed";
     public static final String DATA = "data";
+    public static final String UNIFORM_STATE = "uniformState";
 }
@@ -54,10 +54,13 @@ public class FabricChiselsAndBitsMod implements ModInitializer {
             return mapResult(level, result.getNextState());
         });
 
-        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((serverPlayer, serverLevel, serverLevel1) -> ChiselingManagerCountDownResetHandler.doResetFor(serverPlayer));
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((serverPlayer, serverLevel, serverLevel1) -> {
+            MeasuringSynchronisationHandler.syncTo(serverPlayer);
+            ChiselingManagerCountDownResetHandler.doResetFor(serverPlayer);
+        });
 
         ServerPlayConnectionEvents.JOIN.register((serverGamePacketListener, packetSender, minecraftServer) -> {
-            MeasuringSynchronisationHandler.syncToAll();
+            MeasuringSynchronisationHandler.syncTo(serverGamePacketListener.player);
             ChiselingManagerCountDownResetHandler.doResetFor(serverGamePacketListener.player);
         });
 
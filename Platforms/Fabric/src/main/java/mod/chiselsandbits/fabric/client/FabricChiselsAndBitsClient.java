@@ -5,6 +5,7 @@ import mod.chiselsandbits.api.block.IMultiStateBlock;
 import mod.chiselsandbits.api.block.entity.IMultiStateBlockEntity;
 import mod.chiselsandbits.client.input.FrameBasedInputTracker;
 import mod.chiselsandbits.client.logic.*;
+import mod.chiselsandbits.client.model.data.ChiseledBlockLodManager;
 import mod.chiselsandbits.client.model.loader.BitBlockModelLoader;
 import mod.chiselsandbits.client.model.loader.ChiseledBlockModelLoader;
 import mod.chiselsandbits.client.model.loader.InteractableModelLoader;
@@ -18,6 +19,7 @@ import mod.chiselsandbits.client.screens.ChiseledPrinterScreen;
 import mod.chiselsandbits.client.screens.ModificationTableScreen;
 import mod.chiselsandbits.client.time.TickHandler;
 import mod.chiselsandbits.fabric.platform.client.rendering.model.loader.FabricPlatformModelLoaderPlatformDelegate;
+import mod.chiselsandbits.fabric.platform.client.rendering.model.loader.ModelDataMeshCache;
 import mod.chiselsandbits.keys.KeyBindingManager;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
 import mod.chiselsandbits.registrars.ModContainerTypes;
@@ -69,6 +71,7 @@ public class FabricChiselsAndBitsClient implements ClientModInitializer
     private static void onInitialize()
     {
         ClientResourceReloadingManager.setup();
+        ClientResourceReloadingManager.getInstance().registerCacheClearer(ModelDataMeshCache.getInstance()::clear);
         KeyBindingManager.getInstance().onModInitialization();
 
         ModRenderLayers.onClientInit();
@@ -103,6 +106,7 @@ public class FabricChiselsAndBitsClient implements ClientModInitializer
             ToolNameHighlightTickHandler.handleClientTickForMagnifyingGlass();
             KeyBindingManager.getInstance().handleKeyPresses();
             TickHandler.onClientTick();
+            ChiseledBlockLodManager.getInstance().onClientTick();
         });
 
         WorldRenderEvents.BEFORE_BLOCK_OUTLINE.register((context
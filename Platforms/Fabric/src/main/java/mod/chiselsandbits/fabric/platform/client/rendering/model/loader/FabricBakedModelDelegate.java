@@ -4,6 +4,7 @@ import mod.chiselsandbits.platforms.core.client.models.IDataAwareBakedModel;
 import mod.chiselsandbits.platforms.core.client.models.IDelegatingBakedModel;
 import mod.chiselsandbits.platforms.core.client.models.data.IBlockModelData;
 import mod.chiselsandbits.platforms.core.entity.block.IBlockEntityWithModelData;
+import net.fabricmc.fabric.api.renderer.v1.mesh.Mesh;
 import net.fabricmc.fabric.api.renderer.v1.model.FabricBakedModel;
 import net.fabricmc.fabric.api.renderer.v1.model.ForwardingBakedModel;
 import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
@@ -23,6 +24,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.function.Supplier;
 
@@ -110,11 +112,19 @@ public class FabricBakedModelDelegate implements BakedModel, IDelegatingBakedMod
             final BlockEntity blockEntity = blockAndTintGetter.getBlockEntity(blockPos);
             if (!(blockEntity instanceof IBlockEntityWithModelData) || !(getDelegate() instanceof IDataAwareBakedModel)) {
                 renderContext.fallbackConsumer().accept(getDelegate());
+                return;
             }
 
             blockModelData = ((IBlockEntityWithModelData) blockEntity).getBlockModelData();
         }
 
+        //Emit the cached mesh of the current content when possible, it carries the blend mode of every render type.
+        final Optional<Mesh> mesh = ModelDataMeshCache.getInstance().get(blockState, blockModelData);
+        if (mesh.isPresent()) {
+            renderContext.meshConsumer().accept(mesh.get());
+            return;
+        }
+
         final IDataAwareBakedModel dataAwareBakedModel = (IDataAwareBakedModel) getDelegate();
 
         final IBlockModelData finalBlockModelData = blockModelData;
@@ -0,0 +1,119 @@
+package mod.chiselsandbits.fabric.platform.client.rendering.model.loader;
+
+import mod.chiselsandbits.platforms.core.client.models.data.IBlockModelData;
+import mod.chiselsandbits.registrars.ModModelProperties;
+import net.fabricmc.fabric.api.renderer.v1.Renderer;
+import net.fabricmc.fabric.api.renderer.v1.RendererAccess;
+import net.fabricmc.fabric.api.renderer.v1.material.BlendMode;
+import net.fabricmc.fabric.api.renderer.v1.material.RenderMaterial;
+import net.fabricmc.fabric.api.renderer.v1.mesh.Mesh;
+import net.fabricmc.fabric.api.renderer.v1.mesh.MeshBuilder;
+import net.fabricmc.fabric.api.renderer.v1.mesh.QuadEmitter;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the meshes of chiseled blocks for the Fabric renderer api.
+ *
+ * A mesh is built once from the per render type models in a blocks model data, with the blend mode of each render type as its material,
+ * and then reused for every chunk rebuild until the block entity receives new model data, which happens whenever its content changes.
+ */
+public final class ModelDataMeshCache
+{
+    private static final ModelDataMeshCache INSTANCE = new ModelDataMeshCache();
+
+    private static final Direction[] CULL_FACES = new Direction[] {
+      Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null
+    };
+
+    public static ModelDataMeshCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<IBlockModelData, Mesh>    meshes    = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<RenderType, RenderMaterial> materials = new ConcurrentHashMap<>();
+
+    private ModelDataMeshCache()
+    {
+    }
+
+    /**
+     * Gets the mesh for the given model data, building it if needed.
+     *
+     * @param blockState The blockstate of the block.
+     * @param modelData The model data of the block.
+     * @return The mesh, or empty if no renderer is available or the model data holds no per render type models.
+     */
+    public Optional<Mesh> get(final BlockState blockState, final IBlockModelData modelData)
+    {
+        if (!RendererAccess.INSTANCE.hasRenderer() || !modelData.hasProperty(ModModelProperties.KNOWN_LAYER_MODEL_PROPERTY))
+            return Optional.empty();
+
+        final Mesh cached = meshes.get(modelData);
+        if (cached != null)
+            return Optional.of(cached);
+
+        //Built outside of the lock, an occasional duplicate build is cheaper than stalling the other chunk builders.
+        final Mesh mesh = build(blockState, modelData.getData(ModModelProperties.KNOWN_LAYER_MODEL_PROPERTY));
+        if (mesh == null)
+            return Optional.empty();
+
+        meshes.put(modelData, mesh);
+        return Optional.of(mesh);
+    }
+
+    @Nullable
+    private Mesh build(final BlockState blockState, @Nullable final Map<RenderType, BakedModel> layeredModels)
+    {
+        if (layeredModels == null)
+            return null;
+
+        final Renderer renderer = RendererAccess.INSTANCE.getRenderer();
+        final MeshBuilder builder = renderer.meshBuilder();
+        final QuadEmitter emitter = builder.getEmitter();
+        final Random random = new Random();
+
+        for (final Map.Entry<RenderType, BakedModel> entry : layeredModels.entrySet())
+        {
+            final RenderMaterial material = materials.computeIfAbsent(
+              entry.getKey(),
+              renderType -> renderer.materialFinder().blendMode(0, BlendMode.fromRenderLayer(renderType)).find()
+            );
+
+            //The quads are not emitted from the face mesher directly: the mesher lives in the common module, which can not depend on the Fabric renderer api,
+            //and the per render type models in the model data are already meshed, interned and cached for every platform.
+            //Meshing the block again here would cost more than fromVanilla, which only copies the packed vertex data of the finished quads.
+            for (final Direction cullFace : CULL_FACES)
+            {
+                for (final BakedQuad quad : entry.getValue().getQuads(blockState, cullFace, random))
+                {
+                    emitter.fromVanilla(quad, material, cullFace);
+                    emitter.emit();
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Drops all cached meshes and materials, for example because the renderer or the resources changed.
+     */
+    public void clear()
+    {
+        meshes.clear();
+        materials.clear();
+    }
+}
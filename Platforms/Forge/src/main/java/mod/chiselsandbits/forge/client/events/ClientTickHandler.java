@@ -1,6 +1,7 @@
 package mod.chiselsandbits.forge.client.events;
 
 import mod.chiselsandbits.client.logic.ToolNameHighlightTickHandler;
+import mod.chiselsandbits.client.model.data.ChiseledBlockLodManager;
 import mod.chiselsandbits.keys.KeyBindingManager;
 import mod.chiselsandbits.platforms.core.util.constants.Constants;
 import net.minecraft.client.Minecraft;
@@ -34,4 +35,13 @@ public class ClientTickHandler
 
         KeyBindingManager.getInstance().handleKeyPresses();
     }
+
+    @SubscribeEvent
+    public static void handleClientTickForModelLod(final TickEvent.ClientTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END)
+            return;
+
+        ChiseledBlockLodManager.getInstance().onClientTick();
+    }
 }
@@ -0,0 +1,17 @@
+package mod.chiselsandbits.forge.events;
+
+import mod.chiselsandbits.logic.MeasuringSynchronisationHandler;
+import mod.chiselsandbits.platforms.core.util.constants.Constants;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = Constants.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class PlayerChangedDimensionEventHandler
+{
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(final PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        MeasuringSynchronisationHandler.syncTo(event.getPlayer());
+    }
+}
@@ -13,7 +13,7 @@ public class PlayerLoggedInEventHandler
     @SubscribeEvent
     public static void onPlayerLoggedIn(final PlayerEvent.PlayerLoggedInEvent event)
     {
-        MeasuringSynchronisationHandler.syncToAll();
+        MeasuringSynchronisationHandler.syncTo(event.getPlayer());
         ChiselingManagerCountDownResetHandler.doResetFor(event.getPlayer());
     }
 }
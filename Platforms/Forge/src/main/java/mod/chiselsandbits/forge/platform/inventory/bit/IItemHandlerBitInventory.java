@@ -23,6 +23,12 @@ public class IItemHandlerBitInventory extends AbstractBitInventory
         return itemHandler.getStackInSlot(index).copy();
     }
 
+    @Override
+    protected ItemStack peekItem(final int index)
+    {
+        return itemHandler.getStackInSlot(index);
+    }
+
     /**
      * The size of the inventory.
      *